@@ -0,0 +1,175 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.schedule;
+
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A bounded cache of schedules, and structures derived from schedules, used when resolving products.
+ * <p>
+ * A large portfolio typically contains many trades that share identical schedule definitions,
+ * such as standard spot-starting swaps of the same tenor traded on the same day.
+ * Resolving each trade separately creates the same schedule many times.
+ * This cache allows a single immutable instance to be created and shared by all such trades,
+ * saving both the time to create it and the memory to hold the resolved portfolio.
+ * <p>
+ * Entries are keyed by the definition and the reference data used to resolve it.
+ * The reference data is compared by identity, thus the cache must only be used with reference data
+ * that always returns the same holiday calendars, such as {@link ReferenceData#standard()} or
+ * an {@code ImmutableReferenceData} holding immutable calendars. If a custom implementation of
+ * {@link ReferenceData} returns a calendar that changes, a cached schedule is not updated.
+ * Each instance of reference data has its own bounded set of entries, which is discarded when
+ * the reference data is garbage collected.
+ * <p>
+ * Only immutable values may be placed in the cache.
+ * If the value cannot be created, the exception is thrown and nothing is cached.
+ * <p>
+ * The global cache, used by the {@code Resolvable} products, is obtained using {@link #global()}.
+ * It is disabled by default, and is enabled using {@link #setGlobal(ScheduleCache)}.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ScheduleCache {
+
+  /**
+   * The default maximum number of entries for each instance of reference data.
+   */
+  public static final int DEFAULT_MAXIMUM_SIZE = 10_000;
+  /**
+   * The maximum number of instances of reference data with entries.
+   */
+  private static final int MAXIMUM_REFERENCE_DATA = 16;
+  /**
+   * The global cache.
+   */
+  private static volatile ScheduleCache global = new ScheduleCache(0);
+
+  /**
+   * The maximum number of entries for each instance of reference data, zero if disabled.
+   */
+  private final int maximumSize;
+  /**
+   * The entries, keyed by reference data identity, then by definition.
+   */
+  private final Cache<ReferenceData, Cache<Object, Object>> entries;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a cache with the specified maximum size.
+   * <p>
+   * A maximum size of zero disables caching.
+   *
+   * @param maximumSize  the maximum number of entries for each instance of reference data
+   * @return the cache
+   */
+  public static ScheduleCache of(int maximumSize) {
+    return new ScheduleCache(ArgChecker.notNegative(maximumSize, "maximumSize"));
+  }
+
+  /**
+   * Gets the global cache.
+   * <p>
+   * This is disabled, with a maximum size of zero, unless {@link #setGlobal(ScheduleCache)} has been called.
+   *
+   * @return the global cache
+   */
+  public static ScheduleCache global() {
+    return global;
+  }
+
+  /**
+   * Sets the global cache.
+   * <p>
+   * Use {@code setGlobal(ScheduleCache.of(ScheduleCache.DEFAULT_MAXIMUM_SIZE))} to enable caching,
+   * and {@code setGlobal(ScheduleCache.of(0))} to disable it again.
+   * Caching must only be enabled if the reference data used to resolve products always returns
+   * the same holiday calendars, as the reference data is compared by identity.
+   *
+   * @param cache  the global cache
+   */
+  public static void setGlobal(ScheduleCache cache) {
+    global = ArgChecker.notNull(cache, "cache");
+  }
+
+  // restricted constructor
+  private ScheduleCache(int maximumSize) {
+    this.maximumSize = maximumSize;
+    this.entries = CacheBuilder.newBuilder()
+        .weakKeys()
+        .maximumSize(MAXIMUM_REFERENCE_DATA)
+        .build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the schedule for a periodic schedule definition.
+   * <p>
+   * This returns the same result as {@link PeriodicSchedule#createSchedule(ReferenceData)}.
+   *
+   * @param definition  the schedule definition
+   * @param refData  the reference data, used to find the holiday calendars
+   * @return the schedule
+   * @throws ScheduleException if the definition is invalid
+   */
+  public Schedule schedule(PeriodicSchedule definition, ReferenceData refData) {
+    return get(definition, refData, () -> definition.createSchedule(refData));
+  }
+
+  /**
+   * Gets a value derived from a definition, creating it if necessary.
+   * <p>
+   * The key must fully define the value when combined with the reference data.
+   * It must be immutable and implement {@code equals} and {@code hashCode}.
+   * The value must be immutable.
+   *
+   * @param <T>  the type of the value
+   * @param key  the key, such as the definition of the value
+   * @param refData  the reference data used to create the value
+   * @param creator  the function to create the value if it is not cached
+   * @return the value
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(Object key, ReferenceData refData, Supplier<T> creator) {
+    ArgChecker.notNull(key, "key");
+    ArgChecker.notNull(refData, "refData");
+    if (maximumSize == 0) {
+      return creator.get();
+    }
+    Cache<Object, Object> cache = entries.getIfPresent(refData);
+    if (cache == null) {
+      cache = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+      Cache<Object, Object> existing = entries.asMap().putIfAbsent(refData, cache);
+      cache = existing != null ? existing : cache;
+    }
+    Object cached = cache.getIfPresent(key);
+    if (cached != null) {
+      return (T) cached;
+    }
+    // values are created outside the cache, as creation can throw meaningful exceptions
+    T created = creator.get();
+    Object existing = cache.asMap().putIfAbsent(key, created);
+    return existing != null ? (T) existing : created;
+  }
+
+  /**
+   * Clears the cache.
+   */
+  public void clear() {
+    entries.invalidateAll();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "ScheduleCache[maximumSize=" + maximumSize + "]";
+  }
+
+}
@@ -0,0 +1,109 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.schedule;
+
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.date.HolidayCalendarIds.SAT_SUN;
+import static com.opengamma.strata.basics.schedule.Frequency.P1M;
+import static com.opengamma.strata.basics.schedule.Frequency.P3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ImmutableReferenceData;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+
+/**
+ * Test {@link ScheduleCache}.
+ */
+@Test
+public class ScheduleCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final BusinessDayAdjustment BDA = BusinessDayAdjustment.of(MODIFIED_FOLLOWING, SAT_SUN);
+  private static final PeriodicSchedule DEFN = PeriodicSchedule.builder()
+      .startDate(date(2014, 6, 4))
+      .endDate(date(2015, 6, 4))
+      .frequency(P3M)
+      .businessDayAdjustment(BDA)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_schedule() {
+    ScheduleCache test = ScheduleCache.of(10);
+    Schedule schedule = test.schedule(DEFN, REF_DATA);
+    assertThat(schedule).isEqualTo(DEFN.createSchedule(REF_DATA));
+    assertThat(test.schedule(DEFN, REF_DATA)).isSameAs(schedule);
+    PeriodicSchedule equalDefn = DEFN.toBuilder().build();
+    assertThat(test.schedule(equalDefn, REF_DATA)).isSameAs(schedule);
+    assertThat(test.schedule(DEFN.toBuilder().frequency(P1M).build(), REF_DATA)).isNotSameAs(schedule);
+  }
+
+  public void test_schedule_refDataByIdentity() {
+    ScheduleCache test = ScheduleCache.of(10);
+    ReferenceData other = ImmutableReferenceData.of(ImmutableMap.of()).combinedWith(REF_DATA);
+    Schedule schedule = test.schedule(DEFN, REF_DATA);
+    Schedule otherSchedule = test.schedule(DEFN, other);
+    assertThat(otherSchedule).isEqualTo(schedule);
+    assertThat(otherSchedule).isNotSameAs(schedule);
+    assertThat(test.schedule(DEFN, other)).isSameAs(otherSchedule);
+  }
+
+  public void test_schedule_invalid() {
+    ScheduleCache test = ScheduleCache.of(10);
+    PeriodicSchedule badDefn = DEFN.toBuilder().endDate(date(2015, 6, 17)).stubConvention(StubConvention.NONE).build();
+    assertThrows(() -> test.schedule(badDefn, REF_DATA), ScheduleException.class);
+    assertThrows(() -> test.schedule(badDefn, REF_DATA), ScheduleException.class);
+  }
+
+  public void test_get() {
+    ScheduleCache test = ScheduleCache.of(10);
+    AtomicInteger count = new AtomicInteger();
+    String value = test.get("A", REF_DATA, () -> "A" + count.incrementAndGet());
+    assertThat(value).isEqualTo("A1");
+    assertThat(test.get("A", REF_DATA, () -> "A" + count.incrementAndGet())).isEqualTo("A1");
+    assertThat(count.get()).isEqualTo(1);
+    test.clear();
+    assertThat(test.get("A", REF_DATA, () -> "A" + count.incrementAndGet())).isEqualTo("A2");
+  }
+
+  public void test_get_disabled() {
+    ScheduleCache test = ScheduleCache.of(0);
+    AtomicInteger count = new AtomicInteger();
+    assertThat(test.get("A", REF_DATA, () -> "A" + count.incrementAndGet())).isEqualTo("A1");
+    assertThat(test.get("A", REF_DATA, () -> "A" + count.incrementAndGet())).isEqualTo("A2");
+  }
+
+  public void test_of_negative() {
+    assertThrowsIllegalArg(() -> ScheduleCache.of(-1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_global() {
+    ScheduleCache original = ScheduleCache.global();
+    assertThat(original.toString()).isEqualTo("ScheduleCache[maximumSize=0]");
+    try {
+      ScheduleCache test = ScheduleCache.of(5);
+      ScheduleCache.setGlobal(test);
+      assertThat(ScheduleCache.global()).isSameAs(test);
+      assertThrowsIllegalArg(() -> ScheduleCache.setGlobal(null));
+    } finally {
+      ScheduleCache.setGlobal(original);
+    }
+  }
+
+  public void coverage() {
+    assertThat(ScheduleCache.of(5).toString()).isEqualTo("ScheduleCache[maximumSize=5]");
+  }
+
+}
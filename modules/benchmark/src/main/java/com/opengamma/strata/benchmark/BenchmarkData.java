@@ -0,0 +1,213 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.io.ResourceLocator;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.loader.csv.FixingSeriesCsvLoader;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCurvesCsvLoader;
+import com.opengamma.strata.market.curve.CurveGroup;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.observable.IndexQuoteId;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProviderBuilder;
+
+/**
+ * Provides access to the example market data used to seed the benchmarks.
+ * <p>
+ * The data is copied from the {@code examples} project at build time.
+ * The calibrated curves and fixings are those of {@code example-marketdata},
+ * while the curve definitions and quotes used for calibration are those of {@code example-calibration}.
+ */
+public final class BenchmarkData {
+
+  /**
+   * The valuation date of the calibrated example curves.
+   */
+  public static final LocalDate VALUATION_DATE = LocalDate.of(2014, 1, 22);
+  /**
+   * The valuation date of the example calibration quotes.
+   */
+  public static final LocalDate CALIBRATION_DATE = LocalDate.of(2016, 8, 1);
+  /**
+   * The name of the example calibration group.
+   */
+  public static final CurveGroupName CALIBRATION_GROUP = CurveGroupName.of("GBP-DSCONOIS-L6MIRS");
+  /**
+   * The GBP/USD rate used in the example market data.
+   */
+  public static final FxRate GBP_USD = FxRate.of(GBP, USD, 1.61);
+
+  /** The root of the calibrated curves and fixings. */
+  private static final String MARKET_DATA_ROOT = "example-marketdata/";
+  /** The root of the calibration configuration and quotes. */
+  private static final String CALIBRATION_ROOT = "example-calibration/";
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkData() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the locator of the curve groups file.
+   * 
+   * @return the resource locator
+   */
+  public static ResourceLocator curveGroupsResource() {
+    return resource(MARKET_DATA_ROOT + "curves/groups.csv");
+  }
+
+  /**
+   * Gets the locator of the curve settings file.
+   * 
+   * @return the resource locator
+   */
+  public static ResourceLocator curveSettingsResource() {
+    return resource(MARKET_DATA_ROOT + "curves/settings.csv");
+  }
+
+  /**
+   * Gets the locators of the curve node files.
+   * 
+   * @return the resource locators
+   */
+  public static List<ResourceLocator> curveResources() {
+    return ImmutableList.of(resource(MARKET_DATA_ROOT + "curves/" + VALUATION_DATE + ".csv"));
+  }
+
+  /**
+   * Gets the locators of the historical fixing files.
+   * 
+   * @return the resource locators
+   */
+  public static List<ResourceLocator> fixingResources() {
+    return ImmutableList.of("gbp-libor-3m", "usd-fed-fund", "usd-libor-3m", "usd-libor-6m").stream()
+        .map(name -> resource(MARKET_DATA_ROOT + "historical-fixings/" + name + ".csv"))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Gets the locator of the calibration quotes file.
+   * 
+   * @return the resource locator
+   */
+  public static ResourceLocator calibrationQuotesResource() {
+    return resource(CALIBRATION_ROOT + "quotes/MARKET-QUOTES-GBP-20160801.csv");
+  }
+
+  // obtains a classpath resource
+  private static ResourceLocator resource(String name) {
+    return ResourceLocator.ofClasspath(name);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the calibrated example curve group.
+   * 
+   * @return the curve group
+   */
+  public static CurveGroup curveGroup() {
+    return RatesCurvesCsvLoader.load(VALUATION_DATE, curveGroupsResource(), curveSettingsResource(), curveResources())
+        .get(0);
+  }
+
+  /**
+   * Loads the example historical fixings.
+   * 
+   * @return the fixings, keyed by identifier
+   */
+  public static Map<ObservableId, LocalDateDoubleTimeSeries> fixings() {
+    return FixingSeriesCsvLoader.load(fixingResources());
+  }
+
+  /**
+   * Creates a rates provider from the calibrated example curves and fixings.
+   * 
+   * @return the rates provider
+   */
+  public static ImmutableRatesProvider ratesProvider() {
+    CurveGroup group = curveGroup();
+    ImmutableRatesProviderBuilder builder = ImmutableRatesProvider.builder(VALUATION_DATE)
+        .fxRateProvider(FxMatrix.of(GBP_USD.getPair(), GBP_USD.fxRate(GBP, USD)))
+        .discountCurves(group.getDiscountCurves())
+        .indexCurves(group.getForwardCurves());
+    for (Map.Entry<ObservableId, LocalDateDoubleTimeSeries> entry : fixings().entrySet()) {
+      if (entry.getKey() instanceof IndexQuoteId) {
+        Index index = ((IndexQuoteId) entry.getKey()).getIndex();
+        builder.timeSeries(index, entry.getValue());
+      }
+    }
+    return builder.build();
+  }
+
+  /**
+   * Creates market data from the calibrated example curves and fixings.
+   * <p>
+   * This contains the same data as that built by the examples project.
+   * 
+   * @return the market data
+   */
+  public static ImmutableMarketData marketData() {
+    CurveGroup group = curveGroup();
+    ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(VALUATION_DATE)
+        .addTimeSeriesMap(fixings())
+        .addValue(FxRateId.of(GBP_USD.getPair()), GBP_USD);
+    group.getDiscountCurves().forEach(
+        (ccy, curve) -> builder.addValue(CurveId.of(group.getName(), curve.getName()), curve));
+    group.getForwardCurves().forEach(
+        (idx, curve) -> builder.addValue(CurveId.of(group.getName(), curve.getName()), curve));
+    return builder.build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads the example calibration definition.
+   * 
+   * @return the curve group definition
+   */
+  public static CurveGroupDefinition calibrationDefinition() {
+    String root = CALIBRATION_ROOT + "curves/" + CALIBRATION_GROUP + "/" + CALIBRATION_GROUP;
+    Map<CurveGroupName, CurveGroupDefinition> configs = RatesCalibrationCsvLoader.load(
+        resource(root + "-group.csv"),
+        resource(root + "-settings.csv"),
+        resource(root + "-nodes.csv"));
+    return configs.get(CALIBRATION_GROUP);
+  }
+
+  /**
+   * Loads the example calibration quotes.
+   * 
+   * @return the market data containing the quotes
+   */
+  public static ImmutableMarketData calibrationQuotes() {
+    return ImmutableMarketData.builder(CALIBRATION_DATE)
+        .values(QuotesCsvLoader.load(CALIBRATION_DATE, calibrationQuotesResource()))
+        .build();
+  }
+
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point to run the benchmarks.
+ * <p>
+ * This accepts the standard JMH command line arguments.
+ * If no profiler is specified on the command line, the GC profiler is added,
+ * ensuring that allocation rates are reported for every benchmark.
+ */
+public final class BenchmarkRunner {
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkRunner() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Runs the benchmarks.
+   * 
+   * @param args  the JMH command line arguments
+   * @throws CommandLineOptionException if the command line is invalid
+   * @throws RunnerException if the benchmarks fail to run
+   */
+  public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+    CommandLineOptions cmdOptions = new CommandLineOptions(args);
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdOptions);
+    if (cmdOptions.getProfilers().isEmpty()) {
+      options.addProfiler(GCProfiler.class);
+    }
+    if (cmdOptions.getIncludes().isEmpty()) {
+      options.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+    }
+    new Runner(options.build()).run();
+  }
+
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.pricer.fxopt.BlackFxOptionSmileVolatilities;
+import com.opengamma.strata.pricer.fxopt.BlackFxVanillaOptionProductPricer;
+import com.opengamma.strata.pricer.fxopt.FxOptionVolatilitiesName;
+import com.opengamma.strata.pricer.fxopt.InterpolatedStrikeSmileDeltaTermStructure;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.common.LongShort;
+import com.opengamma.strata.product.fx.ResolvedFxSingle;
+import com.opengamma.strata.product.fxopt.ResolvedFxVanillaOption;
+
+/**
+ * Benchmarks {@link BlackFxVanillaOptionProductPricer}.
+ * <p>
+ * A book of GBP/USD options across expiries and strikes is priced against the calibrated
+ * example curves and a smile term structure.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BlackFxVanillaOptionProductPricerBenchmark {
+
+  private static final BlackFxVanillaOptionProductPricer PRICER = BlackFxVanillaOptionProductPricer.DEFAULT;
+  private static final CurrencyPair PAIR = CurrencyPair.of(GBP, USD);
+  private static final DoubleArray TIME = DoubleArray.of(0.25, 0.5, 1.0, 2.0, 5.0);
+  private static final DoubleArray DELTA = DoubleArray.of(0.10, 0.25);
+  private static final DoubleArray ATM = DoubleArray.of(0.085, 0.09, 0.095, 0.095, 0.1);
+  private static final DoubleMatrix RISK_REVERSAL = DoubleMatrix.ofUnsafe(new double[][] {
+      {-0.019, -0.011}, {-0.020, -0.011}, {-0.022, -0.011}, {-0.019, -0.010}, {-0.019, -0.010}});
+  private static final DoubleMatrix STRANGLE = DoubleMatrix.ofUnsafe(new double[][] {
+      {0.009, 0.003}, {0.011, 0.0035}, {0.013, 0.004}, {0.013, 0.004}, {0.013, 0.004}});
+  private static final int EXPIRY_COUNT = 20;
+  private static final int STRIKE_COUNT = 10;
+
+  private ImmutableRatesProvider provider;
+  private BlackFxOptionSmileVolatilities volatilities;
+  private ResolvedFxVanillaOption[] options;
+
+  @Setup
+  public void setup() {
+    LocalDate valuationDate = BenchmarkData.VALUATION_DATE;
+    ZonedDateTime valuationDateTime = valuationDate.atTime(LocalTime.NOON).atZone(ZoneOffset.UTC);
+    provider = BenchmarkData.ratesProvider();
+    InterpolatedStrikeSmileDeltaTermStructure smile =
+        InterpolatedStrikeSmileDeltaTermStructure.of(TIME, DELTA, ATM, RISK_REVERSAL, STRANGLE, ACT_365F);
+    volatilities = BlackFxOptionSmileVolatilities.of(
+        FxOptionVolatilitiesName.of("GBPUSD"), PAIR, valuationDateTime, smile);
+    double spot = BenchmarkData.GBP_USD.fxRate(PAIR);
+    options = new ResolvedFxVanillaOption[EXPIRY_COUNT * STRIKE_COUNT];
+    for (int i = 0; i < EXPIRY_COUNT; i++) {
+      LocalDate expiryDate = valuationDate.plusMonths(3 * (i + 1));
+      for (int j = 0; j < STRIKE_COUNT; j++) {
+        double strike = spot * (0.8 + 0.04 * j);
+        ResolvedFxSingle underlying = ResolvedFxSingle.of(
+            CurrencyAmount.of(GBP, 1e6), CurrencyAmount.of(USD, -1e6 * strike), expiryDate.plusDays(2));
+        options[i * STRIKE_COUNT + j] = ResolvedFxVanillaOption.builder()
+            .longShort(j % 2 == 0 ? LongShort.LONG : LongShort.SHORT)
+            .expiry(expiryDate.atTime(LocalTime.NOON).atZone(ZoneOffset.UTC))
+            .underlying(underlying)
+            .build();
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public void presentValue(Blackhole bh) {
+    for (ResolvedFxVanillaOption option : options) {
+      bh.consume(PRICER.presentValue(option, provider, volatilities));
+    }
+  }
+
+  @Benchmark
+  public void presentValueSensitivityRates(Blackhole bh) {
+    for (ResolvedFxVanillaOption option : options) {
+      bh.consume(PRICER.presentValueSensitivityRatesStickyStrike(option, provider, volatilities));
+    }
+  }
+
+  @Benchmark
+  public void presentValueSensitivityVolatility(Blackhole bh) {
+    for (ResolvedFxVanillaOption option : options) {
+      bh.consume(PRICER.presentValueSensitivityModelParamsVolatility(option, provider, volatilities));
+    }
+  }
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.CalculationRunner;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationTasks;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
+import com.opengamma.strata.product.Trade;
+import com.opengamma.strata.product.common.BuySell;
+
+/**
+ * Benchmarks the default {@link CalculationRunner}.
+ * <p>
+ * A book of USD swaps is run through the calculation runner with present value,
+ * par rate and bucketed PV01 columns, converted to GBP.
+ * The runner is benchmarked both single-threaded and multi-threaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CalculationRunnerBenchmark {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final List<Column> COLUMNS = ImmutableList.of(
+      Column.of(Measures.PRESENT_VALUE),
+      Column.of(Measures.PRESENT_VALUE, Currency.GBP),
+      Column.of(Measures.PAR_RATE),
+      Column.of(Measures.PV01_CALIBRATED_BUCKETED));
+
+  @Param({"100", "1000"})
+  private int tradeCount;
+
+  private CalculationRunner singleThreadedRunner;
+  private CalculationRunner multiThreadedRunner;
+  private CalculationRules rules;
+  private ImmutableMarketData marketData;
+  private List<Trade> trades;
+  private CalculationTasks tasks;
+
+  @Setup
+  public void setup() {
+    singleThreadedRunner = CalculationRunner.of(MoreExecutors.newDirectExecutorService());
+    multiThreadedRunner = CalculationRunner.ofMultiThreaded();
+    marketData = BenchmarkData.marketData();
+    rules = CalculationRules.of(
+        StandardComponents.calculationFunctions(),
+        RatesMarketDataLookup.of(BenchmarkData.curveGroup()));
+    trades = new ArrayList<>(tradeCount);
+    for (int i = 0; i < tradeCount; i++) {
+      Tenor tenor = Tenor.ofYears(1 + i % 30);
+      double rate = 0.01 + 0.00001 * i;
+      trades.add(USD_FIXED_6M_LIBOR_3M.createTrade(
+          BenchmarkData.VALUATION_DATE, Period.ofMonths(i % 12), tenor, BuySell.BUY, 1e7, rate, REF_DATA));
+    }
+    tasks = CalculationTasks.of(rules, trades, COLUMNS);
+  }
+
+  @TearDown
+  public void tearDown() {
+    singleThreadedRunner.close();
+    multiThreadedRunner.close();
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public Results calculateSingleThreaded() {
+    return singleThreadedRunner.calculate(rules, trades, COLUMNS, marketData, REF_DATA);
+  }
+
+  @Benchmark
+  public Results calculateMultiThreaded() {
+    return multiThreadedRunner.calculate(rules, trades, COLUMNS, marketData, REF_DATA);
+  }
+
+  @Benchmark
+  public Results calculatePrebuiltTasksMultiThreaded() {
+    return multiThreadedRunner.getTaskRunner().calculate(tasks, marketData, REF_DATA);
+  }
+
+  @Benchmark
+  public CalculationTasks createTasks() {
+    return CalculationTasks.of(rules, trades, COLUMNS);
+  }
+
+}
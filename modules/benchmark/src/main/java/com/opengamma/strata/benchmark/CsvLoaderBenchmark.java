@@ -0,0 +1,70 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.loader.csv.FixingSeriesCsvLoader;
+import com.opengamma.strata.loader.csv.QuotesCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCalibrationCsvLoader;
+import com.opengamma.strata.loader.csv.RatesCurvesCsvLoader;
+import com.opengamma.strata.market.curve.CurveGroup;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.observable.QuoteId;
+
+/**
+ * Benchmarks the CSV loaders.
+ * <p>
+ * The example curves, fixings, quotes and calibration definitions are parsed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CsvLoaderBenchmark {
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public List<CurveGroup> ratesCurves() {
+    return RatesCurvesCsvLoader.load(
+        BenchmarkData.VALUATION_DATE,
+        BenchmarkData.curveGroupsResource(),
+        BenchmarkData.curveSettingsResource(),
+        BenchmarkData.curveResources());
+  }
+
+  @Benchmark
+  public Map<ObservableId, LocalDateDoubleTimeSeries> fixingSeries() {
+    return FixingSeriesCsvLoader.load(BenchmarkData.fixingResources());
+  }
+
+  @Benchmark
+  public Map<QuoteId, Double> quotes() {
+    return QuotesCsvLoader.load(BenchmarkData.CALIBRATION_DATE, BenchmarkData.calibrationQuotesResource());
+  }
+
+  @Benchmark
+  public CurveGroupDefinition ratesCalibration() {
+    return BenchmarkData.calibrationDefinition();
+  }
+
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.pricer.curve.CurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Benchmarks {@link CurveCalibrator}.
+ * <p>
+ * The example GBP OIS and Libor 6M curves are calibrated from the example quotes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CurveCalibratorBenchmark {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final CurveCalibrator CALIBRATOR = CurveCalibrator.standard();
+
+  private CurveGroupDefinition definition;
+  private ImmutableMarketData quotes;
+
+  @Setup
+  public void setup() {
+    definition = BenchmarkData.calibrationDefinition();
+    quotes = BenchmarkData.calibrationQuotes();
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public ImmutableRatesProvider calibrate() {
+    return CALIBRATOR.calibrate(definition, quotes, REF_DATA);
+  }
+
+}
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+
+import java.time.Period;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+
+/**
+ * Benchmarks {@link DiscountingSwapProductPricer}.
+ * <p>
+ * A book of USD fixed versus Libor 3M swaps is priced against the calibrated example curves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DiscountingSwapProductPricerBenchmark {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  @Param({"1", "100"})
+  private int swapCount;
+
+  private ImmutableRatesProvider provider;
+  private ResolvedSwap[] swaps;
+
+  @Setup
+  public void setup() {
+    provider = BenchmarkData.ratesProvider();
+    swaps = new ResolvedSwap[swapCount];
+    for (int i = 0; i < swapCount; i++) {
+      Tenor tenor = Tenor.ofYears(1 + i % 30);
+      double rate = 0.01 + 0.0001 * i;
+      swaps[i] = USD_FIXED_6M_LIBOR_3M
+          .createTrade(BenchmarkData.VALUATION_DATE, Period.ofMonths(i % 12), tenor, BuySell.BUY, 1e7, rate, REF_DATA)
+          .getProduct()
+          .resolve(REF_DATA);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public void presentValue(Blackhole bh) {
+    for (ResolvedSwap swap : swaps) {
+      bh.consume(PRICER.presentValue(swap, provider));
+    }
+  }
+
+  @Benchmark
+  public void parRate(Blackhole bh) {
+    for (ResolvedSwap swap : swaps) {
+      bh.consume(PRICER.parRate(swap, provider));
+    }
+  }
+
+  @Benchmark
+  public void parameterSensitivity(Blackhole bh) {
+    for (ResolvedSwap swap : swaps) {
+      PointSensitivities pointSens = PRICER.presentValueSensitivity(swap, provider).build();
+      CurrencyParameterSensitivities paramSens = provider.parameterSensitivity(pointSens);
+      bh.consume(paramSens);
+    }
+  }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.date.HolidayCalendarIds;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.pricer.common.PriceType;
+import com.opengamma.strata.pricer.credit.ConstantRecoveryRates;
+import com.opengamma.strata.pricer.credit.CreditRatesProvider;
+import com.opengamma.strata.pricer.credit.ImmutableCreditRatesProvider;
+import com.opengamma.strata.pricer.credit.IsdaCdsProductPricer;
+import com.opengamma.strata.pricer.credit.IsdaCreditDiscountFactors;
+import com.opengamma.strata.pricer.credit.LegalEntitySurvivalProbabilities;
+import com.opengamma.strata.product.common.BuySell;
+import com.opengamma.strata.product.credit.Cds;
+import com.opengamma.strata.product.credit.ResolvedCds;
+
+/**
+ * Benchmarks {@link IsdaCdsProductPricer}.
+ * <p>
+ * The ISDA yield curve is seeded from the example USD discount curve.
+ * A book of single name CDS with a range of maturities is priced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class IsdaCdsProductPricerBenchmark {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final IsdaCdsProductPricer PRICER = IsdaCdsProductPricer.DEFAULT;
+  private static final StandardId LEGAL_ENTITY = StandardId.of("OG", "ABC");
+  private static final DoubleArray CREDIT_TIME = DoubleArray.of(0.5, 1, 2, 3, 4, 5, 7, 10);
+  private static final DoubleArray CREDIT_RATE =
+      DoubleArray.of(0.0099, 0.0120, 0.0142, 0.0168, 0.0197, 0.0231, 0.0270, 0.0296);
+  private static final int CDS_COUNT = 40;
+
+  private CreditRatesProvider provider;
+  private ResolvedCds[] products;
+
+  @Setup
+  public void setup() {
+    LocalDate valuationDate = BenchmarkData.VALUATION_DATE;
+    NodalCurve exampleCurve = (NodalCurve) BenchmarkData.curveGroup().findDiscountCurve(USD).get();
+    IsdaCreditDiscountFactors yieldCurve = IsdaCreditDiscountFactors.of(
+        USD, valuationDate, exampleCurve.getName(), exampleCurve.getXValues(), exampleCurve.getYValues(), ACT_365F);
+    IsdaCreditDiscountFactors creditCurve = IsdaCreditDiscountFactors.of(
+        USD, valuationDate, CurveName.of("Credit"), CREDIT_TIME, CREDIT_RATE, ACT_365F);
+    provider = ImmutableCreditRatesProvider.builder()
+        .valuationDate(valuationDate)
+        .creditCurves(ImmutableMap.of(
+            Pair.of(LEGAL_ENTITY, USD), LegalEntitySurvivalProbabilities.of(LEGAL_ENTITY, creditCurve)))
+        .discountCurves(ImmutableMap.of(USD, yieldCurve))
+        .recoveryRateCurves(ImmutableMap.of(LEGAL_ENTITY, ConstantRecoveryRates.of(LEGAL_ENTITY, valuationDate, 0.4)))
+        .build();
+    products = new ResolvedCds[CDS_COUNT];
+    for (int i = 0; i < CDS_COUNT; i++) {
+      LocalDate endDate = LocalDate.of(2014, 3, 20).plusMonths(3 * (i + 1));
+      products[i] = Cds.of(
+          i % 2 == 0 ? BuySell.BUY : BuySell.SELL,
+          LEGAL_ENTITY,
+          USD,
+          1e7,
+          LocalDate.of(2013, 12, 20),
+          endDate,
+          Frequency.P3M,
+          HolidayCalendarIds.SAT_SUN,
+          0.01)
+          .resolve(REF_DATA);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public void presentValue(Blackhole bh) {
+    for (ResolvedCds product : products) {
+      bh.consume(PRICER.presentValue(product, provider, BenchmarkData.VALUATION_DATE, PriceType.CLEAN, REF_DATA));
+    }
+  }
+
+  @Benchmark
+  public void parSpread(Blackhole bh) {
+    for (ResolvedCds product : products) {
+      bh.consume(PRICER.parSpread(product, provider, BenchmarkData.VALUATION_DATE, REF_DATA));
+    }
+  }
+
+  @Benchmark
+  public void presentValueSensitivity(Blackhole bh) {
+    for (ResolvedCds product : products) {
+      bh.consume(PRICER.presentValueSensitivity(product, provider, BenchmarkData.VALUATION_DATE, REF_DATA).build());
+    }
+  }
+
+}
@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+
+import cern.jet.stat.Probability;
+
+/**
+ * Benchmarks the standard normal distribution functions.
+ * <p>
+ * The primitive functions of {@link NormalDistribution} are compared with the boxed
+ * {@link ProbabilityDistribution} methods and the Colt functions previously used for the inverse.
+ * The Black formula benchmark measures the effect on a typical caller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class NormalDistributionBenchmark {
+
+  private static final int SIZE = 1000;
+  private static final ProbabilityDistribution<Double> BOXED = new NormalDistribution(0, 1);
+
+  private double[] values;
+  private double[] probabilities;
+  private double[] strikes;
+  private double[] results;
+
+  @Setup
+  public void setup() {
+    values = new double[SIZE];
+    probabilities = new double[SIZE];
+    strikes = new double[SIZE];
+    results = new double[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      values[i] = -8d + 16d * i / SIZE;
+      probabilities[i] = (i + 0.5) / SIZE;
+      strikes[i] = 0.005 + 0.00005 * i;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public double[] cdfBoxed() {
+    for (int i = 0; i < SIZE; i++) {
+      results[i] = BOXED.getCDF(values[i]);
+    }
+    return results;
+  }
+
+  @Benchmark
+  public double[] cdfColt() {
+    for (int i = 0; i < SIZE; i++) {
+      results[i] = Probability.normal(values[i]);
+    }
+    return results;
+  }
+
+  @Benchmark
+  public double[] cdfPrimitive() {
+    for (int i = 0; i < SIZE; i++) {
+      results[i] = NormalDistribution.standardCdf(values[i]);
+    }
+    return results;
+  }
+
+  @Benchmark
+  public double[] cdfArray() {
+    NormalDistribution.standardCdf(values, results);
+    return results;
+  }
+
+  @Benchmark
+  public double[] inverseCdfColt() {
+    for (int i = 0; i < SIZE; i++) {
+      results[i] = Probability.normalInverse(probabilities[i]);
+    }
+    return results;
+  }
+
+  @Benchmark
+  public double[] inverseCdfPrimitive() {
+    NormalDistribution.standardInverseCdf(probabilities, results);
+    return results;
+  }
+
+  @Benchmark
+  public double[] blackPrice() {
+    for (int i = 0; i < SIZE; i++) {
+      results[i] = BlackFormulaRepository.price(0.01, strikes[i], 2d, 0.3, true);
+    }
+    return results;
+  }
+
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.opengamma.strata.math.impl.random.BrownianBridge;
+import com.opengamma.strata.math.impl.random.NormalRandomNumberGenerator;
+import com.opengamma.strata.math.impl.random.SobolNormalRandomNumberGenerator;
+import com.opengamma.strata.math.impl.random.SplittableNormalRandomNumberGenerator;
+
+import cern.jet.random.engine.MersenneTwister64;
+
+/**
+ * Benchmarks the normal random number generators.
+ * <p>
+ * The Colt based {@link NormalRandomNumberGenerator}, allocating a vector per call, is compared with
+ * bulk filling of a reused array, and with the splittable and Sobol generators.
+ * The parallel benchmark fills one block per split generator on the common fork-join pool.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RandomNumberGeneratorBenchmark {
+
+  private static final int DIMENSION = 64;
+  private static final int BLOCKS = 16;
+
+  @Param({"1024", "65536"})
+  private int size;
+
+  private NormalRandomNumberGenerator colt;
+  private SplittableNormalRandomNumberGenerator splittable;
+  private SobolNormalRandomNumberGenerator sobol;
+  private SobolNormalRandomNumberGenerator sobolBridge;
+  private double[] array;
+  private double[][] blocks;
+
+  @Setup
+  public void setup() {
+    colt = new NormalRandomNumberGenerator(0d, 1d, new MersenneTwister64(1));
+    splittable = SplittableNormalRandomNumberGenerator.of(1L);
+    sobol = SobolNormalRandomNumberGenerator.of(DIMENSION);
+    sobolBridge = SobolNormalRandomNumberGenerator.ofBrownianBridge(BrownianBridge.ofUnitSteps(DIMENSION));
+    array = new double[size];
+    blocks = new double[BLOCKS][size / BLOCKS];
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public double[] coltVector() {
+    return colt.getVector(size);
+  }
+
+  @Benchmark
+  public double[] coltFill() {
+    colt.fill(array);
+    return array;
+  }
+
+  @Benchmark
+  public double[] splittableFill() {
+    splittable.fill(array);
+    return array;
+  }
+
+  @Benchmark
+  public double[][] splittableParallelFill() {
+    List<SplittableNormalRandomNumberGenerator> generators = splittable.split(BLOCKS);
+    IntStream.range(0, BLOCKS).parallel().forEach(i -> generators.get(i).fill(blocks[i]));
+    return blocks;
+  }
+
+  @Benchmark
+  public double[] sobolFill() {
+    sobol.fill(array);
+    return array;
+  }
+
+  @Benchmark
+  public double[] sobolBrownianBridgeFill() {
+    sobolBridge.fill(array);
+    return array;
+  }
+
+}
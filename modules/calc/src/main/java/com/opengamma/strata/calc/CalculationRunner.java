@@ -12,6 +12,7 @@ import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.runner.CalculationListener;
 import com.opengamma.strata.calc.runner.CalculationTaskRunner;
+import com.opengamma.strata.collect.result.StackTraceCapture;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -66,6 +67,40 @@ public interface CalculationRunner extends AutoCloseable {
     return DefaultCalculationRunner.of(executor);
   }
 
+  /**
+   * Creates a calculation runner capable of performing calculations, specifying the executor
+   * and the policy for capturing stack traces of failures.
+   * <p>
+   * The policy applies to failures created while performing the calculations of this runner,
+   * overriding the global policy.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param stackTraceCapture  the policy for capturing stack traces of failures
+   * @return the calculation runner
+   */
+  public static CalculationRunner of(ExecutorService executor, StackTraceCapture stackTraceCapture) {
+    return DefaultCalculationRunner.of(executor, stackTraceCapture);
+  }
+
+  /**
+   * Creates a calculation runner that partitions the calculations across worker processes on the local host.
+   * <p>
+   * Each calculation starts the specified number of worker JVMs, using the same Java installation
+   * and class path as this JVM. The calculations are partitioned by target, and the results are streamed
+   * back to this JVM. The market data, reference data, targets and results must be serializable.
+   * See {@link CalculationTaskRunner#ofMultiProcess(int)}.
+   * <p>
+   * It is recommended to use try-with-resources to manage the runner.
+   * 
+   * @param processes  the number of worker processes
+   * @return the calculation runner
+   */
+  public static CalculationRunner ofMultiProcess(int processes) {
+    return DefaultCalculationRunner.ofMultiProcess(processes);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
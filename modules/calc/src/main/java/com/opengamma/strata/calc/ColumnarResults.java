@@ -0,0 +1,316 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+
+/**
+ * Calculation results stored by column, with primitive storage for currency amounts.
+ * <p>
+ * This is an alternative to {@link Results} intended for large calculations.
+ * It defines the same grid of results, with a row for each target and a column for each measure,
+ * and provides the same accessors.
+ * <p>
+ * Successful results that are a single {@link CurrencyAmount} are stored in a {@code double[]}
+ * per column, with the currency held as an index into a small per-column table.
+ * All other results, including failures, are stored in a side table that is sparse if
+ * the column is dominated by currency amounts and dense otherwise.
+ * Thus a grid of currency amounts uses roughly ten bytes per cell rather than two objects per cell.
+ * <p>
+ * Since currency amounts are not stored as objects, {@link #get(int, int)} creates a new
+ * {@code Result} each time it is called for such a cell.
+ * <p>
+ * Instances are created using {@link #of(Results)} or {@link #builder(List, int)}.
+ * The listener {@code ColumnarResultsListener} builds an instance directly from a calculation
+ * without the intermediate list of results.
+ */
+public final class ColumnarResults {
+
+  /**
+   * The column headers.
+   */
+  private final ImmutableList<ColumnHeader> columns;
+  /**
+   * The results, one entry per column.
+   */
+  private final ImmutableList<ResultColumn> resultColumns;
+  /**
+   * The number of rows.
+   */
+  private final int rowCount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from a set of results.
+   *
+   * @param results  the results to convert
+   * @return the columnar results
+   */
+  public static ColumnarResults of(Results results) {
+    ArgChecker.notNull(results, "results");
+    return of(results.getColumns(), results.getCells());
+  }
+
+  /**
+   * Obtains an instance containing the results of the calculation for each cell.
+   * <p>
+   * The cells are grouped by target, then column, as in {@link Results#getCells()}.
+   * The number of cells must be exactly divisible by the number of columns.
+   *
+   * @param columns  the names of each column
+   * @param cells  the calculated results, one for each cell
+   * @return the columnar results
+   */
+  public static ColumnarResults of(List<ColumnHeader> columns, List<? extends Result<?>> cells) {
+    ArgChecker.notNull(columns, "columns");
+    ArgChecker.notNull(cells, "cells");
+    int columnCount = columns.size();
+    int rowCount = (columnCount == 0 ? 0 : cells.size() / columnCount);
+    if (rowCount * columnCount != cells.size()) {
+      throw new IllegalArgumentException(Messages.format(
+          "The number of cells ({}) must equal the number of rows ({}) multiplied by the number of columns ({})",
+          cells.size(),
+          rowCount,
+          columnCount));
+    }
+    ColumnarResultsBuilder builder = builder(columns, rowCount);
+    for (int i = 0; i < cells.size(); i++) {
+      builder.set(i / columnCount, i % columnCount, cells.get(i));
+    }
+    return builder.build();
+  }
+
+  /**
+   * Returns a builder used to populate the results cell by cell.
+   *
+   * @param columns  the names of each column
+   * @param rowCount  the number of rows
+   * @return the builder
+   */
+  public static ColumnarResultsBuilder builder(List<ColumnHeader> columns, int rowCount) {
+    return new ColumnarResultsBuilder(columns, rowCount);
+  }
+
+  // restricted constructor
+  ColumnarResults(List<ColumnHeader> columns, List<ResultColumn> resultColumns, int rowCount) {
+    this.columns = ImmutableList.copyOf(columns);
+    this.resultColumns = ImmutableList.copyOf(resultColumns);
+    this.rowCount = rowCount;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the column headers.
+   *
+   * @return the column headers
+   */
+  public ImmutableList<ColumnHeader> getColumns() {
+    return columns;
+  }
+
+  /**
+   * Gets the number of rows in the results.
+   * <p>
+   * The number of rows equals the number of targets input to the calculation.
+   *
+   * @return the number of rows
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Gets the number of columns in the results.
+   *
+   * @return the number of columns
+   */
+  public int getColumnCount() {
+    return columns.size();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the results for a target and column index.
+   * <p>
+   * The result may be a single value or a multi-scenario value.
+   * A multi-scenario value will implement {@link ScenarioArray} unless it has been aggregated.
+   * <p>
+   * If the calculation did not complete successfully, a failure result will be returned
+   * explaining the problem. Callers must check whether the result is a success or failure
+   * before examining the result value.
+   *
+   * @param rowIndex   the index of the row containing the results for a target
+   * @param columnIndex  the index of the column
+   * @return the result for the specified row and column for a set of scenarios
+   * @throws IllegalArgumentException if the row or column index is invalid
+   */
+  public Result<?> get(int rowIndex, int columnIndex) {
+    ArgChecker.inRange(rowIndex, 0, rowCount, "rowIndex");
+    ArgChecker.inRange(columnIndex, 0, columns.size(), "columnIndex");
+    return resultColumns.get(columnIndex).get(rowIndex);
+  }
+
+  /**
+   * Returns the results for a target and column index, casting the result to a known type.
+   * <p>
+   * See {@link #get(int, int)} for more details.
+   *
+   * @param <T>  the result type
+   * @param rowIndex   the index of the row containing the results for a target
+   * @param columnIndex  the index of the column
+   * @param type  the result type
+   * @return the result for the specified row and column for a set of scenarios, cast to the specified type
+   * @throws IllegalArgumentException if the row or column index is invalid
+   * @throws ClassCastException if the result is not of the specified type
+   */
+  public <T> Result<T> get(int rowIndex, int columnIndex, Class<T> type) {
+    return cast(get(rowIndex, columnIndex), type);
+  }
+
+  /**
+   * Returns the results for a target and column name.
+   * <p>
+   * See {@link #get(int, int)} for more details.
+   *
+   * @param rowIndex   the index of the row containing the results for a target
+   * @param columnName  the name of the column
+   * @return the result for the specified row and column for a set of scenarios
+   * @throws IllegalArgumentException if the row index or column name is invalid
+   */
+  public Result<?> get(int rowIndex, ColumnName columnName) {
+    for (int i = 0; i < columns.size(); i++) {
+      if (columns.get(i).getName().equals(columnName)) {
+        return get(rowIndex, i);
+      }
+    }
+    throw new IllegalArgumentException(Messages.format("Column name not found: {}", columnName));
+  }
+
+  /**
+   * Returns the results for a target and column name, casting the result to a known type.
+   * <p>
+   * See {@link #get(int, int)} for more details.
+   *
+   * @param <T>  the result type
+   * @param rowIndex   the index of the row containing the results for a target
+   * @param columnName  the name of the column
+   * @param type  the result type
+   * @return the result for the specified row and column for a set of scenarios, cast to the specified type
+   * @throws IllegalArgumentException if the row index or column name is invalid
+   * @throws ClassCastException if the result is not of the specified type
+   */
+  public <T> Result<T> get(int rowIndex, ColumnName columnName, Class<T> type) {
+    return cast(get(rowIndex, columnName), type);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Result<T> cast(Result<?> result, Class<T> type) {
+    // cannot use result.map() as we want the exception to be thrown
+    if (result.isFailure() || type.isInstance(result.getValue())) {
+      return (Result<T>) result;
+    }
+    throw new ClassCastException(Messages.format(
+        "Result queried with type '{}' but was '{}'", type.getName(), result.getValue().getClass().getName()));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts these results to an instance of {@link Results}.
+   * <p>
+   * This creates an object for each cell, losing the memory benefit of this class.
+   *
+   * @return the results
+   */
+  public Results toResults() {
+    int columnCount = columns.size();
+    List<Result<?>> cells = new ArrayList<>(rowCount * columnCount);
+    for (int row = 0; row < rowCount; row++) {
+      for (int column = 0; column < columnCount; column++) {
+        cells.add(resultColumns.get(column).get(row));
+      }
+    }
+    return Results.of(columns, cells);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof ColumnarResults) {
+      ColumnarResults other = (ColumnarResults) obj;
+      return rowCount == other.rowCount &&
+          columns.equals(other.columns) &&
+          toResults().equals(other.toResults());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return toResults().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return Messages.format("ColumnarResults[rows={}, columns={}]", rowCount, columns.size());
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The results of a single column.
+   * <p>
+   * A cell is either a currency amount, held in {@code amounts} with a non-negative currency index,
+   * or a result held in {@code dense} or {@code sparse}.
+   */
+  static final class ResultColumn {
+    /** The currencies referred to by the currency indices. */
+    private final Currency[] currencies;
+    /** The currency index of each row, negative if the row is not a currency amount, null if no row is. */
+    private final short[] currencyIndices;
+    /** The amount of each row, null if no row is a currency amount. */
+    private final double[] amounts;
+    /** The other results keyed by row, null if stored densely. */
+    private final ImmutableMap<Integer, Result<?>> sparse;
+    /** The other results indexed by row, null if stored sparsely. */
+    private final Result<?>[] dense;
+
+    ResultColumn(
+        Currency[] currencies,
+        short[] currencyIndices,
+        double[] amounts,
+        Map<Integer, Result<?>> sparse,
+        Result<?>[] dense) {
+
+      this.currencies = currencies;
+      this.currencyIndices = currencyIndices;
+      this.amounts = amounts;
+      this.sparse = sparse != null ? ImmutableMap.copyOf(sparse) : null;
+      this.dense = dense;
+    }
+
+    // gets the result of a row
+    Result<?> get(int row) {
+      if (currencyIndices != null && currencyIndices[row] >= 0) {
+        return Result.success(CurrencyAmount.of(currencies[currencyIndices[row]], amounts[row]));
+      }
+      return dense != null ? dense[row] : sparse.get(row);
+    }
+  }
+
+}
@@ -0,0 +1,196 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.calc.ColumnarResults.ResultColumn;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Builder for {@link ColumnarResults}.
+ * <p>
+ * This is a mutable builder that is populated cell by cell, in any order.
+ * Every cell must be set before {@link #build()} is called.
+ * <p>
+ * This class is not thread-safe.
+ */
+public final class ColumnarResultsBuilder {
+
+  /**
+   * The divisor of the row count giving the number of other results above which a column is stored densely.
+   */
+  private static final int DENSE_DIVISOR = 4;
+
+  /**
+   * The column headers.
+   */
+  private final ImmutableList<ColumnHeader> columns;
+  /**
+   * The number of rows.
+   */
+  private final int rowCount;
+  /**
+   * The column builders.
+   */
+  private final ColumnBuilder[] columnBuilders;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   *
+   * @param columns  the names of each column
+   * @param rowCount  the number of rows
+   */
+  ColumnarResultsBuilder(List<ColumnHeader> columns, int rowCount) {
+    this.columns = ImmutableList.copyOf(ArgChecker.notNull(columns, "columns"));
+    this.rowCount = ArgChecker.notNegative(rowCount, "rowCount");
+    this.columnBuilders = new ColumnBuilder[columns.size()];
+    for (int i = 0; i < columnBuilders.length; i++) {
+      columnBuilders[i] = new ColumnBuilder(rowCount);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Sets the result of a cell.
+   * <p>
+   * Setting a cell more than once replaces the previous result.
+   *
+   * @param rowIndex  the index of the row
+   * @param columnIndex  the index of the column
+   * @param result  the result of the cell
+   * @return this builder
+   * @throws IllegalArgumentException if the row or column index is invalid
+   */
+  public ColumnarResultsBuilder set(int rowIndex, int columnIndex, Result<?> result) {
+    ArgChecker.inRange(rowIndex, 0, rowCount, "rowIndex");
+    ArgChecker.inRange(columnIndex, 0, columnBuilders.length, "columnIndex");
+    ArgChecker.notNull(result, "result");
+    columnBuilders[columnIndex].set(rowIndex, result);
+    return this;
+  }
+
+  /**
+   * Builds the results.
+   *
+   * @return the results
+   * @throws IllegalStateException if a cell has not been set
+   */
+  public ColumnarResults build() {
+    List<ResultColumn> resultColumns = new ArrayList<>(columnBuilders.length);
+    for (int i = 0; i < columnBuilders.length; i++) {
+      resultColumns.add(columnBuilders[i].build(i));
+    }
+    return new ColumnarResults(columns, resultColumns, rowCount);
+  }
+
+  //-------------------------------------------------------------------------
+  // builds a single column, allocating storage only when first needed
+  private static final class ColumnBuilder {
+    private final int rowCount;
+    private final List<Currency> currencies = new ArrayList<>();
+    private short[] currencyIndices;
+    private double[] amounts;
+    private Result<?>[] others;
+    private int otherCount;
+
+    private ColumnBuilder(int rowCount) {
+      this.rowCount = rowCount;
+    }
+
+    // sets a row
+    private void set(int row, Result<?> result) {
+      if (result.isSuccess() && result.getValue() instanceof CurrencyAmount) {
+        CurrencyAmount amount = (CurrencyAmount) result.getValue();
+        int currencyIndex = currencyIndex(amount.getCurrency());
+        if (currencyIndex <= Short.MAX_VALUE) {
+          if (amounts == null) {
+            amounts = new double[rowCount];
+            currencyIndices = new short[rowCount];
+            Arrays.fill(currencyIndices, (short) -1);
+          }
+          setOther(row, null);
+          currencyIndices[row] = (short) currencyIndex;
+          amounts[row] = amount.getAmount();
+          return;
+        }
+      }
+      if (currencyIndices != null) {
+        currencyIndices[row] = -1;
+      }
+      setOther(row, result);
+    }
+
+    // finds the index of the currency, adding it if necessary
+    private int currencyIndex(Currency currency) {
+      int index = currencies.indexOf(currency);
+      if (index < 0) {
+        currencies.add(currency);
+        return currencies.size() - 1;
+      }
+      return index;
+    }
+
+    // sets a non-currency row, tracking the count
+    private void setOther(int row, Result<?> result) {
+      if (others == null) {
+        if (result == null) {
+          return;
+        }
+        others = new Result<?>[rowCount];
+      }
+      if (others[row] != null) {
+        otherCount--;
+      }
+      if (result != null) {
+        otherCount++;
+      }
+      others[row] = result;
+    }
+
+    // builds the column
+    private ResultColumn build(int columnIndex) {
+      int currencyCount = 0;
+      if (currencyIndices != null) {
+        for (short currencyIndex : currencyIndices) {
+          currencyCount += currencyIndex >= 0 ? 1 : 0;
+        }
+      }
+      if (currencyCount + otherCount != rowCount) {
+        throw new IllegalStateException(Messages.format(
+            "Results not set for all cells in column {}, expected {} but found {}",
+            columnIndex,
+            rowCount,
+            currencyCount + otherCount));
+      }
+      // copy the arrays so that the builder can continue to be used
+      Currency[] currencyArray = currencies.toArray(new Currency[currencies.size()]);
+      short[] currencyIndicesCopy = currencyIndices != null ? currencyIndices.clone() : null;
+      double[] amountsCopy = amounts != null ? amounts.clone() : null;
+      if (otherCount > rowCount / DENSE_DIVISOR) {
+        return new ResultColumn(currencyArray, currencyIndicesCopy, amountsCopy, null, others.clone());
+      }
+      Map<Integer, Result<?>> sparse = new HashMap<>();
+      for (int row = 0; others != null && row < rowCount; row++) {
+        if (others[row] != null) {
+          sparse.put(row, others[row]);
+        }
+      }
+      return new ResultColumn(currencyArray, currencyIndicesCopy, amountsCopy, sparse, null);
+    }
+  }
+
+}
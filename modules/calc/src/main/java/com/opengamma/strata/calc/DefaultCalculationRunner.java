@@ -14,6 +14,7 @@ import com.opengamma.strata.calc.runner.CalculationListener;
 import com.opengamma.strata.calc.runner.CalculationTaskRunner;
 import com.opengamma.strata.calc.runner.CalculationTasks;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.StackTraceCapture;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -59,6 +60,30 @@ class DefaultCalculationRunner implements CalculationRunner {
     return new DefaultCalculationRunner(CalculationTaskRunner.of(executor));
   }
 
+  /**
+   * Creates a calculation runner capable of performing calculations, specifying the executor
+   * and the policy for capturing stack traces of failures.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param stackTraceCapture  the policy for capturing stack traces of failures
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner of(ExecutorService executor, StackTraceCapture stackTraceCapture) {
+    return new DefaultCalculationRunner(CalculationTaskRunner.of(executor, stackTraceCapture));
+  }
+
+  /**
+   * Creates a calculation runner that partitions the calculations across worker processes on the local host.
+   * 
+   * @param processes  the number of worker processes
+   * @return the calculation runner
+   */
+  static DefaultCalculationRunner ofMultiProcess(int processes) {
+    return new DefaultCalculationRunner(CalculationTaskRunner.ofMultiProcess(processes));
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates an instance specifying the underlying task runner to use.
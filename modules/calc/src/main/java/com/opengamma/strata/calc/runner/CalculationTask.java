@@ -35,6 +35,7 @@ import com.opengamma.strata.basics.currency.FxRate;
 import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.collect.metrics.Instrumentation;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.FxRateId;
@@ -42,6 +43,7 @@ import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableId;
 import com.opengamma.strata.data.ObservableSource;
+import com.opengamma.strata.data.scenario.ScenarioFxRateCube;
 import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -202,13 +204,39 @@ public final class CalculationTask implements ImmutableBean {
    * @param refData  the reference data
    * @return results of the calculation, one for every scenario in the market data
    */
-  @SuppressWarnings("unchecked")
   public CalculationResults execute(ScenarioMarketData marketData, ReferenceData refData) {
-    // calculate the results
+    return execute(marketData, ScenarioFxRateProvider.of(marketData), refData);
+  }
+
+  /**
+   * Executes the task, performing calculations for the target using multiple sets of market data
+   * and converting the results using the specified FX rates.
+   * <p>
+   * This invokes the function with the correct set of market data.
+   * <p>
+   * The FX rate provider must provide the rates of the market data.
+   * When running many tasks against the same market data, a single {@link ScenarioFxRateCube}
+   * can be shared by all the tasks, so that each FX rate is only looked up once.
+   *
+   * @param marketData  the market data used in the calculation
+   * @param fxProvider  the provider of FX rates used to convert the results
+   * @param refData  the reference data
+   * @return results of the calculation, one for every scenario in the market data
+   */
+  public CalculationResults execute(
+      ScenarioMarketData marketData,
+      ScenarioFxRateProvider fxProvider,
+      ReferenceData refData) {
+
+    // calculate the results, timing the function if instrumentation is enabled
+    Instrumentation instrumentation = Instrumentation.global();
+    long start = instrumentation.isEnabled() ? System.nanoTime() : 0;
     Map<Measure, Result<?>> results = calculate(marketData, refData);
+    if (instrumentation.isEnabled()) {
+      recordDuration(instrumentation, System.nanoTime() - start);
+    }
 
     // convert the results, using a normal loop for better stack traces
-    ScenarioFxRateProvider fxProvider = ScenarioFxRateProvider.of(marketData);
     ImmutableList.Builder<CalculationResult> resultBuilder = ImmutableList.builder();
     for (CalculationTaskCell cell : cells) {
       resultBuilder.add(cell.createResult(this, target, results, fxProvider, refData));
@@ -218,6 +246,14 @@ public final class CalculationTask implements ImmutableBean {
     return CalculationResults.of(target, resultBuilder.build());
   }
 
+  // records the time taken by the function, the whole time is attributed to each measure
+  private void recordDuration(Instrumentation instrumentation, long durationNanos) {
+    instrumentation.recordDuration(Instrumentation.CALCULATION_FUNCTION, function.getClass().getSimpleName(), durationNanos);
+    for (Measure measure : getMeasures()) {
+      instrumentation.recordDuration(Instrumentation.CALCULATION_MEASURE, measure.getName(), durationNanos);
+    }
+  }
+
   // calculates the result
   private Map<Measure, Result<?>> calculate(ScenarioMarketData marketData, ReferenceData refData) {
     try {
@@ -5,13 +5,16 @@
  */
 package com.opengamma.strata.calc.runner;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.ExecutorService;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.CalculationRunner;
 import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.collect.result.StackTraceCapture;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
@@ -79,6 +82,76 @@ public interface CalculationTaskRunner extends AutoCloseable {
     return DefaultCalculationTaskRunner.of(executor);
   }
 
+  /**
+   * Creates a calculation task runner capable of performing calculations, specifying the executor
+   * and the policy for capturing stack traces of failures.
+   * <p>
+   * The policy applies to failures created while performing the calculations of this runner,
+   * overriding the global policy. Using {@link StackTraceCapture#NONE} or {@link StackTraceCapture#DEDUPLICATED}
+   * greatly reduces the cost of failures when a large number of calculations fail for the same reason.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   * 
+   * @param executor  the executor to use
+   * @param stackTraceCapture  the policy for capturing stack traces of failures
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner of(ExecutorService executor, StackTraceCapture stackTraceCapture) {
+    return DefaultCalculationTaskRunner.of(executor, stackTraceCapture);
+  }
+
+  /**
+   * Creates a calculation task runner that partitions the tasks across worker processes on the local host.
+   * <p>
+   * Each calculation starts the specified number of worker JVMs, using the same Java installation
+   * and class path as this JVM. The tasks are partitioned by target, and the results are streamed
+   * back to this JVM. The market data, reference data, targets and results must be serializable.
+   * <p>
+   * It is recommended to use try-with-resources to manage the runner.
+   * 
+   * @param processes  the number of worker processes
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofMultiProcess(int processes) {
+    return MultiProcessCalculationTaskRunner.of(processes, ImmutableList.of());
+  }
+
+  /**
+   * Creates a calculation task runner that partitions the tasks across worker processes on the local host,
+   * specifying additional arguments for the worker JVMs.
+   * <p>
+   * Each calculation starts the specified number of worker JVMs, using the same Java installation
+   * and class path as this JVM. The JVM arguments are typically used to control the heap size
+   * and garbage collector of the workers, such as {@code -Xmx4g}.
+   * <p>
+   * It is recommended to use try-with-resources to manage the runner.
+   * 
+   * @param processes  the number of worker processes
+   * @param jvmArguments  the additional arguments passed to each worker JVM
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofMultiProcess(int processes, List<String> jvmArguments) {
+    return MultiProcessCalculationTaskRunner.of(processes, jvmArguments);
+  }
+
+  /**
+   * Creates a calculation task runner that partitions the tasks across worker processes on the local host,
+   * specifying additional arguments for the worker JVMs and the timeout of a worker.
+   * <p>
+   * The timeout is the maximum time to wait for the next result from a worker, which defaults to 30 minutes.
+   * If it is exceeded, the worker is stopped and the tasks that have not returned a result fail.
+   * <p>
+   * It is recommended to use try-with-resources to manage the runner.
+   * 
+   * @param processes  the number of worker processes
+   * @param jvmArguments  the additional arguments passed to each worker JVM
+   * @param timeout  the maximum time to wait for the next result from a worker
+   * @return the calculation task runner
+   */
+  public static CalculationTaskRunner ofMultiProcess(int processes, List<String> jvmArguments, Duration timeout) {
+    return MultiProcessCalculationTaskRunner.of(processes, jvmArguments, timeout);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Performs calculations for a single set of market data.
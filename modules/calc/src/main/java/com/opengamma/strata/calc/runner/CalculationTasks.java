@@ -7,7 +7,12 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import org.joda.beans.BeanDefinition;
@@ -30,6 +35,7 @@ import com.opengamma.strata.calc.Measure;
 import com.opengamma.strata.calc.ReportingCurrency;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirementsBuilder;
+import com.opengamma.strata.calc.runner.DeduplicatingCalculationFunction.SharedCalculation;
 import com.opengamma.strata.collect.Messages;
 
 /**
@@ -71,6 +77,9 @@ public final class CalculationTasks implements ImmutableBean {
    * <p>
    * The targets will typically be trades.
    * The columns represent the measures to calculate.
+   * <p>
+   * If the parameters of the rules contain a {@link TargetDeduplication}, the tasks of equivalent targets
+   * share their calculations, such that each group of equivalent targets is only calculated once per run.
    * 
    * @param rules  the rules defining how the calculation is performed
    * @param targets  the targets for which values of the measures will be calculated
@@ -90,7 +99,7 @@ public final class CalculationTasks implements ImmutableBean {
             .collect(toImmutableList());
 
     // loop around the targets, then the columns, to build the tasks
-    ImmutableList.Builder<CalculationTask> taskBuilder = ImmutableList.builder();
+    List<CalculationTask> tasks = new ArrayList<>();
     for (int rowIndex = 0; rowIndex < targets.size(); rowIndex++) {
       CalculationTarget target = targets.get(rowIndex);
 
@@ -99,11 +108,17 @@ public final class CalculationTasks implements ImmutableBean {
 
       // create the tasks
       List<CalculationTask> targetTasks = createTargetTasks(target, rowIndex, fn, effectiveColumns);
-      taskBuilder.addAll(targetTasks);
+      tasks.addAll(targetTasks);
+    }
+
+    // share the calculations of equivalent targets if requested
+    Optional<TargetDeduplication> deduplication = rules.getParameters().findParameter(TargetDeduplication.class);
+    if (deduplication.isPresent()) {
+      tasks = deduplicate(tasks, deduplication.get());
     }
 
     // calculation tasks holds the original user-specified columns, not the derived ones
-    return new CalculationTasks(taskBuilder.build(), columns);
+    return new CalculationTasks(tasks, columns);
   }
 
   // creates the tasks for a single target
@@ -134,6 +149,50 @@ public final class CalculationTasks implements ImmutableBean {
     return taskBuilder.build();
   }
 
+  // groups the tasks of equivalent targets, such that each group is only calculated once
+  private static List<CalculationTask> deduplicate(List<CalculationTask> tasks, TargetDeduplication deduplication) {
+    // the tasks of a group have equivalent targets, the same function and parameters, and the same columns
+    List<List<Object>> taskKeys = new ArrayList<>(tasks.size());
+    Map<List<Object>, Integer> groupSizes = new HashMap<>();
+    for (CalculationTask task : tasks) {
+      List<Object> key = null;
+      CalculationTarget target = task.getTarget();
+      Optional<Object> targetKey = deduplication.key(target);
+      if (targetKey.isPresent() && isValidQuantity(deduplication.quantity(target))) {
+        key = Arrays.asList(
+            targetKey.get(),
+            task.getFunction(),
+            task.getParameters(),
+            task.getCells().stream().map(CalculationTaskCell::getColumnIndex).collect(toImmutableList()));
+        groupSizes.merge(key, 1, Integer::sum);
+      }
+      taskKeys.add(key);
+    }
+    // wrap the functions of the tasks in groups of more than one task
+    Map<List<Object>, SharedCalculation> sharedCalculations = new HashMap<>();
+    List<CalculationTask> result = new ArrayList<>(tasks.size());
+    for (int i = 0; i < tasks.size(); i++) {
+      CalculationTask task = tasks.get(i);
+      List<Object> key = taskKeys.get(i);
+      if (key == null || groupSizes.get(key) == 1) {
+        result.add(task);
+        continue;
+      }
+      CalculationTarget target = task.getTarget();
+      double quantity = deduplication.quantity(target);
+      SharedCalculation shared = sharedCalculations.computeIfAbsent(key, k -> new SharedCalculation(target, quantity));
+      CalculationFunction<CalculationTarget> function = new DeduplicatingCalculationFunction(
+          task.getFunction(), deduplication, shared, quantity / shared.getQuantity());
+      result.add(CalculationTask.of(target, function, task.getParameters(), task.getCells()));
+    }
+    return result;
+  }
+
+  // checks that the quantity can be used to scale results
+  private static boolean isValidQuantity(double quantity) {
+    return quantity != 0 && Double.isFinite(quantity);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Obtains an instance from a set of tasks and columns.
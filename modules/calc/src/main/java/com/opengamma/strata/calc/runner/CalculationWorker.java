@@ -0,0 +1,301 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.ReportingCurrency;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.result.StackTraceCapture;
+import com.opengamma.strata.data.scenario.ScenarioFxRateCube;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * The worker process used by the multi-process calculation task runner.
+ * <p>
+ * The worker reads a single request from standard input, containing the market data,
+ * reference data and a partition of the calculation tasks. It performs the tasks using
+ * a thread-pool and writes the results of each task to standard output as soon as it completes.
+ * Standard output is reserved for results, thus anything else printed by the worker,
+ * such as logging, is redirected to standard error.
+ * <p>
+ * The request uses Java serialization. Each result is written as the index of the task, followed by
+ * the length and bytes of the serialized results. The results of each task are serialized separately
+ * before being written, such that results that cannot be serialized are replaced by a failure
+ * without affecting the other tasks. After all results, the index {@code -1} is written.
+ * <p>
+ * This class is public so that it can be launched as a process.
+ * It is not intended to be used directly.
+ */
+public final class CalculationWorker {
+
+  /**
+   * The index written after all the results.
+   */
+  static final int END = -1;
+
+  // restricted constructor
+  private CalculationWorker() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Runs the worker, reading from standard input and writing to standard output.
+   *
+   * @param args  the arguments, unused
+   */
+  public static void main(String[] args) {
+    PrintStream results = System.out;
+    System.setOut(System.err);
+    try {
+      run(System.in, results);
+    } catch (Throwable ex) {
+      ex.printStackTrace();
+      System.exit(1);
+    }
+    System.exit(0);
+  }
+
+  // reads the request, performs the tasks and writes the results
+  static void run(InputStream in, OutputStream out) throws IOException, ClassNotFoundException {
+    Request request = (Request) new ObjectInputStream(new BufferedInputStream(in)).readObject();
+    DataOutputStream resultStream = new DataOutputStream(new BufferedOutputStream(out));
+    ExecutorService executor = DefaultCalculationTaskRunner.createExecutor(request.threads);
+    try {
+      ScenarioFxRateCube fxRates = ScenarioFxRateCube.of(request.marketData);
+      List<CompletableFuture<Void>> futures = request.tasks.stream()
+          .map(spec -> CompletableFuture
+              .supplyAsync(() -> execute(spec, request, fxRates), executor)
+              .thenAccept(results -> write(resultStream, spec, results)))
+          .collect(toImmutableList());
+      CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[futures.size()])).join();
+      synchronized (resultStream) {
+        resultStream.writeInt(END);
+        resultStream.flush();
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  // executes a single task
+  private static CalculationResults execute(TaskSpec spec, Request request, ScenarioFxRateCube fxRates) {
+    CalculationTask task = spec.toTask();
+    Supplier<CalculationResults> supplier = () -> task.execute(request.marketData, fxRates, request.refData);
+    return request.stackTraceCapture.execute(supplier);
+  }
+
+  // writes the results of a task, replacing them by a failure if they cannot be serialized
+  // the results are serialized before the stream is locked, so a failure cannot corrupt the stream
+  private static void write(DataOutputStream out, TaskSpec spec, CalculationResults results) {
+    byte[] bytes;
+    try {
+      bytes = serialize(results);
+    } catch (IOException | RuntimeException ex) {
+      Result<?> failure = Result.failure(
+          FailureReason.ERROR, ex, "Unable to serialize calculation results: {}", ex.toString());
+      try {
+        bytes = serialize(spec.failure(failure));
+      } catch (IOException ex2) {
+        throw new UncheckedIOException(ex2);
+      }
+    }
+    synchronized (out) {
+      try {
+        out.writeInt(spec.index);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.flush();
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+  }
+
+  // serializes the results of a task
+  private static byte[] serialize(CalculationResults results) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(results);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Reads the index of the next task from the result stream.
+   *
+   * @param in  the result stream
+   * @return the index of the task, {@link #END} if there are no more results
+   * @throws IOException if an IO error occurs
+   */
+  static int readIndex(DataInputStream in) throws IOException {
+    return in.readInt();
+  }
+
+  /**
+   * Reads the serialized results of a task from the result stream.
+   * <p>
+   * This is called after {@link #readIndex(DataInputStream)}.
+   *
+   * @param in  the result stream
+   * @return the serialized results
+   * @throws IOException if an IO error occurs
+   */
+  static byte[] readResults(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  /**
+   * Deserializes the results of a task.
+   *
+   * @param bytes  the serialized results
+   * @return the results
+   * @throws IOException if an IO error occurs
+   * @throws ClassNotFoundException if a class of the results cannot be found
+   */
+  static CalculationResults deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      return (CalculationResults) in.readObject();
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The request sent to a worker.
+   */
+  static final class Request implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ScenarioMarketData marketData;
+    private final ReferenceData refData;
+    private final StackTraceCapture stackTraceCapture;
+    private final int threads;
+    private final List<TaskSpec> tasks;
+
+    Request(
+        ScenarioMarketData marketData,
+        ReferenceData refData,
+        StackTraceCapture stackTraceCapture,
+        int threads,
+        List<TaskSpec> tasks) {
+
+      this.marketData = marketData;
+      this.refData = refData;
+      this.stackTraceCapture = stackTraceCapture;
+      this.threads = threads;
+      this.tasks = tasks;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The serializable form of a task.
+   * <p>
+   * The function is serialized with the task, such that any state of the function is retained.
+   */
+  static final class TaskSpec implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int index;
+    private final CalculationTarget target;
+    private final CalculationFunction<?> function;
+    private final CalculationParameters parameters;
+    private final int[] rowIndices;
+    private final int[] columnIndices;
+    private final Measure[] measures;
+    private final ReportingCurrency[] reportingCurrencies;
+
+    private TaskSpec(int index, CalculationTask task) {
+      List<CalculationTaskCell> cells = task.getCells();
+      this.index = index;
+      this.target = task.getTarget();
+      this.function = task.getFunction();
+      this.parameters = task.getParameters();
+      this.rowIndices = cells.stream().mapToInt(CalculationTaskCell::getRowIndex).toArray();
+      this.columnIndices = cells.stream().mapToInt(CalculationTaskCell::getColumnIndex).toArray();
+      this.measures = cells.stream().map(CalculationTaskCell::getMeasure).toArray(Measure[]::new);
+      this.reportingCurrencies =
+          cells.stream().map(CalculationTaskCell::getReportingCurrency).toArray(ReportingCurrency[]::new);
+    }
+
+    /**
+     * Creates the serializable form of the task, returning null if the task cannot be sent to a worker.
+     * <p>
+     * A task can be sent if both the target and the function are serializable.
+     *
+     * @param index  the index of the task in the partition
+     * @param task  the task
+     * @return the serializable form, null if the task must be run locally
+     */
+    static TaskSpec of(int index, CalculationTask task) {
+      if (!(task.getTarget() instanceof Serializable) || !(task.getFunction() instanceof Serializable)) {
+        return null;
+      }
+      return new TaskSpec(index, task);
+    }
+
+    // recreates the task
+    private CalculationTask toTask() {
+      ImmutableList.Builder<CalculationTaskCell> cells = ImmutableList.builder();
+      for (int i = 0; i < rowIndices.length; i++) {
+        cells.add(CalculationTaskCell.of(rowIndices[i], columnIndices[i], measures[i], reportingCurrencies[i]));
+      }
+      return CalculationTask.of(target, function, parameters, cells.build());
+    }
+
+    /**
+     * Gets the index of the task in the partition.
+     *
+     * @return the index
+     */
+    int getIndex() {
+      return index;
+    }
+
+    /**
+     * Creates results where every cell is the specified failure.
+     *
+     * @param failure  the failure
+     * @return the results
+     */
+    CalculationResults failure(Result<?> failure) {
+      ImmutableList.Builder<CalculationResult> results = ImmutableList.builder();
+      for (int i = 0; i < rowIndices.length; i++) {
+        results.add(CalculationResult.of(rowIndices[i], columnIndices[i], failure));
+      }
+      return CalculationResults.of(target, results.build());
+    }
+  }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.ColumnarResults;
+import com.opengamma.strata.calc.ColumnarResultsBuilder;
+
+/**
+ * Calculation listener that receives the results of individual calculations and builds a set of
+ * {@link ColumnarResults}.
+ * <p>
+ * Each result is stored in the columnar form as it arrives, thus the results of the
+ * individual calculations are not retained. This reduces the memory used by large calculations.
+ */
+public final class ColumnarResultsListener extends AggregatingCalculationListener<ColumnarResults> {
+
+  /** The builder that is populated with the results as they arrive. */
+  private ColumnarResultsBuilder builder;
+
+  /**
+   * Creates a new instance.
+   */
+  public ColumnarResultsListener() {
+  }
+
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    List<ColumnHeader> headers = columns.stream()
+        .map(Column::toHeader)
+        .collect(toImmutableList());
+    this.builder = ColumnarResults.builder(headers, targets.size());
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    builder.set(result.getRowIndex(), result.getColumnIndex(), result.getResult());
+  }
+
+  @Override
+  protected ColumnarResults createAggregateResult() {
+    return builder.build();
+  }
+}
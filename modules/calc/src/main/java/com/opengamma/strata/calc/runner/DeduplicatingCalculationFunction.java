@@ -0,0 +1,208 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A function wrapper that shares the calculations of a group of equivalent targets.
+ * <p>
+ * Each task of the group has its own instance of this function, with the group sharing a single
+ * {@link SharedCalculation}. The first task to be executed calculates the results of the first target
+ * of the group, which are then used by all the tasks of the group for the same market data.
+ * The result of each measure is derived using {@link TargetDeduplication#scale(Measure, Object, double)},
+ * and the measures that cannot be derived are calculated directly for the target.
+ */
+final class DeduplicatingCalculationFunction
+    implements CalculationFunction<CalculationTarget> {
+
+  /**
+   * The underlying function.
+   */
+  private final CalculationFunction<CalculationTarget> delegate;
+  /**
+   * The deduplication, used to derive the results.
+   */
+  private final TargetDeduplication deduplication;
+  /**
+   * The calculation shared by the group.
+   */
+  private final SharedCalculation shared;
+  /**
+   * The ratio of the quantity of the target to that of the first target of the group.
+   */
+  private final double factor;
+
+  /**
+   * Creates an instance.
+   *
+   * @param delegate  the underlying function
+   * @param deduplication  the deduplication
+   * @param shared  the calculation shared by the group
+   * @param factor  the ratio of the quantity of the target to that of the first target of the group
+   */
+  DeduplicatingCalculationFunction(
+      CalculationFunction<CalculationTarget> delegate,
+      TargetDeduplication deduplication,
+      SharedCalculation shared,
+      double factor) {
+
+    this.delegate = delegate;
+    this.deduplication = deduplication;
+    this.shared = shared;
+    this.factor = factor;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Class<CalculationTarget> targetType() {
+    return delegate.targetType();
+  }
+
+  @Override
+  public Set<Measure> supportedMeasures() {
+    return delegate.supportedMeasures();
+  }
+
+  @Override
+  public Optional<String> identifier(CalculationTarget target) {
+    return delegate.identifier(target);
+  }
+
+  @Override
+  public Currency naturalCurrency(CalculationTarget target, ReferenceData refData) {
+    return delegate.naturalCurrency(target, refData);
+  }
+
+  @Override
+  public FunctionRequirements requirements(
+      CalculationTarget target,
+      Set<Measure> measures,
+      CalculationParameters parameters,
+      ReferenceData refData) {
+
+    return delegate.requirements(target, measures, parameters, refData);
+  }
+
+  @Override
+  public Map<Measure, Result<?>> calculate(
+      CalculationTarget target,
+      Set<Measure> measures,
+      CalculationParameters parameters,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    // if the shared calculation fails, the target is calculated directly to obtain the correct failure
+    Map<Measure, Result<?>> sharedResults;
+    try {
+      sharedResults = shared.calculate(delegate, measures, parameters, marketData, refData);
+    } catch (RuntimeException ex) {
+      return delegate.calculate(target, measures, parameters, marketData, refData);
+    }
+    if (target == shared.target) {
+      return sharedResults;
+    }
+    // derive the successful results, calculating the others directly
+    Map<Measure, Result<?>> results = new HashMap<>();
+    Set<Measure> remaining = new HashSet<>();
+    for (Measure measure : measures) {
+      Result<?> sharedResult = sharedResults.get(measure);
+      Optional<Object> value = sharedResult != null && sharedResult.isSuccess() ?
+          deduplication.scale(measure, sharedResult.getValue(), factor) :
+          Optional.empty();
+      if (value.isPresent()) {
+        results.put(measure, Result.success(value.get()));
+      } else {
+        remaining.add(measure);
+      }
+    }
+    if (!remaining.isEmpty()) {
+      results.putAll(delegate.calculate(target, remaining, parameters, marketData, refData));
+    }
+    return results;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The calculation shared by a group of equivalent targets.
+   * <p>
+   * This holds the results of the first target of the group for the market data of the last run.
+   * The market data is only weakly referenced, such that it can be released once the run is complete.
+   */
+  static final class SharedCalculation {
+
+    /**
+     * The first target of the group.
+     */
+    private final CalculationTarget target;
+    /**
+     * The quantity of the first target of the group.
+     */
+    private final double quantity;
+    /**
+     * The market data of the results.
+     */
+    private WeakReference<ScenarioMarketData> marketData = new WeakReference<>(null);
+    /**
+     * The reference data of the results.
+     */
+    private ReferenceData refData;
+    /**
+     * The results, null if not calculated.
+     */
+    private Map<Measure, Result<?>> results;
+
+    /**
+     * Creates an instance.
+     *
+     * @param target  the first target of the group
+     * @param quantity  the quantity of the first target of the group
+     */
+    SharedCalculation(CalculationTarget target, double quantity) {
+      this.target = target;
+      this.quantity = quantity;
+    }
+
+    // gets the quantity of the first target
+    double getQuantity() {
+      return quantity;
+    }
+
+    // calculates the results of the first target, unless already calculated with the same market data
+    synchronized Map<Measure, Result<?>> calculate(
+        CalculationFunction<CalculationTarget> function,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      if (results == null ||
+          this.marketData.get() != marketData ||
+          this.refData != refData ||
+          !results.keySet().containsAll(measures)) {
+        results = null;
+        Map<Measure, Result<?>> calculated = function.calculate(target, measures, parameters, marketData, refData);
+        this.marketData = new WeakReference<>(marketData);
+        this.refData = refData;
+        this.results = calculated;
+      }
+      return results;
+    }
+  }
+
+}
@@ -22,8 +22,11 @@ import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.result.StackTraceCapture;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxRateCube;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -38,6 +41,10 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * This will typically be multi-threaded, but single or direct executors also work.
    */
   private final ExecutorService executor;
+  /**
+   * The policy for capturing stack traces of failures in the tasks, null if the global policy applies.
+   */
+  private final StackTraceCapture stackTraceCapture;
 
   //-------------------------------------------------------------------------
   /**
@@ -54,7 +61,7 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner ofMultiThreaded() {
-    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()));
+    return new DefaultCalculationTaskRunner(createExecutor(Runtime.getRuntime().availableProcessors()), null);
   }
 
   /**
@@ -66,11 +73,25 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * @return the calculation task runner
    */
   static DefaultCalculationTaskRunner of(ExecutorService executor) {
-    return new DefaultCalculationTaskRunner(executor);
+    return new DefaultCalculationTaskRunner(executor, null);
+  }
+
+  /**
+   * Creates a calculation task runner capable of performing calculations, specifying the executor
+   * and the policy for capturing stack traces of failures.
+   * <p>
+   * It is the callers responsibility to manage the life-cycle of the executor.
+   *
+   * @param executor  the executor to use
+   * @param stackTraceCapture  the policy for capturing stack traces of failures
+   * @return the calculation task runner
+   */
+  static DefaultCalculationTaskRunner of(ExecutorService executor, StackTraceCapture stackTraceCapture) {
+    return new DefaultCalculationTaskRunner(executor, ArgChecker.notNull(stackTraceCapture, "stackTraceCapture"));
   }
 
   // create an executor with daemon threads
-  private static ExecutorService createExecutor(int threads) {
+  static ExecutorService createExecutor(int threads) {
     int effectiveThreads = (threads <= 0 ? Runtime.getRuntime().availableProcessors() : threads);
     ThreadFactory threadFactory = r -> {
       Thread t = Executors.defaultThreadFactory().newThread(r);
@@ -86,9 +107,11 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * Creates an instance specifying the executor to use.
    *
    * @param executor  the executor that is used to perform the calculations
+   * @param stackTraceCapture  the policy for capturing stack traces, null if the global policy applies
    */
-  private DefaultCalculationTaskRunner(ExecutorService executor) {
+  private DefaultCalculationTaskRunner(ExecutorService executor, StackTraceCapture stackTraceCapture) {
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.stackTraceCapture = stackTraceCapture;
   }
 
   //-------------------------------------------------------------------------
@@ -123,7 +146,7 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
    * <p>
    * If this method is called with a {@code ScenarioArray} containing more than one value it throws an exception.
    */
-  private static Result<?> unwrapScenarioResult(Result<?> result) {
+  static Result<?> unwrapScenarioResult(Result<?> result) {
     if (result.isFailure()) {
       return result;
     }
@@ -179,20 +202,28 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     Consumer<CalculationResults> consumer =
         new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
 
+    // the FX rates are shared by all tasks, so each rate is only looked up once per run
+    ScenarioFxRateCube fxRates = ScenarioFxRateCube.of(marketData);
+
     // run each task using the executor
-    taskList.forEach(task -> runTask(task, marketData, refData, consumer));
+    taskList.forEach(task -> runTask(task, marketData, fxRates, refData, consumer));
   }
 
   // submits a task to the executor to be run
-  private void runTask(
+  void runTask(
       CalculationTask task,
       ScenarioMarketData marketData,
+      ScenarioFxRateProvider fxRates,
       ReferenceData refData,
       Consumer<CalculationResults> consumer) {
 
     // the task is executed, with the result passed to the consumer
     // the consumer wraps the listener to ensure thread-safety
-    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, refData);
+    Supplier<CalculationResults> taskExecutor = () -> task.execute(marketData, fxRates, refData);
+    if (stackTraceCapture != null) {
+      Supplier<CalculationResults> underlying = taskExecutor;
+      taskExecutor = () -> stackTraceCapture.execute(underlying);
+    }
     CompletableFuture.supplyAsync(taskExecutor, executor).thenAccept(consumer);
   }
 
@@ -202,19 +233,17 @@ final class DefaultCalculationTaskRunner implements CalculationTaskRunner {
     executor.shutdown();
   }
 
-  //-------------------------------------------------------------------------
-
   //-------------------------------------------------------------------------
   /**
    * Listener that decorates another listener and unwraps {@link ScenarioArray} instances
    * containing a single value before passing the value to the delegate listener.
    * This is used by the single scenario async method.
    */
-  private static final class UnwrappingListener implements CalculationListener {
+  static final class UnwrappingListener implements CalculationListener {
 
     private final CalculationListener delegate;
 
-    private UnwrappingListener(CalculationListener delegate) {
+    UnwrappingListener(CalculationListener delegate) {
       this.delegate = delegate;
     }
 
@@ -18,6 +18,7 @@ import org.slf4j.LoggerFactory;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.calc.Column;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.metrics.Instrumentation;
 
 /**
  * Wrapper around a listener for thread-safety.
@@ -46,6 +47,12 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
   /** This lock is never contended; it is used to guarantee the listener state is visible to all threads. */
   private final Lock listenerLock = new ReentrantLock();
 
+  /** The instrumentation, captured on creation. */
+  private final Instrumentation instrumentation = Instrumentation.global();
+
+  /** The name of the listener used in instrumentation. */
+  private final String listenerName;
+
   /** The total number of tasks to be executed. */
   private final int tasksExpected;
 
@@ -72,6 +79,7 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
   ListenerWrapper(CalculationListener listener, int tasksExpected, List<CalculationTarget> targets, List<Column> columns) {
     this.listener = ArgChecker.notNull(listener, "listener");
     this.tasksExpected = ArgChecker.notNegative(tasksExpected, "tasksExpected");
+    this.listenerName = listener.getClass().getSimpleName();
 
     listenerLock.lock();
     try {
@@ -117,6 +125,9 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
         // the queue and return. The other thread will ensure the queued results
         // are delivered.
         queue.add(result);
+        if (instrumentation.isEnabled()) {
+          instrumentation.recordValue(Instrumentation.CALCULATION_LISTENER_QUEUE, listenerName, queue.size());
+        }
         return;
       } else {
         // There is no thread invoking the listener. Set the executing flag to
@@ -137,6 +148,7 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
       // only one thread will ever be in this loop at any given time.
       // This lock is required to ensure any state changes in the listener are visible to all threads
       listenerLock.lock();
+      long start = instrumentation.isEnabled() ? System.nanoTime() : 0;
       try {
         // Invoke the listener while not protected by lock. This allows other threads
         // to queue results while this thread is delivering them to the listener.
@@ -148,6 +160,9 @@ final class ListenerWrapper implements Consumer<CalculationResults> {
       } finally {
         listenerLock.unlock();
       }
+      if (instrumentation.isEnabled()) {
+        instrumentation.recordDuration(Instrumentation.CALCULATION_LISTENER, listenerName, System.nanoTime() - start);
+      }
 
       // The following code must be executed whilst holding the lock to guarantee any changes
       // to the executing flag and to the state of the queue are visible to all threads
@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.opengamma.strata.collect.metrics.Instrumentation;
+import com.opengamma.strata.collect.metrics.MetricSummary;
+import com.opengamma.strata.collect.metrics.MetricsListener;
+import com.opengamma.strata.collect.metrics.RecordingInstrumentation;
+
+/**
+ * Metrics listener that writes the metrics to the log.
+ * <p>
+ * Each metric and key is logged at info level on a separate line.
+ * Durations are logged in microseconds.
+ * <p>
+ * Typical usage is as follows:
+ * <pre>
+ *  RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+ *  Instrumentation.setGlobal(instrumentation);
+ *  // perform calculations
+ *  instrumentation.report(LoggingMetricsListener.INSTANCE);
+ * </pre>
+ *
+ * @see RecordingInstrumentation
+ */
+public final class LoggingMetricsListener implements MetricsListener {
+
+  /**
+   * The logger.
+   */
+  private static final Logger log = LoggerFactory.getLogger(LoggingMetricsListener.class);
+  /**
+   * The singleton instance.
+   */
+  public static final LoggingMetricsListener INSTANCE = new LoggingMetricsListener();
+
+  /**
+   * Restricted constructor.
+   */
+  private LoggingMetricsListener() {
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void metricsReported(List<MetricSummary> summaries) {
+    if (log.isInfoEnabled()) {
+      for (MetricSummary summary : summaries) {
+        log.info(format(summary));
+      }
+    }
+  }
+
+  // formats a summary, converting durations to microseconds
+  static String format(MetricSummary summary) {
+    double scale = isDuration(summary.getMetric()) ? TimeUnit.MICROSECONDS.toNanos(1) : 1d;
+    String unit = isDuration(summary.getMetric()) ? "us" : "";
+    return String.format(
+        Locale.ENGLISH,
+        "%s[%s]: count=%d, mean=%.1f%s, p50=%.1f%s, p99=%.1f%s, max=%.1f%s",
+        summary.getMetric(),
+        summary.getKey(),
+        summary.getCount(),
+        summary.getMean() / scale,
+        unit,
+        summary.getP50() / scale,
+        unit,
+        summary.getP99() / scale,
+        unit,
+        summary.getMax() / scale,
+        unit);
+  }
+
+  // checks if the metric is a duration
+  private static boolean isDuration(String metric) {
+    return !metric.equals(Instrumentation.CALCULATION_LISTENER_QUEUE) &&
+        !metric.equals(Instrumentation.CALIBRATION_EVALUATIONS) &&
+        !metric.equals(Instrumentation.CALIBRATION_RESIDUAL);
+  }
+
+  @Override
+  public String toString() {
+    return "LoggingMetricsListener";
+  }
+
+}
@@ -0,0 +1,345 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationWorker.Request;
+import com.opengamma.strata.calc.runner.CalculationWorker.TaskSpec;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.result.StackTraceCapture;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioFxRateCube;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * A calculation task runner that partitions the tasks across a number of worker processes on the local host.
+ * <p>
+ * A single JVM may be limited by heap size and garbage collection pauses when calculating very large portfolios.
+ * This runner partitions the tasks by target, sending each partition to a separate worker JVM.
+ * The workers are started for each calculation, using the same Java installation and class path as this JVM.
+ * Each worker is sent the market data and reference data once, together with its partition of the tasks.
+ * The results of each task are streamed back over the standard output of the worker as soon as they are
+ * available, and passed to the listener.
+ * <p>
+ * The request and results are sent using Java serialization, thus the market data, reference data, targets
+ * and results must be serializable. The function of each task is serialized with the task, such that
+ * the worker uses a copy of the same function, including any state. A task whose target or function
+ * is not serializable is performed in this JVM instead, using a local thread-pool.
+ * <p>
+ * Failures are handled in the same way as {@link DefaultCalculationTaskRunner}.
+ * The stack trace policy of the thread starting the calculation is used by the workers and the local tasks.
+ * A task that fails results in failures in the cells of the task, and the listener is always completed.
+ * A task whose results cannot be serialized results in failures in the cells of the task.
+ * If a worker process fails, or does not return a result within the timeout, the worker is stopped and
+ * the tasks of that worker which have not returned a result are completed with a failure.
+ */
+final class MultiProcessCalculationTaskRunner implements CalculationTaskRunner {
+
+  /**
+   * The logger.
+   */
+  private static final Logger log = LoggerFactory.getLogger(MultiProcessCalculationTaskRunner.class);
+  /**
+   * The default maximum time to wait for the next result from a worker.
+   */
+  static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(30);
+
+  /**
+   * The number of worker processes.
+   */
+  private final int processes;
+  /**
+   * The additional arguments passed to each worker JVM, such as heap size.
+   */
+  private final ImmutableList<String> jvmArguments;
+  /**
+   * The maximum time to wait for the next result from a worker, including the first result.
+   */
+  private final Duration timeout;
+  /**
+   * Executes the tasks that cannot be sent to a worker.
+   */
+  private final ExecutorService localExecutor;
+  /**
+   * Executes the threads that communicate with the workers.
+   */
+  private final ExecutorService workerExecutor;
+  /**
+   * Stops workers that have not returned a result within the timeout.
+   */
+  private final ScheduledExecutorService watchdog;
+  /**
+   * The worker processes that are running.
+   */
+  private final Set<Process> running = ConcurrentHashMap.newKeySet();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a runner with the specified number of worker processes.
+   *
+   * @param processes  the number of worker processes
+   * @param jvmArguments  the additional arguments passed to each worker JVM
+   * @return the runner
+   */
+  static MultiProcessCalculationTaskRunner of(int processes, List<String> jvmArguments) {
+    return new MultiProcessCalculationTaskRunner(processes, jvmArguments, DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * Creates a runner with the specified number of worker processes and timeout.
+   * <p>
+   * The timeout is the maximum time to wait for the next result from a worker.
+   * If it is exceeded, the worker is stopped and its remaining tasks fail.
+   *
+   * @param processes  the number of worker processes
+   * @param jvmArguments  the additional arguments passed to each worker JVM
+   * @param timeout  the maximum time to wait for the next result from a worker
+   * @return the runner
+   */
+  static MultiProcessCalculationTaskRunner of(int processes, List<String> jvmArguments, Duration timeout) {
+    return new MultiProcessCalculationTaskRunner(processes, jvmArguments, timeout);
+  }
+
+  // restricted constructor
+  private MultiProcessCalculationTaskRunner(int processes, List<String> jvmArguments, Duration timeout) {
+    this.processes = ArgChecker.notNegativeOrZero(processes, "processes");
+    this.jvmArguments = ImmutableList.copyOf(ArgChecker.noNulls(jvmArguments, "jvmArguments"));
+    ArgChecker.notNull(timeout, "timeout");
+    ArgChecker.isFalse(timeout.isNegative() || timeout.isZero(), "Timeout must be positive: {}", timeout);
+    this.timeout = timeout;
+    this.localExecutor = DefaultCalculationTaskRunner.createExecutor(0);
+    this.workerExecutor = Executors.newCachedThreadPool(r -> {
+      Thread t = Executors.defaultThreadFactory().newThread(r);
+      t.setName("CalculationWorker-" + t.getName());
+      t.setDaemon(true);
+      return t;
+    });
+    this.watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = Executors.defaultThreadFactory().newThread(r);
+      t.setName("CalculationWorkerWatchdog-" + t.getName());
+      t.setDaemon(true);
+      return t;
+    });
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Results calculate(
+      CalculationTasks tasks,
+      MarketData marketData,
+      ReferenceData refData) {
+
+    ScenarioMarketData md = ScenarioMarketData.of(1, marketData);
+    Results results = calculateMultiScenario(tasks, md, refData);
+    List<Result<?>> mappedResults = results.getCells().stream()
+        .map(r -> DefaultCalculationTaskRunner.unwrapScenarioResult(r))
+        .collect(toImmutableList());
+    return Results.of(results.getColumns(), mappedResults);
+  }
+
+  @Override
+  public void calculateAsync(
+      CalculationTasks tasks,
+      MarketData marketData,
+      ReferenceData refData,
+      CalculationListener listener) {
+
+    ScenarioMarketData md = ScenarioMarketData.of(1, marketData);
+    calculateMultiScenarioAsync(tasks, md, refData, new DefaultCalculationTaskRunner.UnwrappingListener(listener));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Results calculateMultiScenario(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData) {
+
+    ResultsListener listener = new ResultsListener();
+    calculateMultiScenarioAsync(tasks, marketData, refData, listener);
+    return listener.result();
+  }
+
+  @Override
+  public void calculateMultiScenarioAsync(
+      CalculationTasks tasks,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      CalculationListener listener) {
+
+    ArgChecker.isTrue(
+        marketData instanceof Serializable, "Market data must be serializable: {}", marketData.getClass().getName());
+    ArgChecker.isTrue(
+        refData instanceof Serializable, "Reference data must be serializable: {}", refData.getClass().getName());
+    List<CalculationTask> taskList = tasks.getTasks();
+    Consumer<CalculationResults> consumer =
+        new ListenerWrapper(listener, taskList.size(), tasks.getTargets(), tasks.getColumns());
+
+    // partition by target, so all the tasks of a target are sent to the same worker
+    List<List<TaskSpec>> partitions = new ArrayList<>();
+    for (int i = 0; i < processes; i++) {
+      partitions.add(new ArrayList<>());
+    }
+    List<CalculationTask> localTasks = new ArrayList<>();
+    for (CalculationTask task : taskList) {
+      List<TaskSpec> partition = partitions.get(task.getCells().get(0).getRowIndex() % processes);
+      TaskSpec spec = TaskSpec.of(partition.size(), task);
+      if (spec != null) {
+        partition.add(spec);
+      } else {
+        localTasks.add(task);
+      }
+    }
+
+    // the workers and local tasks use the stack trace policy of the caller
+    StackTraceCapture stackTraceCapture = StackTraceCapture.current();
+
+    // tasks that cannot be sent are submitted to the local thread-pool, not performed by the caller
+    if (!localTasks.isEmpty()) {
+      DefaultCalculationTaskRunner localRunner = DefaultCalculationTaskRunner.of(localExecutor, stackTraceCapture);
+      localExecutor.execute(() -> {
+        ScenarioFxRateCube fxRates = ScenarioFxRateCube.of(marketData);
+        localTasks.forEach(task -> localRunner.runTask(task, marketData, fxRates, refData, consumer));
+      });
+    }
+    int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / processes);
+    for (List<TaskSpec> partition : partitions) {
+      if (!partition.isEmpty()) {
+        Request request = new Request(marketData, refData, stackTraceCapture, threads, partition);
+        workerExecutor.execute(() -> runWorker(request, partition, consumer));
+      }
+    }
+  }
+
+  // runs a worker process for a partition, completing any tasks without results if the worker fails
+  private void runWorker(Request request, List<TaskSpec> partition, Consumer<CalculationResults> consumer) {
+    BitSet received = new BitSet(partition.size());
+    AtomicLong lastProgress = new AtomicLong(System.nanoTime());
+    AtomicBoolean timedOut = new AtomicBoolean();
+    Process process = null;
+    ScheduledFuture<?> watch = null;
+    try {
+      process = startWorker();
+      running.add(process);
+      watch = watch(process, lastProgress, timedOut);
+      try (OutputStream out = new BufferedOutputStream(process.getOutputStream())) {
+        ObjectOutputStream requestStream = new ObjectOutputStream(out);
+        requestStream.writeObject(request);
+        requestStream.flush();
+      }
+      DataInputStream in = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+      int index = CalculationWorker.readIndex(in);
+      while (index != CalculationWorker.END) {
+        byte[] bytes = CalculationWorker.readResults(in);
+        lastProgress.set(System.nanoTime());
+        received.set(index);
+        consumer.accept(deserialize(partition.get(index), bytes));
+        index = CalculationWorker.readIndex(in);
+      }
+      process.waitFor();
+    } catch (Exception ex) {
+      if (received.cardinality() < partition.size()) {
+        Result<?> failure;
+        if (timedOut.get()) {
+          log.warn("Calculation worker process timed out after " + timeout, ex);
+          failure = Result.failure(FailureReason.ERROR, ex, "Calculation worker process timed out after {}", timeout);
+        } else {
+          log.warn("Calculation worker process failed", ex);
+          failure = Result.failure(FailureReason.ERROR, ex, "Calculation worker process failed: {}", ex.toString());
+        }
+        for (TaskSpec spec : partition) {
+          if (!received.get(spec.getIndex())) {
+            consumer.accept(spec.failure(failure));
+          }
+        }
+      }
+    } finally {
+      if (watch != null) {
+        watch.cancel(false);
+      }
+      if (process != null) {
+        running.remove(process);
+        process.destroy();
+      }
+    }
+  }
+
+  // stops the worker if no result is received within the timeout, which ends the blocking read of the results
+  private ScheduledFuture<?> watch(Process process, AtomicLong lastProgress, AtomicBoolean timedOut) {
+    long timeoutNanos = timeout.toNanos();
+    long period = Math.max(1, timeout.toMillis() / 10);
+    return watchdog.scheduleWithFixedDelay(() -> {
+      if (System.nanoTime() - lastProgress.get() > timeoutNanos) {
+        timedOut.set(true);
+        process.destroyForcibly();
+      }
+    }, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  // deserializes the results of a task, completing the task with a failure if the results cannot be read
+  private static CalculationResults deserialize(TaskSpec spec, byte[] bytes) {
+    try {
+      return CalculationWorker.deserialize(bytes);
+    } catch (Exception ex) {
+      return spec.failure(Result.failure(
+          FailureReason.ERROR, ex, "Unable to deserialize calculation results: {}", ex.toString()));
+    }
+  }
+
+  // starts a worker JVM using the same Java installation and class path
+  private Process startWorker() throws Exception {
+    List<String> command = new ArrayList<>();
+    command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+    command.addAll(jvmArguments);
+    command.add("-cp");
+    command.add(System.getProperty("java.class.path"));
+    command.add(CalculationWorker.class.getName());
+    return new ProcessBuilder(command)
+        .redirectError(ProcessBuilder.Redirect.INHERIT)
+        .start();
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void close() {
+    localExecutor.shutdown();
+    workerExecutor.shutdownNow();
+    watchdog.shutdownNow();
+    running.forEach(Process::destroy);
+  }
+
+}
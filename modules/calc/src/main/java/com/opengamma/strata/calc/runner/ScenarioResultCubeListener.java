@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.List;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioResultCube;
+
+/**
+ * Calculation listener that streams the results of one column into a {@link ScenarioResultCube}.
+ * <p>
+ * This is used with multi-scenario calculations where the number of trades and scenarios
+ * is too large for the results to be held on the heap.
+ * The row index of each result is used as the row index in the cube.
+ * Results of other columns are ignored.
+ * <p>
+ * Results that are not scenario arrays compatible with the cube are recorded as failures in the cube.
+ * <p>
+ * The cube is not thread-safe. This listener relies on the calculation runner invoking it
+ * from a single thread at a time, thus the cube must not be populated by other code
+ * while the calculations are running.
+ */
+public final class ScenarioResultCubeListener extends AggregatingCalculationListener<ScenarioResultCube> {
+
+  /** The cube to populate. */
+  private final ScenarioResultCube cube;
+  /** The index of the column to store. */
+  private final int columnIndex;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param cube  the cube to populate, with one row per target
+   * @param columnIndex  the index of the column to store
+   */
+  public ScenarioResultCubeListener(ScenarioResultCube cube, int columnIndex) {
+    this.cube = ArgChecker.notNull(cube, "cube");
+    this.columnIndex = ArgChecker.notNegative(columnIndex, "columnIndex");
+  }
+
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    if (targets.size() != cube.getRowCount()) {
+      throw new IllegalArgumentException(Messages.format(
+          "Cube has {} rows but there are {} targets", cube.getRowCount(), targets.size()));
+    }
+    ArgChecker.inRange(columnIndex, 0, columns.size(), "columnIndex");
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult calculationResult) {
+    if (calculationResult.getColumnIndex() != columnIndex) {
+      return;
+    }
+    int rowIndex = calculationResult.getRowIndex();
+    Result<?> result = calculationResult.getResult();
+    if (result.isFailure()) {
+      cube.putFailure(rowIndex, result.getFailure());
+    } else if (result.getValue() instanceof ScenarioArray) {
+      try {
+        cube.put(rowIndex, (ScenarioArray<?>) result.getValue());
+      } catch (IllegalArgumentException ex) {
+        cube.putFailure(rowIndex, Failure.of(FailureReason.INVALID, ex));
+      }
+    } else {
+      cube.putFailure(rowIndex, Failure.of(
+          FailureReason.INVALID,
+          "Unable to store value of type '{}' in scenario result cube",
+          result.getValue().getClass().getSimpleName()));
+    }
+  }
+
+  @Override
+  protected ScenarioResultCube createAggregateResult() {
+    return cube;
+  }
+}
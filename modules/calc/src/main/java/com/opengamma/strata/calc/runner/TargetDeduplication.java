@@ -0,0 +1,81 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import java.util.Optional;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.Measure;
+
+/**
+ * Identifies calculation targets whose results are identical, or proportional to a quantity.
+ * <p>
+ * Large portfolios often contain many targets that are economically identical,
+ * such as positions in the same security, or trades with the same terms.
+ * When an instance of this parameter is present in the {@link CalculationRules},
+ * {@link CalculationTasks} groups the targets with equal keys, and the calculations of each group
+ * are only performed once per run, for the first target of the group.
+ * The results of the other targets are derived from those of the first target using
+ * {@link #scale(Measure, Object, double)}.
+ * <p>
+ * Targets are only grouped if they use the same function and the same parameters.
+ * <p>
+ * Implementations must be immutable and thread-safe.
+ */
+public interface TargetDeduplication extends CalculationParameter {
+
+  /**
+   * Finds the key identifying the target.
+   * <p>
+   * Targets with equal keys must produce the same results as one another, other than a scaling
+   * by their {@linkplain #quantity(CalculationTarget) quantity} for measures linear in the quantity.
+   * If the target should not be deduplicated, empty is returned.
+   *
+   * @param target  the target
+   * @return the key, empty if the target is not deduplicated
+   */
+  public abstract Optional<Object> key(CalculationTarget target);
+
+  /**
+   * Obtains the quantity of the target.
+   * <p>
+   * This is only called for targets that have a key, and must not be zero.
+   * It is typically the quantity of a position or trade in a security,
+   * or one for targets that are only deduplicated if identical.
+   *
+   * @param target  the target
+   * @return the quantity
+   */
+  public abstract double quantity(CalculationTarget target);
+
+  /**
+   * Derives the result of a measure for a target from the result of an equivalent target.
+   * <p>
+   * The factor is the ratio of the quantity of the target to the quantity of the equivalent target.
+   * The value is the successful result of the measure for the equivalent target.
+   * If the result cannot be derived, empty is returned and the measure is calculated for the target directly.
+   *
+   * @param measure  the measure
+   * @param value  the value of the measure for the equivalent target
+   * @param factor  the ratio of the quantities
+   * @return the value for the target, empty if it must be calculated directly
+   */
+  public abstract Optional<Object> scale(Measure measure, Object value, double factor);
+
+  /**
+   * Gets the type that the parameter will be queried by.
+   * <p>
+   * This returns {@code TargetDeduplication.class}.
+   *
+   * @return the query type
+   */
+  @Override
+  public default Class<? extends CalculationParameter> queryType() {
+    return TargetDeduplication.class;
+  }
+
+}
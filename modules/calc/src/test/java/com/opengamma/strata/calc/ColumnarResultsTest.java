@@ -0,0 +1,141 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link ColumnarResults}.
+ */
+@Test
+public class ColumnarResultsTest {
+
+  private static final ColumnName NAME_A = ColumnName.of("A");
+  private static final ColumnName NAME_B = ColumnName.of("B");
+  private static final ColumnHeader HEADER1 = ColumnHeader.of(NAME_A, TestingMeasures.PRESENT_VALUE);
+  private static final ColumnHeader HEADER2 = ColumnHeader.of(NAME_B, TestingMeasures.PAR_RATE);
+  private static final Result<CurrencyAmount> GBP_1 = Result.success(CurrencyAmount.of(GBP, 1));
+  private static final Result<CurrencyAmount> USD_2 = Result.success(CurrencyAmount.of(USD, 2));
+  private static final Result<CurrencyAmount> GBP_3 = Result.success(CurrencyAmount.of(GBP, 3));
+  private static final Result<Double> RATE = Result.success(0.01d);
+  private static final Result<Object> FAILURE = Result.failure(FailureReason.ERROR, "Failed");
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    ColumnarResults test = ColumnarResults.of(ImmutableList.of(), ImmutableList.of());
+    assertEquals(test.getColumns(), ImmutableList.of());
+    assertEquals(test.getRowCount(), 0);
+    assertEquals(test.getColumnCount(), 0);
+    assertThrowsIllegalArg(() -> test.get(0, 0));
+    assertThrowsIllegalArg(() -> test.get(0, NAME_A), "Column name not found.*");
+    assertEquals(test.toResults(), Results.of(ImmutableList.of(), ImmutableList.of()));
+  }
+
+  public void test_of() {
+    List<Result<?>> cells = ImmutableList.of(GBP_1, RATE, USD_2, FAILURE, GBP_3, RATE);
+    ColumnarResults test = ColumnarResults.of(ImmutableList.of(HEADER1, HEADER2), cells);
+    assertEquals(test.getColumns(), ImmutableList.of(HEADER1, HEADER2));
+    assertEquals(test.getRowCount(), 3);
+    assertEquals(test.getColumnCount(), 2);
+    assertEquals(test.get(0, 0), GBP_1);
+    assertEquals(test.get(1, 0), USD_2);
+    assertEquals(test.get(2, 0), GBP_3);
+    assertEquals(test.get(0, 1), RATE);
+    assertEquals(test.get(1, 1), FAILURE);
+    assertEquals(test.get(2, 1), RATE);
+    assertEquals(test.get(2, 0, CurrencyAmount.class), GBP_3);
+    assertEquals(test.get(2, NAME_A), GBP_3);
+    assertEquals(test.get(2, NAME_A, CurrencyAmount.class), GBP_3);
+    assertEquals(test.get(1, NAME_B, Double.class), FAILURE);
+    assertThrowsIllegalArg(() -> test.get(-1, 0));
+    assertThrowsIllegalArg(() -> test.get(3, 0));
+    assertThrowsIllegalArg(() -> test.get(0, -1));
+    assertThrowsIllegalArg(() -> test.get(0, 2));
+    assertThrows(() -> test.get(0, 0, String.class), ClassCastException.class,
+        "Result queried with type 'java.lang.String' but was 'com.opengamma.strata.basics.currency.CurrencyAmount'");
+    assertEquals(test.toResults(), Results.of(ImmutableList.of(HEADER1, HEADER2), cells));
+    assertEquals(test.toString(), "ColumnarResults[rows=3, columns=2]");
+  }
+
+  public void test_of_results() {
+    Results results = Results.of(ImmutableList.of(HEADER1, HEADER2), ImmutableList.of(GBP_1, FAILURE));
+    ColumnarResults test = ColumnarResults.of(results);
+    assertEquals(test.toResults(), results);
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> ColumnarResults.of(ImmutableList.of(), ImmutableList.of(GBP_1)), "The number of cells.*");
+    assertThrowsIllegalArg(
+        () -> ColumnarResults.of(ImmutableList.of(HEADER1, HEADER2), ImmutableList.of(GBP_1)), "The number of cells.*");
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_builder() {
+    ColumnarResultsBuilder builder = ColumnarResults.builder(ImmutableList.of(HEADER1), 2)
+        .set(1, 0, USD_2)
+        .set(0, 0, RATE)
+        .set(0, 0, GBP_1);
+    ColumnarResults test = builder.build();
+    assertEquals(test.get(0, 0), GBP_1);
+    assertEquals(test.get(1, 0), USD_2);
+    // builder can continue to be used
+    builder.set(0, 0, FAILURE);
+    assertEquals(test.get(0, 0), GBP_1);
+    assertEquals(builder.build().get(0, 0), FAILURE);
+    assertEquals(builder.build().get(1, 0), USD_2);
+  }
+
+  public void test_builder_dense() {
+    ColumnarResultsBuilder builder = ColumnarResults.builder(ImmutableList.of(HEADER1), 100);
+    for (int i = 0; i < 100; i++) {
+      builder.set(i, 0, i % 2 == 0 ? GBP_1 : RATE);
+    }
+    ColumnarResults test = builder.build();
+    assertEquals(test.get(0, 0), GBP_1);
+    assertEquals(test.get(1, 0), RATE);
+    assertEquals(test.get(99, 0), RATE);
+  }
+
+  public void test_builder_missing() {
+    ColumnarResultsBuilder builder = ColumnarResults.builder(ImmutableList.of(HEADER1), 2).set(0, 0, GBP_1);
+    assertThrows(() -> builder.build(), IllegalStateException.class, "Results not set for all cells in column 0.*");
+  }
+
+  public void test_builder_invalid() {
+    ColumnarResultsBuilder builder = ColumnarResults.builder(ImmutableList.of(HEADER1), 2);
+    assertThrowsIllegalArg(() -> builder.set(2, 0, GBP_1));
+    assertThrowsIllegalArg(() -> builder.set(0, 1, GBP_1));
+    assertThrowsIllegalArg(() -> builder.set(0, 0, null));
+    assertThrowsIllegalArg(() -> ColumnarResults.builder(ImmutableList.of(HEADER1), -1));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_equalsHashCode() {
+    ColumnarResults test = ColumnarResults.of(ImmutableList.of(HEADER1), ImmutableList.of(GBP_1));
+    ColumnarResults test2 = ColumnarResults.of(ImmutableList.of(HEADER1), ImmutableList.of(GBP_3));
+    assertEquals(test, test);
+    assertEquals(test, ColumnarResults.of(ImmutableList.of(HEADER1), ImmutableList.of(GBP_1)));
+    assertEquals(test.hashCode(), ColumnarResults.of(ImmutableList.of(HEADER1), ImmutableList.of(GBP_1)).hashCode());
+    assertFalse(test.equals(test2));
+    assertFalse(test.equals(null));
+    assertFalse(test.equals(""));
+  }
+
+}
@@ -21,6 +21,8 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.ReferenceData;
 import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.collect.metrics.Instrumentation;
+import com.opengamma.strata.collect.metrics.RecordingInstrumentation;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -117,6 +119,32 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketData.getValue(idC)).isEqualTo(new TestMarketDataC(timeSeries));
   }
 
+  /**
+   * Tests the time taken to build non-observable market data is recorded.
+   */
+  public void buildNonObservableValues_instrumented() {
+    MarketDataId<?> idC = new TestIdC("1");
+    MarketData suppliedData = ImmutableMarketData.builder(date(2011, 3, 8))
+        .addTimeSeries(new TestIdA("1"), LocalDateDoubleTimeSeries.empty())
+        .build();
+    MarketDataFactory factory = MarketDataFactory.of(
+        ObservableDataProvider.none(),
+        new TestTimeSeriesProvider(ImmutableMap.of()),
+        new TestMarketDataFunctionC());
+    MarketDataRequirements requirements = MarketDataRequirements.builder()
+        .addValues(idC, new TestIdC("2"))
+        .build();
+
+    RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+    Instrumentation.setGlobal(instrumentation);
+    try {
+      factory.create(requirements, MARKET_DATA_CONFIG, suppliedData, REF_DATA);
+    } finally {
+      Instrumentation.setGlobal(Instrumentation.none());
+    }
+    assertThat(instrumentation.summary(Instrumentation.MARKET_DATA_BUILD, "TestIdC").get().getCount()).isEqualTo(2);
+  }
+
   /**
    * Tests building observable market data values.
    */
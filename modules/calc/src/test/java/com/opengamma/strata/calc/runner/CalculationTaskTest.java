@@ -41,6 +41,8 @@ import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.TestId;
 import com.opengamma.strata.calc.marketdata.TestObservableId;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.metrics.Instrumentation;
+import com.opengamma.strata.collect.metrics.RecordingInstrumentation;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.FxRateId;
@@ -51,6 +53,7 @@ import com.opengamma.strata.data.ObservableSource;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
 import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxRateCube;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
@@ -114,6 +117,31 @@ public class CalculationTaskTest {
     assertThat(result).hasValue(expectedArray);
   }
 
+  /**
+   * Test that the result is converted using a shared FX rate cube.
+   */
+  public void convertResultCurrencyUsingFxRateCube() {
+    DoubleArray values = DoubleArray.of(1, 2, 3);
+    List<FxRate> rates = ImmutableList.of(1.61, 1.62, 1.63).stream()
+        .map(rate -> FxRate.of(GBP, USD, rate))
+        .collect(toImmutableList());
+    CurrencyScenarioArray list = CurrencyScenarioArray.of(GBP, values);
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8))
+        .addScenarioValue(FxRateId.of(GBP, USD), rates)
+        .build();
+    ConvertibleFunction fn = ConvertibleFunction.of(() -> list, GBP);
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD);
+    CalculationTask task = CalculationTask.of(TARGET, fn, cell);
+    ScenarioFxRateCube fxRates = ScenarioFxRateCube.of(marketData);
+
+    DoubleArray expectedValues = DoubleArray.of(1 * 1.61, 2 * 1.62, 3 * 1.63);
+    CurrencyScenarioArray expectedArray = CurrencyScenarioArray.of(USD, expectedValues);
+
+    CalculationResults calculationResults = task.execute(marketData, fxRates, REF_DATA);
+    assertThat(calculationResults.getCells().get(0).getResult()).hasValue(expectedArray);
+    assertThat(fxRates.fxRates(GBP, USD)).isSameAs(fxRates.fxRates(GBP, USD));
+  }
+
   /**
    * Test that the result is not converted if the isCurrencyConvertible flag on the measure is false.
    */
@@ -255,6 +283,26 @@ public class CalculationTaskTest {
     assertThat(result).hasValue(ScenarioArray.of("foo"));
   }
 
+  public void execute_instrumented() {
+    SupplierFunction<String> fn = SupplierFunction.of(() -> "foo");
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PRESENT_VALUE, REPORTING_CURRENCY_USD);
+    CalculationTask task = CalculationTask.of(TARGET, fn, cell);
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(date(2011, 3, 8)).build();
+
+    RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+    Instrumentation.setGlobal(instrumentation);
+    try {
+      task.execute(marketData, REF_DATA);
+      task.execute(marketData, REF_DATA);
+    } finally {
+      Instrumentation.setGlobal(Instrumentation.none());
+    }
+    assertThat(instrumentation.summary(Instrumentation.CALCULATION_FUNCTION, "SupplierFunction").get().getCount())
+        .isEqualTo(2);
+    assertThat(instrumentation.summary(Instrumentation.CALCULATION_MEASURE, "PresentValue").get().getCount())
+        .isEqualTo(2);
+  }
+
   /**
    * Test executing a bad function that fails to return expected measure.
    */
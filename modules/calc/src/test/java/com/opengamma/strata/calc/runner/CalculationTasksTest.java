@@ -7,10 +7,15 @@ package com.opengamma.strata.calc.runner;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.date;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.testng.Assert.assertNotNull;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import org.testng.annotations.Test;
@@ -18,17 +23,25 @@ import org.testng.annotations.Test;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.calc.CalculationRules;
 import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
 import com.opengamma.strata.calc.TestingMeasures;
 import com.opengamma.strata.calc.marketdata.MarketDataRequirements;
 import com.opengamma.strata.calc.marketdata.TestId;
 import com.opengamma.strata.calc.marketdata.TestObservableId;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestFunction;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
 
 /**
  * Test {@link CalculationTasks}.
@@ -102,6 +115,68 @@ public class CalculationTasksTest {
     assertThat(timeSeries.iterator().next()).isEqualTo(timeSeriesId);
   }
 
+  //-------------------------------------------------------------------------
+  public void test_of_deduplication() {
+    CountingFunction function = new CountingFunction();
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(QuantityTarget.class, function));
+    CalculationRules rules = CalculationRules.of(functions, new TestDeduplication());
+    QuantityTarget target1 = new QuantityTarget("A", 1);
+    QuantityTarget target2 = new QuantityTarget("A", 3);
+    QuantityTarget target3 = new QuantityTarget("B", 2);
+    QuantityTarget target4 = new QuantityTarget("A", 0);
+    List<QuantityTarget> targets = ImmutableList.of(target1, target2, target3, target4);
+    List<Column> columns = ImmutableList.of(
+        Column.of(TestingMeasures.PRESENT_VALUE),
+        Column.of(TestingMeasures.PAR_RATE),
+        Column.of(TestingMeasures.CASH_FLOWS));
+
+    CalculationTasks test = CalculationTasks.of(rules, targets, columns);
+    assertThat(test.getTargets()).containsExactly(target1, target2, target3, target4);
+    assertThat(test.getTasks()).hasSize(4);
+    assertThat(test.getTasks().get(0).getFunction()).isInstanceOf(DeduplicatingCalculationFunction.class);
+    assertThat(test.getTasks().get(1).getFunction()).isInstanceOf(DeduplicatingCalculationFunction.class);
+    assertThat(test.getTasks().get(2).getFunction()).isSameAs(function);
+    assertThat(test.getTasks().get(3).getFunction()).isSameAs(function);
+
+    // the present value is scaled, the par rate reused, and the cash flows calculated for each target
+    CalculationTaskRunner runner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    MarketData marketData = MarketData.empty(date(2011, 3, 8));
+    Results results = runner.calculate(test, marketData, REF_DATA);
+    assertThat(results.get(0, 0).getValue()).isEqualTo(10d);
+    assertThat(results.get(0, 1).getValue()).isEqualTo(0.5d);
+    assertThat(results.get(0, 2).getValue()).isEqualTo(1d);
+    assertThat(results.get(1, 0).getValue()).isEqualTo(30d);
+    assertThat(results.get(1, 1).getValue()).isEqualTo(0.5d);
+    assertThat(results.get(1, 2).getValue()).isEqualTo(3d);
+    assertThat(results.get(2, 0).getValue()).isEqualTo(20d);
+    assertThat(results.get(3, 0).getValue()).isEqualTo(0d);
+    assertThat(function.calculations).containsExactly(
+        ImmutableList.of(target1, 3), ImmutableList.of(target2, 1), ImmutableList.of(target3, 3),
+        ImmutableList.of(target4, 3));
+
+    // the shared results are recalculated for different market data
+    function.calculations.clear();
+    runner.calculate(test, MarketData.empty(date(2011, 3, 9)), REF_DATA);
+    assertThat(function.calculations).containsExactly(
+        ImmutableList.of(target1, 3), ImmutableList.of(target2, 1), ImmutableList.of(target3, 3),
+        ImmutableList.of(target4, 3));
+  }
+
+  public void test_of_deduplication_failure() {
+    CountingFunction function = new CountingFunction();
+    CalculationFunctions functions = CalculationFunctions.of(ImmutableMap.of(QuantityTarget.class, function));
+    CalculationRules rules = CalculationRules.of(functions, new TestDeduplication());
+    QuantityTarget target1 = new QuantityTarget("Fail", 1);
+    QuantityTarget target2 = new QuantityTarget("Fail", 2);
+    List<Column> columns = ImmutableList.of(Column.of(TestingMeasures.PRESENT_VALUE));
+
+    CalculationTasks test = CalculationTasks.of(rules, ImmutableList.of(target1, target2), columns);
+    CalculationTaskRunner runner = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    Results results = runner.calculate(test, MarketData.empty(date(2011, 3, 8)), REF_DATA);
+    assertThat(results.get(0, 0).getFailure().getMessage()).contains("Failed for quantity 1.0");
+    assertThat(results.get(1, 0).getFailure().getMessage()).contains("Failed for quantity 2.0");
+  }
+
   //-------------------------------------------------------------------------
   public void testToString() {
     List<TestTarget> targets = ImmutableList.of(TARGET1, TARGET1);
@@ -114,4 +189,93 @@ public class CalculationTasksTest {
     assertThat(task.toString()).isEqualTo("CalculationTasks[grid=2x3]");
   }
 
+  //-------------------------------------------------------------------------
+  private static final class QuantityTarget implements CalculationTarget {
+    private final String key;
+    private final double quantity;
+
+    private QuantityTarget(String key, double quantity) {
+      this.key = key;
+      this.quantity = quantity;
+    }
+  }
+
+  private static final class TestDeduplication implements TargetDeduplication {
+    @Override
+    public Optional<Object> key(CalculationTarget target) {
+      return Optional.of(((QuantityTarget) target).key);
+    }
+
+    @Override
+    public double quantity(CalculationTarget target) {
+      return ((QuantityTarget) target).quantity;
+    }
+
+    @Override
+    public Optional<Object> scale(Measure measure, Object value, double factor) {
+      if (measure.equals(TestingMeasures.PRESENT_VALUE)) {
+        return Optional.of((Double) value * factor);
+      }
+      if (measure.equals(TestingMeasures.PAR_RATE)) {
+        return Optional.of(value);
+      }
+      return Optional.empty();
+    }
+  }
+
+  // records the target and number of measures of each calculation
+  private static final class CountingFunction implements CalculationFunction<QuantityTarget> {
+    private final List<List<Object>> calculations = new ArrayList<>();
+
+    @Override
+    public Class<QuantityTarget> targetType() {
+      return QuantityTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(TestingMeasures.PRESENT_VALUE, TestingMeasures.PAR_RATE, TestingMeasures.CASH_FLOWS);
+    }
+
+    @Override
+    public Currency naturalCurrency(QuantityTarget target, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        QuantityTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        QuantityTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      calculations.add(ImmutableList.of(target, measures.size()));
+      if (target.key.equals("Fail")) {
+        throw new IllegalStateException("Failed for quantity " + target.quantity);
+      }
+      Map<Measure, Result<?>> results = new HashMap<>();
+      for (Measure measure : measures) {
+        if (measure.equals(TestingMeasures.PRESENT_VALUE)) {
+          results.put(measure, Result.success(10d * target.quantity));
+        } else if (measure.equals(TestingMeasures.PAR_RATE)) {
+          results.put(measure, Result.success(0.5d));
+        } else {
+          results.put(measure, Result.success(target.quantity));
+        }
+      }
+      return results;
+    }
+  }
+
 }
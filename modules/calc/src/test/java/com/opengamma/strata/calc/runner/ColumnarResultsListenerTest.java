@@ -0,0 +1,49 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnarResults;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Test {@link ColumnarResultsListener}.
+ */
+@Test
+public class ColumnarResultsListenerTest {
+
+  private static final CalculationTarget TARGET1 = new CalculationTarget() {};
+  private static final CalculationTarget TARGET2 = new CalculationTarget() {};
+
+  public void test_results() {
+    Result<CurrencyAmount> result1 = Result.success(CurrencyAmount.of(GBP, 1));
+    Result<Object> result2 = Result.failure(FailureReason.ERROR, "Failed");
+    Column column = Column.of(TestingMeasures.PRESENT_VALUE);
+
+    ColumnarResultsListener test = new ColumnarResultsListener();
+    test.calculationsStarted(ImmutableList.of(TARGET1, TARGET2), ImmutableList.of(column));
+    test.resultReceived(TARGET2, CalculationResult.of(1, 0, result2));
+    test.resultReceived(TARGET1, CalculationResult.of(0, 0, result1));
+    test.calculationsComplete();
+
+    ColumnarResults results = test.result();
+    assertEquals(results.getColumns(), ImmutableList.of(column.toHeader()));
+    assertEquals(results.getRowCount(), 2);
+    assertEquals(results.get(0, 0), result1);
+    assertEquals(results.get(1, 0), result2);
+  }
+
+}
@@ -33,7 +33,10 @@ import com.opengamma.strata.calc.TestingMeasures;
 import com.opengamma.strata.calc.marketdata.TestId;
 import com.opengamma.strata.calc.marketdata.TestObservableId;
 import com.opengamma.strata.calc.runner.CalculationTaskTest.TestTarget;
+import com.opengamma.strata.collect.result.FailureItem;
+import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.result.StackTraceCapture;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
@@ -195,6 +198,31 @@ public class DefaultCalculationTaskRunnerTest {
     assertThat(results.getColumns().get(0).getMeasure()).isEqualTo(TestingMeasures.PRESENT_VALUE);
   }
 
+  /**
+   * Tests that the stack trace capture policy of the runner applies to failures.
+   */
+  public void stackTraceCapture() {
+    ScenarioResultFunction fn = new ScenarioResultFunction(TestingMeasures.PRESENT_VALUE, ScenarioArray.of("foo"));
+    CalculationTaskCell cell = CalculationTaskCell.of(0, 0, TestingMeasures.PAR_RATE, NATURAL);
+    CalculationTask task = CalculationTask.of(TARGET, fn, cell);
+    Column column = Column.of(TestingMeasures.PAR_RATE);
+    CalculationTasks tasks = CalculationTasks.of(ImmutableList.of(task), ImmutableList.of(column));
+    MarketData marketData = MarketData.empty(VAL_DATE);
+
+    CalculationTaskRunner test =
+        CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService(), StackTraceCapture.NONE);
+    Result<?> result = test.calculate(tasks, marketData, REF_DATA).get(0, 0);
+    assertThat(result).isFailure(FailureReason.UNSUPPORTED);
+    FailureItem item = result.getFailure().getItems().iterator().next();
+    assertThat(item.getStackTrace()).hasLineCount(1);
+    assertThat(StackTraceCapture.current()).isEqualTo(StackTraceCapture.FULL);
+
+    CalculationTaskRunner full = CalculationTaskRunner.of(MoreExecutors.newDirectExecutorService());
+    Result<?> fullResult = full.calculate(tasks, marketData, REF_DATA).get(0, 0);
+    FailureItem fullItem = fullResult.getFailure().getItems().iterator().next();
+    assertThat(fullItem.getStackTrace().split(System.lineSeparator()).length).isGreaterThan(1);
+  }
+
   //-------------------------------------------------------------------------
   private static final class ScenarioResultFunction implements CalculationFunction<TestTarget> {
 
@@ -7,6 +7,7 @@ package com.opengamma.strata.calc.runner;
 
 import static java.util.stream.Collectors.joining;
 import static org.assertj.core.api.Assertions.fail;
+import static org.testng.Assert.assertEquals;
 
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -20,6 +21,8 @@ import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.collect.metrics.Instrumentation;
+import com.opengamma.strata.collect.metrics.RecordingInstrumentation;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 
@@ -52,6 +55,24 @@ public class ListenerWrapperTest {
     }
   }
 
+  public void instrumented() throws InterruptedException {
+    CountDownLatch latch = new CountDownLatch(1);
+    Listener listener = new Listener(new ConcurrentLinkedQueue<>(), latch);
+    RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+    Instrumentation.setGlobal(instrumentation);
+    try {
+      Consumer<CalculationResults> wrapper = new ListenerWrapper(listener, 2, ImmutableList.of(), ImmutableList.of());
+      CalculationResult result = CalculationResult.of(0, 0, Result.failure(FailureReason.ERROR, "foo"));
+      CalculationResults results = CalculationResults.of(new CalculationTarget() {}, ImmutableList.of(result));
+      wrapper.accept(results);
+      wrapper.accept(results);
+    } finally {
+      Instrumentation.setGlobal(Instrumentation.none());
+    }
+    latch.await();
+    assertEquals(instrumentation.summary(Instrumentation.CALCULATION_LISTENER, "Listener").get().getCount(), 2);
+  }
+
   public static final class Listener implements CalculationListener {
 
     /**
@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.metrics.Instrumentation;
+import com.opengamma.strata.collect.metrics.MetricSummary;
+import com.opengamma.strata.collect.metrics.RecordingInstrumentation;
+
+/**
+ * Test {@link LoggingMetricsListener}.
+ */
+@Test
+public class LoggingMetricsListenerTest {
+
+  public void test_format_duration() {
+    MetricSummary summary =
+        MetricSummary.of(Instrumentation.CALCULATION_FUNCTION, "Fn", 2, 3000d, 1000d, 2000d, 2000d, 1000d, 2000d);
+    assertEquals(
+        LoggingMetricsListener.format(summary),
+        "calc.function[Fn]: count=2, mean=1.5us, p50=1.0us, p99=2.0us, max=2.0us");
+  }
+
+  public void test_format_value() {
+    MetricSummary summary =
+        MetricSummary.of(Instrumentation.CALIBRATION_EVALUATIONS, "Curve", 1, 5d, 5d, 5d, 5d, 5d, 5d);
+    assertEquals(
+        LoggingMetricsListener.format(summary),
+        "calibration.evaluations[Curve]: count=1, mean=5.0, p50=5.0, p99=5.0, max=5.0");
+  }
+
+  public void test_report() {
+    RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+    instrumentation.recordDuration(Instrumentation.CALCULATION_FUNCTION, "Fn", 1000);
+    instrumentation.report(LoggingMetricsListener.INSTANCE);
+    LoggingMetricsListener.INSTANCE.metricsReported(ImmutableList.of());
+    assertEquals(LoggingMetricsListener.INSTANCE.toString(), "LoggingMetricsListener");
+  }
+
+}
@@ -0,0 +1,290 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.calc.ReportingCurrency.NATURAL;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.ReferenceDataId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+
+/**
+ * Test {@link MultiProcessCalculationTaskRunner}.
+ */
+@Test
+public class MultiProcessCalculationTaskRunnerTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2011, 3, 8);
+  private static final Measure MEASURE = TestingMeasures.PRESENT_VALUE;
+  private static final Column COLUMN = Column.of(MEASURE);
+  private static final String HALT_PROPERTY = "strata.test.haltWorker";
+  private static final String SLEEP_PROPERTY = "strata.test.sleepWorker";
+
+  //-------------------------------------------------------------------------
+  public void calculate() {
+    CalculationTasks tasks = tasks(new ProcessFunction(), new ProcessFunction(), new ProcessFunction());
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofMultiProcess(2)) {
+      Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+      assertThat(results.getRowCount()).isEqualTo(3);
+      String process = currentProcess();
+      for (int i = 0; i < 3; i++) {
+        Result<?> result = results.get(i, 0);
+        assertThat(result.isSuccess()).isTrue();
+        assertThat((String) result.getValue()).startsWith("T" + i + ":2011-03-08:").doesNotEndWith(process);
+      }
+      // rows are partitioned across the workers by target
+      assertThat(processOf(results.get(0, 0))).isEqualTo(processOf(results.get(2, 0)));
+      assertThat(processOf(results.get(0, 0))).isNotEqualTo(processOf(results.get(1, 0)));
+    }
+  }
+
+  // the function is serialized to the worker, retaining its state
+  public void calculate_functionState() {
+    CalculationTasks tasks = tasks(new ProcessFunction("A-"));
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofMultiProcess(1)) {
+      Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+      assertThat((String) results.get(0, 0).getValue()).startsWith("A-T0:2011-03-08:").doesNotEndWith(currentProcess());
+    }
+  }
+
+  public void calculateMultiScenario() {
+    CalculationTasks tasks = tasks(new ProcessFunction());
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofMultiProcess(1)) {
+      ScenarioMarketData marketData = ScenarioMarketData.of(1, MarketData.empty(VAL_DATE));
+      Results results = test.calculateMultiScenario(tasks, marketData, REF_DATA);
+      assertThat(results.get(0, 0).getValue()).isInstanceOf(ScenarioArray.class);
+    }
+  }
+
+  // functions that are not serializable are performed locally, but not by the calling thread
+  public void calculate_local() {
+    CalculationTasks tasks = tasks(new ProcessFunction(), new LocalFunction("x"));
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofMultiProcess(2)) {
+      Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+      assertThat((String) results.get(0, 0).getValue()).doesNotEndWith(currentProcess());
+      assertThat((String) results.get(1, 0).getValue())
+          .startsWith("x:" + currentProcess() + ":")
+          .doesNotEndWith(":" + Thread.currentThread().getName());
+    }
+  }
+
+  // if a worker fails, its tasks are completed with failures
+  public void calculate_workerFails() {
+    CalculationTasks tasks = tasks(new ProcessFunction(), new HaltFunction());
+    try (CalculationTaskRunner test =
+        CalculationTaskRunner.ofMultiProcess(2, ImmutableList.of("-D" + HALT_PROPERTY + "=true"))) {
+      Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+      assertThat(results.get(0, 0).isSuccess()).isTrue();
+      assertThat(results.get(1, 0)).isFailure(FailureReason.ERROR);
+    }
+  }
+
+  // if a worker does not return a result within the timeout, it is stopped and its tasks fail
+  public void calculate_workerTimeout() {
+    CalculationTasks tasks = tasks(new SleepFunction());
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofMultiProcess(
+        1, ImmutableList.of("-D" + SLEEP_PROPERTY + "=true"), Duration.ofSeconds(2))) {
+      Results results = test.calculate(tasks, MarketData.empty(VAL_DATE), REF_DATA);
+      assertThat(results.get(0, 0)).isFailure(FailureReason.ERROR);
+      assertThat(results.get(0, 0).getFailure().getMessage()).contains("timed out");
+    }
+  }
+
+  public void notSerializable() {
+    CalculationTasks tasks = tasks(new ProcessFunction());
+    try (CalculationTaskRunner test = CalculationTaskRunner.ofMultiProcess(1)) {
+      ReferenceData refData = new ReferenceData() {
+        @Override
+        public <T> Optional<T> findValue(ReferenceDataId<T> id) {
+          return Optional.empty();
+        }
+      };
+      assertThrowsIllegalArg(() -> test.calculate(tasks, MarketData.empty(VAL_DATE), refData));
+    }
+  }
+
+  public void invalidProcesses() {
+    assertThrowsIllegalArg(() -> CalculationTaskRunner.ofMultiProcess(0));
+    assertThrowsIllegalArg(() -> CalculationTaskRunner.ofMultiProcess(1, ImmutableList.of(), Duration.ZERO));
+  }
+
+  //-------------------------------------------------------------------------
+  private static CalculationTasks tasks(CalculationFunction<?>... functions) {
+    ImmutableList.Builder<CalculationTask> tasks = ImmutableList.builder();
+    for (int i = 0; i < functions.length; i++) {
+      CalculationTaskCell cell = CalculationTaskCell.of(i, 0, MEASURE, NATURAL);
+      tasks.add(CalculationTask.of(new SerializableTarget("T" + i), functions[i], cell));
+    }
+    return CalculationTasks.of(tasks.build(), ImmutableList.of(COLUMN));
+  }
+
+  private static String currentProcess() {
+    return ManagementFactory.getRuntimeMXBean().getName();
+  }
+
+  private static String processOf(Result<?> result) {
+    String value = (String) result.getValue();
+    return value.substring(value.lastIndexOf(':') + 1);
+  }
+
+  //-------------------------------------------------------------------------
+  static final class SerializableTarget implements CalculationTarget, Serializable {
+    private static final long serialVersionUID = 1L;
+    private final String name;
+
+    SerializableTarget(String name) {
+      this.name = name;
+    }
+  }
+
+  // a function that is not serializable, thus is performed locally
+  abstract static class TestFunction implements CalculationFunction<SerializableTarget> {
+
+    @Override
+    public Class<SerializableTarget> targetType() {
+      return SerializableTarget.class;
+    }
+
+    @Override
+    public Set<Measure> supportedMeasures() {
+      return ImmutableSet.of(MEASURE);
+    }
+
+    @Override
+    public Currency naturalCurrency(SerializableTarget target, ReferenceData refData) {
+      return USD;
+    }
+
+    @Override
+    public FunctionRequirements requirements(
+        SerializableTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ReferenceData refData) {
+
+      return FunctionRequirements.empty();
+    }
+  }
+
+  // returns the label, target name, valuation date and the name of the process performing the calculation
+  static class ProcessFunction extends TestFunction implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private final String label;
+
+    ProcessFunction() {
+      this("");
+    }
+
+    ProcessFunction(String label) {
+      this.label = label;
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        SerializableTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      String value = label + target.name + ":" + marketData.getValuationDate().getValue(0) + ":" + currentProcess();
+      return ImmutableMap.of(MEASURE, Result.success(ScenarioArray.of(value)));
+    }
+  }
+
+  // stops the worker process, but only if the system property set by the test is present
+  static final class HaltFunction extends ProcessFunction {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        SerializableTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      if (Boolean.getBoolean(HALT_PROPERTY)) {
+        Runtime.getRuntime().halt(3);
+      }
+      return ImmutableMap.of(MEASURE, Result.failure(FailureReason.OTHER, "Not halted"));
+    }
+  }
+
+  // sleeps in the worker process, but only if the system property set by the test is present
+  static final class SleepFunction extends ProcessFunction {
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        SerializableTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      if (Boolean.getBoolean(SLEEP_PROPERTY)) {
+        try {
+          Thread.sleep(60_000);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+      }
+      return ImmutableMap.of(MEASURE, Result.failure(FailureReason.OTHER, "Not slept"));
+    }
+  }
+
+  // returns the value, the name of the process and the name of the thread performing the calculation
+  static final class LocalFunction extends TestFunction {
+    private final String value;
+
+    LocalFunction(String value) {
+      this.value = value;
+    }
+
+    @Override
+    public Map<Measure, Result<?>> calculate(
+        SerializableTarget target,
+        Set<Measure> measures,
+        CalculationParameters parameters,
+        ScenarioMarketData marketData,
+        ReferenceData refData) {
+
+      String result = value + ":" + currentProcess() + ":" + Thread.currentThread().getName();
+      return ImmutableMap.of(MEASURE, Result.success(ScenarioArray.of(result)));
+    }
+  }
+
+}
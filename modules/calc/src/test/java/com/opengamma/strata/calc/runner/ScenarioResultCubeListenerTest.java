@@ -0,0 +1,62 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.calc.runner;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioResultCube;
+
+/**
+ * Test {@link ScenarioResultCubeListener}.
+ */
+@Test
+public class ScenarioResultCubeListenerTest {
+
+  private static final CalculationTarget TARGET = new CalculationTarget() {};
+  private static final ImmutableList<CalculationTarget> TARGETS = ImmutableList.of(TARGET, TARGET, TARGET, TARGET);
+  private static final ImmutableList<Column> COLUMNS = ImmutableList.of(
+      Column.of(TestingMeasures.PAR_RATE), Column.of(TestingMeasures.PRESENT_VALUE));
+
+  public void test_results() {
+    ScenarioResultCube cube = ScenarioResultCube.allocateDirect(4, 2, ImmutableList.of(GBP));
+    ScenarioResultCubeListener test = new ScenarioResultCubeListener(cube, 1);
+    test.calculationsStarted(TARGETS, COLUMNS);
+    CurrencyScenarioArray array = CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2));
+    test.resultReceived(TARGET, CalculationResult.of(0, 1, Result.success(array)));
+    test.resultReceived(TARGET, CalculationResult.of(1, 1, Result.failure(FailureReason.ERROR, "Failed")));
+    test.resultReceived(TARGET, CalculationResult.of(2, 1, Result.success("Not an array")));
+    test.resultReceived(TARGET, CalculationResult.of(3, 1, Result.success(CurrencyScenarioArray.of(GBP, DoubleArray.of(1)))));
+    test.resultReceived(TARGET, CalculationResult.of(3, 0, Result.success(array)));
+    test.calculationsComplete();
+
+    assertEquals(test.result(), cube);
+    assertEquals(cube.getValues(0, GBP), DoubleArray.of(1, 2));
+    assertEquals(cube.isPopulated(3), false);
+    assertEquals(cube.getFailures().keySet(), ImmutableSet.of(1, 2, 3));
+    assertEquals(cube.getFailures().get(2).getReason(), FailureReason.INVALID);
+  }
+
+  public void test_invalid() {
+    ScenarioResultCube cube = ScenarioResultCube.allocateDirect(1, 2, ImmutableList.of(GBP));
+    assertThrowsIllegalArg(() -> new ScenarioResultCubeListener(cube, 0).calculationsStarted(TARGETS, COLUMNS));
+    ScenarioResultCube cube4 = ScenarioResultCube.allocateDirect(4, 2, ImmutableList.of(GBP));
+    assertThrowsIllegalArg(() -> new ScenarioResultCubeListener(cube4, 2).calculationsStarted(TARGETS, COLUMNS));
+  }
+
+}
@@ -105,8 +105,8 @@ public final class DoubleMatrix
       return EMPTY;
     }
     double[][] array = new double[rows][columns];
-    for (int i = 0; i < values.length; i++) {
-      array[i / columns][i % columns] = values[i];
+    for (int i = 0; i < rows; i++) {
+      System.arraycopy(values, i * columns, array[i], 0, columns);
     }
     return new DoubleMatrix(array, rows, columns);
   }
@@ -745,7 +745,18 @@ public final class DoubleMatrix
    * @return the transposed matrix
    */
   public DoubleMatrix transpose() {
-    return DoubleMatrix.of(columns, rows, (i, j) -> array[j][i]);
+    if (isEmpty()) {
+      return EMPTY;
+    }
+    // read along the rows of this matrix, which are contiguous
+    double[][] result = new double[columns][rows];
+    for (int i = 0; i < rows; i++) {
+      double[] row = array[i];
+      for (int j = 0; j < columns; j++) {
+        result[j][i] = row[j];
+      }
+    }
+    return new DoubleMatrix(result, columns, rows);
   }
 
   //-------------------------------------------------------------------------
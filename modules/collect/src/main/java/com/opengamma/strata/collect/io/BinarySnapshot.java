@@ -0,0 +1,337 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.joda.beans.ser.JodaBeanSer;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * A binary snapshot, providing fast access to previously created data.
+ * <p>
+ * A snapshot allows a process to warm-start from disk, avoiding the cost of parsing, resolving
+ * and calibrating data that has not changed, such as resolved portfolios and calibrated curves.
+ * It consists of named sections, written using {@link BinarySnapshotWriter}.
+ * <p>
+ * Four types of section are supported:
+ * <ul>
+ * <li>a bean, written using the Joda-Beans binary format
+ * <li>a list of beans, such as a list of resolved trades
+ * <li>an array of doubles, written as a primitive section
+ * <li>a {@link LocalDateDoubleTimeSeries}, written as primitive sections of epoch days and values
+ * </ul>
+ * Sections are aligned to eight bytes, with all numbers little-endian.
+ * When a snapshot is loaded from a file using {@link #of(Path)} the file is memory-mapped,
+ * and each section is only decoded when it is requested.
+ * <p>
+ * The snapshot is accessed as a single buffer, thus its total size is limited to 2GB,
+ * specifically {@code Integer.MAX_VALUE} bytes. Larger data sets must be split across several snapshots.
+ * <p>
+ * The format starts with a magic number and a version.
+ * A snapshot written by a later, incompatible, version of the format is rejected.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class BinarySnapshot {
+
+  /**
+   * The magic number at the start of the format.
+   */
+  static final byte[] MAGIC = "STRATASN".getBytes(StandardCharsets.US_ASCII);
+  /**
+   * The current version of the format.
+   */
+  static final int VERSION = 1;
+  /**
+   * The section type for a bean.
+   */
+  static final byte TYPE_BEAN = 1;
+  /**
+   * The section type for a list of beans.
+   */
+  static final byte TYPE_BEAN_LIST = 2;
+  /**
+   * The section type for an array of doubles.
+   */
+  static final byte TYPE_DOUBLE_ARRAY = 3;
+  /**
+   * The section type for a time-series.
+   */
+  static final byte TYPE_TIME_SERIES = 4;
+  /**
+   * The maximum size of a snapshot, limited by the size of a single buffer.
+   */
+  static final long MAX_SIZE = Integer.MAX_VALUE;
+
+  /**
+   * The snapshot data, read-only and little-endian.
+   */
+  private final ByteBuffer buffer;
+  /**
+   * The sections, keyed by name.
+   */
+  private final ImmutableMap<String, Section> sections;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Loads a snapshot from a file.
+   * <p>
+   * The file is memory-mapped, thus the snapshot can be loaded without reading the whole file.
+   * The file must not be modified while the snapshot is in use.
+   * The file must not be larger than 2GB.
+   *
+   * @param file  the file to load
+   * @return the snapshot
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the file is larger than 2GB or is not a valid snapshot
+   */
+  public static BinarySnapshot of(Path file) {
+    ArgChecker.notNull(file, "file");
+    ByteBuffer buffer = Unchecked.wrap(() -> {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        return channel.map(MapMode.READ_ONLY, 0, checkSize(channel.size()));
+      }
+    });
+    return new BinarySnapshot(buffer);
+  }
+
+  // checks the size is within the limit of a single buffer, before mapping or writing the snapshot
+  static long checkSize(long size) {
+    if (size > MAX_SIZE) {
+      throw new IllegalArgumentException(Messages.format(
+          "Binary snapshot is too large, maximum size is {} bytes but snapshot is {} bytes", MAX_SIZE, size));
+    }
+    return size;
+  }
+
+  /**
+   * Loads a snapshot from a byte array.
+   *
+   * @param bytes  the snapshot bytes
+   * @return the snapshot
+   * @throws IllegalArgumentException if the bytes are not a valid snapshot
+   */
+  public static BinarySnapshot of(byte[] bytes) {
+    ArgChecker.notNull(bytes, "bytes");
+    return new BinarySnapshot(ByteBuffer.wrap(bytes.clone()));
+  }
+
+  // restricted constructor
+  private BinarySnapshot(ByteBuffer buffer) {
+    this.buffer = buffer.asReadOnlyBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    this.sections = parseDirectory(this.buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN));
+  }
+
+  // parses the header and directory
+  private static ImmutableMap<String, Section> parseDirectory(ByteBuffer buf) {
+    try {
+      byte[] magic = new byte[MAGIC.length];
+      buf.get(magic);
+      ArgChecker.isTrue(Arrays.equals(magic, MAGIC), "Invalid binary snapshot, incorrect header");
+      int version = buf.getInt();
+      ArgChecker.isTrue(version >= 1 && version <= VERSION,
+          "Binary snapshot version {} is not supported, maximum {}", version, VERSION);
+      int count = buf.getInt();
+      Map<String, Section> sections = new LinkedHashMap<>();
+      for (int i = 0; i < count; i++) {
+        byte[] encoded = new byte[buf.getInt()];
+        buf.get(encoded);
+        String name = new String(encoded, StandardCharsets.UTF_8);
+        byte type = buf.get();
+        long offset = buf.getLong();
+        long length = buf.getLong();
+        ArgChecker.isTrue(offset >= 0 && length >= 0 && offset + length <= buf.limit(),
+            "Invalid binary snapshot, section '{}' is truncated", name);
+        sections.put(name, new Section(type, (int) offset, (int) length));
+      }
+      return ImmutableMap.copyOf(sections);
+    } catch (BufferUnderflowException ex) {
+      throw new IllegalArgumentException("Invalid binary snapshot, header is truncated", ex);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the names of the sections, in the order they were written.
+   *
+   * @return the section names
+   */
+  public ImmutableSet<String> getSectionNames() {
+    return sections.keySet();
+  }
+
+  /**
+   * Checks if the snapshot contains a section with the specified name.
+   *
+   * @param name  the section name
+   * @return true if the section exists
+   */
+  public boolean contains(String name) {
+    return sections.containsKey(name);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets a bean from the snapshot.
+   *
+   * @param <T>  the type of the bean
+   * @param name  the section name
+   * @param type  the expected type of the bean
+   * @return the bean
+   * @throws IllegalArgumentException if the section is not found or is of the wrong type
+   */
+  public <T> T bean(String name, Class<T> type) {
+    ArgChecker.notNull(type, "type");
+    ByteBuffer buf = section(name, TYPE_BEAN);
+    byte[] bytes = new byte[buf.remaining()];
+    buf.get(bytes);
+    return JodaBeanSer.COMPACT.binReader().read(bytes, type);
+  }
+
+  /**
+   * Gets a list of beans from the snapshot.
+   *
+   * @param <T>  the type of the beans
+   * @param name  the section name
+   * @param type  the expected type of each bean
+   * @return the beans
+   * @throws IllegalArgumentException if the section is not found, is of the wrong type or is corrupt
+   */
+  public <T> ImmutableList<T> beans(String name, Class<T> type) {
+    ArgChecker.notNull(type, "type");
+    ByteBuffer buf = section(name, TYPE_BEAN_LIST);
+    try {
+      int count = buf.getInt();
+      ImmutableList.Builder<T> builder = ImmutableList.builder();
+      for (int i = 0; i < count; i++) {
+        byte[] bytes = new byte[buf.getInt()];
+        buf.get(bytes);
+        builder.add(JodaBeanSer.COMPACT.binReader().read(bytes, type));
+      }
+      return builder.build();
+    } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException ex) {
+      throw corrupt(name, ex);
+    }
+  }
+
+  /**
+   * Gets an array of doubles from the snapshot.
+   *
+   * @param name  the section name
+   * @return the array
+   * @throws IllegalArgumentException if the section is not found or is of the wrong type
+   */
+  public DoubleArray doubleArray(String name) {
+    ByteBuffer buf = section(name, TYPE_DOUBLE_ARRAY);
+    double[] values = new double[buf.remaining() / 8];
+    buf.asDoubleBuffer().get(values);
+    return DoubleArray.ofUnsafe(values);
+  }
+
+  /**
+   * Gets a time-series from the snapshot.
+   *
+   * @param name  the section name
+   * @return the time-series
+   * @throws IllegalArgumentException if the section is not found, is of the wrong type or is corrupt
+   */
+  public LocalDateDoubleTimeSeries timeSeries(String name) {
+    ByteBuffer buf = section(name, TYPE_TIME_SERIES);
+    try {
+      int size = buf.getInt(0);
+      if (size < 0 || timeSeriesValuesOffset(size) + size * 8L > buf.limit()) {
+        throw corrupt(name, null);
+      }
+      int valuesOffset = timeSeriesValuesOffset(size);
+      LocalDate[] dates = new LocalDate[size];
+      for (int i = 0; i < size; i++) {
+        dates[i] = LocalDate.ofEpochDay(buf.getInt(8 + i * 4));
+      }
+      double[] values = new double[size];
+      ByteBuffer valuesBuf = buf.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+      valuesBuf.position(valuesOffset);
+      valuesBuf.asDoubleBuffer().get(values);
+      return LocalDateDoubleTimeSeries.builder().putAll(Arrays.asList(dates), values).build();
+    } catch (BufferUnderflowException | IndexOutOfBoundsException ex) {
+      throw corrupt(name, ex);
+    }
+  }
+
+  // finds the section, returning a little-endian buffer of exactly the section bytes
+  private ByteBuffer section(String name, byte type) {
+    ArgChecker.notNull(name, "name");
+    Section section = sections.get(name);
+    if (section == null) {
+      throw new IllegalArgumentException(Messages.format("Binary snapshot section not found: {}", name));
+    }
+    if (section.type != type) {
+      throw new IllegalArgumentException(Messages.format("Binary snapshot section '{}' has the wrong type", name));
+    }
+    ByteBuffer buf = buffer.duplicate();
+    buf.position(section.offset);
+    buf.limit(section.offset + section.length);
+    return buf.slice().order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  // creates the exception thrown when a section cannot be decoded
+  private static IllegalArgumentException corrupt(String name, RuntimeException cause) {
+    return new IllegalArgumentException(
+        Messages.format("Invalid binary snapshot, section '{}' is corrupt", name), cause);
+  }
+
+  //-------------------------------------------------------------------------
+  // the offset of the values in a time-series section, after the size and the epoch days
+  static int timeSeriesValuesOffset(int size) {
+    return (int) align(8 + size * 4L);
+  }
+
+  // rounds up to a multiple of eight
+  static long align(long position) {
+    return (position + 7) & ~7L;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "BinarySnapshot" + sections.keySet();
+  }
+
+  //-------------------------------------------------------------------------
+  // the location of a section
+  private static final class Section {
+    private final byte type;
+    private final int offset;
+    private final int length;
+
+    private Section(byte type, int offset, int length) {
+      this.type = type;
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+
+}
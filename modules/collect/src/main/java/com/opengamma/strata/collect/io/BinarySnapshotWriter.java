@@ -0,0 +1,253 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.joda.beans.Bean;
+import org.joda.beans.ser.JodaBeanSer;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * Writer for the binary snapshot format.
+ * <p>
+ * A snapshot consists of named sections, each holding a bean, a list of beans, a double array
+ * or a time-series. Beans are written using the Joda-Beans binary format, while arrays and
+ * time-series are written as aligned primitive sections that can be read directly from a
+ * memory-mapped file. See {@link BinarySnapshot} for reading.
+ * <p>
+ * Section names must be unique within a snapshot.
+ * The total size of the snapshot must not exceed 2GB, the limit of {@link BinarySnapshot}.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class BinarySnapshotWriter {
+
+  /**
+   * The sections, keyed by name, in order of addition.
+   */
+  private final Map<String, Section> sections = new LinkedHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty writer.
+   *
+   * @return the writer
+   */
+  public static BinarySnapshotWriter create() {
+    return new BinarySnapshotWriter();
+  }
+
+  // restricted constructor
+  private BinarySnapshotWriter() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a section containing a bean.
+   * <p>
+   * The bean must be serializable using the Joda-Beans binary format.
+   *
+   * @param name  the section name
+   * @param bean  the bean
+   * @return this writer, for chaining
+   */
+  public BinarySnapshotWriter bean(String name, Bean bean) {
+    ArgChecker.notNull(bean, "bean");
+    return add(name, BinarySnapshot.TYPE_BEAN, JodaBeanSer.COMPACT.binWriter().write(bean, true));
+  }
+
+  /**
+   * Adds a section containing a list of beans.
+   * <p>
+   * This is typically used for a portfolio of resolved trades.
+   * The list is typed loosely to accept lists of interfaces, such as {@code ResolvedTrade},
+   * however each element must be a bean serializable using the Joda-Beans binary format.
+   *
+   * @param name  the section name
+   * @param beans  the beans
+   * @return this writer, for chaining
+   * @throws IllegalArgumentException if an element is not a bean
+   */
+  public BinarySnapshotWriter beans(String name, List<?> beans) {
+    ArgChecker.noNulls(beans, "beans");
+    ByteArrayOutputStream baos = new ByteArrayOutputStream(1024 + beans.size() * 256);
+    byte[] count = new byte[4];
+    ByteBuffer.wrap(count).order(ByteOrder.LITTLE_ENDIAN).putInt(beans.size());
+    baos.write(count, 0, 4);
+    for (Object bean : beans) {
+      ArgChecker.isTrue(bean instanceof Bean, "Snapshot section '{}' must only contain beans", name);
+      byte[] bytes = JodaBeanSer.COMPACT.binWriter().write((Bean) bean, true);
+      ByteBuffer.wrap(count).order(ByteOrder.LITTLE_ENDIAN).putInt(bytes.length);
+      baos.write(count, 0, 4);
+      baos.write(bytes, 0, bytes.length);
+    }
+    return add(name, BinarySnapshot.TYPE_BEAN_LIST, baos.toByteArray());
+  }
+
+  /**
+   * Adds a section containing an array of doubles.
+   * <p>
+   * The values are written as a primitive section.
+   *
+   * @param name  the section name
+   * @param array  the array
+   * @return this writer, for chaining
+   */
+  public BinarySnapshotWriter doubleArray(String name, DoubleArray array) {
+    ArgChecker.notNull(array, "array");
+    ByteBuffer buf = ByteBuffer.allocate(array.size() * 8).order(ByteOrder.LITTLE_ENDIAN);
+    buf.asDoubleBuffer().put(array.toArrayUnsafe());
+    return add(name, BinarySnapshot.TYPE_DOUBLE_ARRAY, buf.array());
+  }
+
+  /**
+   * Adds a section containing a time-series.
+   * <p>
+   * The dates and values are written as primitive sections.
+   * The dates are held as epoch days.
+   *
+   * @param name  the section name
+   * @param timeSeries  the time-series
+   * @return this writer, for chaining
+   */
+  public BinarySnapshotWriter timeSeries(String name, LocalDateDoubleTimeSeries timeSeries) {
+    ArgChecker.notNull(timeSeries, "timeSeries");
+    int size = timeSeries.size();
+    int valuesOffset = BinarySnapshot.timeSeriesValuesOffset(size);
+    ByteBuffer buf = ByteBuffer.allocate(valuesOffset + size * 8).order(ByteOrder.LITTLE_ENDIAN);
+    buf.putInt(0, size);
+    int[] index = {0};
+    timeSeries.forEach((date, value) -> {
+      int i = index[0]++;
+      buf.putInt(8 + i * 4, Math.toIntExact(date.toEpochDay()));
+      buf.putDouble(valuesOffset + i * 8, value);
+    });
+    return add(name, BinarySnapshot.TYPE_TIME_SERIES, buf.array());
+  }
+
+  // adds a section
+  private BinarySnapshotWriter add(String name, byte type, byte[] bytes) {
+    ArgChecker.notEmpty(name, "name");
+    ArgChecker.isFalse(sections.containsKey(name), "Snapshot section name must be unique: {}", name);
+    sections.put(name, new Section(type, bytes));
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Writes the snapshot to a file.
+   *
+   * @param file  the file to write to
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the snapshot is larger than 2GB
+   */
+  public void writeTo(Path file) {
+    ArgChecker.notNull(file, "file");
+    Unchecked.wrap(() -> {
+      try (OutputStream out = Files.newOutputStream(file)) {
+        writeTo(out);
+      }
+    });
+  }
+
+  /**
+   * Writes the snapshot to an output stream.
+   * <p>
+   * The stream is not closed.
+   *
+   * @param out  the stream to write to
+   * @throws UncheckedIOException if an IO exception occurs
+   * @throws IllegalArgumentException if the snapshot is larger than 2GB
+   */
+  public void writeTo(OutputStream out) {
+    ArgChecker.notNull(out, "out");
+    Unchecked.wrap(() -> write(out));
+  }
+
+  /**
+   * Writes the snapshot to a byte array.
+   *
+   * @return the snapshot bytes
+   */
+  public byte[] toByteArray() {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    writeTo(baos);
+    return baos.toByteArray();
+  }
+
+  // writes the header, directory and aligned sections
+  private void write(OutputStream out) throws IOException {
+    // header and directory
+    int headerSize = BinarySnapshot.MAGIC.length + 8;
+    Map<String, byte[]> encodedNames = new LinkedHashMap<>();
+    for (String name : sections.keySet()) {
+      byte[] encoded = name.getBytes(StandardCharsets.UTF_8);
+      encodedNames.put(name, encoded);
+      headerSize += 4 + encoded.length + 1 + 8 + 8;
+    }
+    long offset = BinarySnapshot.align(headerSize);
+    ByteBuffer header = ByteBuffer.allocate((int) offset).order(ByteOrder.LITTLE_ENDIAN);
+    header.put(BinarySnapshot.MAGIC);
+    header.putInt(BinarySnapshot.VERSION);
+    header.putInt(sections.size());
+    for (Entry<String, Section> entry : sections.entrySet()) {
+      byte[] encoded = encodedNames.get(entry.getKey());
+      Section section = entry.getValue();
+      header.putInt(encoded.length);
+      header.put(encoded);
+      header.put(section.type);
+      header.putLong(offset);
+      header.putLong(section.bytes.length);
+      offset = BinarySnapshot.align(offset + section.bytes.length);
+    }
+    // reject a snapshot that could not be read, before writing anything
+    BinarySnapshot.checkSize(offset);
+    out.write(header.array());
+    // sections, each aligned to eight bytes
+    byte[] padding = new byte[8];
+    for (Section section : sections.values()) {
+      out.write(section.bytes);
+      int pad = (int) (BinarySnapshot.align(section.bytes.length) - section.bytes.length);
+      out.write(padding, 0, pad);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "BinarySnapshotWriter" + sections.keySet();
+  }
+
+  //-------------------------------------------------------------------------
+  // a section to be written
+  private static final class Section {
+    private final byte type;
+    private final byte[] bytes;
+
+    private Section(byte type, byte[] bytes) {
+      this.type = type;
+      this.bytes = bytes;
+    }
+  }
+
+}
@@ -0,0 +1,37 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Holder for the global instrumentation.
+ */
+final class GlobalInstrumentation {
+
+  /**
+   * The global instance, volatile so that changes are seen by all threads.
+   */
+  private static volatile Instrumentation instance = Instrumentation.none();
+
+  /**
+   * Restricted constructor.
+   */
+  private GlobalInstrumentation() {
+  }
+
+  //-------------------------------------------------------------------------
+  // gets the global instance
+  static Instrumentation get() {
+    return instance;
+  }
+
+  // sets the global instance
+  static void set(Instrumentation instrumentation) {
+    instance = ArgChecker.notNull(instrumentation, "instrumentation");
+  }
+
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+/**
+ * Instrumentation of the hot paths of Strata.
+ * <p>
+ * This is a service provider interface that is notified of timings and values from inside
+ * the calculation engine, market data building and curve calibration.
+ * Each measurement is identified by a metric name, such as {@link #CALCULATION_FUNCTION},
+ * and a key within the metric, such as the name of the function.
+ * <p>
+ * The instrumentation is disabled by default, see {@link #none()}.
+ * It is enabled by setting the global instance using {@link #setGlobal(Instrumentation)},
+ * typically with an instance of {@link RecordingInstrumentation}.
+ * Callers check {@link #isEnabled()} before measuring, so that there is no cost when disabled.
+ * <p>
+ * Implementations must be thread-safe.
+ */
+public interface Instrumentation {
+
+  /**
+   * The metric for the time taken by a calculation function, keyed by the simple name of the function class.
+   */
+  public static final String CALCULATION_FUNCTION = "calc.function";
+  /**
+   * The metric for the time taken by calculation tasks including a measure, keyed by measure name.
+   */
+  public static final String CALCULATION_MEASURE = "calc.measure";
+  /**
+   * The metric for the time taken by a calculation listener to process results,
+   * keyed by the simple name of the listener class.
+   */
+  public static final String CALCULATION_LISTENER = "calc.listener";
+  /**
+   * The metric for the number of results queued for a calculation listener,
+   * keyed by the simple name of the listener class.
+   */
+  public static final String CALCULATION_LISTENER_QUEUE = "calc.listener.queue";
+  /**
+   * The metric for the time taken to build a market data node,
+   * keyed by the simple name of the market data identifier class.
+   * <p>
+   * The identifier itself is not used as the key, as there may be a very large number of them.
+   */
+  public static final String MARKET_DATA_BUILD = "marketdata.build";
+  /**
+   * The metric for the time taken to calibrate a block of curves, keyed by the names of the curves.
+   */
+  public static final String CALIBRATION_DURATION = "calibration.duration";
+  /**
+   * The metric for the number of function evaluations taken to calibrate a block of curves,
+   * keyed by the names of the curves.
+   * <p>
+   * This counts each evaluation of the calibration function by the root finder, which includes
+   * evaluations made while searching along a step, thus it is at least the number of solver iterations.
+   */
+  public static final String CALIBRATION_EVALUATIONS = "calibration.evaluations";
+  /**
+   * The metric for the residual of a calibrated block of curves, keyed by the names of the curves.
+   * <p>
+   * The residual is the maximum absolute value of the last evaluation of the calibration function.
+   */
+  public static final String CALIBRATION_RESIDUAL = "calibration.residual";
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the no-op instrumentation.
+   * <p>
+   * This is disabled and ignores all measurements.
+   * 
+   * @return the no-op instrumentation
+   */
+  public static Instrumentation none() {
+    return NoInstrumentation.INSTANCE;
+  }
+
+  /**
+   * Obtains the global instrumentation.
+   * <p>
+   * This is the instance used by the calculation engine, market data building and curve calibration.
+   * It is the no-op instrumentation unless {@link #setGlobal(Instrumentation)} has been called.
+   * 
+   * @return the global instrumentation
+   */
+  public static Instrumentation global() {
+    return GlobalInstrumentation.get();
+  }
+
+  /**
+   * Sets the global instrumentation.
+   * <p>
+   * Passing {@link #none()} disables the instrumentation.
+   * 
+   * @param instrumentation  the instrumentation to use globally
+   */
+  public static void setGlobal(Instrumentation instrumentation) {
+    GlobalInstrumentation.set(instrumentation);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if the instrumentation is enabled.
+   * <p>
+   * Callers use this to avoid the cost of measuring when the results would be ignored.
+   * 
+   * @return true if enabled
+   */
+  public default boolean isEnabled() {
+    return true;
+  }
+
+  /**
+   * Records a duration.
+   * 
+   * @param metric  the metric name
+   * @param key  the key within the metric
+   * @param durationNanos  the duration in nanoseconds
+   */
+  public abstract void recordDuration(String metric, String key, long durationNanos);
+
+  /**
+   * Records a value.
+   * 
+   * @param metric  the metric name
+   * @param key  the key within the metric
+   * @param value  the value
+   */
+  public abstract void recordValue(String metric, String key, double value);
+
+}
@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Locale;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Exposes the metrics of a {@link RecordingInstrumentation} via JMX.
+ * <p>
+ * The reporter is registered with the platform MBean server under the name
+ * {@code com.opengamma.strata:type=Metrics,name=<name>} when created,
+ * and unregistered when closed.
+ */
+public final class JmxMetricsReporter implements JmxMetricsReporterMXBean, AutoCloseable {
+
+  /**
+   * The instrumentation to report on.
+   */
+  private final RecordingInstrumentation instrumentation;
+  /**
+   * The name the reporter is registered under.
+   */
+  private final ObjectName objectName;
+  /**
+   * The server the reporter is registered with.
+   */
+  private final MBeanServer server;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a reporter, registering it with the platform MBean server.
+   * 
+   * @param name  the name to register under, unique within the JVM
+   * @param instrumentation  the instrumentation to report on
+   * @return the registered reporter
+   * @throws IllegalStateException if the reporter cannot be registered
+   */
+  public static JmxMetricsReporter register(String name, RecordingInstrumentation instrumentation) {
+    ArgChecker.notEmpty(name, "name");
+    ArgChecker.notNull(instrumentation, "instrumentation");
+    try {
+      ObjectName objectName = new ObjectName("com.opengamma.strata:type=Metrics,name=" + ObjectName.quote(name));
+      JmxMetricsReporter reporter =
+          new JmxMetricsReporter(instrumentation, objectName, ManagementFactory.getPlatformMBeanServer());
+      reporter.server.registerMBean(reporter, objectName);
+      return reporter;
+    } catch (JMException ex) {
+      throw new IllegalStateException("Unable to register metrics with JMX: " + name, ex);
+    }
+  }
+
+  // restricted constructor
+  private JmxMetricsReporter(RecordingInstrumentation instrumentation, ObjectName objectName, MBeanServer server) {
+    this.instrumentation = instrumentation;
+    this.objectName = objectName;
+    this.server = server;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the name the reporter is registered under.
+   * 
+   * @return the JMX object name
+   */
+  public ObjectName getObjectName() {
+    return objectName;
+  }
+
+  @Override
+  public List<String> getSummaries() {
+    return instrumentation.summaries().stream()
+        .map(s -> String.format(
+            Locale.ENGLISH,
+            "%s[%s]: count=%d, mean=%.1f, min=%.1f, max=%.1f, p50=%.1f, p99=%.1f",
+            s.getMetric(), s.getKey(), s.getCount(), s.getMean(), s.getMin(), s.getMax(), s.getP50(), s.getP99()))
+        .collect(toImmutableList());
+  }
+
+  @Override
+  public long count(String metric, String key) {
+    return instrumentation.summary(metric, key).map(MetricSummary::getCount).orElse(0L);
+  }
+
+  @Override
+  public double mean(String metric, String key) {
+    return instrumentation.summary(metric, key).map(MetricSummary::getMean).orElse(0d);
+  }
+
+  @Override
+  public void reset() {
+    instrumentation.reset();
+  }
+
+  /**
+   * Unregisters the reporter from JMX.
+   */
+  @Override
+  public void close() {
+    try {
+      if (server.isRegistered(objectName)) {
+        server.unregisterMBean(objectName);
+      }
+    } catch (JMException ex) {
+      throw new IllegalStateException("Unable to unregister metrics from JMX: " + objectName, ex);
+    }
+  }
+
+}
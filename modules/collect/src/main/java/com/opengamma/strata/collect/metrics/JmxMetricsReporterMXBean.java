@@ -0,0 +1,45 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import java.util.List;
+
+/**
+ * The JMX management interface of {@link JmxMetricsReporter}.
+ */
+public interface JmxMetricsReporterMXBean {
+
+  /**
+   * Gets the summaries of all recorded metrics, one line per metric and key.
+   * 
+   * @return the summaries
+   */
+  public abstract List<String> getSummaries();
+
+  /**
+   * Gets the number of measurements for the metric and key.
+   * 
+   * @param metric  the metric name
+   * @param key  the key within the metric
+   * @return the number of measurements, zero if none
+   */
+  public abstract long count(String metric, String key);
+
+  /**
+   * Gets the mean of the measurements for the metric and key.
+   * 
+   * @param metric  the metric name
+   * @param key  the key within the metric
+   * @return the mean, zero if none
+   */
+  public abstract double mean(String metric, String key);
+
+  /**
+   * Discards all recorded metrics.
+   */
+  public abstract void reset();
+
+}
@@ -0,0 +1,666 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Summary of the measurements recorded for a single metric and key.
+ * <p>
+ * Durations are summarized in nanoseconds.
+ * The percentiles are estimated from a histogram with power-of-two buckets,
+ * thus they are accurate to within a factor of two.
+ */
+@BeanDefinition(builderScope = "private")
+public final class MetricSummary
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The metric name.
+   */
+  @PropertyDefinition(validate = "notEmpty")
+  private final String metric;
+  /**
+   * The key within the metric.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final String key;
+  /**
+   * The number of measurements.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final long count;
+  /**
+   * The sum of the measurements.
+   */
+  @PropertyDefinition
+  private final double sum;
+  /**
+   * The minimum measurement.
+   */
+  @PropertyDefinition
+  private final double min;
+  /**
+   * The maximum measurement.
+   */
+  @PropertyDefinition
+  private final double max;
+  /**
+   * The most recent measurement.
+   */
+  @PropertyDefinition
+  private final double last;
+  /**
+   * The estimated median of the measurements.
+   */
+  @PropertyDefinition
+  private final double p50;
+  /**
+   * The estimated 99th percentile of the measurements.
+   */
+  @PropertyDefinition
+  private final double p99;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   * 
+   * @param metric  the metric name
+   * @param key  the key within the metric
+   * @param count  the number of measurements
+   * @param sum  the sum of the measurements
+   * @param min  the minimum measurement
+   * @param max  the maximum measurement
+   * @param last  the most recent measurement
+   * @param p50  the estimated median
+   * @param p99  the estimated 99th percentile
+   * @return the summary
+   */
+  public static MetricSummary of(
+      String metric,
+      String key,
+      long count,
+      double sum,
+      double min,
+      double max,
+      double last,
+      double p50,
+      double p99) {
+
+    return new MetricSummary(metric, key, count, sum, min, max, last, p50, p99);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the mean of the measurements.
+   * <p>
+   * This returns zero if there are no measurements.
+   * 
+   * @return the mean
+   */
+  public double getMean() {
+    return count == 0 ? 0d : sum / count;
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code MetricSummary}.
+   * @return the meta-bean, not null
+   */
+  public static MetricSummary.Meta meta() {
+    return MetricSummary.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(MetricSummary.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private MetricSummary(
+      String metric,
+      String key,
+      long count,
+      double sum,
+      double min,
+      double max,
+      double last,
+      double p50,
+      double p99) {
+    JodaBeanUtils.notEmpty(metric, "metric");
+    JodaBeanUtils.notNull(key, "key");
+    ArgChecker.notNegative(count, "count");
+    this.metric = metric;
+    this.key = key;
+    this.count = count;
+    this.sum = sum;
+    this.min = min;
+    this.max = max;
+    this.last = last;
+    this.p50 = p50;
+    this.p99 = p99;
+  }
+
+  @Override
+  public MetricSummary.Meta metaBean() {
+    return MetricSummary.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the metric name.
+   * @return the value of the property, not empty
+   */
+  public String getMetric() {
+    return metric;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the key within the metric.
+   * @return the value of the property, not null
+   */
+  public String getKey() {
+    return key;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of measurements.
+   * @return the value of the property
+   */
+  public long getCount() {
+    return count;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the sum of the measurements.
+   * @return the value of the property
+   */
+  public double getSum() {
+    return sum;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the minimum measurement.
+   * @return the value of the property
+   */
+  public double getMin() {
+    return min;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the maximum measurement.
+   * @return the value of the property
+   */
+  public double getMax() {
+    return max;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the most recent measurement.
+   * @return the value of the property
+   */
+  public double getLast() {
+    return last;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the estimated median of the measurements.
+   * @return the value of the property
+   */
+  public double getP50() {
+    return p50;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the estimated 99th percentile of the measurements.
+   * @return the value of the property
+   */
+  public double getP99() {
+    return p99;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      MetricSummary other = (MetricSummary) obj;
+      return JodaBeanUtils.equal(metric, other.metric) &&
+          JodaBeanUtils.equal(key, other.key) &&
+          (count == other.count) &&
+          JodaBeanUtils.equal(sum, other.sum) &&
+          JodaBeanUtils.equal(min, other.min) &&
+          JodaBeanUtils.equal(max, other.max) &&
+          JodaBeanUtils.equal(last, other.last) &&
+          JodaBeanUtils.equal(p50, other.p50) &&
+          JodaBeanUtils.equal(p99, other.p99);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(metric);
+    hash = hash * 31 + JodaBeanUtils.hashCode(key);
+    hash = hash * 31 + JodaBeanUtils.hashCode(count);
+    hash = hash * 31 + JodaBeanUtils.hashCode(sum);
+    hash = hash * 31 + JodaBeanUtils.hashCode(min);
+    hash = hash * 31 + JodaBeanUtils.hashCode(max);
+    hash = hash * 31 + JodaBeanUtils.hashCode(last);
+    hash = hash * 31 + JodaBeanUtils.hashCode(p50);
+    hash = hash * 31 + JodaBeanUtils.hashCode(p99);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(320);
+    buf.append("MetricSummary{");
+    buf.append("metric").append('=').append(metric).append(',').append(' ');
+    buf.append("key").append('=').append(key).append(',').append(' ');
+    buf.append("count").append('=').append(count).append(',').append(' ');
+    buf.append("sum").append('=').append(sum).append(',').append(' ');
+    buf.append("min").append('=').append(min).append(',').append(' ');
+    buf.append("max").append('=').append(max).append(',').append(' ');
+    buf.append("last").append('=').append(last).append(',').append(' ');
+    buf.append("p50").append('=').append(p50).append(',').append(' ');
+    buf.append("p99").append('=').append(JodaBeanUtils.toString(p99));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code MetricSummary}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code metric} property.
+     */
+    private final MetaProperty<String> metric = DirectMetaProperty.ofImmutable(
+        this, "metric", MetricSummary.class, String.class);
+    /**
+     * The meta-property for the {@code key} property.
+     */
+    private final MetaProperty<String> key = DirectMetaProperty.ofImmutable(
+        this, "key", MetricSummary.class, String.class);
+    /**
+     * The meta-property for the {@code count} property.
+     */
+    private final MetaProperty<Long> count = DirectMetaProperty.ofImmutable(
+        this, "count", MetricSummary.class, Long.TYPE);
+    /**
+     * The meta-property for the {@code sum} property.
+     */
+    private final MetaProperty<Double> sum = DirectMetaProperty.ofImmutable(
+        this, "sum", MetricSummary.class, Double.TYPE);
+    /**
+     * The meta-property for the {@code min} property.
+     */
+    private final MetaProperty<Double> min = DirectMetaProperty.ofImmutable(
+        this, "min", MetricSummary.class, Double.TYPE);
+    /**
+     * The meta-property for the {@code max} property.
+     */
+    private final MetaProperty<Double> max = DirectMetaProperty.ofImmutable(
+        this, "max", MetricSummary.class, Double.TYPE);
+    /**
+     * The meta-property for the {@code last} property.
+     */
+    private final MetaProperty<Double> last = DirectMetaProperty.ofImmutable(
+        this, "last", MetricSummary.class, Double.TYPE);
+    /**
+     * The meta-property for the {@code p50} property.
+     */
+    private final MetaProperty<Double> p50 = DirectMetaProperty.ofImmutable(
+        this, "p50", MetricSummary.class, Double.TYPE);
+    /**
+     * The meta-property for the {@code p99} property.
+     */
+    private final MetaProperty<Double> p99 = DirectMetaProperty.ofImmutable(
+        this, "p99", MetricSummary.class, Double.TYPE);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "metric",
+        "key",
+        "count",
+        "sum",
+        "min",
+        "max",
+        "last",
+        "p50",
+        "p99");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1077545552:  // metric
+          return metric;
+        case 106079:  // key
+          return key;
+        case 94851343:  // count
+          return count;
+        case 114251:  // sum
+          return sum;
+        case 108114:  // min
+          return min;
+        case 107876:  // max
+          return max;
+        case 3314326:  // last
+          return last;
+        case 109323:  // p50
+          return p50;
+        case 109456:  // p99
+          return p99;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends MetricSummary> builder() {
+      return new MetricSummary.Builder();
+    }
+
+    @Override
+    public Class<? extends MetricSummary> beanType() {
+      return MetricSummary.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code metric} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<String> metric() {
+      return metric;
+    }
+
+    /**
+     * The meta-property for the {@code key} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<String> key() {
+      return key;
+    }
+
+    /**
+     * The meta-property for the {@code count} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Long> count() {
+      return count;
+    }
+
+    /**
+     * The meta-property for the {@code sum} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> sum() {
+      return sum;
+    }
+
+    /**
+     * The meta-property for the {@code min} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> min() {
+      return min;
+    }
+
+    /**
+     * The meta-property for the {@code max} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> max() {
+      return max;
+    }
+
+    /**
+     * The meta-property for the {@code last} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> last() {
+      return last;
+    }
+
+    /**
+     * The meta-property for the {@code p50} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> p50() {
+      return p50;
+    }
+
+    /**
+     * The meta-property for the {@code p99} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Double> p99() {
+      return p99;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -1077545552:  // metric
+          return ((MetricSummary) bean).getMetric();
+        case 106079:  // key
+          return ((MetricSummary) bean).getKey();
+        case 94851343:  // count
+          return ((MetricSummary) bean).getCount();
+        case 114251:  // sum
+          return ((MetricSummary) bean).getSum();
+        case 108114:  // min
+          return ((MetricSummary) bean).getMin();
+        case 107876:  // max
+          return ((MetricSummary) bean).getMax();
+        case 3314326:  // last
+          return ((MetricSummary) bean).getLast();
+        case 109323:  // p50
+          return ((MetricSummary) bean).getP50();
+        case 109456:  // p99
+          return ((MetricSummary) bean).getP99();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code MetricSummary}.
+   */
+  private static final class Builder extends DirectPrivateBeanBuilder<MetricSummary> {
+
+    private String metric;
+    private String key;
+    private long count;
+    private double sum;
+    private double min;
+    private double max;
+    private double last;
+    private double p50;
+    private double p99;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+      super(meta());
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1077545552:  // metric
+          return metric;
+        case 106079:  // key
+          return key;
+        case 94851343:  // count
+          return count;
+        case 114251:  // sum
+          return sum;
+        case 108114:  // min
+          return min;
+        case 107876:  // max
+          return max;
+        case 3314326:  // last
+          return last;
+        case 109323:  // p50
+          return p50;
+        case 109456:  // p99
+          return p99;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -1077545552:  // metric
+          this.metric = (String) newValue;
+          break;
+        case 106079:  // key
+          this.key = (String) newValue;
+          break;
+        case 94851343:  // count
+          this.count = (Long) newValue;
+          break;
+        case 114251:  // sum
+          this.sum = (Double) newValue;
+          break;
+        case 108114:  // min
+          this.min = (Double) newValue;
+          break;
+        case 107876:  // max
+          this.max = (Double) newValue;
+          break;
+        case 3314326:  // last
+          this.last = (Double) newValue;
+          break;
+        case 109323:  // p50
+          this.p50 = (Double) newValue;
+          break;
+        case 109456:  // p99
+          this.p99 = (Double) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public MetricSummary build() {
+      return new MetricSummary(
+          metric,
+          key,
+          count,
+          sum,
+          min,
+          max,
+          last,
+          p50,
+          p99);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(320);
+      buf.append("MetricSummary.Builder{");
+      buf.append("metric").append('=').append(JodaBeanUtils.toString(metric)).append(',').append(' ');
+      buf.append("key").append('=').append(JodaBeanUtils.toString(key)).append(',').append(' ');
+      buf.append("count").append('=').append(JodaBeanUtils.toString(count)).append(',').append(' ');
+      buf.append("sum").append('=').append(JodaBeanUtils.toString(sum)).append(',').append(' ');
+      buf.append("min").append('=').append(JodaBeanUtils.toString(min)).append(',').append(' ');
+      buf.append("max").append('=').append(JodaBeanUtils.toString(max)).append(',').append(' ');
+      buf.append("last").append('=').append(JodaBeanUtils.toString(last)).append(',').append(' ');
+      buf.append("p50").append('=').append(JodaBeanUtils.toString(p50)).append(',').append(' ');
+      buf.append("p99").append('=').append(JodaBeanUtils.toString(p99));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
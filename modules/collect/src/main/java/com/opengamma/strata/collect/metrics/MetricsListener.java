@@ -0,0 +1,25 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import java.util.List;
+
+/**
+ * Listener that is notified of the metrics collected by {@link RecordingInstrumentation}.
+ * <p>
+ * The listener is invoked by {@link RecordingInstrumentation#report(MetricsListener)}.
+ */
+@FunctionalInterface
+public interface MetricsListener {
+
+  /**
+   * Invoked when metrics are reported.
+   * 
+   * @param summaries  the summaries of the metrics, sorted by metric name and key
+   */
+  public abstract void metricsReported(List<MetricSummary> summaries);
+
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+/**
+ * Instrumentation that is disabled and ignores all measurements.
+ */
+enum NoInstrumentation implements Instrumentation {
+
+  /**
+   * The singleton instance.
+   */
+  INSTANCE;
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean isEnabled() {
+    return false;
+  }
+
+  @Override
+  public void recordDuration(String metric, String key, long durationNanos) {
+    // ignored
+  }
+
+  @Override
+  public void recordValue(String metric, String key, double value) {
+    // ignored
+  }
+
+  @Override
+  public String toString() {
+    return "NoInstrumentation";
+  }
+
+}
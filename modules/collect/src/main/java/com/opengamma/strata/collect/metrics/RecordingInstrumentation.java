@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
+
+/**
+ * Instrumentation that records measurements in memory.
+ * <p>
+ * Measurements are aggregated by metric and key, retaining the count, sum, minimum,
+ * maximum and most recent value, plus a histogram used to estimate percentiles.
+ * Memory usage is bounded by the number of distinct metric and key combinations.
+ * The percentile estimates are intended for non-negative measurements, such as durations.
+ * <p>
+ * The recorded metrics can be queried using {@link #summaries()}, published
+ * to a {@link MetricsListener} using {@link #report(MetricsListener)} or
+ * exposed via JMX using {@link JmxMetricsReporter}.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class RecordingInstrumentation implements Instrumentation {
+
+  /**
+   * The number of histogram buckets.
+   * Bucket {@code i} holds values with a binary exponent of {@code i - BUCKET_OFFSET}.
+   */
+  private static final int BUCKET_COUNT = 128;
+  /**
+   * The offset used to map binary exponents to buckets.
+   */
+  private static final int BUCKET_OFFSET = 32;
+
+  /**
+   * The accumulators keyed by metric and key.
+   */
+  private final ConcurrentMap<Pair<String, String>, Accumulator> accumulators = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty instance.
+   */
+  public RecordingInstrumentation() {
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void recordDuration(String metric, String key, long durationNanos) {
+    recordValue(metric, key, durationNanos);
+  }
+
+  @Override
+  public void recordValue(String metric, String key, double value) {
+    ArgChecker.notEmpty(metric, "metric");
+    ArgChecker.notNull(key, "key");
+    accumulators.computeIfAbsent(Pair.of(metric, key), k -> new Accumulator()).record(value);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns summaries of all the recorded metrics.
+   * <p>
+   * The summaries are sorted by metric name and then key.
+   * 
+   * @return the summaries
+   */
+  public ImmutableList<MetricSummary> summaries() {
+    return accumulators.entrySet().stream()
+        .map(e -> e.getValue().summary(e.getKey().getFirst(), e.getKey().getSecond()))
+        .sorted(Comparator.comparing(MetricSummary::getMetric).thenComparing(MetricSummary::getKey))
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Returns the summary of a single metric and key.
+   * 
+   * @param metric  the metric name
+   * @param key  the key within the metric
+   * @return the summary, empty if nothing has been recorded
+   */
+  public Optional<MetricSummary> summary(String metric, String key) {
+    Accumulator accumulator = accumulators.get(Pair.of(metric, key));
+    return accumulator != null ? Optional.of(accumulator.summary(metric, key)) : Optional.empty();
+  }
+
+  /**
+   * Reports the recorded metrics to the listener.
+   * 
+   * @param listener  the listener to notify
+   */
+  public void report(MetricsListener listener) {
+    ArgChecker.notNull(listener, "listener");
+    listener.metricsReported(summaries());
+  }
+
+  /**
+   * Discards all recorded metrics.
+   */
+  public void reset() {
+    accumulators.clear();
+  }
+
+  @Override
+  public String toString() {
+    return "RecordingInstrumentation[" + accumulators.size() + " metrics]";
+  }
+
+  //-------------------------------------------------------------------------
+  // selects the histogram bucket for a value
+  private static int bucket(double value) {
+    double abs = Math.abs(value);
+    if (abs == 0d || Double.isNaN(abs)) {
+      return 0;
+    }
+    int exponent = Math.getExponent(abs) + BUCKET_OFFSET;
+    return Math.max(0, Math.min(BUCKET_COUNT - 1, exponent));
+  }
+
+  // the upper bound of the values in a histogram bucket
+  private static double bucketLimit(int bucket) {
+    return Math.scalb(1d, bucket - BUCKET_OFFSET + 1);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Accumulates the measurements for a single metric and key.
+   * <p>
+   * Updates are synchronized, contention is limited to callers recording the same metric and key.
+   */
+  private static final class Accumulator {
+    private final long[] histogram = new long[BUCKET_COUNT];
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    private double last;
+
+    // records a value
+    synchronized void record(double value) {
+      count++;
+      sum += value;
+      min = Math.min(min, value);
+      max = Math.max(max, value);
+      last = value;
+      histogram[bucket(value)]++;
+    }
+
+    // summarizes the values
+    synchronized MetricSummary summary(String metric, String key) {
+      return MetricSummary.of(metric, key, count, sum, min, max, last, percentile(0.5), percentile(0.99));
+    }
+
+    // estimates a percentile, capping the bucket limit by the observed range
+    private double percentile(double fraction) {
+      long target = (long) Math.ceil(count * fraction);
+      long seen = 0;
+      for (int i = 0; i < BUCKET_COUNT; i++) {
+        seen += histogram[i];
+        if (seen >= target && histogram[i] > 0) {
+          return Math.max(min, Math.min(max, bucketLimit(i)));
+        }
+      }
+      return max;
+    }
+  }
+
+}
@@ -0,0 +1,14 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ * 
+ * Please see distribution for license.
+ */
+
+/**
+ * Instrumentation of hot paths.
+ * <p>
+ * The calculation engine, market data building and curve calibration report timings
+ * to the global {@link com.opengamma.strata.collect.metrics.Instrumentation Instrumentation}.
+ * This is disabled by default and has no cost until enabled.
+ */
+package com.opengamma.strata.collect.metrics;
@@ -12,6 +12,7 @@
  * <li>Array - wrapped arrays and matrices</li>
  * <li>Functions - additional Java SE 8 functional interfaces</li>
  * <li>IO - common file formats</li>
+ * <li>Metrics - instrumentation of hot paths</li>
  * <li>Named - extended enums</li>
  * <li>Result - functional result model</li>
  * <li>Time-Series - a series of values over time</li>
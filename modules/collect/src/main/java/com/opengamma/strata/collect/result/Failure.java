@@ -80,8 +80,7 @@ public final class Failure
    * @return the failure
    */
   public static Failure of(FailureReason reason, String message, Object... messageArgs) {
-    String msg = Messages.format(message, messageArgs);
-    return Failure.of(FailureItem.of(reason, msg, 1));
+    return Failure.of(FailureItem.of(reason, message, messageArgs, 1));
   }
 
   /**
@@ -6,10 +6,13 @@
 package com.opengamma.strata.collect.result;
 
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
@@ -51,6 +54,14 @@ public final class FailureItem
    * They are often duplicated many times so interning them can save a significant amount of memory.
    */
   private static final Interner<String> INTERNER = Interners.newWeakInterner();
+  /**
+   * The maximum number of kinds of failure for which stack frames are cached.
+   */
+  private static final int MAX_DEDUPLICATED = 10_000;
+  /**
+   * The stack frames of each kind of failure, used by {@link StackTraceCapture#DEDUPLICATED}.
+   */
+  private static final ConcurrentHashMap<List<Object>, String> DEDUPLICATED_FRAMES = new ConcurrentHashMap<>();
 
   /**
    * The reason associated with the failure.
@@ -86,7 +97,7 @@ public final class FailureItem
    * end of the message. No attempt is made to format the arguments.
    * See {@link Messages#format(String, Object...)} for more details.
    * <p>
-   * An exception will be created internally to obtain a stack trace.
+   * A stack trace will be obtained internally, as determined by {@link StackTraceCapture}.
    * The cause type will not be present in the resulting failure.
    * 
    * @param reason  the reason
@@ -95,39 +106,92 @@ public final class FailureItem
    * @return the failure
    */
   public static FailureItem of(FailureReason reason, String message, Object... messageArgs) {
-    String msg = Messages.format(message, messageArgs);
-    return of(reason, msg, 1);
+    return of(reason, message, messageArgs, 1);
   }
 
   /**
-   * Obtains a failure from a reason and message.
+   * Obtains a failure from a reason and message template.
    * <p>
-   * The failure will still have a stack trace, but the cause type will not be present.
+   * The failure will still have a stack trace, subject to {@link StackTraceCapture}, but the cause type will not be present.
    * 
    * @param reason  the reason
-   * @param message  the failure message, not empty
+   * @param message  a message explaining the failure, not empty, uses "{}" for inserting {@code messageArgs}
+   * @param messageArgs  the arguments for the message
    * @param skipFrames  the number of caller frames to skip, not including this one
    * @return the failure
    */
-  static FailureItem of(FailureReason reason, String message, int skipFrames) {
+  static FailureItem of(FailureReason reason, String message, Object[] messageArgs, int skipFrames) {
     ArgChecker.notNull(reason, "reason");
-    ArgChecker.notEmpty(message, "message");
-    String stackTrace = localGetStackTraceAsString(message, skipFrames);
-    return new FailureItem(reason, message, stackTrace, null);
+    String msg = Messages.format(message, messageArgs);
+    ArgChecker.notEmpty(msg, "message");
+    String stackTrace = localGetStackTraceAsString(reason, message, msg, skipFrames);
+    return new FailureItem(reason, msg, stackTrace, null);
   }
 
-  private static String localGetStackTraceAsString(String message, int skipFrames) {
-    StringBuilder builder = new StringBuilder();
-    StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
+  private static String localGetStackTraceAsString(
+      FailureReason reason,
+      String template,
+      String message,
+      int skipFrames) {
+
     // simulate full stack trace, pretending this class is a Throwable subclass
-    builder.append(FAILURE_EXCEPTION).append(message).append(System.lineSeparator());
+    String firstLine = FAILURE_EXCEPTION + message + System.lineSeparator();
+    StackTraceCapture policy = StackTraceCapture.current();
+    if (policy == StackTraceCapture.NONE) {
+      return firstLine;
+    }
+    StackTraceElement[] stackTrace = localGetStackTrace(skipFrames);
+    if (policy == StackTraceCapture.DEDUPLICATED) {
+      // the call site is part of the key, such that failures created in different places do not share frames
+      List<Object> key = Arrays.asList(reason, template, callerFrame(stackTrace));
+      String frames = DEDUPLICATED_FRAMES.get(key);
+      if (frames == null) {
+        frames = localGetStackFrames(stackTrace);
+        cacheFrames(key, frames);
+      }
+      return firstLine + frames;
+    }
+    return firstLine + localGetStackFrames(stackTrace);
+  }
+
+  // must be called directly from localGetStackTraceAsString for the number of frames to be correct
+  private static StackTraceElement[] localGetStackTrace(int skipFrames) {
+    StackTraceElement[] stackTrace = Thread.currentThread().getStackTrace();
     // drop the first few frames because they are part of the immediate calling code
-    for (int i = skipFrames + 3; i < stackTrace.length; i++) {
-      builder.append("\tat ").append(stackTrace[i]).append(System.lineSeparator());
+    int first = Math.min(skipFrames + 4, stackTrace.length);
+    return Arrays.copyOfRange(stackTrace, first, stackTrace.length);
+  }
+
+  // formats the stack frames
+  private static String localGetStackFrames(StackTraceElement[] stackTrace) {
+    StringBuilder builder = new StringBuilder();
+    for (StackTraceElement element : stackTrace) {
+      builder.append("\tat ").append(element).append(System.lineSeparator());
     }
     return builder.toString();
   }
 
+  // finds the first frame outside the classes that create failures, null if there is none
+  private static StackTraceElement callerFrame(StackTraceElement[] stackTrace) {
+    for (StackTraceElement element : stackTrace) {
+      String className = element.getClassName();
+      if (!className.equals(FailureItem.class.getName()) &&
+          !className.equals(Failure.class.getName()) &&
+          !className.equals(Result.class.getName())) {
+        return element;
+      }
+    }
+    return null;
+  }
+
+  // caches the frames of a stack trace, clearing the cache if it grows too large
+  private static void cacheFrames(List<Object> key, String frames) {
+    if (DEDUPLICATED_FRAMES.size() >= MAX_DEDUPLICATED) {
+      DEDUPLICATED_FRAMES.clear();
+    }
+    DEDUPLICATED_FRAMES.putIfAbsent(key, frames);
+  }
+
   /**
    * Obtains a failure from a reason and exception.
    * 
@@ -163,10 +227,31 @@ public final class FailureItem
     ArgChecker.notNull(reason, "reason");
     ArgChecker.notNull(cause, "cause");
     String msg = Messages.format(message, messageArgs);
-    String stackTrace = Throwables.getStackTraceAsString(cause);
+    String stackTrace = exceptionStackTraceAsString(reason, cause, message);
     return new FailureItem(reason, msg, stackTrace, cause.getClass());
   }
 
+  private static String exceptionStackTraceAsString(FailureReason reason, Exception cause, String template) {
+    StackTraceCapture policy = StackTraceCapture.current();
+    if (policy == StackTraceCapture.FULL) {
+      return Throwables.getStackTraceAsString(cause);
+    }
+    // the first line of a stack trace is the string form of the exception
+    String firstLine = cause.toString() + System.lineSeparator();
+    if (policy == StackTraceCapture.NONE) {
+      return firstLine;
+    }
+    StackTraceElement[] elements = cause.getStackTrace();
+    List<Object> key = Arrays.asList(reason, template, cause.getClass(), elements.length > 0 ? elements[0] : null);
+    String frames = DEDUPLICATED_FRAMES.get(key);
+    if (frames == null) {
+      String fullTrace = Throwables.getStackTraceAsString(cause);
+      frames = fullTrace.startsWith(firstLine) ? fullTrace.substring(firstLine.length()) : fullTrace;
+      cacheFrames(key, frames);
+    }
+    return firstLine + frames;
+  }
+
   //-------------------------------------------------------------------------
   @ImmutableConstructor
   private FailureItem(
@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.result;
+
+import java.util.function.Supplier;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The policy for capturing stack traces when creating a {@link FailureItem}.
+ * <p>
+ * Capturing and formatting a stack trace is expensive relative to creating the rest of a failure.
+ * When a large number of calculations fail for the same reason, such as missing market data,
+ * the cost of the stack traces can dominate, even though they are rarely read.
+ * <p>
+ * The policy applies to failures created from a message and to failures created from an exception.
+ * In all cases the first line of the stack trace describes the failure, thus {@link FailureItem#toString()}
+ * is unaffected by the policy.
+ * <p>
+ * The policy in use is obtained from {@link #current()}.
+ * This is the policy set for the current thread using {@link #execute(Supplier)} if there is one,
+ * otherwise it is the global policy set using {@link #setGlobal(StackTraceCapture)}.
+ * The global policy is initially {@link #FULL}.
+ */
+public enum StackTraceCapture {
+
+  /**
+   * The full stack trace is captured for each failure.
+   */
+  FULL,
+  /**
+   * The full stack trace is captured for the first failure of each kind, and reused by subsequent failures.
+   * <p>
+   * A kind of failure is identified by the reason and the message template before formatting.
+   * If caused by an exception, it is also identified by the exception type and the frame that threw it,
+   * being the first element of the stack trace of the exception.
+   * Otherwise, it is also identified by the frame that created the failure, being the first frame
+   * outside {@link FailureItem}, {@link Failure} and {@link Result}.
+   * The first line of the stack trace, describing the failure, is not reused.
+   */
+  DEDUPLICATED,
+  /**
+   * No stack trace is captured.
+   * <p>
+   * The stack trace of the failure consists only of the first line, describing the failure.
+   */
+  NONE;
+
+  /**
+   * The policy of the current thread, null if the global policy applies.
+   */
+  private static final ThreadLocal<StackTraceCapture> THREAD_POLICY = new ThreadLocal<>();
+  /**
+   * The global policy.
+   */
+  private static volatile StackTraceCapture globalPolicy = FULL;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the policy in use by the current thread.
+   *
+   * @return the policy in use
+   */
+  public static StackTraceCapture current() {
+    StackTraceCapture policy = THREAD_POLICY.get();
+    return policy != null ? policy : globalPolicy;
+  }
+
+  /**
+   * Gets the global policy.
+   *
+   * @return the global policy
+   */
+  public static StackTraceCapture global() {
+    return globalPolicy;
+  }
+
+  /**
+   * Sets the global policy.
+   * <p>
+   * This applies to all threads that do not have a policy of their own.
+   *
+   * @param policy  the global policy
+   */
+  public static void setGlobal(StackTraceCapture policy) {
+    globalPolicy = ArgChecker.notNull(policy, "policy");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Executes the supplier on the current thread using this policy.
+   * <p>
+   * The policy of the thread is restored when the supplier completes.
+   *
+   * @param <T>  the type of the result
+   * @param supplier  the supplier to execute
+   * @return the result of the supplier
+   */
+  public <T> T execute(Supplier<T> supplier) {
+    StackTraceCapture previous = THREAD_POLICY.get();
+    THREAD_POLICY.set(this);
+    try {
+      return supplier.get();
+    } finally {
+      if (previous == null) {
+        THREAD_POLICY.remove();
+      } else {
+        THREAD_POLICY.set(previous);
+      }
+    }
+  }
+
+}
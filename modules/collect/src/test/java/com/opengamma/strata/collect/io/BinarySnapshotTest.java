@@ -0,0 +1,144 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.io;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+
+/**
+ * Test {@link BinarySnapshot} and {@link BinarySnapshotWriter}.
+ */
+@Test
+public class BinarySnapshotTest {
+
+  private static final DoubleMatrix MATRIX = DoubleMatrix.of(2, 2, 1d, 2d, 3d, 4d);
+  private static final DoubleArray ARRAY = DoubleArray.of(1.5d, -2.5d, 3.25d);
+  private static final LocalDateDoubleTimeSeries TIME_SERIES = LocalDateDoubleTimeSeries.builder()
+      .put(date(2017, 1, 3), 1.1d)
+      .put(date(2017, 1, 4), 1.2d)
+      .put(date(2017, 1, 5), 1.3d)
+      .build();
+
+  private static BinarySnapshotWriter writer() {
+    return BinarySnapshotWriter.create()
+        .bean("matrix", MATRIX)
+        .beans("arrays", ImmutableList.of(ARRAY, DoubleArray.of(7d)))
+        .doubleArray("array", ARRAY)
+        .timeSeries("ts", TIME_SERIES)
+        .timeSeries("empty", LocalDateDoubleTimeSeries.empty());
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_bytes() {
+    BinarySnapshot test = BinarySnapshot.of(writer().toByteArray());
+    assertContents(test);
+  }
+
+  public void test_file() throws Exception {
+    Path file = Files.createTempFile("binary-snapshot", ".bin");
+    try {
+      writer().writeTo(file);
+      assertContents(BinarySnapshot.of(file));
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private void assertContents(BinarySnapshot test) {
+    assertThat(test.getSectionNames()).containsExactly("matrix", "arrays", "array", "ts", "empty");
+    assertThat(test.contains("ts")).isTrue();
+    assertThat(test.contains("other")).isFalse();
+    assertThat(test.bean("matrix", DoubleMatrix.class)).isEqualTo(MATRIX);
+    assertThat(test.beans("arrays", DoubleArray.class)).containsExactly(ARRAY, DoubleArray.of(7d));
+    assertThat(test.doubleArray("array")).isEqualTo(ARRAY);
+    assertThat(test.timeSeries("ts")).isEqualTo(TIME_SERIES);
+    assertThat(test.timeSeries("empty")).isEqualTo(LocalDateDoubleTimeSeries.empty());
+    assertThat(test.toString()).isEqualTo("BinarySnapshot[matrix, arrays, array, ts, empty]");
+  }
+
+  public void test_sectionsAligned() {
+    byte[] bytes = BinarySnapshotWriter.create()
+        .bean("odd", DoubleArray.of(1d))
+        .doubleArray("array", ARRAY)
+        .toByteArray();
+    assertThat(bytes.length % 8).isEqualTo(0);
+    assertThat(BinarySnapshot.of(bytes).doubleArray("array")).isEqualTo(ARRAY);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_writer_duplicateName() {
+    BinarySnapshotWriter writer = BinarySnapshotWriter.create().doubleArray("a", ARRAY);
+    assertThrowsIllegalArg(() -> writer.timeSeries("a", TIME_SERIES));
+    assertThat(writer.toString()).isEqualTo("BinarySnapshotWriter[a]");
+  }
+
+  public void test_writer_notBean() {
+    BinarySnapshotWriter writer = BinarySnapshotWriter.create();
+    assertThrowsIllegalArg(() -> writer.beans("a", ImmutableList.of(ARRAY, "NotABean")));
+  }
+
+  public void test_missingOrWrongType() {
+    BinarySnapshot test = BinarySnapshot.of(writer().toByteArray());
+    assertThrowsIllegalArg(() -> test.doubleArray("other"), "Binary snapshot section not found: other");
+    assertThrowsIllegalArg(() -> test.doubleArray("ts"), "Binary snapshot section 'ts' has the wrong type");
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> BinarySnapshot.of(new byte[] {1, 2, 3}));
+    byte[] invalid = "NOTASNAPSHOTATALL".getBytes(StandardCharsets.US_ASCII);
+    assertThrowsIllegalArg(() -> BinarySnapshot.of(invalid), "Invalid binary snapshot.*");
+    byte[] truncated = writer().toByteArray();
+    assertThrowsIllegalArg(() -> BinarySnapshot.of(Arrays.copyOf(truncated, 40)));
+  }
+
+  public void test_tooLarge() {
+    assertThat(BinarySnapshot.checkSize(BinarySnapshot.MAX_SIZE)).isEqualTo(Integer.MAX_VALUE);
+    assertThrowsIllegalArg(
+        () -> BinarySnapshot.checkSize(3_000_000_000L),
+        "Binary snapshot is too large, maximum size is 2147483647 bytes but snapshot is 3000000000 bytes");
+  }
+
+  public void test_laterVersion() {
+    byte[] bytes = writer().toByteArray();
+    bytes[8] = 99;
+    assertThrowsIllegalArg(() -> BinarySnapshot.of(bytes), "Binary snapshot version 99 is not supported, maximum 1");
+  }
+
+  public void test_zeroVersion() {
+    byte[] bytes = writer().toByteArray();
+    bytes[8] = 0;
+    assertThrowsIllegalArg(() -> BinarySnapshot.of(bytes), "Binary snapshot version 0 is not supported, maximum 1");
+  }
+
+  public void test_corruptSection() {
+    // a single section named 'a' starts at offset 40, after the aligned header and directory
+    byte[] beans = BinarySnapshotWriter.create().beans("a", ImmutableList.of(ARRAY)).toByteArray();
+    beans[40] = 2;
+    assertThrowsIllegalArg(() -> BinarySnapshot.of(beans).beans("a", DoubleArray.class),
+        "Invalid binary snapshot, section 'a' is corrupt");
+    byte[] timeSeries = BinarySnapshotWriter.create().timeSeries("a", TIME_SERIES).toByteArray();
+    timeSeries[40] = 4;
+    assertThrowsIllegalArg(() -> BinarySnapshot.of(timeSeries).timeSeries("a"),
+        "Invalid binary snapshot, section 'a' is corrupt");
+    timeSeries[43] = -1;
+    assertThrowsIllegalArg(() -> BinarySnapshot.of(timeSeries).timeSeries("a"),
+        "Invalid binary snapshot, section 'a' is corrupt");
+  }
+
+}
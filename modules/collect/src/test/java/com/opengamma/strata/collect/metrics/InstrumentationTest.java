@@ -0,0 +1,51 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverPrivateConstructor;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link Instrumentation}.
+ */
+@Test
+public class InstrumentationTest {
+
+  public void test_none() {
+    Instrumentation test = Instrumentation.none();
+    assertEquals(test.isEnabled(), false);
+    test.recordDuration(Instrumentation.CALCULATION_FUNCTION, "A", 1);
+    test.recordValue(Instrumentation.CALIBRATION_RESIDUAL, "A", 1d);
+    assertEquals(test.toString(), "NoInstrumentation");
+  }
+
+  public void test_global() {
+    assertEquals(Instrumentation.global(), Instrumentation.none());
+    RecordingInstrumentation recording = new RecordingInstrumentation();
+    try {
+      Instrumentation.setGlobal(recording);
+      assertEquals(Instrumentation.global(), recording);
+      assertEquals(Instrumentation.global().isEnabled(), true);
+    } finally {
+      Instrumentation.setGlobal(Instrumentation.none());
+    }
+    assertEquals(Instrumentation.global(), Instrumentation.none());
+  }
+
+  public void test_setGlobal_null() {
+    assertThrowsIllegalArg(() -> Instrumentation.setGlobal(null));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverPrivateConstructor(GlobalInstrumentation.class);
+    NoInstrumentation.valueOf("INSTANCE");
+  }
+
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static org.testng.Assert.assertEquals;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test {@link JmxMetricsReporter}.
+ */
+@Test
+public class JmxMetricsReporterTest {
+
+  public void test_register() throws Exception {
+    RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+    instrumentation.recordDuration("metric", "key", 2);
+    instrumentation.recordDuration("metric", "key", 4);
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try (JmxMetricsReporter test = JmxMetricsReporter.register("test", instrumentation)) {
+      assertEquals(server.isRegistered(test.getObjectName()), true);
+      assertEquals(server.getAttribute(test.getObjectName(), "Summaries").getClass(), String[].class);
+      assertEquals(test.count("metric", "key"), 2);
+      assertEquals(test.count("metric", "other"), 0);
+      assertEquals(test.mean("metric", "key"), 3d);
+      assertEquals(test.mean("metric", "other"), 0d);
+      assertEquals(
+          test.getSummaries(),
+          ImmutableList.of("metric[key]: count=2, mean=3.0, min=2.0, max=4.0, p50=4.0, p99=4.0"));
+      test.reset();
+      assertEquals(test.count("metric", "key"), 0);
+      test.close();
+      assertEquals(server.isRegistered(test.getObjectName()), false);
+    }
+  }
+
+  public void test_register_duplicate() {
+    RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+    try (JmxMetricsReporter test = JmxMetricsReporter.register("duplicate", instrumentation)) {
+      assertEquals(test.count("metric", "key"), 0);
+      assertThrows(() -> JmxMetricsReporter.register("duplicate", instrumentation), IllegalStateException.class);
+    }
+  }
+
+}
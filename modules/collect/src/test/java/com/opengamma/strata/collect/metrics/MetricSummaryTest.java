@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link MetricSummary}.
+ */
+@Test
+public class MetricSummaryTest {
+
+  public void test_of() {
+    MetricSummary test = MetricSummary.of("metric", "key", 4, 10d, 1d, 4d, 2d, 2d, 4d);
+    assertEquals(test.getMetric(), "metric");
+    assertEquals(test.getKey(), "key");
+    assertEquals(test.getCount(), 4);
+    assertEquals(test.getSum(), 10d);
+    assertEquals(test.getMin(), 1d);
+    assertEquals(test.getMax(), 4d);
+    assertEquals(test.getLast(), 2d);
+    assertEquals(test.getP50(), 2d);
+    assertEquals(test.getP99(), 4d);
+    assertEquals(test.getMean(), 2.5d);
+  }
+
+  public void test_of_empty() {
+    MetricSummary test = MetricSummary.of("metric", "key", 0, 0d, 0d, 0d, 0d, 0d, 0d);
+    assertEquals(test.getMean(), 0d);
+  }
+
+  public void test_of_invalid() {
+    assertThrowsIllegalArg(() -> MetricSummary.of("", "key", 0, 0d, 0d, 0d, 0d, 0d, 0d));
+    assertThrowsIllegalArg(() -> MetricSummary.of("metric", "key", -1, 0d, 0d, 0d, 0d, 0d, 0d));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    MetricSummary test = MetricSummary.of("metric", "key", 4, 10d, 1d, 4d, 2d, 2d, 4d);
+    coverImmutableBean(test);
+    MetricSummary test2 = MetricSummary.of("metric2", "key2", 1, 1d, 1d, 1d, 1d, 1d, 1d);
+    coverBeanEquals(test, test2);
+  }
+
+  public void test_serialization() {
+    assertSerialization(MetricSummary.of("metric", "key", 4, 10d, 1d, 4d, 2d, 2d, 4d));
+  }
+
+}
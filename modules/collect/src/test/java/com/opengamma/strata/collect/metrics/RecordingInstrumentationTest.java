@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.collect.metrics;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test {@link RecordingInstrumentation}.
+ */
+@Test
+public class RecordingInstrumentationTest {
+
+  private static final String METRIC = "metric";
+  private static final double TOLERANCE = 1e-12;
+
+  public void test_empty() {
+    RecordingInstrumentation test = new RecordingInstrumentation();
+    assertEquals(test.isEnabled(), true);
+    assertEquals(test.summaries(), ImmutableList.of());
+    assertEquals(test.summary(METRIC, "A"), Optional.empty());
+    assertEquals(test.toString(), "RecordingInstrumentation[0 metrics]");
+  }
+
+  public void test_recordValue() {
+    RecordingInstrumentation test = new RecordingInstrumentation();
+    test.recordValue(METRIC, "A", 3d);
+    test.recordValue(METRIC, "A", 1d);
+    test.recordValue(METRIC, "A", 2d);
+    MetricSummary summary = test.summary(METRIC, "A").get();
+    assertEquals(summary.getMetric(), METRIC);
+    assertEquals(summary.getKey(), "A");
+    assertEquals(summary.getCount(), 3);
+    assertEquals(summary.getSum(), 6d, TOLERANCE);
+    assertEquals(summary.getMean(), 2d, TOLERANCE);
+    assertEquals(summary.getMin(), 1d, TOLERANCE);
+    assertEquals(summary.getMax(), 3d, TOLERANCE);
+    assertEquals(summary.getLast(), 2d, TOLERANCE);
+    assertEquals(summary.getP50(), 3d, TOLERANCE);  // bucket [2, 4) capped by max
+    assertEquals(summary.getP99(), 3d, TOLERANCE);
+  }
+
+  public void test_recordDuration() {
+    RecordingInstrumentation test = new RecordingInstrumentation();
+    for (int i = 0; i < 99; i++) {
+      test.recordDuration(METRIC, "A", 100);
+    }
+    test.recordDuration(METRIC, "A", 1_000_000);
+    MetricSummary summary = test.summary(METRIC, "A").get();
+    assertEquals(summary.getCount(), 100);
+    assertEquals(summary.getMin(), 100d, TOLERANCE);
+    assertEquals(summary.getMax(), 1_000_000d, TOLERANCE);
+    assertEquals(summary.getP50(), 128d, TOLERANCE);
+    assertEquals(summary.getP99(), 128d, TOLERANCE);
+  }
+
+  public void test_recordValue_zero() {
+    RecordingInstrumentation test = new RecordingInstrumentation();
+    test.recordValue(METRIC, "A", 0d);
+    MetricSummary summary = test.summary(METRIC, "A").get();
+    assertEquals(summary.getP50(), 0d, TOLERANCE);
+    assertEquals(summary.getP99(), 0d, TOLERANCE);
+  }
+
+  public void test_recordValue_invalid() {
+    RecordingInstrumentation test = new RecordingInstrumentation();
+    assertThrowsIllegalArg(() -> test.recordValue("", "A", 1d));
+    assertThrowsIllegalArg(() -> test.recordValue(METRIC, null, 1d));
+  }
+
+  public void test_summaries_sorted() {
+    RecordingInstrumentation test = new RecordingInstrumentation();
+    test.recordValue("B", "Y", 1d);
+    test.recordValue("A", "Z", 1d);
+    test.recordValue("B", "X", 1d);
+    List<String> keys = new ArrayList<>();
+    test.report(summaries -> summaries.forEach(s -> keys.add(s.getMetric() + s.getKey())));
+    assertEquals(keys, ImmutableList.of("AZ", "BX", "BY"));
+    assertEquals(test.toString(), "RecordingInstrumentation[3 metrics]");
+  }
+
+  public void test_reset() {
+    RecordingInstrumentation test = new RecordingInstrumentation();
+    test.recordValue(METRIC, "A", 1d);
+    test.reset();
+    assertEquals(test.summaries(), ImmutableList.of());
+  }
+
+  public void test_concurrent() throws Exception {
+    RecordingInstrumentation test = new RecordingInstrumentation();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    for (int i = 0; i < 4; i++) {
+      executor.execute(() -> {
+        for (int j = 0; j < 1000; j++) {
+          test.recordDuration(METRIC, "A", 1);
+        }
+      });
+    }
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    assertEquals(test.summary(METRIC, "A").get().getCount(), 4000);
+  }
+
+}
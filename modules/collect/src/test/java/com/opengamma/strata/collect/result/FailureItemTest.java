@@ -64,4 +64,90 @@ public class FailureItemTest {
     assertEquals(test.toString(), "INVALID: my big bad failure: java.lang.IllegalArgumentException: message");
   }
 
+  //-------------------------------------------------------------------------
+  public void test_of_reasonMessage_noStackTrace() {
+    FailureItem test = StackTraceCapture.NONE.execute(
+        () -> FailureItem.of(FailureReason.INVALID, "my {} {} failure", "big", "bad"));
+    assertEquals(test.getMessage(), "my big bad failure");
+    assertEquals(
+        test.getStackTrace(),
+        "com.opengamma.strata.collect.result.FailureItem: my big bad failure" + System.lineSeparator());
+    assertEquals(test.toString(), "INVALID: my big bad failure");
+  }
+
+  public void test_of_reasonMessageException_noStackTrace() {
+    IllegalArgumentException ex = new IllegalArgumentException("message");
+    FailureItem test = StackTraceCapture.NONE.execute(() -> FailureItem.of(FailureReason.INVALID, ex, "my failure"));
+    assertEquals(test.getMessage(), "my failure");
+    assertEquals(test.getCauseType().get(), IllegalArgumentException.class);
+    assertEquals(test.getStackTrace(), "java.lang.IllegalArgumentException: message" + System.lineSeparator());
+    assertEquals(test.toString(), "INVALID: my failure: java.lang.IllegalArgumentException: message");
+  }
+
+  public void test_of_reasonMessage_deduplicated() {
+    FailureItem test1 = StackTraceCapture.DEDUPLICATED.execute(() -> dedupFailure("first"));
+    FailureItem test2 = StackTraceCapture.DEDUPLICATED.execute(() -> dedupFailure("second"));
+    assertEquals(test1.getMessage(), "my first dedup failure");
+    assertEquals(test2.getMessage(), "my second dedup failure");
+    assertEquals(test1.getStackTrace().contains(".dedupFailure("), true);
+    assertEquals(test1.getStackTrace().contains(".test_of_reasonMessage_deduplicated("), true);
+    assertEquals(test2.getStackTrace().startsWith("com.opengamma.strata.collect.result.FailureItem: my second"), true);
+    assertEquals(frames(test1), frames(test2));
+    assertEquals(test2.toString(), "INVALID: my second dedup failure");
+  }
+
+  public void test_of_reasonMessage_deduplicated_differentCaller() {
+    FailureItem test1 = StackTraceCapture.DEDUPLICATED.execute(() -> dedupFailure("first"));
+    FailureItem test2 = StackTraceCapture.DEDUPLICATED.execute(
+        () -> FailureItem.of(FailureReason.INVALID, "my {} dedup failure", "second"));
+    assertEquals(test1.getStackTrace().contains(".dedupFailure("), true);
+    assertEquals(test2.getStackTrace().contains(".dedupFailure("), false);
+    assertEquals(frames(test1).equals(frames(test2)), false);
+  }
+
+  public void test_of_reasonMessageException_deduplicated() {
+    FailureItem test1 = StackTraceCapture.DEDUPLICATED.execute(() -> FailureItem.of(
+        FailureReason.INVALID, throwException("first"), "my {} failure", "first"));
+    FailureItem test2 = StackTraceCapture.DEDUPLICATED.execute(() -> FailureItem.of(
+        FailureReason.INVALID, throwException("second"), "my {} failure", "second"));
+    assertEquals(test1.getStackTrace().contains(".throwException("), true);
+    assertEquals(frames(test1), frames(test2));
+    assertEquals(test1.toString(), "INVALID: my first failure: java.lang.IllegalArgumentException: first");
+    assertEquals(test2.toString(), "INVALID: my second failure: java.lang.IllegalArgumentException: second");
+  }
+
+  public void test_stackTraceCapture() {
+    assertEquals(StackTraceCapture.current(), StackTraceCapture.FULL);
+    assertEquals(StackTraceCapture.global(), StackTraceCapture.FULL);
+    assertEquals(StackTraceCapture.NONE.execute(() -> StackTraceCapture.current()), StackTraceCapture.NONE);
+    assertEquals(StackTraceCapture.current(), StackTraceCapture.FULL);
+    try {
+      StackTraceCapture.setGlobal(StackTraceCapture.NONE);
+      assertEquals(StackTraceCapture.current(), StackTraceCapture.NONE);
+      assertEquals(StackTraceCapture.FULL.execute(() -> StackTraceCapture.current()), StackTraceCapture.FULL);
+    } finally {
+      StackTraceCapture.setGlobal(StackTraceCapture.FULL);
+    }
+  }
+
+  // creates a failure from the same place each time
+  private static FailureItem dedupFailure(String arg) {
+    return FailureItem.of(FailureReason.INVALID, "my {} dedup failure", arg);
+  }
+
+  // creates an exception with a stack trace from the same place each time
+  private static IllegalArgumentException throwException(String message) {
+    try {
+      throw new IllegalArgumentException(message);
+    } catch (IllegalArgumentException ex) {
+      return ex;
+    }
+  }
+
+  // the stack trace excluding the first line
+  private static String frames(FailureItem item) {
+    String stackTrace = item.getStackTrace();
+    return stackTrace.substring(stackTrace.indexOf(System.lineSeparator()));
+  }
+
 }
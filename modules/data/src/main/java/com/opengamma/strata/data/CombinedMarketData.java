@@ -12,6 +12,7 @@ import java.util.Set;
 
 import org.joda.beans.BeanDefinition;
 import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
 import org.joda.beans.ImmutableValidator;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaBean;
@@ -43,8 +44,33 @@ final class CombinedMarketData
    */
   @PropertyDefinition(validate = "notNull")
   private final MarketData underlying2;
+  /**
+   * The depth of the chain of combined and extended market data.
+   */
+  private final transient int depth;  // derived, not a property
 
   //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   * 
+   * @param underlying1  the first set of market data
+   * @param underlying2  the second set of market data
+   */
+  @ImmutableConstructor
+  CombinedMarketData(MarketData underlying1, MarketData underlying2) {
+    JodaBeanUtils.notNull(underlying1, "underlying1");
+    JodaBeanUtils.notNull(underlying2, "underlying2");
+    this.underlying1 = underlying1;
+    this.underlying2 = underlying2;
+    this.depth = 1 + Math.max(depth(underlying1), depth(underlying2));
+    validate();
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new CombinedMarketData(underlying1, underlying2);
+  }
+
   @ImmutableValidator
   private void validate() {
     if (!underlying1.getValuationDate().equals(underlying2.getValuationDate())) {
@@ -106,6 +132,26 @@ final class CombinedMarketData
     return !timeSeries.isEmpty() ? timeSeries : underlying2.getTimeSeries(id);
   }
 
+  //-------------------------------------------------------------------------
+  // the depth of the chain of combined and extended market data, zero if not combined or extended
+  static int depth(MarketData marketData) {
+    if (marketData instanceof CombinedMarketData) {
+      return ((CombinedMarketData) marketData).depth;
+    }
+    if (marketData instanceof ExtendedMarketData) {
+      return ((ExtendedMarketData<?>) marketData).getDepth();
+    }
+    return 0;
+  }
+
+  // flattens the market data into a single indexed instance if the chain has become too deep
+  // this copies all the values, see ImmutableMarketData.MAX_CHAIN_DEPTH
+  static MarketData flattenIfDeep(MarketData marketData) {
+    return depth(marketData) > ImmutableMarketData.MAX_CHAIN_DEPTH ?
+        ImmutableMarketData.copyOf(marketData) :
+        marketData;
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
@@ -130,21 +176,6 @@ final class CombinedMarketData
    */
   private static final long serialVersionUID = 1L;
 
-  /**
-   * Creates an instance.
-   * @param underlying1  the value of the property, not null
-   * @param underlying2  the value of the property, not null
-   */
-  CombinedMarketData(
-      MarketData underlying1,
-      MarketData underlying2) {
-    JodaBeanUtils.notNull(underlying1, "underlying1");
-    JodaBeanUtils.notNull(underlying2, "underlying2");
-    this.underlying1 = underlying1;
-    this.underlying2 = underlying2;
-    validate();
-  }
-
   @Override
   public MetaBean metaBean() {
     return META_BEAN;
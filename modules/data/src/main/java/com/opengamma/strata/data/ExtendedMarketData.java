@@ -12,6 +12,7 @@ import java.util.Set;
 
 import org.joda.beans.BeanDefinition;
 import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaBean;
 import org.joda.beans.Property;
@@ -45,6 +46,10 @@ final class ExtendedMarketData<T>
    */
   @PropertyDefinition(validate = "notNull")
   private final MarketData underlying;
+  /**
+   * The depth of the chain of combined and extended market data.
+   */
+  private final transient int depth;  // derived, not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -62,6 +67,32 @@ final class ExtendedMarketData<T>
     return new ExtendedMarketData<T>(id, value, underlying);
   }
 
+  @ImmutableConstructor
+  private ExtendedMarketData(MarketDataId<T> id, T value, MarketData underlying) {
+    JodaBeanUtils.notNull(id, "id");
+    JodaBeanUtils.notNull(value, "value");
+    JodaBeanUtils.notNull(underlying, "underlying");
+    this.id = id;
+    this.value = value;
+    this.underlying = underlying;
+    this.depth = 1 + CombinedMarketData.depth(underlying);
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new ExtendedMarketData<T>(id, value, underlying);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the depth of the chain of combined and extended market data.
+   * 
+   * @return the depth
+   */
+  int getDepth() {
+    return depth;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public LocalDate getValuationDate() {
@@ -149,18 +180,6 @@ final class ExtendedMarketData<T>
    */
   private static final long serialVersionUID = 1L;
 
-  private ExtendedMarketData(
-      MarketDataId<T> id,
-      T value,
-      MarketData underlying) {
-    JodaBeanUtils.notNull(id, "id");
-    JodaBeanUtils.notNull(value, "value");
-    JodaBeanUtils.notNull(underlying, "underlying");
-    this.id = id;
-    this.value = value;
-    this.underlying = underlying;
-  }
-
   @Override
   public MetaBean metaBean() {
     return META_BEAN;
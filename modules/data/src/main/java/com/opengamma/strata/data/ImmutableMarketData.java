@@ -5,8 +5,6 @@
  */
 package com.opengamma.strata.data;
 
-import static com.opengamma.strata.collect.Guavate.toImmutableSet;
-
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -19,6 +17,7 @@ import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
 import org.joda.beans.BeanDefinition;
 import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaProperty;
 import org.joda.beans.Property;
@@ -29,6 +28,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -37,11 +37,25 @@ import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
  * An immutable set of market data
  * <p>
  * This is the standard immutable implementation of {@link MarketData}.
+ * The identifiers of named market data are indexed by name, providing fast lookup via {@link #findIds(MarketDataName)}.
  */
 @BeanDefinition(builderScope = "private", constructorScope = "package")
 public final class ImmutableMarketData
     implements MarketData, ImmutableBean, Serializable {
 
+  /**
+   * The maximum depth of a chain of combined and extended market data.
+   * <p>
+   * When {@link MarketData#combinedWith(MarketData)} or {@link MarketData#withValue(MarketDataId, Object)}
+   * would create a deeper chain, the chain is copied into a single instance of this class,
+   * avoiding each lookup passing through many levels. The same limit applies to scenario market data.
+   * <p>
+   * The copy takes time and memory proportional to the number of values in the chain.
+   * As the copy is not itself a chain, a long sequence of calls copies the values
+   * at most once per {@code MAX_CHAIN_DEPTH} calls, rather than on every call.
+   */
+  public static final int MAX_CHAIN_DEPTH = 16;
+
   /**
    * The valuation date associated with the market data.
    */
@@ -59,6 +73,10 @@ public final class ImmutableMarketData
    */
   @PropertyDefinition(validate = "notNull")
   private final ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> timeSeries;
+  /**
+   * The identifiers of the named market data values, keyed by name.
+   */
+  private final transient ImmutableSetMultimap<MarketDataName<?>, MarketDataId<?>> namedIds;  // derived, not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -77,6 +95,30 @@ public final class ImmutableMarketData
     return new ImmutableMarketData(valuationDate, values, ImmutableMap.of());
   }
 
+  /**
+   * Obtains an instance by copying the values and time-series from another set of market data.
+   * <p>
+   * This can be used to flatten market data that has been combined or extended many times
+   * into a single instance, which provides fast lookup by identifier and name.
+   *
+   * @param marketData  the market data to copy
+   * @return a set of market data containing the same values and time-series
+   */
+  public static ImmutableMarketData copyOf(MarketData marketData) {
+    if (marketData instanceof ImmutableMarketData) {
+      return (ImmutableMarketData) marketData;
+    }
+    Map<MarketDataId<?>, Object> values = new HashMap<>();
+    for (MarketDataId<?> id : marketData.getIds()) {
+      values.put(id, marketData.getValue(id));
+    }
+    Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries = new HashMap<>();
+    for (ObservableId id : marketData.getTimeSeriesIds()) {
+      timeSeries.put(id, marketData.getTimeSeries(id));
+    }
+    return new ImmutableMarketData(marketData.getValuationDate(), values, timeSeries);
+  }
+
   // checks the value is an instance of the market data type of the id
   static void checkType(MarketDataId<?> id, Object value) {
     if (!id.getMarketDataType().isInstance(value)) {
@@ -100,6 +142,44 @@ public final class ImmutableMarketData
     return new ImmutableMarketDataBuilder(valuationDate);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   * 
+   * @param valuationDate  the valuation date
+   * @param values  the market data values
+   * @param timeSeries  the time-series
+   */
+  @ImmutableConstructor
+  ImmutableMarketData(
+      LocalDate valuationDate,
+      Map<? extends MarketDataId<?>, ?> values,
+      Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries) {
+    JodaBeanUtils.notNull(valuationDate, "valuationDate");
+    JodaBeanUtils.notNull(values, "values");
+    JodaBeanUtils.notNull(timeSeries, "timeSeries");
+    this.valuationDate = valuationDate;
+    this.values = ImmutableMap.copyOf(values);
+    this.timeSeries = ImmutableMap.copyOf(timeSeries);
+    this.namedIds = indexByName(this.values.keySet());
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new ImmutableMarketData(valuationDate, values, timeSeries);
+  }
+
+  // indexes the identifiers of named market data by name
+  private static ImmutableSetMultimap<MarketDataName<?>, MarketDataId<?>> indexByName(Set<MarketDataId<?>> ids) {
+    ImmutableSetMultimap.Builder<MarketDataName<?>, MarketDataId<?>> builder = ImmutableSetMultimap.builder();
+    for (MarketDataId<?> id : ids) {
+      if (id instanceof NamedMarketDataId) {
+        builder.put(((NamedMarketDataId<?>) id).getMarketDataName(), id);
+      }
+    }
+    return builder.build();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns a builder populated with the same data as this instance.
@@ -184,14 +264,11 @@ public final class ImmutableMarketData
   }
 
   @Override
-  @SuppressWarnings("unchecked")
+  @SuppressWarnings({"unchecked", "rawtypes"})
   public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    // overridden for performance
     // no type check against id.getMarketDataType() as checked in factory
-    return values.keySet().stream()
-        .filter(id -> id instanceof NamedMarketDataId)
-        .filter(id -> ((NamedMarketDataId<?>) id).getMarketDataName().equals(name))
-        .map(id -> (MarketDataId<T>) id)
-        .collect(toImmutableSet());
+    return (Set) namedIds.get(name);
   }
 
   @Override
@@ -224,24 +301,6 @@ public final class ImmutableMarketData
    */
   private static final long serialVersionUID = 1L;
 
-  /**
-   * Creates an instance.
-   * @param valuationDate  the value of the property, not null
-   * @param values  the value of the property, not null
-   * @param timeSeries  the value of the property, not null
-   */
-  ImmutableMarketData(
-      LocalDate valuationDate,
-      Map<? extends MarketDataId<?>, ?> values,
-      Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries) {
-    JodaBeanUtils.notNull(valuationDate, "valuationDate");
-    JodaBeanUtils.notNull(values, "values");
-    JodaBeanUtils.notNull(timeSeries, "timeSeries");
-    this.valuationDate = valuationDate;
-    this.values = ImmutableMap.copyOf(values);
-    this.timeSeries = ImmutableMap.copyOf(timeSeries);
-  }
-
   @Override
   public ImmutableMarketData.Meta metaBean() {
     return ImmutableMarketData.Meta.INSTANCE;
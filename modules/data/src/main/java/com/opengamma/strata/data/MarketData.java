@@ -164,12 +164,15 @@ public interface MarketData {
    * from the other set.
    * <p>
    * The valuation dates of the sets of market data must be the same.
+   * <p>
+   * If market data is combined or extended many times, the result is flattened
+   * into a single {@link ImmutableMarketData} to keep lookups fast.
    *
    * @param other  the other market data
    * @return the combined market data
    */
   public default MarketData combinedWith(MarketData other) {
-    return new CombinedMarketData(this, other);
+    return CombinedMarketData.flattenIfDeep(new CombinedMarketData(this, other));
   }
 
   //-------------------------------------------------------------------------
@@ -179,6 +182,9 @@ public interface MarketData {
    * When the result is queried for the specified identifier, the specified value will be returned.
    * <p>
    * For example, this method could be used to replace a curve with a bumped curve.
+   * <p>
+   * If market data is combined or extended many times, the result is flattened
+   * into a single {@link ImmutableMarketData} to keep lookups fast.
    *
    * @param <T>  the type of the market data value
    * @param id  the identifier to find
@@ -186,7 +192,7 @@ public interface MarketData {
    * @return the derived market data with the specified identifier and value
    */
   public default <T> MarketData withValue(MarketDataId<T> id, T value) {
-    return ExtendedMarketData.of(id, value, this);
+    return CombinedMarketData.flattenIfDeep(ExtendedMarketData.of(id, value, this));
   }
 
 }
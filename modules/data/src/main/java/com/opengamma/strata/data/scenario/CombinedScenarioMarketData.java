@@ -12,6 +12,7 @@ import java.util.Set;
 
 import org.joda.beans.BeanDefinition;
 import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaBean;
 import org.joda.beans.Property;
@@ -21,6 +22,7 @@ import org.joda.beans.impl.light.LightMetaBean;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.data.ObservableId;
@@ -53,6 +55,10 @@ final class CombinedScenarioMarketData
    */
   @PropertyDefinition(overrideGet = true)
   private final int scenarioCount;
+  /**
+   * The depth of the chain of combined and extended market data.
+   */
+  private final transient int depth;  // derived, not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -64,6 +70,7 @@ final class CombinedScenarioMarketData
   CombinedScenarioMarketData(ScenarioMarketData underlying1, ScenarioMarketData underlying2) {
     this.underlying1 = underlying1;
     this.underlying2 = underlying2;
+    this.depth = 1 + Math.max(depth(underlying1), depth(underlying2));
 
     if (underlying1.getScenarioCount() == 1) {
       scenarioCount = underlying2.getScenarioCount();
@@ -81,6 +88,31 @@ final class CombinedScenarioMarketData
     }
   }
 
+  /**
+   * Creates an instance.
+   * 
+   * @param underlying1  the first underlying set of market data
+   * @param underlying2  the second underlying set of market data
+   * @param scenarioCount  the number of scenarios
+   */
+  @ImmutableConstructor
+  CombinedScenarioMarketData(
+      ScenarioMarketData underlying1,
+      ScenarioMarketData underlying2,
+      int scenarioCount) {
+    JodaBeanUtils.notNull(underlying1, "underlying1");
+    JodaBeanUtils.notNull(underlying2, "underlying2");
+    this.underlying1 = underlying1;
+    this.underlying2 = underlying2;
+    this.scenarioCount = scenarioCount;
+    this.depth = 1 + Math.max(depth(underlying1), depth(underlying2));
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new CombinedScenarioMarketData(underlying1, underlying2, scenarioCount);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public MarketDataBox<LocalDate> getValuationDate() {
@@ -135,6 +167,26 @@ final class CombinedScenarioMarketData
     return !timeSeries.isEmpty() ? timeSeries : underlying2.getTimeSeries(id);
   }
 
+  //-------------------------------------------------------------------------
+  // the depth of the chain of combined and extended market data, zero if not combined or extended
+  static int depth(ScenarioMarketData marketData) {
+    if (marketData instanceof CombinedScenarioMarketData) {
+      return ((CombinedScenarioMarketData) marketData).depth;
+    }
+    if (marketData instanceof ExtendedScenarioMarketData) {
+      return ((ExtendedScenarioMarketData<?>) marketData).getDepth();
+    }
+    return 0;
+  }
+
+  // flattens the market data into a single indexed instance if the chain has become too deep
+  // this copies all the values, see ImmutableMarketData.MAX_CHAIN_DEPTH
+  static ScenarioMarketData flattenIfDeep(ScenarioMarketData marketData) {
+    return depth(marketData) > ImmutableMarketData.MAX_CHAIN_DEPTH ?
+        ImmutableScenarioMarketData.copyOf(marketData) :
+        marketData;
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
@@ -159,23 +211,6 @@ final class CombinedScenarioMarketData
    */
   private static final long serialVersionUID = 1L;
 
-  /**
-   * Creates an instance.
-   * @param underlying1  the value of the property, not null
-   * @param underlying2  the value of the property, not null
-   * @param scenarioCount  the value of the property
-   */
-  CombinedScenarioMarketData(
-      ScenarioMarketData underlying1,
-      ScenarioMarketData underlying2,
-      int scenarioCount) {
-    JodaBeanUtils.notNull(underlying1, "underlying1");
-    JodaBeanUtils.notNull(underlying2, "underlying2");
-    this.underlying1 = underlying1;
-    this.underlying2 = underlying2;
-    this.scenarioCount = scenarioCount;
-  }
-
   @Override
   public MetaBean metaBean() {
     return META_BEAN;
@@ -12,6 +12,7 @@ import java.util.Set;
 
 import org.joda.beans.BeanDefinition;
 import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
 import org.joda.beans.ImmutableValidator;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaBean;
@@ -51,6 +52,10 @@ final class ExtendedScenarioMarketData<T>
    */
   @PropertyDefinition(validate = "notNull")
   private final ScenarioMarketData underlying;
+  /**
+   * The depth of the chain of combined and extended market data.
+   */
+  private final transient int depth;  // derived, not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -72,6 +77,23 @@ final class ExtendedScenarioMarketData<T>
     return new ExtendedScenarioMarketData<T>(id, value, underlying);
   }
 
+  @ImmutableConstructor
+  private ExtendedScenarioMarketData(MarketDataId<T> id, MarketDataBox<T> value, ScenarioMarketData underlying) {
+    JodaBeanUtils.notNull(id, "id");
+    JodaBeanUtils.notNull(value, "value");
+    JodaBeanUtils.notNull(underlying, "underlying");
+    this.id = id;
+    this.value = value;
+    this.underlying = underlying;
+    this.depth = 1 + CombinedScenarioMarketData.depth(underlying);
+    validate();
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new ExtendedScenarioMarketData<T>(id, value, underlying);
+  }
+
   @ImmutableValidator
   private void validate() {
     if (value.isScenarioValue() && value.getScenarioCount() != underlying.getScenarioCount()) {
@@ -82,6 +104,15 @@ final class ExtendedScenarioMarketData<T>
   }
 
   //-------------------------------------------------------------------------
+  /**
+   * Gets the depth of the chain of combined and extended market data.
+   * 
+   * @return the depth
+   */
+  int getDepth() {
+    return depth;
+  }
+
   @Override
   public MarketDataBox<LocalDate> getValuationDate() {
     return underlying.getValuationDate();
@@ -173,19 +204,6 @@ final class ExtendedScenarioMarketData<T>
    */
   private static final long serialVersionUID = 1L;
 
-  private ExtendedScenarioMarketData(
-      MarketDataId<T> id,
-      MarketDataBox<T> value,
-      ScenarioMarketData underlying) {
-    JodaBeanUtils.notNull(id, "id");
-    JodaBeanUtils.notNull(value, "value");
-    JodaBeanUtils.notNull(underlying, "underlying");
-    this.id = id;
-    this.value = value;
-    this.underlying = underlying;
-    validate();
-  }
-
   @Override
   public MetaBean metaBean() {
     return META_BEAN;
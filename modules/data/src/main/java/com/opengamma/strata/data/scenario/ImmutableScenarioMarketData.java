@@ -5,8 +5,6 @@
  */
 package com.opengamma.strata.data.scenario;
 
-import static com.opengamma.strata.collect.Guavate.toImmutableSet;
-
 import java.io.Serializable;
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -19,6 +17,7 @@ import org.joda.beans.Bean;
 import org.joda.beans.BeanBuilder;
 import org.joda.beans.BeanDefinition;
 import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableConstructor;
 import org.joda.beans.JodaBeanUtils;
 import org.joda.beans.MetaProperty;
 import org.joda.beans.Property;
@@ -29,6 +28,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSetMultimap;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.MapStream;
 import com.opengamma.strata.collect.Messages;
@@ -43,6 +43,7 @@ import com.opengamma.strata.data.ObservableId;
  * An immutable set of market data across one or more scenarios.
  * <p>
  * This is the standard immutable implementation of {@link ScenarioMarketData}.
+ * The identifiers of named market data are indexed by name, providing fast lookup via {@link #findIds(MarketDataName)}.
  */
 @BeanDefinition(builderScope = "private", constructorScope = "package")
 public final class ImmutableScenarioMarketData
@@ -74,6 +75,10 @@ public final class ImmutableScenarioMarketData
    */
   @PropertyDefinition(validate = "notNull", builderType = "Map<? extends ObservableId, LocalDateDoubleTimeSeries>")
   private final ImmutableMap<ObservableId, LocalDateDoubleTimeSeries> timeSeries;
+  /**
+   * The identifiers of the named market data values, keyed by name.
+   */
+  private final transient ImmutableSetMultimap<MarketDataName<?>, MarketDataId<?>> namedIds;  // derived, not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -117,6 +122,31 @@ public final class ImmutableScenarioMarketData
     return new ImmutableScenarioMarketData(scenarioCount, valuationDate, values, timeSeries);
   }
 
+  /**
+   * Obtains an instance by copying the values and time-series from another set of market data.
+   * <p>
+   * This can be used to flatten market data that has been combined or extended many times
+   * into a single instance, which provides fast lookup by identifier and name.
+   *
+   * @param marketData  the market data to copy
+   * @return a set of market data containing the same values and time-series
+   */
+  public static ImmutableScenarioMarketData copyOf(ScenarioMarketData marketData) {
+    if (marketData instanceof ImmutableScenarioMarketData) {
+      return (ImmutableScenarioMarketData) marketData;
+    }
+    Map<MarketDataId<?>, MarketDataBox<?>> values = new HashMap<>();
+    for (MarketDataId<?> id : marketData.getIds()) {
+      values.put(id, marketData.getValue(id));
+    }
+    Map<ObservableId, LocalDateDoubleTimeSeries> timeSeries = new HashMap<>();
+    for (ObservableId id : marketData.getTimeSeriesIds()) {
+      timeSeries.put(id, marketData.getTimeSeries(id));
+    }
+    return new ImmutableScenarioMarketData(
+        marketData.getScenarioCount(), marketData.getValuationDate(), values, timeSeries);
+  }
+
   // checks the value is an instance of the market data type of the id
   static void checkType(MarketDataId<?> id, MarketDataBox<?> box, int scenarioCount) {
     if (box == null) {
@@ -143,6 +173,48 @@ public final class ImmutableScenarioMarketData
     return EMPTY;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance.
+   * 
+   * @param scenarioCount  the number of scenarios
+   * @param valuationDate  the valuation dates associated with the market data, one for each scenario
+   * @param values  the market data values, one for each scenario
+   * @param timeSeries  the time-series
+   */
+  @ImmutableConstructor
+  ImmutableScenarioMarketData(
+      int scenarioCount,
+      MarketDataBox<LocalDate> valuationDate,
+      Map<? extends MarketDataId<?>, MarketDataBox<?>> values,
+      Map<? extends ObservableId, LocalDateDoubleTimeSeries> timeSeries) {
+    ArgChecker.notNegative(scenarioCount, "scenarioCount");
+    JodaBeanUtils.notNull(valuationDate, "valuationDate");
+    JodaBeanUtils.notNull(values, "values");
+    JodaBeanUtils.notNull(timeSeries, "timeSeries");
+    this.scenarioCount = scenarioCount;
+    this.valuationDate = valuationDate;
+    this.values = ImmutableMap.copyOf(values);
+    this.timeSeries = ImmutableMap.copyOf(timeSeries);
+    this.namedIds = indexByName(this.values.keySet());
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new ImmutableScenarioMarketData(scenarioCount, valuationDate, values, timeSeries);
+  }
+
+  // indexes the identifiers of named market data by name
+  private static ImmutableSetMultimap<MarketDataName<?>, MarketDataId<?>> indexByName(Set<MarketDataId<?>> ids) {
+    ImmutableSetMultimap.Builder<MarketDataName<?>, MarketDataId<?>> builder = ImmutableSetMultimap.builder();
+    for (MarketDataId<?> id : ids) {
+      if (id instanceof NamedMarketDataId) {
+        builder.put(((NamedMarketDataId<?>) id).getMarketDataName(), id);
+      }
+    }
+    return builder.build();
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Creates a mutable builder that can be used to create an instance of the market data.
@@ -206,14 +278,11 @@ public final class ImmutableScenarioMarketData
   }
 
   @Override
-  @SuppressWarnings("unchecked")
+  @SuppressWarnings({"unchecked", "rawtypes"})
   public <T> Set<MarketDataId<T>> findIds(MarketDataName<T> name) {
+    // overridden for performance
     // no type check against id.getMarketDataType() as checked in factory
-    return values.keySet().stream()
-        .filter(id -> id instanceof NamedMarketDataId)
-        .filter(id -> ((NamedMarketDataId<?>) id).getMarketDataName().equals(name))
-        .map(id -> (MarketDataId<T>) id)
-        .collect(toImmutableSet());
+    return (Set) namedIds.get(name);
   }
 
   @Override
@@ -288,28 +357,6 @@ public final class ImmutableScenarioMarketData
    */
   private static final long serialVersionUID = 1L;
 
-  /**
-   * Creates an instance.
-   * @param scenarioCount  the value of the property
-   * @param valuationDate  the value of the property, not null
-   * @param values  the value of the property, not null
-   * @param timeSeries  the value of the property, not null
-   */
-  ImmutableScenarioMarketData(
-      int scenarioCount,
-      MarketDataBox<LocalDate> valuationDate,
-      Map<? extends MarketDataId<?>, MarketDataBox<?>> values,
-      Map<? extends ObservableId, LocalDateDoubleTimeSeries> timeSeries) {
-    ArgChecker.notNegative(scenarioCount, "scenarioCount");
-    JodaBeanUtils.notNull(valuationDate, "valuationDate");
-    JodaBeanUtils.notNull(values, "values");
-    JodaBeanUtils.notNull(timeSeries, "timeSeries");
-    this.scenarioCount = scenarioCount;
-    this.valuationDate = valuationDate;
-    this.values = ImmutableMap.copyOf(values);
-    this.timeSeries = ImmutableMap.copyOf(timeSeries);
-  }
-
   @Override
   public ImmutableScenarioMarketData.Meta metaBean() {
     return ImmutableScenarioMarketData.Meta.INSTANCE;
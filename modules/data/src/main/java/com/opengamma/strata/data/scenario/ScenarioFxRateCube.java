@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.ObservableSource;
+
+/**
+ * A provider of FX rates for scenarios that caches the rates of each currency pair across all scenarios.
+ * <p>
+ * The rates for a currency pair are looked up in the underlying provider the first time they are requested.
+ * They are then held as an array with one rate per scenario, forming a cube of
+ * base currency by counter currency by scenario.
+ * Subsequent requests for the same pair, from any thread, return the cached array.
+ * <p>
+ * A single instance is intended to be shared by all the calculations of a run against one set of market data,
+ * so that currency conversion of results becomes a vector multiplication rather than a triangulated
+ * market data lookup per scenario per result.
+ * <p>
+ * If the underlying provider fails to find a rate, the exception is thrown and nothing is cached.
+ * <p>
+ * This class is thread-safe but not serializable, as the underlying provider is typically not serializable.
+ * When calculations are run in another process, a new instance should be created there from the market data.
+ */
+public final class ScenarioFxRateCube
+    implements ScenarioFxRateProvider {
+
+  /**
+   * The underlying provider.
+   */
+  private final ScenarioFxRateProvider underlying;
+  /**
+   * The cached rates, keyed by currency pair.
+   */
+  private final ConcurrentHashMap<CurrencyPair, DoubleArray> rates = new ConcurrentHashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance which takes its data from the provided market data.
+   *
+   * @param marketData  market data containing FX rates
+   * @return the FX rate cube
+   */
+  public static ScenarioFxRateCube of(ScenarioMarketData marketData) {
+    return of(ScenarioFxRateProvider.of(marketData));
+  }
+
+  /**
+   * Obtains an instance which takes its data from the provided market data.
+   *
+   * @param marketData  market data containing FX rates
+   * @param source  the source of the FX rates
+   * @return the FX rate cube
+   */
+  public static ScenarioFxRateCube of(ScenarioMarketData marketData, ObservableSource source) {
+    return of(ScenarioFxRateProvider.of(marketData, source));
+  }
+
+  /**
+   * Obtains an instance which caches the rates of the specified provider.
+   *
+   * @param underlying  the underlying provider of FX rates
+   * @return the FX rate cube
+   */
+  public static ScenarioFxRateCube of(ScenarioFxRateProvider underlying) {
+    ArgChecker.notNull(underlying, "underlying");
+    if (underlying instanceof ScenarioFxRateCube) {
+      return (ScenarioFxRateCube) underlying;
+    }
+    return new ScenarioFxRateCube(underlying);
+  }
+
+  // restricted constructor
+  private ScenarioFxRateCube(ScenarioFxRateProvider underlying) {
+    this.underlying = underlying;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public int getScenarioCount() {
+    return underlying.getScenarioCount();
+  }
+
+  @Override
+  public DoubleArray fxRates(Currency baseCurrency, Currency counterCurrency) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return DoubleArray.filled(getScenarioCount(), 1d);
+    }
+    CurrencyPair pair = CurrencyPair.of(baseCurrency, counterCurrency);
+    DoubleArray cached = rates.get(pair);
+    if (cached != null) {
+      return cached;
+    }
+    return rates.computeIfAbsent(pair, p -> underlying.fxRates(p.getBase(), p.getCounter()));
+  }
+
+  @Override
+  public double fxRate(Currency baseCurrency, Currency counterCurrency, int scenarioIndex) {
+    if (baseCurrency.equals(counterCurrency)) {
+      return 1d;
+    }
+    return fxRates(baseCurrency, counterCurrency).get(scenarioIndex);
+  }
+
+  @Override
+  public FxRateProvider fxRateProvider(int scenarioIndex) {
+    ArgChecker.inRange(scenarioIndex, 0, getScenarioCount(), "scenarioIndex");
+    return (baseCurrency, counterCurrency) -> fxRate(baseCurrency, counterCurrency, scenarioIndex);
+  }
+
+}
@@ -7,6 +7,7 @@ package com.opengamma.strata.data.scenario;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.ObservableSource;
 
 /**
@@ -80,6 +81,25 @@ public interface ScenarioFxRateProvider {
     return fxRateProvider(scenarioIndex).fxRate(baseCurrency, counterCurrency);
   }
 
+  /**
+   * Gets the FX rates for the specified currency pair, one for each scenario.
+   * <p>
+   * The rates returned are the rates from the base currency to the counter currency
+   * as defined by this formula: {@code (1 * baseCurrency = fxRate * counterCurrency)}.
+   * The rates will all be 1 if the two input currencies are the same.
+   * <p>
+   * This allows an array of amounts to be converted by a single vector multiplication.
+   * The default implementation queries {@link #fxRate(Currency, Currency, int)} for each scenario.
+   *
+   * @param baseCurrency  the base currency, to convert from
+   * @param counterCurrency  the counter currency, to convert to
+   * @return the FX rates for the currency pair, one for each scenario
+   * @throws RuntimeException if no FX rate could be found
+   */
+  public default DoubleArray fxRates(Currency baseCurrency, Currency counterCurrency) {
+    return DoubleArray.of(getScenarioCount(), i -> fxRate(baseCurrency, counterCurrency, i));
+  }
+
   /**
    * Gets the FX rate provider for the specified scenario index.
    * 
@@ -261,12 +261,15 @@ public interface ScenarioMarketData {
    * Both sets of data must contain the same number of scenarios, or one of them must have one scenario.
    * If one of the sets of data has one scenario, the combined set will have the scenario count
    * of the other set.
+   * <p>
+   * If market data is combined or extended many times, the result is flattened
+   * into a single {@link ImmutableScenarioMarketData} to keep lookups fast.
    *
    * @param other  another set of market data
    * @return a set of market data combining the data in this set with the data in the other
    */
   public default ScenarioMarketData combinedWith(ScenarioMarketData other) {
-    return new CombinedScenarioMarketData(this, other);
+    return CombinedScenarioMarketData.flattenIfDeep(new CombinedScenarioMarketData(this, other));
   }
 
   //-------------------------------------------------------------------------
@@ -300,6 +303,9 @@ public interface ScenarioMarketData {
    * The number of scenarios in the box must match this market data.
    * <p>
    * For example, this method could be used to replace a curve with a bumped curve.
+   * <p>
+   * If market data is combined or extended many times, the result is flattened
+   * into a single {@link ImmutableScenarioMarketData} to keep lookups fast.
    *
    * @param <T>  the type of the market data value
    * @param id  the identifier
@@ -308,7 +314,7 @@ public interface ScenarioMarketData {
    * @throws IllegalArgumentException if the scenario count does not match
    */
   public default <T> ScenarioMarketData withValue(MarketDataId<T> id, MarketDataBox<T> value) {
-    return ExtendedScenarioMarketData.of(id, value, this);
+    return CombinedScenarioMarketData.flattenIfDeep(ExtendedScenarioMarketData.of(id, value, this));
   }
 
   /**
@@ -0,0 +1,409 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Failure;
+
+/**
+ * A store of scenario results held outside the Java heap.
+ * <p>
+ * This holds one value per row, scenario and currency, where a row is typically a trade.
+ * The values are stored as {@code double} in direct or memory-mapped buffers laid out
+ * as row x scenario x currency. As such, very large sets of scenario results,
+ * such as those of a historical VaR run, can be held without creating Java objects
+ * for each value, and without the heap having to accommodate them.
+ * <p>
+ * The currencies are fixed when the cube is created. A cube without currencies holds
+ * a single unitless value per row and scenario, as provided by {@link DoubleScenarioArray}.
+ * Rows are populated using {@link #put(int, ScenarioArray)} or {@link #putFailure(int, Failure)}.
+ * Failures are held on the heap, and are expected to be rare.
+ * Rows that have not been populated, or that have failed, have a value of zero.
+ * <p>
+ * Aggregation, such as {@link #totalByScenario(Currency)}, reads the buffers directly.
+ * <p>
+ * Memory-mapped buffers are released when the cube is garbage collected.
+ * <p>
+ * This class is mutable and not thread-safe. Callers that populate a cube from multiple
+ * threads must synchronize externally. When populated by {@code ScenarioResultCubeListener},
+ * the calculation runner invokes the listener from a single thread at a time, which provides
+ * the necessary synchronization.
+ */
+public final class ScenarioResultCube {
+
+  /**
+   * The maximum size of a single buffer.
+   */
+  private static final long MAX_CHUNK_BYTES = 1L << 30;
+
+  /**
+   * The number of rows.
+   */
+  private final int rowCount;
+  /**
+   * The number of scenarios.
+   */
+  private final int scenarioCount;
+  /**
+   * The currencies, empty if unitless.
+   */
+  private final ImmutableList<Currency> currencies;
+  /**
+   * The number of values per scenario, the number of currencies or one if unitless.
+   */
+  private final int currencySlots;
+  /**
+   * The number of values per row.
+   */
+  private final int rowSize;
+  /**
+   * The number of rows in each buffer.
+   */
+  private final int rowsPerChunk;
+  /**
+   * The buffers, each holding {@code rowsPerChunk} rows except the last.
+   */
+  private final DoubleBuffer[] chunks;
+  /**
+   * The rows that have been populated.
+   */
+  private final BitSet populated;
+  /**
+   * The failures keyed by row.
+   */
+  private final Map<Integer, Failure> failures = new HashMap<>();
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates a cube in direct memory.
+   * <p>
+   * The memory is allocated using {@link ByteBuffer#allocateDirect(int)}, thus the
+   * JVM option {@code -XX:MaxDirectMemorySize} may need to be increased.
+   *
+   * @param rowCount  the number of rows
+   * @param scenarioCount  the number of scenarios
+   * @param currencies  the currencies, empty if the values are unitless
+   * @return the cube
+   */
+  public static ScenarioResultCube allocateDirect(int rowCount, int scenarioCount, List<Currency> currencies) {
+    ScenarioResultCube cube = new ScenarioResultCube(rowCount, scenarioCount, currencies);
+    for (int i = 0; i < cube.chunks.length; i++) {
+      cube.chunks[i] = ByteBuffer.allocateDirect(cube.chunkBytes(i)).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+    }
+    return cube;
+  }
+
+  /**
+   * Creates a cube backed by a memory-mapped file.
+   * <p>
+   * The file is created if necessary and any existing content is overwritten.
+   * The operating system pages the data to and from the file as required,
+   * thus the cube may be larger than the physical memory available.
+   *
+   * @param file  the file to map
+   * @param rowCount  the number of rows
+   * @param scenarioCount  the number of scenarios
+   * @param currencies  the currencies, empty if the values are unitless
+   * @return the cube
+   * @throws UncheckedIOException if the file cannot be mapped
+   */
+  public static ScenarioResultCube mapFile(Path file, int rowCount, int scenarioCount, List<Currency> currencies) {
+    ArgChecker.notNull(file, "file");
+    ScenarioResultCube cube = new ScenarioResultCube(rowCount, scenarioCount, currencies);
+    try (FileChannel channel = FileChannel.open(
+        file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+        StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+      long position = 0;
+      for (int i = 0; i < cube.chunks.length; i++) {
+        int bytes = cube.chunkBytes(i);
+        cube.chunks[i] = channel.map(MapMode.READ_WRITE, position, bytes).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        position += bytes;
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return cube;
+  }
+
+  // restricted constructor
+  private ScenarioResultCube(int rowCount, int scenarioCount, List<Currency> currencies) {
+    this.rowCount = ArgChecker.notNegative(rowCount, "rowCount");
+    this.scenarioCount = ArgChecker.notNegativeOrZero(scenarioCount, "scenarioCount");
+    this.currencies = ImmutableList.copyOf(ArgChecker.noNulls(currencies, "currencies"));
+    ArgChecker.isTrue(this.currencies.size() == this.currencies.stream().distinct().count(), "Currencies must be unique");
+    this.currencySlots = Math.max(1, this.currencies.size());
+    long rowBytes = (long) scenarioCount * currencySlots * Double.BYTES;
+    ArgChecker.isTrue(rowBytes <= MAX_CHUNK_BYTES, "Too many scenarios and currencies for a single row: {}", rowBytes);
+    this.rowSize = scenarioCount * currencySlots;
+    this.rowsPerChunk = (int) (MAX_CHUNK_BYTES / rowBytes);
+    this.chunks = new DoubleBuffer[(rowCount + rowsPerChunk - 1) / rowsPerChunk];
+    this.populated = new BitSet(rowCount);
+  }
+
+  // the number of bytes in a chunk
+  private int chunkBytes(int chunkIndex) {
+    int rows = Math.min(rowsPerChunk, rowCount - chunkIndex * rowsPerChunk);
+    return rows * rowSize * Double.BYTES;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of rows.
+   *
+   * @return the number of rows
+   */
+  public int getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Gets the number of scenarios.
+   *
+   * @return the number of scenarios
+   */
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  /**
+   * Gets the currencies, empty if the values are unitless.
+   *
+   * @return the currencies
+   */
+  public ImmutableList<Currency> getCurrencies() {
+    return currencies;
+  }
+
+  /**
+   * Gets the failures, keyed by row.
+   *
+   * @return the failures
+   */
+  public ImmutableMap<Integer, Failure> getFailures() {
+    return ImmutableMap.copyOf(failures);
+  }
+
+  /**
+   * Checks if a row has been populated with values.
+   * <p>
+   * This returns false if the row has not been populated or if it has failed.
+   *
+   * @param rowIndex  the row index
+   * @return true if the row has values
+   */
+  public boolean isPopulated(int rowIndex) {
+    ArgChecker.inRange(rowIndex, 0, rowCount, "rowIndex");
+    return populated.get(rowIndex);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Populates a row with scenario values.
+   * <p>
+   * The value must be a {@link CurrencyScenarioArray} or {@link MultiCurrencyScenarioArray}
+   * in the currencies of this cube, or a {@link DoubleScenarioArray} if this cube is unitless.
+   * Currencies of this cube that are not present in the value are set to zero.
+   *
+   * @param rowIndex  the row index
+   * @param value  the scenario values
+   * @throws IllegalArgumentException if the value is not compatible with this cube
+   */
+  public void put(int rowIndex, ScenarioArray<?> value) {
+    ArgChecker.inRange(rowIndex, 0, rowCount, "rowIndex");
+    ArgChecker.notNull(value, "value");
+    if (value.getScenarioCount() != scenarioCount) {
+      throw new IllegalArgumentException(Messages.format(
+          "Expected {} scenarios but found {}", scenarioCount, value.getScenarioCount()));
+    }
+    clearRow(rowIndex);
+    if (value instanceof CurrencyScenarioArray) {
+      CurrencyScenarioArray array = (CurrencyScenarioArray) value;
+      putValues(rowIndex, currencyIndex(array.getCurrency()), array.getAmounts().getValues());
+    } else if (value instanceof MultiCurrencyScenarioArray) {
+      MultiCurrencyScenarioArray array = (MultiCurrencyScenarioArray) value;
+      for (Currency currency : array.getCurrencies()) {
+        putValues(rowIndex, currencyIndex(currency), array.getValues(currency));
+      }
+    } else if (value instanceof DoubleScenarioArray && currencies.isEmpty()) {
+      putValues(rowIndex, 0, ((DoubleScenarioArray) value).getValues());
+    } else {
+      throw new IllegalArgumentException(Messages.format(
+          "Unable to store value of type '{}' in {}", value.getClass().getSimpleName(), this));
+    }
+    failures.remove(rowIndex);
+    populated.set(rowIndex);
+  }
+
+  /**
+   * Records the failure of a row.
+   * <p>
+   * The values of the row are set to zero.
+   *
+   * @param rowIndex  the row index
+   * @param failure  the failure
+   */
+  public void putFailure(int rowIndex, Failure failure) {
+    ArgChecker.inRange(rowIndex, 0, rowCount, "rowIndex");
+    ArgChecker.notNull(failure, "failure");
+    clearRow(rowIndex);
+    populated.clear(rowIndex);
+    failures.put(rowIndex, failure);
+  }
+
+  // sets a row to zero
+  private void clearRow(int rowIndex) {
+    DoubleBuffer chunk = chunks[rowIndex / rowsPerChunk];
+    int base = (rowIndex % rowsPerChunk) * rowSize;
+    for (int i = 0; i < rowSize; i++) {
+      chunk.put(base + i, 0d);
+    }
+  }
+
+  // sets the values of a row for one currency
+  private void putValues(int rowIndex, int slot, DoubleArray values) {
+    DoubleBuffer chunk = chunks[rowIndex / rowsPerChunk];
+    int base = (rowIndex % rowsPerChunk) * rowSize + slot;
+    for (int scenario = 0; scenario < scenarioCount; scenario++) {
+      chunk.put(base + scenario * currencySlots, values.get(scenario));
+    }
+  }
+
+  // finds the slot of a currency
+  private int currencyIndex(Currency currency) {
+    int index = currencies.indexOf(currency);
+    if (index < 0) {
+      throw new IllegalArgumentException(Messages.format("Currency {} is not stored in {}", currency, this));
+    }
+    return index;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets a single value.
+   *
+   * @param rowIndex  the row index
+   * @param scenarioIndex  the scenario index
+   * @param currency  the currency
+   * @return the value, zero if the row has not been populated
+   * @throws IllegalArgumentException if the currency is not stored in this cube
+   */
+  public double get(int rowIndex, int scenarioIndex, Currency currency) {
+    ArgChecker.inRange(rowIndex, 0, rowCount, "rowIndex");
+    ArgChecker.inRange(scenarioIndex, 0, scenarioCount, "scenarioIndex");
+    return value(rowIndex, scenarioIndex, currencyIndex(currency));
+  }
+
+  /**
+   * Gets a single value from a unitless cube.
+   *
+   * @param rowIndex  the row index
+   * @param scenarioIndex  the scenario index
+   * @return the value, zero if the row has not been populated
+   * @throws IllegalStateException if the cube has currencies
+   */
+  public double get(int rowIndex, int scenarioIndex) {
+    ArgChecker.inRange(rowIndex, 0, rowCount, "rowIndex");
+    ArgChecker.inRange(scenarioIndex, 0, scenarioCount, "scenarioIndex");
+    checkUnitless();
+    return value(rowIndex, scenarioIndex, 0);
+  }
+
+  /**
+   * Gets the values of a row for all scenarios in one currency.
+   * <p>
+   * This creates an array on the heap.
+   *
+   * @param rowIndex  the row index
+   * @param currency  the currency
+   * @return the values, indexed by scenario
+   * @throws IllegalArgumentException if the currency is not stored in this cube
+   */
+  public DoubleArray getValues(int rowIndex, Currency currency) {
+    ArgChecker.inRange(rowIndex, 0, rowCount, "rowIndex");
+    int slot = currencyIndex(currency);
+    return DoubleArray.of(scenarioCount, scenario -> value(rowIndex, scenario, slot));
+  }
+
+  // reads a value
+  private double value(int rowIndex, int scenarioIndex, int slot) {
+    return chunks[rowIndex / rowsPerChunk].get((rowIndex % rowsPerChunk) * rowSize + scenarioIndex * currencySlots + slot);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the total of all rows for each scenario in one currency.
+   * <p>
+   * This reads the buffers directly, only creating the resulting array.
+   *
+   * @param currency  the currency
+   * @return the total, indexed by scenario
+   * @throws IllegalArgumentException if the currency is not stored in this cube
+   */
+  public DoubleArray totalByScenario(Currency currency) {
+    return total(currencyIndex(currency));
+  }
+
+  /**
+   * Calculates the total of all rows for each scenario in a unitless cube.
+   *
+   * @return the total, indexed by scenario
+   * @throws IllegalStateException if the cube has currencies
+   */
+  public DoubleArray totalByScenario() {
+    checkUnitless();
+    return total(0);
+  }
+
+  // totals a currency slot, reading each chunk sequentially
+  private DoubleArray total(int slot) {
+    double[] totals = new double[scenarioCount];
+    for (int chunkIndex = 0; chunkIndex < chunks.length; chunkIndex++) {
+      DoubleBuffer chunk = chunks[chunkIndex];
+      int rows = chunk.capacity() / rowSize;
+      for (int row = 0; row < rows; row++) {
+        int base = row * rowSize + slot;
+        for (int scenario = 0; scenario < scenarioCount; scenario++) {
+          totals[scenario] += chunk.get(base + scenario * currencySlots);
+        }
+      }
+    }
+    return DoubleArray.ofUnsafe(totals);
+  }
+
+  // checks the cube is unitless
+  private void checkUnitless() {
+    if (!currencies.isEmpty()) {
+      throw new IllegalStateException("Cube has currencies, a currency must be specified: " + currencies);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format(
+        "ScenarioResultCube[rows={}, scenarios={}, currencies={}]", rowCount, scenarioCount, currencies);
+  }
+
+}
@@ -12,6 +12,7 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.util.HashMap;
@@ -233,6 +234,37 @@ public class MarketDataTest {
     assertEquals(test.getValue(ID1), VAL3);
   }
 
+  // a long chain of values is flattened into a single instance
+  public void test_withValue_flattened() {
+    MarketData test = MarketData.of(VAL_DATE, ImmutableMap.of(ID1, VAL1));
+    for (int i = 0; i < ImmutableMarketData.MAX_CHAIN_DEPTH; i++) {
+      test = test.withValue(new TestingNamedId("A" + i), "A" + i);
+    }
+    assertEquals(test instanceof ExtendedMarketData, true);
+    test = test.withValue(ID2, VAL2).combinedWith(MarketData.of(VAL_DATE, ImmutableMap.of(ID3, VAL3)));
+    assertEquals(test instanceof ImmutableMarketData, true);
+    assertEquals(test.getIds().size(), ImmutableMarketData.MAX_CHAIN_DEPTH + 3);
+    assertEquals(test.getValue(ID1), VAL1);
+    assertEquals(test.getValue(ID2), VAL2);
+    assertEquals(test.getValue(ID3), VAL3);
+    assertEquals(test.findIds(new TestingName("A3")), ImmutableSet.of(new TestingNamedId("A3")));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_copyOf() {
+    ImmutableMarketData base = ImmutableMarketData.builder(VAL_DATE)
+        .addValue(ID1, VAL1)
+        .addTimeSeries(ID4, TIME_SERIES)
+        .build();
+    assertSame(ImmutableMarketData.copyOf(base), base);
+    MarketData combined = base.withValue(ID1, VAL3).combinedWith(MarketData.of(VAL_DATE, ImmutableMap.of(ID2, VAL2)));
+    ImmutableMarketData test = ImmutableMarketData.copyOf(combined);
+    assertEquals(test.getValuationDate(), VAL_DATE);
+    assertEquals(test.getValues(), ImmutableMap.of(ID1, VAL3, ID2, VAL2));
+    assertEquals(test.getTimeSeries(), ImmutableMap.of(ID4, TIME_SERIES));
+    assertEquals(test.findIds(ID1.getMarketDataName()), ImmutableSet.of(ID1));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     Map<MarketDataId<?>, Object> dataMap = ImmutableMap.of(ID1, VAL1);
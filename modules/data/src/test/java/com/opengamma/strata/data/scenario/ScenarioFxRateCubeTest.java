@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyPair;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.basics.currency.FxRateProvider;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.MarketDataNotFoundException;
+import com.opengamma.strata.data.ObservableSource;
+
+/**
+ * Test {@link ScenarioFxRateCube}.
+ */
+@Test
+public class ScenarioFxRateCubeTest {
+
+  private static final LocalDate VAL_DATE = LocalDate.of(2011, 3, 8);
+  private static final FxRateScenarioArray GBP_USD = FxRateScenarioArray.of(GBP, USD, DoubleArray.of(1.4, 1.41, 1.42));
+  private static final FxRateScenarioArray EUR_USD = FxRateScenarioArray.of(EUR, USD, DoubleArray.of(1.1, 1.11, 1.12));
+  private static final ScenarioMarketData MARKET_DATA = ImmutableScenarioMarketData.builder(VAL_DATE)
+      .addScenarioValue(FxRateId.of(GBP, USD), GBP_USD)
+      .addScenarioValue(FxRateId.of(EUR, USD), EUR_USD)
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    ScenarioFxRateCube test = ScenarioFxRateCube.of(MARKET_DATA);
+    assertThat(test.getScenarioCount()).isEqualTo(3);
+    assertThat(test.fxRates(GBP, USD)).isEqualTo(DoubleArray.of(1.4, 1.41, 1.42));
+    assertThat(test.fxRate(GBP, USD, 1)).isEqualTo(1.41);
+    assertThat(test.fxRate(USD, GBP, 1)).isEqualTo(1d / 1.41);
+    assertThat(test.fxRate(GBP, GBP, 1)).isEqualTo(1d);
+    assertThat(test.fxRates(GBP, GBP)).isEqualTo(DoubleArray.filled(3, 1d));
+    assertThat(ScenarioFxRateCube.of(test)).isSameAs(test);
+  }
+
+  public void test_of_source() {
+    ObservableSource testSource = ObservableSource.of("test");
+    ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addValue(FxRateId.of(GBP, USD), FxRate.of(GBP, USD, 1.4d))
+        .addValue(FxRateId.of(GBP, USD, testSource), FxRate.of(GBP, USD, 1.41d))
+        .build();
+    assertThat(ScenarioFxRateCube.of(marketData).fxRate(GBP, USD, 0)).isEqualTo(1.4d);
+    assertThat(ScenarioFxRateCube.of(marketData, testSource).fxRate(GBP, USD, 0)).isEqualTo(1.41d);
+  }
+
+  public void test_triangulation() {
+    ScenarioFxRateCube test = ScenarioFxRateCube.of(MARKET_DATA);
+    DoubleArray rates = test.fxRates(GBP, EUR);
+    for (int i = 0; i < 3; i++) {
+      double expected = GBP_USD.fxRate(GBP, USD, i) / EUR_USD.fxRate(EUR, USD, i);
+      assertThat(rates.get(i)).isEqualTo(expected, offset(1e-12));
+    }
+  }
+
+  public void test_fxRateProvider() {
+    ScenarioFxRateCube test = ScenarioFxRateCube.of(MARKET_DATA);
+    FxRateProvider provider = test.fxRateProvider(2);
+    assertThat(provider.fxRate(GBP, USD)).isEqualTo(1.42);
+    assertThat(provider.fxRate(CurrencyPair.of(EUR, USD))).isEqualTo(1.12);
+    assertThrowsIllegalArg(() -> test.fxRateProvider(3));
+  }
+
+  public void test_cached() {
+    CountingProvider underlying = new CountingProvider(new TestScenarioFxRateProvider(GBP_USD));
+    ScenarioFxRateCube test = ScenarioFxRateCube.of(underlying);
+    DoubleArray first = test.fxRates(GBP, USD);
+    assertThat(underlying.count.get()).isEqualTo(3);
+    assertThat(test.fxRates(GBP, USD)).isSameAs(first);
+    assertThat(test.fxRate(GBP, USD, 2)).isEqualTo(1.42);
+    assertThat(test.fxRateProvider(1).fxRate(GBP, USD)).isEqualTo(1.41);
+    assertThat(underlying.count.get()).isEqualTo(3);
+    // the inverse is looked up separately, matching the underlying provider
+    assertThat(test.fxRate(USD, GBP, 0)).isEqualTo(1d / 1.4);
+    assertThat(underlying.count.get()).isEqualTo(6);
+    // the same currency never reaches the underlying provider
+    test.fxRates(GBP, GBP);
+    assertThat(underlying.count.get()).isEqualTo(6);
+  }
+
+  public void test_failureNotCached() {
+    ScenarioFxRateCube test = ScenarioFxRateCube.of(MARKET_DATA);
+    assertThrows(() -> test.fxRates(Currency.JPY, USD), MarketDataNotFoundException.class);
+    assertThrows(() -> test.fxRates(Currency.JPY, USD), MarketDataNotFoundException.class);
+  }
+
+  public void test_convertedTo() {
+    ScenarioFxRateCube test = ScenarioFxRateCube.of(MARKET_DATA);
+    CurrencyScenarioArray amounts = CurrencyScenarioArray.of(GBP, DoubleArray.of(10, 20, 30));
+    CurrencyScenarioArray converted = amounts.convertedTo(USD, test);
+    assertThat(converted).isEqualTo(CurrencyScenarioArray.of(USD, DoubleArray.of(10 * 1.4, 20 * 1.41, 30 * 1.42)));
+  }
+
+  //-------------------------------------------------------------------------
+  // counts the number of single rate lookups made
+  private static final class CountingProvider implements ScenarioFxRateProvider {
+    private final ScenarioFxRateProvider underlying;
+    private final AtomicInteger count = new AtomicInteger();
+
+    private CountingProvider(ScenarioFxRateProvider underlying) {
+      this.underlying = underlying;
+    }
+
+    @Override
+    public int getScenarioCount() {
+      return underlying.getScenarioCount();
+    }
+
+    @Override
+    public double fxRate(Currency baseCurrency, Currency counterCurrency, int scenarioIndex) {
+      count.incrementAndGet();
+      return underlying.fxRate(baseCurrency, counterCurrency, scenarioIndex);
+    }
+
+    @Override
+    public FxRateProvider fxRateProvider(int scenarioIndex) {
+      return underlying.fxRateProvider(scenarioIndex);
+    }
+  }
+
+}
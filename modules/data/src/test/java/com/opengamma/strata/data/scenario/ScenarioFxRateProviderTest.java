@@ -14,6 +14,7 @@ import org.testng.annotations.Test;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.data.FxRateId;
 import com.opengamma.strata.data.ObservableSource;
 
@@ -39,6 +40,11 @@ public class ScenarioFxRateProviderTest {
     assertThat(fxRateProvider.fxRate(Currency.GBP, Currency.USD, 0)).isEqualTo(1.4d);
   }
 
+  public void fxRates() {
+    assertThat(fxRateProvider.fxRates(Currency.GBP, Currency.USD)).isEqualTo(DoubleArray.of(1.4d));
+    assertThat(fxRateProvider.fxRates(Currency.GBP, Currency.GBP)).isEqualTo(DoubleArray.of(1d));
+  }
+
   public void specifySource() {
     ObservableSource testSource = ObservableSource.of("test");
     ScenarioMarketData marketData = ImmutableScenarioMarketData.builder(LocalDate.of(2011, 3, 8))
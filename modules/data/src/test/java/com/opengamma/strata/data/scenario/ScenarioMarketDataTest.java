@@ -26,11 +26,14 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.data.MarketDataNotFoundException;
 import com.opengamma.strata.data.ObservableId;
+import com.opengamma.strata.data.TestingName;
+import com.opengamma.strata.data.TestingNamedId;
 
 /**
  * Test {@link ScenarioMarketData} and {@link ImmutableScenarioMarketData}.
@@ -186,6 +189,46 @@ public class ScenarioMarketDataTest {
     assertThat(list.get(1)).isEqualTo(BOX1.getValue(1));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_findIds() {
+    TestingNamedId namedId = new TestingNamedId("A");
+    ScenarioMarketData test = ImmutableScenarioMarketData.builder(VAL_DATE)
+        .addValue(ID1, VAL1)
+        .addValue(namedId, "A")
+        .build();
+    assertThat(test.findIds(new TestingName("A"))).containsOnly(namedId);
+    assertThat(test.findIds(new TestingName("B"))).isEmpty();
+  }
+
+  // a long chain of values is flattened into a single instance
+  public void test_withValue_flattened() {
+    ScenarioMarketData test = ScenarioMarketData.of(2, VAL_DATE, ImmutableMap.of(ID1, BOX1), ImmutableMap.of());
+    for (int i = 0; i < ImmutableMarketData.MAX_CHAIN_DEPTH; i++) {
+      test = test.withValue(TestObservableId.of("A" + i), MarketDataBox.ofSingleValue(VAL3));
+    }
+    assertThat(test).isInstanceOf(ExtendedScenarioMarketData.class);
+    ScenarioMarketData other = ScenarioMarketData.of(1, VAL_DATE, ImmutableMap.of(ID2, BOX2), ImmutableMap.of());
+    test = test.combinedWith(other);
+    assertThat(test).isInstanceOf(ImmutableScenarioMarketData.class);
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.getIds()).hasSize(ImmutableMarketData.MAX_CHAIN_DEPTH + 2);
+    assertThat(test.getValue(ID1)).isEqualTo(BOX1);
+    assertThat(test.getValue(ID2)).isEqualTo(BOX2);
+  }
+
+  public void test_copyOf() {
+    ImmutableScenarioMarketData base = ImmutableScenarioMarketData.of(
+        2, VAL_DATE, ImmutableMap.of(ID1, BOX1), ImmutableMap.of(ID1, TIME_SERIES));
+    assertThat(ImmutableScenarioMarketData.copyOf(base)).isSameAs(base);
+    MarketDataBox<Double> box = MarketDataBox.ofSingleValue(VAL3);
+    ScenarioMarketData extended = base.withValue(ID2, box);
+    ImmutableScenarioMarketData test = ImmutableScenarioMarketData.copyOf(extended);
+    assertThat(test.getScenarioCount()).isEqualTo(2);
+    assertThat(test.getValuationDate()).isEqualTo(MarketDataBox.ofSingleValue(VAL_DATE));
+    assertThat(test.getValues()).isEqualTo(ImmutableMap.of(ID1, BOX1, ID2, box));
+    assertThat(test.getTimeSeries()).isEqualTo(ImmutableMap.of(ID1, TIME_SERIES));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     Map<MarketDataId<?>, MarketDataBox<?>> dataMap = ImmutableMap.of(ID1, BOX1);
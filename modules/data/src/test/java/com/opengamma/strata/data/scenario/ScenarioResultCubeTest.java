@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.data.scenario;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureReason;
+
+/**
+ * Test {@link ScenarioResultCube}.
+ */
+@Test
+public class ScenarioResultCubeTest {
+
+  private static final CurrencyScenarioArray GBP_ARRAY = CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2, 3));
+  private static final MultiCurrencyScenarioArray MULTI_ARRAY = MultiCurrencyScenarioArray.of(
+      ImmutableMap.of(GBP, DoubleArray.of(10, 20, 30), USD, DoubleArray.of(5, 6, 7)));
+  private static final Failure FAILURE = Failure.of(FailureReason.ERROR, "Failed");
+
+  //-------------------------------------------------------------------------
+  public void test_allocateDirect() {
+    ScenarioResultCube test = ScenarioResultCube.allocateDirect(3, 3, ImmutableList.of(GBP, USD));
+    assertEquals(test.getRowCount(), 3);
+    assertEquals(test.getScenarioCount(), 3);
+    assertEquals(test.getCurrencies(), ImmutableList.of(GBP, USD));
+    assertEquals(test.toString(), "ScenarioResultCube[rows=3, scenarios=3, currencies=[GBP, USD]]");
+    assertPopulated(test);
+  }
+
+  public void test_mapFile() throws Exception {
+    Path file = Files.createTempFile("scenario-result-cube", ".bin");
+    try {
+      ScenarioResultCube test = ScenarioResultCube.mapFile(file, 3, 3, ImmutableList.of(GBP, USD));
+      assertPopulated(test);
+      assertEquals(Files.size(file), 3 * 3 * 2 * Double.BYTES);
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private void assertPopulated(ScenarioResultCube test) {
+    test.put(0, GBP_ARRAY);
+    test.put(1, MULTI_ARRAY);
+    test.putFailure(2, FAILURE);
+    assertEquals(test.isPopulated(0), true);
+    assertEquals(test.isPopulated(1), true);
+    assertEquals(test.isPopulated(2), false);
+    assertEquals(test.get(0, 1, GBP), 2d);
+    assertEquals(test.get(0, 1, USD), 0d);
+    assertEquals(test.get(1, 2, GBP), 30d);
+    assertEquals(test.get(1, 2, USD), 7d);
+    assertEquals(test.get(2, 0, GBP), 0d);
+    assertEquals(test.getValues(1, USD), DoubleArray.of(5, 6, 7));
+    assertEquals(test.getFailures(), ImmutableMap.of(2, FAILURE));
+    assertEquals(test.totalByScenario(GBP), DoubleArray.of(11, 22, 33));
+    assertEquals(test.totalByScenario(USD), DoubleArray.of(5, 6, 7));
+
+    // overwrite clears previous values and failures
+    test.put(1, GBP_ARRAY);
+    test.put(2, GBP_ARRAY);
+    assertEquals(test.get(1, 2, USD), 0d);
+    assertEquals(test.getFailures(), ImmutableMap.of());
+    assertEquals(test.totalByScenario(GBP), DoubleArray.of(3, 6, 9));
+    test.putFailure(0, FAILURE);
+    assertEquals(test.totalByScenario(GBP), DoubleArray.of(2, 4, 6));
+  }
+
+  public void test_unitless() {
+    ScenarioResultCube test = ScenarioResultCube.allocateDirect(2, 2, ImmutableList.of());
+    test.put(0, DoubleScenarioArray.of(DoubleArray.of(1, 2)));
+    test.put(1, DoubleScenarioArray.of(DoubleArray.of(3, 4)));
+    assertEquals(test.get(1, 1), 4d);
+    assertEquals(test.totalByScenario(), DoubleArray.of(4, 6));
+    assertThrowsIllegalArg(() -> test.put(0, GBP_ARRAY));
+    assertThrowsIllegalArg(() -> test.get(0, 0, GBP));
+  }
+
+  public void test_manyRows() {
+    ScenarioResultCube test = ScenarioResultCube.allocateDirect(1000, 1, ImmutableList.of(GBP));
+    for (int i = 0; i < 1000; i++) {
+      test.put(i, CurrencyScenarioArray.of(GBP, DoubleArray.of(i)));
+    }
+    assertEquals(test.get(999, 0, GBP), 999d);
+    assertEquals(test.totalByScenario(GBP), DoubleArray.of(999 * 1000 / 2));
+  }
+
+  public void test_invalid() {
+    ScenarioResultCube test = ScenarioResultCube.allocateDirect(2, 3, ImmutableList.of(GBP, USD));
+    assertThrowsIllegalArg(() -> test.put(2, GBP_ARRAY));
+    assertThrowsIllegalArg(() -> test.put(0, CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2))), "Expected 3 scenarios.*");
+    assertThrowsIllegalArg(() -> test.put(0, CurrencyScenarioArray.of(EUR, DoubleArray.of(1, 2, 3))), "Currency EUR.*");
+    assertThrowsIllegalArg(() -> test.put(0, DoubleScenarioArray.of(DoubleArray.of(1, 2, 3))), "Unable to store.*");
+    assertThrowsIllegalArg(() -> test.get(0, 3, GBP));
+    assertThrows(() -> test.get(0, 0), IllegalStateException.class);
+    assertThrows(() -> test.totalByScenario(), IllegalStateException.class);
+    assertThrowsIllegalArg(() -> ScenarioResultCube.allocateDirect(-1, 3, ImmutableList.of(GBP)));
+    assertThrowsIllegalArg(() -> ScenarioResultCube.allocateDirect(1, 0, ImmutableList.of(GBP)));
+    assertThrowsIllegalArg(() -> ScenarioResultCube.allocateDirect(1, 1, ImmutableList.of(GBP, GBP)));
+  }
+
+}
@@ -115,33 +115,47 @@ public final class CurvePointShifts
   @Override
   public MarketDataBox<Curve> applyTo(MarketDataBox<Curve> marketData, ReferenceData refData) {
     log.debug("Applying {} point shift to curve '{}'", shiftType, marketData.getValue(0).getName());
-    return marketData.mapWithIndex(shifts.rowCount(), (curve, scenarioIndex) -> applyShifts(scenarioIndex, curve));
+    // match the nodes of a single base curve once, rather than once per scenario
+    int[] baseColumns = marketData.isSingleValue() ? shiftColumns(marketData.getSingleValue()) : null;
+    return marketData.mapWithIndex(
+        shifts.rowCount(),
+        (curve, scenarioIndex) -> applyShifts(scenarioIndex, curve, baseColumns != null ? baseColumns : shiftColumns(curve)));
   }
 
-  private Curve applyShifts(int scenarioIndex, Curve curve) {
+  private Curve applyShifts(int scenarioIndex, Curve curve, int[] columns) {
+    double[] scenarioShifts = shifts.row(scenarioIndex).toArrayUnsafe();
     return curve.withPerturbation((index, value, meta) -> {
-      Double shiftAmount = shiftForNode(scenarioIndex, meta);
-      return shiftType.applyShift(value, shiftAmount);
+      int column = columns[index];
+      return shiftType.applyShift(value, column < 0 ? 0d : scenarioShifts[column]);
     });
   }
 
+  // finds the column in the shifts matrix for each curve parameter, -1 if not shifted
+  private int[] shiftColumns(Curve curve) {
+    int[] columns = new int[curve.getParameterCount()];
+    for (int i = 0; i < columns.length; i++) {
+      columns[i] = shiftColumn(curve.getParameterMetadata(i));
+    }
+    return columns;
+  }
+
   @Override
   public int getScenarioCount() {
     return shifts.rowCount();
   }
 
-  private double shiftForNode(int scenarioIndex, ParameterMetadata meta) {
+  private int shiftColumn(ParameterMetadata meta) {
     Integer nodeIndex = nodeIndices.get(meta.getIdentifier());
 
     if (nodeIndex != null) {
-      return shifts.get(scenarioIndex, nodeIndex);
+      return nodeIndex;
     }
     nodeIndex = nodeIndices.get(meta.getLabel());
 
     if (nodeIndex != null) {
-      return shifts.get(scenarioIndex, nodeIndex);
+      return nodeIndex;
     }
-    return 0;
+    return -1;
   }
 
   //------------------------- AUTOGENERATED START -------------------------
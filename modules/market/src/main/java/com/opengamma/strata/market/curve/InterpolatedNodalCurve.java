@@ -203,6 +203,22 @@ public final class InterpolatedNodalCurve
         .collect(toImmutableList());
   }
 
+  // creates an instance with different y-values, sharing the validated state of the base curve
+  private InterpolatedNodalCurve(InterpolatedNodalCurve base, DoubleArray yValues) {
+    JodaBeanUtils.notNull(yValues, "values");
+    if (base.xValues.size() != yValues.size()) {
+      throw new IllegalArgumentException("Length of x-values and y-values must match");
+    }
+    this.metadata = base.metadata;
+    this.xValues = base.xValues;
+    this.yValues = yValues;
+    this.extrapolatorLeft = base.extrapolatorLeft;
+    this.interpolator = base.interpolator;
+    this.extrapolatorRight = base.extrapolatorRight;
+    this.boundInterpolator = interpolator.bind(xValues, yValues, extrapolatorLeft, extrapolatorRight);
+    this.parameterMetadata = base.parameterMetadata;
+  }
+
   @ImmutableDefaults
   private static void applyDefaults(Builder builder) {
     builder.extrapolatorLeft = CurveExtrapolators.FLAT;
@@ -234,7 +250,7 @@ public final class InterpolatedNodalCurve
   public InterpolatedNodalCurve withPerturbation(ParameterPerturbation perturbation) {
     int size = yValues.size();
     DoubleArray perturbedValues = DoubleArray.of(
-        size, i -> perturbation.perturbParameter(i, yValues.get(i), getParameterMetadata(i)));
+        size, i -> perturbation.perturbParameter(i, yValues.get(i), parameterMetadata.get(i)));
     return withYValues(perturbedValues);
   }
 
@@ -262,7 +278,7 @@ public final class InterpolatedNodalCurve
 
   @Override
   public InterpolatedNodalCurve withYValues(DoubleArray yValues) {
-    return new InterpolatedNodalCurve(metadata, xValues, yValues, interpolator, extrapolatorLeft, extrapolatorRight);
+    return new InterpolatedNodalCurve(this, yValues);
   }
 
   @Override
@@ -27,6 +27,10 @@ public abstract class AbstractBoundCurveInterpolator
    * The right extrapolator.
    */
   private final BoundCurveExtrapolator extrapolatorRight;
+  /**
+   * The x-values of the nodes.
+   */
+  private final double[] nodeXValues;
   /**
    * The x-value of the first node.
    */
@@ -54,6 +58,7 @@ public abstract class AbstractBoundCurveInterpolator
     ArgChecker.isTrue(size > 1, "Curve node arrays must have at least two nodes");
     this.extrapolatorLeft = ExceptionCurveExtrapolator.INSTANCE;
     this.extrapolatorRight = ExceptionCurveExtrapolator.INSTANCE;
+    this.nodeXValues = xValues.toArrayUnsafe();
     this.firstXValue = xValues.get(0);
     this.lastXValue = xValues.get(size - 1);
     this.lastYValue = yValues.get(size - 1);
@@ -73,6 +78,7 @@ public abstract class AbstractBoundCurveInterpolator
 
     this.extrapolatorLeft = ArgChecker.notNull(extrapolatorLeft, "extrapolatorLeft");
     this.extrapolatorRight = ArgChecker.notNull(extrapolatorRight, "extrapolatorRight");
+    this.nodeXValues = base.nodeXValues;
     this.firstXValue = base.firstXValue;
     this.lastXValue = base.lastXValue;
     this.lastYValue = base.lastYValue;
@@ -135,6 +141,102 @@ public abstract class AbstractBoundCurveInterpolator
    */
   protected abstract DoubleArray doParameterSensitivity(double xValue);
 
+  //-------------------------------------------------------------------------
+  @Override
+  public final void interpolate(double[] xValues, double[] result) {
+    int lowerIndex = 0;
+    for (int i = 0; i < xValues.length; i++) {
+      double xValue = xValues[i];
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolate(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolate(xValue);
+      } else if (xValue == lastXValue) {
+        result[i] = lastYValue;
+      } else {
+        lowerIndex = lowerBoundIndex(xValue, nodeXValues, lowerIndex);
+        result[i] = doInterpolate(xValue, lowerIndex);
+      }
+    }
+  }
+
+  /**
+   * Method for subclasses to calculate the interpolated value, where the lower node is known.
+   * <p>
+   * This is used when interpolating many values, where the index of the lower node is found by
+   * moving on from the index of the previous value. By default, this ignores the index.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node whose x-value is less than or equal to the x-value
+   * @return the interpolated y-value
+   */
+  protected double doInterpolate(double xValue, int lowerIndex) {
+    return doInterpolate(xValue);
+  }
+
+  @Override
+  public final void firstDerivative(double[] xValues, double[] result) {
+    int lowerIndex = 0;
+    for (int i = 0; i < xValues.length; i++) {
+      double xValue = xValues[i];
+      if (xValue < firstXValue) {
+        result[i] = extrapolatorLeft.leftExtrapolateFirstDerivative(xValue);
+      } else if (xValue > lastXValue) {
+        result[i] = extrapolatorRight.rightExtrapolateFirstDerivative(xValue);
+      } else {
+        lowerIndex = lowerBoundIndex(xValue, nodeXValues, lowerIndex);
+        result[i] = doFirstDerivative(xValue, lowerIndex);
+      }
+    }
+  }
+
+  /**
+   * Method for subclasses to calculate the first derivative, where the lower node is known.
+   * <p>
+   * This is used when calculating many derivatives, see {@link #doInterpolate(double, int)}.
+   * By default, this ignores the index.
+   * 
+   * @param xValue  the x-value
+   * @param lowerIndex  the index of the last node whose x-value is less than or equal to the x-value
+   * @return the first derivative
+   */
+  protected double doFirstDerivative(double xValue, int lowerIndex) {
+    return doFirstDerivative(xValue);
+  }
+
+  @Override
+  public final int parameterSensitivity(double xValue, int[] indices, double[] sensitivities) {
+    if (xValue < firstXValue || xValue > lastXValue) {
+      return BoundCurveInterpolator.super.parameterSensitivity(xValue, indices, sensitivities);
+    }
+    return doParameterSensitivity(xValue, indices, sensitivities);
+  }
+
+  /**
+   * Method for subclasses to calculate the parameter sensitivity in sparse form.
+   * <p>
+   * Local interpolators override this to write only the non-zero sensitivities.
+   * By default, this finds the non-zero elements of {@link #doParameterSensitivity(double)}.
+   * 
+   * @param xValue  the x-value
+   * @param indices  the array to write the parameter indices to
+   * @param sensitivities  the array to write the sensitivities to
+   * @return the number of parameters written
+   */
+  protected int doParameterSensitivity(double xValue, int[] indices, double[] sensitivities) {
+    DoubleArray dense = doParameterSensitivity(xValue);
+    int count = 0;
+    for (int i = 0; i < dense.size(); i++) {
+      double value = dense.get(i);
+      if (value != 0d) {
+        indices[count] = i;
+        sensitivities[count] = value;
+        count++;
+      }
+    }
+    return count;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Returns the index of the last value in the input array which is lower than the specified value.
@@ -180,4 +282,30 @@ public abstract class AbstractBoundCurveInterpolator
     return lo - 1;
   }
 
+  /**
+   * Returns the index of the last value in the input array which is lower than the specified value,
+   * starting from a previously found index.
+   * <p>
+   * This produces the same result as {@link #lowerBoundIndex(double, double[])}.
+   * When the x-values being looked up are sorted, the index of the previous x-value is passed in,
+   * and the nodes are scanned forward from there, avoiding a binary search for each x-value.
+   * If the x-value is lower than the node at the start index, a binary search is used.
+   *
+   * @param xValue  a value which is less than the last element in {@code xValues}
+   * @param xValues  an array of values sorted in ascending order
+   * @param startIndex  the index to start from, typically the result for the previous x-value
+   * @return the index of the last value in {@code xValues} which is lower than {@code xValue}
+   */
+  protected static int lowerBoundIndex(double xValue, double[] xValues, int startIndex) {
+    if (xValues[startIndex] > xValue) {
+      return lowerBoundIndex(xValue, xValues);
+    }
+    int index = startIndex;
+    int last = xValues.length - 1;
+    while (index < last && xValues[index + 1] <= xValue) {
+      index++;
+    }
+    return index;
+  }
+
 }
@@ -52,6 +52,71 @@ public interface BoundCurveInterpolator {
    */
   public abstract DoubleArray parameterSensitivity(double x);
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the y-values for the specified x-values by interpolation, writing to the result array.
+   * <p>
+   * This avoids allocation when interpolating many values, for example all the payment dates of a trade.
+   * The x-values should be sorted from low to high, which allows implementations to reuse the
+   * position of the previous x-value rather than searching the nodes for each one.
+   * Unsorted x-values give the same results, but may be slower.
+   *
+   * @param xValues  the x-values to find the y-values for
+   * @param result  the array to write the y-values to, at least as long as the x-values
+   * @throws RuntimeException if a y-value cannot be calculated
+   */
+  public default void interpolate(double[] xValues, double[] result) {
+    for (int i = 0; i < xValues.length; i++) {
+      result[i] = interpolate(xValues[i]);
+    }
+  }
+
+  /**
+   * Computes the first derivatives of the y-values for the specified x-values, writing to the result array.
+   * <p>
+   * The x-values should be sorted from low to high, see {@link #interpolate(double[], double[])}.
+   *
+   * @param xValues  the x-values at which the derivatives are taken
+   * @param result  the array to write the derivatives to, at least as long as the x-values
+   * @throws RuntimeException if a derivative cannot be calculated
+   */
+  public default void firstDerivative(double[] xValues, double[] result) {
+    for (int i = 0; i < xValues.length; i++) {
+      result[i] = firstDerivative(xValues[i]);
+    }
+  }
+
+  /**
+   * Computes the sensitivity of the y-value with respect to the curve parameters, in sparse form.
+   * <p>
+   * The parameter indices and sensitivities that are non-zero are written to the two arrays,
+   * with the number written being returned. Local interpolators, such as linear, only write
+   * the one or two parameters either side of the x-value, avoiding the allocation and scanning
+   * of an array with one element for each parameter.
+   * <p>
+   * The arrays must be large enough to hold the sensitivity to every parameter of the curve,
+   * as non-local interpolators and extrapolators may be sensitive to all of them.
+   *
+   * @param x  the x-value at which the parameter sensitivity is computed
+   * @param indices  the array to write the parameter indices to
+   * @param sensitivities  the array to write the sensitivities to
+   * @return the number of parameters written
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default int parameterSensitivity(double x, int[] indices, double[] sensitivities) {
+    DoubleArray dense = parameterSensitivity(x);
+    int count = 0;
+    for (int i = 0; i < dense.size(); i++) {
+      double value = dense.get(i);
+      if (value != 0d) {
+        indices[count] = i;
+        sensitivities[count] = value;
+        count++;
+      }
+    }
+    return count;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Binds this interpolator to the specified extrapolators.
@@ -98,8 +98,12 @@ final class LinearCurveInterpolator
     //-------------------------------------------------------------------------
     @Override
     protected double doInterpolate(double xValue) {
+      return doInterpolate(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
       double x1 = xValues[lowerIndex];
       double y1 = yValues[lowerIndex];
       return y1 + (xValue - x1) * gradients[lowerIndex];
@@ -107,11 +111,15 @@ final class LinearCurveInterpolator
 
     @Override
     protected double doFirstDerivative(double xValue) {
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doFirstDerivative(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doFirstDerivative(double xValue, int lowerIndex) {
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // if value is at last node, calculate the gradient from the previous interval
-        lowerIndex--;
+        return gradients[lowerIndex - 1];
       }
       return gradients[lowerIndex];
     }
@@ -135,6 +143,27 @@ final class LinearCurveInterpolator
       return DoubleArray.ofUnsafe(result);
     }
 
+    @Override
+    protected int doParameterSensitivity(double xValue, int[] indices, double[] sensitivities) {
+      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      // check if x-value is at the last node
+      if (lowerIndex == intervalCount) {
+        // sensitivity is entirely to the last node
+        indices[0] = intervalCount;
+        sensitivities[0] = 1d;
+        return 1;
+      }
+      double x1 = xValues[lowerIndex];
+      double x2 = xValues[lowerIndex + 1];
+      double dx = x2 - x1;
+      double a = (x2 - xValue) / dx;
+      indices[0] = lowerIndex;
+      sensitivities[0] = a;
+      indices[1] = lowerIndex + 1;
+      sensitivities[1] = 1 - a;
+      return 2;
+    }
+
     @Override
     public BoundCurveInterpolator bind(
         BoundCurveExtrapolator extrapolatorLeft,
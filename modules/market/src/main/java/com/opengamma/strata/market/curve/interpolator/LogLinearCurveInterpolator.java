@@ -89,8 +89,12 @@ final class LogLinearCurveInterpolator
     //-------------------------------------------------------------------------
     @Override
     protected double doInterpolate(double xValue) {
+      return doInterpolate(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doInterpolate(double xValue, int lowerIndex) {
       // x-value is less than the x-value of the last node (lowerIndex < intervalCount)
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
       double x1 = xValues[lowerIndex];
       double x2 = xValues[lowerIndex + 1];
       double y1 = yValues[lowerIndex];
@@ -100,7 +104,11 @@ final class LogLinearCurveInterpolator
 
     @Override
     protected double doFirstDerivative(double xValue) {
-      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      return doFirstDerivative(xValue, lowerBoundIndex(xValue, xValues));
+    }
+
+    @Override
+    protected double doFirstDerivative(double xValue, int lowerIndex) {
       // check if x-value is at the last node
       if (lowerIndex == intervalCount) {
         // if value is at last node, calculate the gradient from the previous interval
@@ -142,6 +150,31 @@ final class LogLinearCurveInterpolator
       return DoubleArray.ofUnsafe(result);
     }
 
+    @Override
+    protected int doParameterSensitivity(double xValue, int[] indices, double[] sensitivities) {
+      int lowerIndex = lowerBoundIndex(xValue, xValues);
+      // check if x-value is at the last node
+      if (lowerIndex == intervalCount) {
+        // sensitivity is entirely to the last node
+        indices[0] = intervalCount;
+        sensitivities[0] = 1d;
+        return 1;
+      }
+      double x1 = xValues[lowerIndex];
+      double x2 = xValues[lowerIndex + 1];
+      double y1 = yValues[lowerIndex];
+      double y2 = yValues[lowerIndex + 1];
+      double diffInv = 1.0 / (x2 - x1);
+      double x1diffInv = (xValue - x1) * diffInv;
+      double x2diffInv = (x2 - xValue) * diffInv;
+      double yDiv = y1 / y2;
+      indices[0] = lowerIndex;
+      sensitivities[0] = Math.pow(yDiv, -x1diffInv) * x2diffInv;
+      indices[1] = lowerIndex + 1;
+      sensitivities[1] = Math.pow(yDiv, x2diffInv) * x1diffInv;
+      return 2;
+    }
+
     @Override
     public BoundCurveInterpolator bind(
         BoundCurveExtrapolator extrapolatorLeft,
@@ -108,6 +108,13 @@ final class StepUpperCurveInterpolator
       return DoubleArray.ofUnsafe(result);
     }
 
+    @Override
+    protected int doParameterSensitivity(double xValue, int[] indices, double[] sensitivities) {
+      indices[0] = getUpperBoundIndex(xValue);
+      sensitivities[0] = 1d;
+      return 1;
+    }
+
     @Override
     public BoundCurveInterpolator bind(
         BoundCurveExtrapolator extrapolatorLeft,
@@ -0,0 +1,97 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.explain;
+
+import org.joda.convert.FromString;
+import org.joda.convert.ToString;
+
+import com.google.common.base.CaseFormat;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * The level of detail captured when building an {@link ExplainMap}.
+ * <p>
+ * The explanation of a calculation is a tree, where the nested entries are held in lists,
+ * such as the list of legs of a swap, or the list of payment periods of a leg.
+ * The detail level controls which of these lists are populated by {@link ExplainMapBuilder}.
+ * Lists that are not included are neither built nor added to the map.
+ * <p>
+ * Lower levels of detail allow the explanation to be calculated for a large number of trades
+ * without retaining the full tree for each of them.
+ */
+public enum ExplainDetail {
+
+  /**
+   * Only the summary of the trade is captured.
+   * <p>
+   * No lists are populated.
+   */
+  TRADE {
+    @Override
+    public boolean includes(ExplainKey<?> listKey) {
+      return false;
+    }
+  },
+  /**
+   * The summary of the trade and of each leg is captured.
+   * <p>
+   * Only the {@linkplain ExplainKey#LEGS legs} list is populated.
+   * The periods, events and observations within each leg are not.
+   */
+  LEG {
+    @Override
+    public boolean includes(ExplainKey<?> listKey) {
+      return listKey.equals(ExplainKey.LEGS);
+    }
+  },
+  /**
+   * The full explanation is captured, down to each period and observation.
+   * <p>
+   * All lists are populated.
+   */
+  FULL {
+    @Override
+    public boolean includes(ExplainKey<?> listKey) {
+      return true;
+    }
+  };
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the specified unique name.
+   *
+   * @param uniqueName  the unique name
+   * @return the type
+   * @throws IllegalArgumentException if the name is not known
+   */
+  @FromString
+  public static ExplainDetail of(String uniqueName) {
+    ArgChecker.notNull(uniqueName, "uniqueName");
+    return valueOf(CaseFormat.UPPER_CAMEL.to(CaseFormat.UPPER_UNDERSCORE, uniqueName));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks whether the list associated with the key is populated at this level of detail.
+   *
+   * @param listKey  the key of the list
+   * @return true if the list is populated
+   */
+  public abstract boolean includes(ExplainKey<?> listKey);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the formatted unique name of the type.
+   *
+   * @return the formatted string representing the type
+   */
+  @ToString
+  @Override
+  public String toString() {
+    return CaseFormat.UPPER_UNDERSCORE.to(CaseFormat.UPPER_CAMEL, name());
+  }
+
+}
@@ -12,6 +12,7 @@ import org.joda.convert.FromString;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.collect.TypedString;
@@ -75,6 +76,11 @@ public final class ExplainKey<T>
    * The present value.
    */
   public static final ExplainKey<CurrencyAmount> PRESENT_VALUE = of("PresentValue");
+  /**
+   * The present value of an entry that may involve several currencies.
+   * For example, this is used to summarize a swap when the legs are not explained.
+   */
+  public static final ExplainKey<MultiCurrencyAmount> MULTI_CURRENCY_PRESENT_VALUE = of("MultiCurrencyPresentValue");
   /**
    * The forecast value.
    */
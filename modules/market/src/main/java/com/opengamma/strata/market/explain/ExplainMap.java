@@ -63,6 +63,18 @@ public final class ExplainMap
     return new ExplainMapBuilder();
   }
 
+  /**
+   * Returns a builder for creating the map with the specified level of detail.
+   * <p>
+   * The builder only populates the lists that are included at the level of detail.
+   *
+   * @param detail  the level of detail
+   * @return the builder
+   */
+  public static ExplainMapBuilder builder(ExplainDetail detail) {
+    return new ExplainMapBuilder(detail);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Gets a value by key.
@@ -6,34 +6,72 @@
 package com.opengamma.strata.market.explain;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.function.Consumer;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.collect.ArgChecker;
 
 /**
  * A builder for the map of explanatory values.
  * <p>
  * This is a mutable builder for {@link ExplainMap} that must be used from a single thread.
+ * <p>
+ * The builder has a {@linkplain ExplainDetail level of detail}, which is inherited by the list entries.
+ * List entries that are not included at that level are skipped, such that the calculation
+ * populating the entry is not performed and nothing is added to the map.
+ * <p>
+ * The entries are held in arrays in insertion order, rather than in a hash map,
+ * as each map typically only has a small number of entries.
  */
 public final class ExplainMapBuilder {
 
+  /**
+   * The initial number of entries.
+   */
+  private static final int INITIAL_CAPACITY = 8;
+
   /**
    * The parent builder.
    */
   private final ExplainMapBuilder parent;
   /**
-   * The map of explanatory values.
+   * The level of detail.
+   */
+  private final ExplainDetail detail;
+  /**
+   * Whether the entries are discarded, used for list entries that are not included.
+   */
+  private final boolean discarding;
+  /**
+   * The keys, in insertion order.
+   */
+  private ExplainKey<?>[] keys;
+  /**
+   * The values, matching the keys.
+   */
+  private Object[] values;
+  /**
+   * The number of entries.
    */
-  private final Map<ExplainKey<?>, Object> map = new LinkedHashMap<>();
+  private int size;
 
   /**
    * Creates a new instance.
    */
   ExplainMapBuilder() {
-    this.parent = null;
+    this(ExplainDetail.FULL);
+  }
+
+  /**
+   * Creates a new instance with a level of detail.
+   * 
+   * @param detail  the level of detail
+   */
+  ExplainMapBuilder(ExplainDetail detail) {
+    this(null, ArgChecker.notNull(detail, "detail"), false);
   }
 
   /**
@@ -42,7 +80,40 @@ public final class ExplainMapBuilder {
    * @param parent  the parent builder
    */
   ExplainMapBuilder(ExplainMapBuilder parent) {
+    this(parent, parent.detail, false);
+  }
+
+  // creates an instance
+  private ExplainMapBuilder(ExplainMapBuilder parent, ExplainDetail detail, boolean discarding) {
     this.parent = parent;
+    this.detail = detail;
+    this.discarding = discarding;
+    this.keys = discarding ? null : new ExplainKey<?>[INITIAL_CAPACITY];
+    this.values = discarding ? null : new Object[INITIAL_CAPACITY];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the level of detail of this builder.
+   * 
+   * @return the level of detail
+   */
+  public ExplainDetail getDetail() {
+    return detail;
+  }
+
+  /**
+   * Checks whether entries of the specified list are populated by this builder.
+   * <p>
+   * This is false if the list is not included at the level of detail of the builder,
+   * or if this builder is itself an entry that is not included.
+   * 
+   * @param <R>  the type of the value
+   * @param key  the list key
+   * @return true if entries of the list are populated
+   */
+  public <R extends List<?>> boolean isIncluded(ExplainKey<R> key) {
+    return !discarding && detail.includes(key);
   }
 
   //-------------------------------------------------------------------------
@@ -56,6 +127,9 @@ public final class ExplainMapBuilder {
    * Once opened, the child builder resulting from this method must be used.
    * The method {@link #closeListEntry(ExplainKey)} must be used to close the
    * child and receive an instance of the parent back again.
+   * <p>
+   * If the list is not {@linkplain #isIncluded(ExplainKey) included}, the child builder
+   * discards anything added to it, and the list is not created.
    * 
    * @param <R>  the type of the value
    * @param key  the list key to open
@@ -63,16 +137,20 @@ public final class ExplainMapBuilder {
    */
   @SuppressWarnings("unchecked")
   public <R extends List<?>> ExplainMapBuilder openListEntry(ExplainKey<R> key) {
+    ArgChecker.notNull(key, "key");
+    if (!isIncluded(key)) {
+      return new ExplainMapBuilder(this, detail, true);
+    }
     // list entry is a ExplainMapBuilder, making use of erasure in generics
     // builder is converted to ExplainMap when entry is closed
     ExplainMapBuilder child = new ExplainMapBuilder(this);
-    Object value = map.get(key);
+    int index = indexOf(key);
     ArrayList<Object> list;
-    if (value instanceof ArrayList) {
-      list = (ArrayList<Object>) value;
+    if (index >= 0 && values[index] instanceof ArrayList) {
+      list = (ArrayList<Object>) values[index];
     } else {
       list = new ArrayList<>();
-      map.put(key, list);
+      putValue(index, key, list);
     }
     list.add(child);
     return child;
@@ -88,7 +166,11 @@ public final class ExplainMapBuilder {
    * @return the parent builder
    */
   public <R extends List<?>> ExplainMapBuilder closeListEntry(ExplainKey<R> key) {
-    Object value = parent.map.get(key);
+    if (discarding) {
+      return parent;
+    }
+    int index = parent.indexOf(key);
+    Object value = index >= 0 ? parent.values[index] : null;
     if (value instanceof ArrayList == false) {
       throw new IllegalStateException("ExplainMapBuilder.closeList() called but no list found to close");
     }
@@ -107,6 +189,8 @@ public final class ExplainMapBuilder {
    * This is an alternative to using {@link #openListEntry(ExplainKey)} and
    * {@link #closeListEntry(ExplainKey)} directly.
    * The consumer function receives the child builder and must add data to it.
+   * <p>
+   * If the list is not {@linkplain #isIncluded(ExplainKey) included}, the consumer is not invoked.
    * 
    * @param <R>  the type of the value
    * @param key  the list key to open
@@ -114,6 +198,9 @@ public final class ExplainMapBuilder {
    * @return this builder
    */
   public <R extends List<?>> ExplainMapBuilder addListEntry(ExplainKey<R> key, Consumer<ExplainMapBuilder> consumer) {
+    if (!isIncluded(key)) {
+      return this;
+    }
     ExplainMapBuilder child = openListEntry(key);
     consumer.accept(child);
     return child.closeListEntry(key);
@@ -125,6 +212,8 @@ public final class ExplainMapBuilder {
    * This is an alternative to using {@link #openListEntry(ExplainKey)} and
    * {@link #closeListEntry(ExplainKey)} directly.
    * The consumer function receives the child builder and must add data to it.
+   * <p>
+   * If the list is not {@linkplain #isIncluded(ExplainKey) included}, the consumer is not invoked.
    * 
    * @param <R>  the type of the value
    * @param key  the list key to open
@@ -132,11 +221,13 @@ public final class ExplainMapBuilder {
    * @return this builder
    */
   public <R extends List<?>> ExplainMapBuilder addListEntryWithIndex(ExplainKey<R> key, Consumer<ExplainMapBuilder> consumer) {
+    if (!isIncluded(key)) {
+      return this;
+    }
     ExplainMapBuilder child = openListEntry(key);
     // find index
-    Object value = map.get(key);
     @SuppressWarnings("unchecked")
-    ArrayList<Object> list = (ArrayList<Object>) value;
+    ArrayList<Object> list = (ArrayList<Object>) values[indexOf(key)];
     child.put(ExplainKey.ENTRY_INDEX, list.size() - 1);
     consumer.accept(child);
     return child.closeListEntry(key);
@@ -156,18 +247,52 @@ public final class ExplainMapBuilder {
   public <R> ExplainMapBuilder put(ExplainKey<R> key, R value) {
     ArgChecker.notNull(key, "key");
     ArgChecker.notNull(value, "value");
-    map.put(key, value);
+    if (!discarding) {
+      putValue(indexOf(key), key, value);
+    }
     return this;
   }
 
+  // finds the index of the key, -1 if not found
+  private int indexOf(ExplainKey<?> key) {
+    for (int i = 0; i < size; i++) {
+      if (keys[i].equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  // replaces the value at the index, or adds the entry if the index is negative
+  private void putValue(int index, ExplainKey<?> key, Object value) {
+    if (index >= 0) {
+      values[index] = value;
+      return;
+    }
+    if (size == keys.length) {
+      keys = Arrays.copyOf(keys, size * 2);
+      values = Arrays.copyOf(values, size * 2);
+    }
+    keys[size] = key;
+    values[size] = value;
+    size++;
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Builds the map.
+   * <p>
+   * The lists of entries are converted to immutable lists.
    * 
    * @return the resulting map
    */
   public ExplainMap build() {
-    return ExplainMap.of(map);
+    ImmutableMap.Builder<ExplainKey<?>, Object> builder = ImmutableMap.builder();
+    for (int i = 0; i < size; i++) {
+      Object value = values[i];
+      builder.put(keys[i], value instanceof ArrayList ? ImmutableList.copyOf((ArrayList<?>) value) : value);
+    }
+    return ExplainMap.of(builder.build());
   }
 
 }
@@ -105,6 +105,28 @@ public class CurvePointShiftsTest {
     }
   }
 
+  public void scenarioCurves() {
+    List<LabelDateParameterMetadata> nodeMetadata = ImmutableList.of(
+        LabelDateParameterMetadata.of(date(2011, 3, 8), TNR_1M),
+        LabelDateParameterMetadata.of(date(2011, 5, 8), TNR_3M));
+
+    CurvePointShifts shift = CurvePointShifts.builder(ShiftType.ABSOLUTE)
+        .addShift(0, TNR_1M, 0.1)
+        .addShift(1, TNR_3M, 0.2)
+        .build();
+
+    CurveMetadata metadata = Curves.zeroRates(CurveName.of("curve"), DayCounts.ACT_365F, nodeMetadata);
+    Curve curve1 = InterpolatedNodalCurve.of(metadata, DoubleArray.of(1, 2), DoubleArray.of(5, 6), INTERPOLATOR);
+    Curve curve2 = InterpolatedNodalCurve.of(metadata, DoubleArray.of(1, 2), DoubleArray.of(7, 8), INTERPOLATOR);
+
+    MarketDataBox<Curve> shiftedCurveBox = shift.applyTo(MarketDataBox.ofScenarioValues(curve1, curve2), REF_DATA);
+
+    assertThat(shiftedCurveBox.getValue(0)).isEqualTo(
+        InterpolatedNodalCurve.of(metadata, DoubleArray.of(1, 2), DoubleArray.of(5.1, 6), INTERPOLATOR));
+    assertThat(shiftedCurveBox.getValue(1)).isEqualTo(
+        InterpolatedNodalCurve.of(metadata, DoubleArray.of(1, 2), DoubleArray.of(7, 8.2), INTERPOLATOR));
+  }
+
   public void relative() {
     List<LabelDateParameterMetadata> nodeMetadata = ImmutableList.of(
         LabelDateParameterMetadata.of(date(2011, 3, 8), TNR_1M),
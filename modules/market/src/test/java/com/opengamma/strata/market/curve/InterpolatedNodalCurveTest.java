@@ -150,6 +150,15 @@ public class InterpolatedNodalCurveTest {
     assertThat(test.getMetadata()).isEqualTo(METADATA);
     assertThat(test.getXValues()).isEqualTo(XVALUES);
     assertThat(test.getYValues()).isEqualTo(YVALUES_BUMPED);
+    assertThat(test).isEqualTo(InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES_BUMPED, INTERPOLATOR));
+    assertThat(test.yValueParameterSensitivity(1.5d)).isEqualTo(
+        InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES_BUMPED, INTERPOLATOR).yValueParameterSensitivity(1.5d));
+  }
+
+  public void test_withPerturbation() {
+    InterpolatedNodalCurve base = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
+    InterpolatedNodalCurve test = base.withPerturbation((i, v, m) -> YVALUES_BUMPED.get(i));
+    assertThat(test).isEqualTo(base.withYValues(YVALUES_BUMPED));
   }
 
   public void test_withValues_badSize() {
@@ -19,6 +19,7 @@ import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.NATURAL_SPLINE_NONNEGATIVITY_CUBIC;
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.PRODUCT_NATURAL_SPLINE;
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.SQUARE_LINEAR;
+import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.STEP_UPPER;
 import static com.opengamma.strata.market.curve.interpolator.CurveInterpolators.TIME_SQUARE;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -37,6 +38,10 @@ import com.opengamma.strata.collect.array.DoubleArray;
 @Test
 public class CurveInterpolatorTest {
 
+  private static final DoubleArray BATCH_X = DoubleArray.of(0.0, 0.4, 1.0, 1.8, 2.8, 5.0);
+  private static final DoubleArray BATCH_Y = DoubleArray.of(3.0, 4.0, 3.1, 2.0, 7.0, 2.0);
+  private static final double BATCH_TOL = 1e-12;
+
   //-------------------------------------------------------------------------
   @DataProvider(name = "name")
   static Object[][] data_name() {
@@ -106,6 +111,48 @@ public class CurveInterpolatorTest {
     assertNotNull(bound.toString());
   }
 
+  //-------------------------------------------------------------------------
+  @DataProvider(name = "batch")
+  static Object[][] data_batch() {
+    return new Object[][] {
+        {LINEAR, CurveExtrapolators.FLAT, 2},
+        {LINEAR, CurveExtrapolators.LINEAR, 2},
+        {LOG_LINEAR, CurveExtrapolators.FLAT, 2},
+        {LOG_LINEAR, CurveExtrapolators.LOG_LINEAR, 2},
+        {STEP_UPPER, CurveExtrapolators.FLAT, 1},
+        {NATURAL_SPLINE, CurveExtrapolators.FLAT, BATCH_X.size()},
+        {NATURAL_SPLINE, CurveExtrapolators.LINEAR, BATCH_X.size()},
+        {DOUBLE_QUADRATIC, CurveExtrapolators.LINEAR, BATCH_X.size()},
+        {SQUARE_LINEAR, CurveExtrapolators.FLAT, BATCH_X.size()},
+    };
+  }
+
+  // the batch and sparse methods match the single value methods, including at the nodes and when extrapolating
+  @Test(dataProvider = "batch")
+  public void test_batch(CurveInterpolator interpolator, CurveExtrapolator extrapolator, int maxSensitivities) {
+    BoundCurveInterpolator bound = interpolator.bind(BATCH_X, BATCH_Y, extrapolator, extrapolator);
+    // sorted, including nodes and extrapolation at both ends, with a final unsorted value
+    double[] xValues = {-0.5, 0.0, 0.2, 0.4, 0.5, 1.1, 2.3, 2.3, 5.0, 6.0, 0.3};
+    double[] values = new double[xValues.length];
+    double[] derivatives = new double[xValues.length];
+    bound.interpolate(xValues, values);
+    bound.firstDerivative(xValues, derivatives);
+    int[] indices = new int[BATCH_X.size()];
+    double[] sensitivities = new double[BATCH_X.size()];
+    for (int i = 0; i < xValues.length; i++) {
+      assertEquals(values[i], bound.interpolate(xValues[i]), BATCH_TOL);
+      assertEquals(derivatives[i], bound.firstDerivative(xValues[i]), BATCH_TOL);
+      int count = bound.parameterSensitivity(xValues[i], indices, sensitivities);
+      assertTrue(count <= maxSensitivities);
+      double[] sparse = new double[BATCH_X.size()];
+      for (int j = 0; j < count; j++) {
+        sparse[indices[j]] = sensitivities[j];
+      }
+      assertTrue(DoubleArray.ofUnsafe(sparse).equalWithTolerance(bound.parameterSensitivity(xValues[i]), BATCH_TOL));
+    }
+  }
+
+  //-------------------------------------------------------------------------
   public void test_lowerBound() {
     // bad input, but still produces good output
     assertEquals(AbstractBoundCurveInterpolator.lowerBoundIndex(0.0d, new double[] {1, 2, 3}), 0);
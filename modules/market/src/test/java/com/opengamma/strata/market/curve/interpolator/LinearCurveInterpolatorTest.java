@@ -76,6 +76,7 @@ public class LinearCurveInterpolatorTest {
     assertEquals(bci.parameterSensitivity(5.0).get(X_DATA.size() - 1), 1d, TOL);
   }
 
+  //-------------------------------------------------------------------------
   //-------------------------------------------------------------------------
   public void test_serialization() {
     assertSerialization(LINEAR_INTERPOLATOR);
@@ -77,6 +77,7 @@ public class LogLinearCurveInterpolatorTest {
     assertEquals(bci.firstDerivative(5.0), bci.firstDerivative(4.99999999), 1e-6);
   }
 
+  //-------------------------------------------------------------------------
   //-------------------------------------------------------------------------
   public void test_serialization() {
     assertSerialization(LL_INTERPOLATOR);
@@ -74,6 +74,7 @@ public class NaturalSplineCurveInterpolatorTest {
     assertEquals(bci.parameterSensitivity(5.0).get(X_DATA.size() - 1), 1d, TOL);
   }
 
+  //-------------------------------------------------------------------------
   //-------------------------------------------------------------------------
   public void test_serialization() {
     assertSerialization(NATURAL_SPLINE_INTERPOLATOR);
@@ -74,6 +74,7 @@ public class StepUpperCurveInterpolatorTest {
     }
   }
 
+  //-------------------------------------------------------------------------
   //-------------------------------------------------------------------------
   public void test_serialization() {
     assertSerialization(STEP_UPPER_INTERPOLATOR);
@@ -0,0 +1,46 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.explain;
+
+import static com.opengamma.strata.collect.TestHelper.coverEnum;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link ExplainDetail}.
+ */
+@Test
+public class ExplainDetailTest {
+
+  public void test_includes() {
+    assertEquals(ExplainDetail.TRADE.includes(ExplainKey.LEGS), false);
+    assertEquals(ExplainDetail.TRADE.includes(ExplainKey.PAYMENT_PERIODS), false);
+    assertEquals(ExplainDetail.LEG.includes(ExplainKey.LEGS), true);
+    assertEquals(ExplainDetail.LEG.includes(ExplainKey.PAYMENT_PERIODS), false);
+    assertEquals(ExplainDetail.LEG.includes(ExplainKey.OBSERVATIONS), false);
+    assertEquals(ExplainDetail.FULL.includes(ExplainKey.LEGS), true);
+    assertEquals(ExplainDetail.FULL.includes(ExplainKey.PAYMENT_PERIODS), true);
+    assertEquals(ExplainDetail.FULL.includes(ExplainKey.OBSERVATIONS), true);
+  }
+
+  public void test_of() {
+    assertEquals(ExplainDetail.of("Trade"), ExplainDetail.TRADE);
+    assertEquals(ExplainDetail.of("Leg"), ExplainDetail.LEG);
+    assertEquals(ExplainDetail.of("Full"), ExplainDetail.FULL);
+  }
+
+  public void test_toString() {
+    assertEquals(ExplainDetail.TRADE.toString(), "Trade");
+    assertEquals(ExplainDetail.LEG.toString(), "Leg");
+    assertEquals(ExplainDetail.FULL.toString(), "Full");
+  }
+
+  public void coverage() {
+    coverEnum(ExplainDetail.class);
+  }
+
+}
@@ -106,6 +106,87 @@ public class ExplainMapTest {
     assertEquals(test.get(ExplainKey.LEGS).get().get(1).get(ExplainKey.ACCRUAL_DAYS), Optional.of(3));
   }
 
+  public void test_builder_putReplaces() {
+    ExplainMapBuilder builder = ExplainMap.builder();
+    for (int i = 0; i < 20; i++) {
+      builder.put(ExplainKey.of("Key" + i), i);
+    }
+    builder.put(ExplainKey.of("Key3"), 33);
+    ExplainMap test = builder.build();
+    assertEquals(test.getMap().size(), 20);
+    assertEquals(test.get(ExplainKey.of("Key3")), Optional.of(33));
+    assertEquals(test.getMap().keySet().iterator().next(), ExplainKey.of("Key0"));
+  }
+
+  public void test_builder_detail() {
+    assertEquals(ExplainMap.builder().getDetail(), ExplainDetail.FULL);
+    assertEquals(ExplainMap.builder(ExplainDetail.LEG).getDetail(), ExplainDetail.LEG);
+    assertEquals(ExplainMap.builder(ExplainDetail.LEG).openListEntry(ExplainKey.LEGS).getDetail(), ExplainDetail.LEG);
+    assertThrows(() -> ExplainMap.builder(null), IllegalArgumentException.class);
+  }
+
+  public void test_builder_detailTrade() {
+    ExplainMapBuilder base = ExplainMap.builder(ExplainDetail.TRADE);
+    assertEquals(base.isIncluded(ExplainKey.LEGS), false);
+    base.put(ExplainKey.PRESENT_VALUE, AMOUNT1);
+    base.addListEntry(ExplainKey.LEGS, child -> {
+      throw new AssertionError();
+    });
+    base.addListEntryWithIndex(ExplainKey.LEGS, child -> {
+      throw new AssertionError();
+    });
+    ExplainMap test = base.build();
+    assertEquals(test.getMap(), ImmutableMap.of(ExplainKey.PRESENT_VALUE, AMOUNT1));
+  }
+
+  public void test_builder_detailLeg() {
+    ExplainMapBuilder base = ExplainMap.builder(ExplainDetail.LEG);
+    base.addListEntryWithIndex(ExplainKey.LEGS, leg -> {
+      assertEquals(leg.isIncluded(ExplainKey.PAYMENT_PERIODS), false);
+      leg.put(ExplainKey.PRESENT_VALUE, AMOUNT1);
+      leg.addListEntry(ExplainKey.PAYMENT_PERIODS, period -> {
+        throw new AssertionError();
+      });
+    });
+    ExplainMap test = base.build();
+    assertEquals(test.getMap().size(), 1);
+    assertEquals(test.get(ExplainKey.LEGS).get().size(), 1);
+    assertEquals(
+        test.get(ExplainKey.LEGS).get().get(0).getMap(),
+        ImmutableMap.of(ExplainKey.ENTRY_INDEX, 0, ExplainKey.PRESENT_VALUE, AMOUNT1));
+  }
+
+  public void test_builder_detailLeg_openClose() {
+    ExplainMapBuilder base = ExplainMap.builder(ExplainDetail.LEG);
+    ExplainMapBuilder leg = base.openListEntry(ExplainKey.LEGS);
+    ExplainMapBuilder period = leg.openListEntry(ExplainKey.PAYMENT_PERIODS);
+    assertEquals(period.isIncluded(ExplainKey.LEGS), false);
+    period.put(ExplainKey.ACCRUAL_DAYS, 2);
+    ExplainMapBuilder observation = period.openListEntry(ExplainKey.OBSERVATIONS);
+    observation.put(ExplainKey.INDEX_VALUE, 1.2d);
+    assertEquals(observation.closeListEntry(ExplainKey.OBSERVATIONS), period);
+    assertEquals(period.closeListEntry(ExplainKey.PAYMENT_PERIODS), leg);
+    leg.put(ExplainKey.ACCRUAL_DAYS, 3);
+    assertEquals(leg.closeListEntry(ExplainKey.LEGS), base);
+    ExplainMap test = base.build();
+    assertEquals(test.get(ExplainKey.LEGS).get().size(), 1);
+    assertEquals(test.get(ExplainKey.LEGS).get().get(0).getMap(), ImmutableMap.of(ExplainKey.ACCRUAL_DAYS, 3));
+  }
+
+  public void test_builder_detailFull() {
+    ExplainMapBuilder base = ExplainMap.builder(ExplainDetail.FULL);
+    base.addListEntry(ExplainKey.LEGS, leg -> leg.addListEntry(
+        ExplainKey.PAYMENT_PERIODS, period -> period.put(ExplainKey.ACCRUAL_DAYS, 2)));
+    ExplainMap test = base.build();
+    assertEquals(test, ExplainMap.builder()
+        .addListEntry(ExplainKey.LEGS, leg -> leg.addListEntry(
+            ExplainKey.PAYMENT_PERIODS, period -> period.put(ExplainKey.ACCRUAL_DAYS, 2)))
+        .build());
+    ExplainMap period = test.get(ExplainKey.LEGS).get().get(0).get(ExplainKey.PAYMENT_PERIODS).get().get(0);
+    assertEquals(period.get(ExplainKey.ACCRUAL_DAYS), Optional.of(2));
+    assertEquals(test.get(ExplainKey.LEGS).get() instanceof ImmutableList, true);
+  }
+
   //-------------------------------------------------------------------------
   public void test_explanationString() {
     Map<ExplainKey<?>, Object> child1map = new LinkedHashMap<>();
@@ -15,12 +15,16 @@ public final class DecompositionFactory {
 
   /** Commons LU decomposition */
   public static final String LU_COMMONS_NAME = "LU_COMMONS";
+  /** OpenGamma LU decomposition */
+  public static final String LU_OG_NAME = "LU_OG";
   /** Commons QR decomposition */
   public static final String QR_COMMONS_NAME = "QR_COMMONS";
   /** Commons SV decomposition */
   public static final String SV_COMMONS_NAME = "SV_COMMONS";
   /** {@link LUDecompositionCommons} */
   public static final Decomposition<?> LU_COMMONS = new LUDecompositionCommons();
+  /** {@link LUDecompositionOpenGamma} */
+  public static final Decomposition<?> LU_OG = new LUDecompositionOpenGamma();
   /** {@link QRDecompositionCommons} */
   public static final Decomposition<?> QR_COMMONS = new QRDecompositionCommons();
   /** {@link SVDecompositionCommons} */
@@ -31,10 +35,12 @@ public final class DecompositionFactory {
   static {
     STATIC_INSTANCES = new HashMap<>();
     STATIC_INSTANCES.put(LU_COMMONS_NAME, LU_COMMONS);
+    STATIC_INSTANCES.put(LU_OG_NAME, LU_OG);
     STATIC_INSTANCES.put(QR_COMMONS_NAME, QR_COMMONS);
     STATIC_INSTANCES.put(SV_COMMONS_NAME, SV_COMMONS);
     INSTANCE_NAMES = new HashMap<>();
     INSTANCE_NAMES.put(LU_COMMONS.getClass(), LU_COMMONS_NAME);
+    INSTANCE_NAMES.put(LU_OG.getClass(), LU_OG_NAME);
     INSTANCE_NAMES.put(QR_COMMONS.getClass(), QR_COMMONS_NAME);
     INSTANCE_NAMES.put(SV_COMMONS.getClass(), SV_COMMONS_NAME);
   }
@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * OpenGamma implementation of the LU decomposition with partial (row) pivoting.
+ * <p>
+ * The decomposition is performed on a single contiguous row-major array, using row operations
+ * so that the inner loops run along contiguous memory.
+ * Unlike {@link LUDecompositionCommons}, the matrix is not copied into a third-party matrix type.
+ * <p>
+ * The result can be used to solve many systems against the same matrix.
+ */
+public class LUDecompositionOpenGamma extends Decomposition<LUDecompositionResult> {
+
+  /**
+   * The default threshold below which the absolute value of a pivot is considered to be zero.
+   * This matches the default of the Commons implementation.
+   */
+  public static final double DEFAULT_SINGULARITY_THRESHOLD = 1e-11;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LUDecompositionResult apply(DoubleMatrix x) {
+    return evaluate(x, DEFAULT_SINGULARITY_THRESHOLD);
+  }
+
+  /**
+   * Perform the decomposition with a given singularity threshold.
+   *
+   * @param matrix  the matrix to decompose
+   * @param singularityThreshold  the threshold below which a pivot is considered to be zero
+   * @return the LU decomposition
+   * @throws IllegalArgumentException if the matrix is not square or is singular
+   */
+  public LUDecompositionResult evaluate(DoubleMatrix matrix, double singularityThreshold) {
+    ArgChecker.notNull(matrix, "matrix");
+    int n = matrix.rowCount();
+    ArgChecker.isTrue(n == matrix.columnCount(), "Matrix not square");
+    // copy to a flat row-major array
+    double[][] data = matrix.toArrayUnsafe();
+    double[] lu = new double[n * n];
+    for (int i = 0; i < n; i++) {
+      System.arraycopy(data[i], 0, lu, i * n, n);
+    }
+    int[] pivot = new int[n];
+    for (int i = 0; i < n; i++) {
+      pivot[i] = i;
+    }
+    boolean even = true;
+    double[] swap = new double[n];
+    for (int k = 0; k < n; k++) {
+      // find the pivot row
+      int max = k;
+      double largest = Math.abs(lu[k * n + k]);
+      for (int i = k + 1; i < n; i++) {
+        double abs = Math.abs(lu[i * n + k]);
+        if (abs > largest) {
+          largest = abs;
+          max = i;
+        }
+      }
+      ArgChecker.isTrue(largest >= singularityThreshold, "Matrix is singular; could not perform LU decomposition");
+      if (max != k) {
+        System.arraycopy(lu, max * n, swap, 0, n);
+        System.arraycopy(lu, k * n, lu, max * n, n);
+        System.arraycopy(swap, 0, lu, k * n, n);
+        int tmp = pivot[max];
+        pivot[max] = pivot[k];
+        pivot[k] = tmp;
+        even = !even;
+      }
+      // eliminate below the pivot, inner loop along the contiguous row
+      int kRow = k * n;
+      double inverse = 1d / lu[kRow + k];
+      for (int i = k + 1; i < n; i++) {
+        int iRow = i * n;
+        double factor = lu[iRow + k] * inverse;
+        lu[iRow + k] = factor;
+        if (factor != 0d) {
+          for (int j = k + 1; j < n; j++) {
+            lu[iRow + j] -= factor * lu[kRow + j];
+          }
+        }
+      }
+    }
+    return new LUDecompositionOpenGammaResult(lu, n, pivot, even);
+  }
+
+}
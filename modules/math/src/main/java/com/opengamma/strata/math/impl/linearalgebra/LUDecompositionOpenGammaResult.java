@@ -0,0 +1,182 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+
+/**
+ * Results of the OpenGamma implementation of LU decomposition.
+ * <p>
+ * The factors are held in a single row-major array, with the unit diagonal of L implied.
+ * The solve methods work directly on this array, so the result can be reused
+ * to solve many systems without further allocation beyond the solution.
+ */
+public class LUDecompositionOpenGammaResult implements LUDecompositionResult {
+
+  /**
+   * The combined L and U factors, row-major, with the unit diagonal of L implied.
+   */
+  private final double[] _lu;
+  /**
+   * The size of the matrix.
+   */
+  private final int _n;
+  /**
+   * The pivot, where row i of the factors is row pivot[i] of the original matrix.
+   */
+  private final int[] _pivot;
+  /**
+   * The determinant of the original matrix.
+   */
+  private final double _determinant;
+
+  /**
+   * Constructor.
+   *
+   * @param lu  the combined L and U factors as a row-major array
+   * @param n  the size of the matrix
+   * @param pivot  the pivot permutation
+   * @param even  true if the permutation is even
+   */
+  LUDecompositionOpenGammaResult(double[] lu, int n, int[] pivot, boolean even) {
+    _lu = lu;
+    _n = n;
+    _pivot = pivot;
+    double determinant = even ? 1d : -1d;
+    for (int i = 0; i < n; i++) {
+      determinant *= lu[i * n + i];
+    }
+    _determinant = determinant;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleMatrix getL() {
+    return DoubleMatrix.of(_n, _n, (i, j) -> i > j ? _lu[i * _n + j] : (i == j ? 1d : 0d));
+  }
+
+  @Override
+  public DoubleMatrix getU() {
+    return DoubleMatrix.of(_n, _n, (i, j) -> i <= j ? _lu[i * _n + j] : 0d);
+  }
+
+  @Override
+  public DoubleMatrix getP() {
+    return DoubleMatrix.of(_n, _n, (i, j) -> _pivot[i] == j ? 1d : 0d);
+  }
+
+  @Override
+  public int[] getPivot() {
+    return _pivot.clone();
+  }
+
+  @Override
+  public double getDeterminant() {
+    return _determinant;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleArray solve(DoubleArray b) {
+    ArgChecker.notNull(b, "b");
+    return DoubleArray.ofUnsafe(solve(b.toArrayUnsafe()));
+  }
+
+  @Override
+  public double[] solve(double[] b) {
+    ArgChecker.notNull(b, "b");
+    ArgChecker.isTrue(b.length == _n, "b array of incorrect size");
+    double[] x = new double[_n];
+    for (int i = 0; i < _n; i++) {
+      x[i] = b[_pivot[i]];
+    }
+    // L y = P b (y stored in x array)
+    for (int i = 0; i < _n; i++) {
+      int iRow = i * _n;
+      double sum = x[i];
+      for (int j = 0; j < i; j++) {
+        sum -= _lu[iRow + j] * x[j];
+      }
+      x[i] = sum;
+    }
+    // U x = y
+    for (int i = _n - 1; i >= 0; i--) {
+      int iRow = i * _n;
+      double sum = x[i];
+      for (int j = i + 1; j < _n; j++) {
+        sum -= _lu[iRow + j] * x[j];
+      }
+      x[i] = sum / _lu[iRow + i];
+    }
+    return x;
+  }
+
+  @Override
+  public DoubleMatrix solve(DoubleMatrix b) {
+    ArgChecker.notNull(b, "b");
+    ArgChecker.isTrue(b.rowCount() == _n, "b matrix of incorrect size");
+    int m = b.columnCount();
+    double[][] data = b.toArrayUnsafe();
+    // permuted copy of b, row-major, operations are applied to whole rows
+    double[] x = new double[_n * m];
+    for (int i = 0; i < _n; i++) {
+      System.arraycopy(data[_pivot[i]], 0, x, i * m, m);
+    }
+    solveInPlace(x, m);
+    return DoubleMatrix.of(_n, m, x);
+  }
+
+  /**
+   * Calculates the inverse of the original matrix.
+   *
+   * @return the inverse
+   */
+  public DoubleMatrix inverse() {
+    double[] x = new double[_n * _n];
+    for (int i = 0; i < _n; i++) {
+      x[i * _n + _pivot[i]] = 1d;
+    }
+    solveInPlace(x, _n);
+    return DoubleMatrix.of(_n, _n, x);
+  }
+
+  // solves L U X = B in place, where B is row-major with m columns and already permuted
+  private void solveInPlace(double[] x, int m) {
+    // L Y = B
+    for (int k = 0; k < _n; k++) {
+      int kRow = k * m;
+      for (int i = k + 1; i < _n; i++) {
+        double factor = _lu[i * _n + k];
+        if (factor != 0d) {
+          int iRow = i * m;
+          for (int j = 0; j < m; j++) {
+            x[iRow + j] -= factor * x[kRow + j];
+          }
+        }
+      }
+    }
+    // U X = Y
+    for (int k = _n - 1; k >= 0; k--) {
+      int kRow = k * m;
+      double inverse = 1d / _lu[k * _n + k];
+      for (int j = 0; j < m; j++) {
+        x[kRow + j] *= inverse;
+      }
+      for (int i = 0; i < k; i++) {
+        double factor = _lu[i * _n + k];
+        if (factor != 0d) {
+          int iRow = i * m;
+          for (int j = 0; j < m; j++) {
+            x[iRow + j] -= factor * x[kRow + j];
+          }
+        }
+      }
+    }
+  }
+
+}
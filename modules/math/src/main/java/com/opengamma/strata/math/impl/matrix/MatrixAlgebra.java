@@ -281,21 +281,22 @@ public abstract class MatrixAlgebra {
     int n = a.rowCount();
     int m = a.columnCount();
 
+    // accumulate the outer product of each row, reading along the contiguous rows of a
+    double[][] array = a.toArrayUnsafe();
     double[][] data = new double[m][m];
-    for (int i = 0; i < m; i++) {
-      double sum = 0d;
-      for (int k = 0; k < n; k++) {
-        sum += a.get(k, i) * a.get(k, i);
+    for (int k = 0; k < n; k++) {
+      double[] row = array[k];
+      for (int i = 0; i < m; i++) {
+        double aki = row[i];
+        double[] dataRow = data[i];
+        for (int j = i; j < m; j++) {
+          dataRow[j] += aki * row[j];
+        }
       }
-      data[i][i] = sum;
-
+    }
+    for (int i = 0; i < m; i++) {
       for (int j = i + 1; j < m; j++) {
-        sum = 0d;
-        for (int k = 0; k < n; k++) {
-          sum += a.get(k, i) * a.get(k, j);
-        }
-        data[i][j] = sum;
-        data[j][i] = sum;
+        data[j][i] = data[i][j];
       }
     }
     return DoubleMatrix.ofUnsafe(data);
@@ -9,16 +9,25 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
 import com.opengamma.strata.collect.array.Matrix;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGamma;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionOpenGammaResult;
 import com.opengamma.strata.math.impl.linearalgebra.TridiagonalMatrix;
 
 /**
  * A minimal implementation of matrix algebra.
  * <p>
- * This includes only some of the multiplications.
- * For more advanced operations, such as calculating the inverse, use {@link CommonsMatrixAlgebra}.
+ * This includes the multiplications, and the inverse and determinant using {@link LUDecompositionOpenGamma}.
+ * The kernels operate directly on the underlying arrays, reading along rows,
+ * without copying the inputs into another matrix type.
+ * For more advanced operations, such as calculating the condition number, use {@link CommonsMatrixAlgebra}.
  */
 public class OGMatrixAlgebra extends MatrixAlgebra {
 
+  /**
+   * The LU decomposition.
+   */
+  private static final LUDecompositionOpenGamma LU = new LUDecompositionOpenGamma();
+
   /**
    * {@inheritDoc}
    * @throws UnsupportedOperationException always
@@ -30,11 +39,14 @@ public class OGMatrixAlgebra extends MatrixAlgebra {
 
   /**
    * {@inheritDoc}
-   * @throws UnsupportedOperationException always
    */
   @Override
   public double getDeterminant(Matrix m) {
-    throw new UnsupportedOperationException();
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleMatrix) {
+      return LU.apply((DoubleMatrix) m).getDeterminant();
+    }
+    throw new IllegalArgumentException("Can only find determinant of DoubleMatrix; have " + m.getClass());
   }
 
   /**
@@ -55,11 +67,14 @@ public class OGMatrixAlgebra extends MatrixAlgebra {
 
   /**
    * {@inheritDoc}
-   * @throws UnsupportedOperationException always
    */
   @Override
   public DoubleMatrix getInverse(Matrix m) {
-    throw new UnsupportedOperationException();
+    ArgChecker.notNull(m, "m");
+    if (m instanceof DoubleMatrix) {
+      return ((LUDecompositionOpenGammaResult) LU.apply((DoubleMatrix) m)).inverse();
+    }
+    throw new IllegalArgumentException("Can only find inverse of DoubleMatrix; have " + m.getClass());
   }
 
   /**
@@ -150,8 +165,7 @@ public class OGMatrixAlgebra extends MatrixAlgebra {
   public DoubleMatrix getTranspose(Matrix m) {
     ArgChecker.notNull(m, "m");
     if (m instanceof DoubleMatrix) {
-      DoubleMatrix matrix = (DoubleMatrix) m;
-      return DoubleMatrix.of(matrix.columnCount(), matrix.rowCount(), (i, j) -> matrix.get(j, i));
+      return ((DoubleMatrix) m).transpose();
     }
     throw new IllegalArgumentException("Can only take transpose of DoubleMatrix; have " + m.getClass());
   }
@@ -193,34 +207,47 @@ public class OGMatrixAlgebra extends MatrixAlgebra {
     throw new UnsupportedOperationException();
   }
 
+  // row-oriented multiply, the inner loop runs along the contiguous rows of m2 and the result
   private DoubleMatrix multiply(DoubleMatrix m1, DoubleMatrix m2) {
     int p = m2.rowCount();
     ArgChecker.isTrue(
         m1.columnCount() == p,
         "Matrix size mismatch. m1 is " + m1.rowCount() + " by " + m1.columnCount() +
             ", but m2 is " + m2.rowCount() + " by " + m2.columnCount());
-    return DoubleMatrix.of(
-        m1.rowCount(),
-        m2.columnCount(),
-        (i, j) -> {
-          double sum = 0d;
-          for (int k = 0; k < p; k++) {
-            sum += m1.get(i, k) * m2.get(k, j);
-          }
-          return sum;
-        });
+    int rows = m1.rowCount();
+    int columns = m2.columnCount();
+    double[][] a = m1.toArrayUnsafe();
+    double[][] b = m2.toArrayUnsafe();
+    double[][] result = new double[rows][columns];
+    for (int i = 0; i < rows; i++) {
+      double[] aRow = a[i];
+      double[] resultRow = result[i];
+      for (int k = 0; k < p; k++) {
+        double aik = aRow[k];
+        double[] bRow = b[k];
+        for (int j = 0; j < columns; j++) {
+          resultRow[j] += aik * bRow[j];
+        }
+      }
+    }
+    return DoubleMatrix.ofUnsafe(result);
   }
 
   private DoubleArray multiply(DoubleMatrix matrix, DoubleArray vector) {
     int n = vector.size();
     ArgChecker.isTrue(matrix.columnCount() == n, "Matrix/vector size mismatch");
-    return DoubleArray.of(matrix.rowCount(), i -> {
+    double[][] a = matrix.toArrayUnsafe();
+    double[] x = vector.toArrayUnsafe();
+    double[] result = new double[matrix.rowCount()];
+    for (int i = 0; i < result.length; i++) {
+      double[] aRow = a[i];
       double sum = 0;
       for (int j = 0; j < n; j++) {
-        sum += matrix.get(i, j) * vector.get(j);
+        sum += aRow[j] * x[j];
       }
-      return sum;
-    });
+      result[i] = sum;
+    }
+    return DoubleArray.ofUnsafe(result);
   }
 
   private DoubleArray multiply(TridiagonalMatrix matrix, DoubleArray vector) {
@@ -240,16 +267,21 @@ public class OGMatrixAlgebra extends MatrixAlgebra {
     return DoubleArray.ofUnsafe(res);
   }
 
+  // row-oriented multiply, the inner loop runs along the contiguous rows of the matrix
   private DoubleArray multiply(DoubleArray vector, DoubleMatrix matrix) {
     int n = vector.size();
     ArgChecker.isTrue(matrix.rowCount() == n, "Matrix/vector size mismatch");
-    return DoubleArray.of(matrix.columnCount(), i -> {
-      double sum = 0;
-      for (int j = 0; j < n; j++) {
-        sum += vector.get(j) * matrix.get(j, i);
+    double[][] a = matrix.toArrayUnsafe();
+    double[] x = vector.toArrayUnsafe();
+    double[] result = new double[matrix.columnCount()];
+    for (int j = 0; j < n; j++) {
+      double xj = x[j];
+      double[] aRow = a[j];
+      for (int i = 0; i < result.length; i++) {
+        result[i] += xj * aRow[i];
       }
-      return sum;
-    });
+    }
+    return DoubleArray.ofUnsafe(result);
   }
 
   private DoubleArray multiply(DoubleArray vector, TridiagonalMatrix matrix) {
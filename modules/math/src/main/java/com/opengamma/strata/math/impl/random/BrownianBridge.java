@@ -0,0 +1,200 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Brownian bridge construction of a Brownian motion path.
+ * <p>
+ * The path is built from independent standard normal numbers in bisection order:
+ * the first number determines the value at the last time, the second the value at the middle time,
+ * and so on, each value being sampled conditionally on the values already built on either side.
+ * <p>
+ * The resulting path has the same distribution as a path built by summing increments.
+ * With low-discrepancy numbers, such as those of {@link SobolNormalRandomNumberGenerator},
+ * the construction concentrates most of the variance of the path in the first dimensions,
+ * which are the best distributed, thus improving the convergence of the simulation.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class BrownianBridge {
+
+  /**
+   * The times, strictly increasing and positive.
+   */
+  private final double[] times;
+  /**
+   * The index of the point built by each normal number.
+   */
+  private final int[] bridgeIndex;
+  /**
+   * The index of the known point on the left, minus one for the origin.
+   */
+  private final int[] leftIndex;
+  /**
+   * The index of the known point on the right.
+   */
+  private final int[] rightIndex;
+  /**
+   * The weight of the left point.
+   */
+  private final double[] leftWeight;
+  /**
+   * The weight of the right point.
+   */
+  private final double[] rightWeight;
+  /**
+   * The conditional standard deviation.
+   */
+  private final double[] stdDev;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance for the specified times.
+   * <p>
+   * The path starts from zero at time zero.
+   *
+   * @param times  the times, strictly increasing and positive
+   * @return the Brownian bridge
+   */
+  public static BrownianBridge of(DoubleArray times) {
+    return new BrownianBridge(times.toArray());
+  }
+
+  /**
+   * Obtains an instance for the specified number of unit time steps.
+   *
+   * @param steps  the number of steps
+   * @return the Brownian bridge
+   */
+  public static BrownianBridge ofUnitSteps(int steps) {
+    ArgChecker.notNegativeOrZero(steps, "steps");
+    return of(DoubleArray.of(steps, i -> i + 1d));
+  }
+
+  // restricted constructor
+  private BrownianBridge(double[] times) {
+    int size = times.length;
+    ArgChecker.isTrue(size > 0, "Brownian bridge must have at least one time");
+    ArgChecker.isTrue(times[0] > 0d, "Times must be positive");
+    for (int i = 1; i < size; i++) {
+      ArgChecker.isTrue(times[i] > times[i - 1], "Times must be strictly increasing");
+    }
+    this.times = times;
+    this.bridgeIndex = new int[size];
+    this.leftIndex = new int[size];
+    this.rightIndex = new int[size];
+    this.leftWeight = new double[size];
+    this.rightWeight = new double[size];
+    this.stdDev = new double[size];
+
+    // the first point is the last time, then each segment of unknown points is bisected in turn
+    int[] built = new int[size];
+    built[size - 1] = 1;
+    bridgeIndex[0] = size - 1;
+    leftIndex[0] = -1;
+    rightIndex[0] = size - 1;
+    stdDev[0] = Math.sqrt(times[size - 1]);
+    int start = 0;
+    for (int i = 1; i < size; i++) {
+      while (built[start] != 0) {
+        start++;
+      }
+      int end = start;
+      while (built[end] == 0) {
+        end++;
+      }
+      int mid = start + ((end - 1 - start) >> 1);
+      built[mid] = 1;
+      double leftTime = start > 0 ? times[start - 1] : 0d;
+      double rightTime = times[end];
+      double midTime = times[mid];
+      bridgeIndex[i] = mid;
+      leftIndex[i] = start - 1;
+      rightIndex[i] = end;
+      leftWeight[i] = (rightTime - midTime) / (rightTime - leftTime);
+      rightWeight[i] = (midTime - leftTime) / (rightTime - leftTime);
+      stdDev[i] = Math.sqrt((midTime - leftTime) * (rightTime - midTime) / (rightTime - leftTime));
+      start = end + 1;
+      if (start >= size) {
+        start = 0;
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of times, which is also the number of normal numbers used to build a path.
+   *
+   * @return the size
+   */
+  public int size() {
+    return times.length;
+  }
+
+  /**
+   * Gets the times of the path.
+   *
+   * @return the times
+   */
+  public DoubleArray getTimes() {
+    return DoubleArray.copyOf(times);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the values of the path at each time.
+   * <p>
+   * The arrays may not be the same array.
+   *
+   * @param normals  the independent standard normal numbers, one per time
+   * @param path  the array to fill with the value of the path at each time
+   */
+  public void path(double[] normals, double[] path) {
+    ArgChecker.isTrue(normals.length == times.length, "Expected {} normal numbers", times.length);
+    ArgChecker.isTrue(path.length == times.length, "Expected path of size {}", times.length);
+    ArgChecker.isFalse(normals == path, "Normal numbers and path must be different arrays");
+    path[times.length - 1] = stdDev[0] * normals[0];
+    for (int i = 1; i < times.length; i++) {
+      int left = leftIndex[i];
+      double leftValue = left >= 0 ? leftWeight[i] * path[left] : 0d;
+      path[bridgeIndex[i]] = leftValue + rightWeight[i] * path[rightIndex[i]] + stdDev[i] * normals[i];
+    }
+  }
+
+  /**
+   * Builds the standardized increments of the path.
+   * <p>
+   * The increment of each step is divided by the square root of the step length.
+   * The result is thus a vector of independent standard normal numbers,
+   * which can be used in place of the input in a simulation that steps through time.
+   * The arrays may be the same array.
+   *
+   * @param normals  the independent standard normal numbers, one per time
+   * @param increments  the array to fill with the standardized increments
+   */
+  public void standardizedIncrements(double[] normals, double[] increments) {
+    double[] path = new double[times.length];
+    path(normals, path);
+    double previousTime = 0d;
+    double previousValue = 0d;
+    for (int i = 0; i < times.length; i++) {
+      increments[i] = (path[i] - previousValue) / Math.sqrt(times[i] - previousTime);
+      previousTime = times[i];
+      previousValue = path[i];
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("BrownianBridge[size={}]", times.length);
+  }
+
+}
@@ -76,4 +76,12 @@ public class NormalRandomNumberGenerator
     return result;
   }
 
+  @Override
+  public void fill(double[] array) {
+    ArgChecker.notNull(array, "array");
+    for (int i = 0; i < array.length; i++) {
+      array[i] = normal.nextRandom();
+    }
+  }
+
 }
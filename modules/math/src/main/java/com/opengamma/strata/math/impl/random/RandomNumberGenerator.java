@@ -29,4 +29,18 @@ public interface RandomNumberGenerator {
    */
   List<double[]> getVectors(int arraySize, int listSize);
 
+  /**
+   * Fills an array with random numbers.
+   * <p>
+   * This avoids allocating an array for each call, which is significant when
+   * large numbers of random numbers are consumed, such as in Monte Carlo simulation.
+   * The default implementation copies the result of {@link #getVector(int)}.
+   * 
+   * @param array  the array to fill
+   */
+  default void fill(double[] array) {
+    double[] vector = getVector(array.length);
+    System.arraycopy(vector, 0, array, 0, array.length);
+  }
+
 }
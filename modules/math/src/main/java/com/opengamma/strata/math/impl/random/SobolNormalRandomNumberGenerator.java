@@ -0,0 +1,180 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+
+/**
+ * Quasi-random generator of standard normal vectors based on the Sobol low-discrepancy sequence.
+ * <p>
+ * Each vector has a fixed dimension, typically the number of random factors multiplied by the number
+ * of time steps of a simulation. The Sobol points are mapped to normal numbers using the inverse
+ * cumulative distribution function. The first point of the sequence, which is zero, is skipped.
+ * The direction numbers are those of Joe and Kuo, supporting up to 1000 dimensions.
+ * <p>
+ * When created with a {@link BrownianBridge}, each vector contains the standardized increments of a Brownian path
+ * built by the bridge, thus can be used as normal numbers in a simulation that steps through time,
+ * while the terminal value of the path is driven by the first, best distributed, dimension.
+ * <p>
+ * An instance must not be shared between threads. Instead, {@link #startingAt(int)} creates a generator
+ * positioned at any point of the sequence, thus parallel tasks can each use a separate block of points
+ * and produce the same result as a single generator used serially.
+ */
+public final class SobolNormalRandomNumberGenerator
+    implements RandomNumberGenerator {
+
+  /**
+   * The dimension.
+   */
+  private final int dimension;
+  /**
+   * The Brownian bridge, null if not used.
+   */
+  private final BrownianBridge bridge;
+  /**
+   * The underlying Sobol sequence.
+   */
+  private final SobolSequenceGenerator sequence;
+  /**
+   * The index of the next point.
+   */
+  private int nextIndex;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a generator of vectors of independent standard normal numbers.
+   *
+   * @param dimension  the dimension of the vectors, from 1 to 1000
+   * @return the generator
+   */
+  public static SobolNormalRandomNumberGenerator of(int dimension) {
+    return new SobolNormalRandomNumberGenerator(dimension, null, 1);
+  }
+
+  /**
+   * Obtains a generator of the standardized increments of Brownian paths built by the bridge.
+   * <p>
+   * The dimension of the vectors is the size of the bridge.
+   *
+   * @param bridge  the Brownian bridge
+   * @return the generator
+   */
+  public static SobolNormalRandomNumberGenerator ofBrownianBridge(BrownianBridge bridge) {
+    ArgChecker.notNull(bridge, "bridge");
+    return new SobolNormalRandomNumberGenerator(bridge.size(), bridge, 1);
+  }
+
+  // restricted constructor
+  private SobolNormalRandomNumberGenerator(int dimension, BrownianBridge bridge, int startIndex) {
+    ArgChecker.inRangeInclusive(dimension, 1, 1000, "dimension");
+    this.dimension = dimension;
+    this.bridge = bridge;
+    this.sequence = new SobolSequenceGenerator(dimension);
+    // positions the sequence such that the next point is the start index
+    sequence.skipTo(startIndex - 1);
+    this.nextIndex = startIndex;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the dimension of the vectors.
+   *
+   * @return the dimension
+   */
+  public int getDimension() {
+    return dimension;
+  }
+
+  /**
+   * Gets the index in the Sobol sequence of the next vector.
+   *
+   * @return the index of the next point
+   */
+  public int getNextIndex() {
+    return nextIndex;
+  }
+
+  /**
+   * Returns a new generator whose next vector is the specified point of the sequence.
+   * <p>
+   * This generator is not changed.
+   * Parallel tasks using blocks of points starting at index 1, then 1 + blockSize, and so on,
+   * produce the same vectors as a single generator.
+   *
+   * @param index  the index of the next point, one or greater
+   * @return the new generator
+   */
+  public SobolNormalRandomNumberGenerator startingAt(int index) {
+    ArgChecker.notNegativeOrZero(index, "index");
+    return new SobolNormalRandomNumberGenerator(dimension, bridge, index);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the next vector.
+   * <p>
+   * The size must be the dimension of the generator.
+   *
+   * @param size  the size of the resulting array
+   * @return the array of normal numbers
+   */
+  @Override
+  public double[] getVector(int size) {
+    ArgChecker.isTrue(size == dimension, "Size must be the dimension {} but was {}", dimension, size);
+    double[] result = new double[size];
+    fill(result);
+    return result;
+  }
+
+  @Override
+  public List<double[]> getVectors(int arraySize, int listSize) {
+    ArgChecker.isTrue(arraySize == dimension, "Size must be the dimension {} but was {}", dimension, arraySize);
+    ArgChecker.notNegative(listSize, "listSize");
+    List<double[]> result = new ArrayList<>(listSize);
+    for (int i = 0; i < listSize; i++) {
+      result.add(getVector(arraySize));
+    }
+    return result;
+  }
+
+  /**
+   * Fills an array with consecutive vectors.
+   * <p>
+   * The length of the array must be a multiple of the dimension.
+   *
+   * @param array  the array to fill
+   */
+  @Override
+  public void fill(double[] array) {
+    ArgChecker.isTrue(
+        array.length % dimension == 0, "Array length {} must be a multiple of the dimension {}", array.length, dimension);
+    double[] normals = new double[dimension];
+    for (int offset = 0; offset < array.length; offset += dimension) {
+      double[] point = sequence.nextVector();
+      nextIndex++;
+      NormalDistribution.standardInverseCdf(point, normals);
+      if (bridge != null) {
+        bridge.standardizedIncrements(normals, normals);
+      }
+      System.arraycopy(normals, 0, array, offset, dimension);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format(
+        "SobolNormalRandomNumberGenerator[dimension={}, bridge={}, nextIndex={}]", dimension, bridge != null, nextIndex);
+  }
+
+}
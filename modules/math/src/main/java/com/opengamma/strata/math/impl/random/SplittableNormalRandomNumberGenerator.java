@@ -0,0 +1,157 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * Random number generator of normally distributed numbers that can be split for parallel use.
+ * <p>
+ * The uniform numbers are produced by {@link SplittableRandom} and transformed to normal numbers
+ * using the Marsaglia polar method.
+ * <p>
+ * An instance must not be shared between threads. Instead, {@link #split()} creates an independent
+ * generator for each task, before the tasks are started. Splitting is deterministic, thus a simulation
+ * that splits one generator per task in a fixed order produces the same numbers
+ * whatever the number of threads and the order of execution of the tasks.
+ */
+public final class SplittableNormalRandomNumberGenerator
+    implements RandomNumberGenerator {
+
+  /**
+   * The mean.
+   */
+  private final double mean;
+  /**
+   * The standard deviation.
+   */
+  private final double sigma;
+  /**
+   * The underlying uniform generator.
+   */
+  private final SplittableRandom random;
+  /**
+   * The second normal number of the last pair, if not yet used.
+   */
+  private double spare;
+  /**
+   * Whether the spare number is available.
+   */
+  private boolean hasSpare;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a generator of standard normal numbers.
+   *
+   * @param seed  the seed
+   * @return the generator
+   */
+  public static SplittableNormalRandomNumberGenerator of(long seed) {
+    return new SplittableNormalRandomNumberGenerator(0d, 1d, new SplittableRandom(seed));
+  }
+
+  /**
+   * Obtains a generator of normal numbers.
+   *
+   * @param mean  the mean
+   * @param sigma  the standard deviation
+   * @param seed  the seed
+   * @return the generator
+   */
+  public static SplittableNormalRandomNumberGenerator of(double mean, double sigma, long seed) {
+    return new SplittableNormalRandomNumberGenerator(mean, sigma, new SplittableRandom(seed));
+  }
+
+  // restricted constructor
+  private SplittableNormalRandomNumberGenerator(double mean, double sigma, SplittableRandom random) {
+    ArgChecker.notNegativeOrZero(sigma, "standard deviation");
+    this.mean = mean;
+    this.sigma = sigma;
+    this.random = random;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Splits this generator, returning a new generator.
+   * <p>
+   * The new generator has the same distribution and produces a sequence that is
+   * statistically independent of this generator.
+   * This generator is advanced by the split.
+   *
+   * @return the new generator
+   */
+  public SplittableNormalRandomNumberGenerator split() {
+    return new SplittableNormalRandomNumberGenerator(mean, sigma, random.split());
+  }
+
+  /**
+   * Splits this generator into a number of new generators, typically one per parallel task.
+   *
+   * @param count  the number of generators
+   * @return the new generators
+   */
+  public List<SplittableNormalRandomNumberGenerator> split(int count) {
+    ArgChecker.notNegative(count, "count");
+    List<SplittableNormalRandomNumberGenerator> result = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      result.add(split());
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public double[] getVector(int size) {
+    ArgChecker.notNegative(size, "size");
+    double[] result = new double[size];
+    fill(result);
+    return result;
+  }
+
+  @Override
+  public List<double[]> getVectors(int arraySize, int listSize) {
+    ArgChecker.notNegative(arraySize, "arraySize");
+    ArgChecker.notNegative(listSize, "listSize");
+    List<double[]> result = new ArrayList<>(listSize);
+    for (int i = 0; i < listSize; i++) {
+      result.add(getVector(arraySize));
+    }
+    return result;
+  }
+
+  @Override
+  public void fill(double[] array) {
+    ArgChecker.notNull(array, "array");
+    for (int i = 0; i < array.length; i++) {
+      array[i] = mean + sigma * nextStandardNormal();
+    }
+  }
+
+  // generates normal numbers in pairs using the polar method
+  private double nextStandardNormal() {
+    if (hasSpare) {
+      hasSpare = false;
+      return spare;
+    }
+    double u;
+    double v;
+    double s;
+    do {
+      u = 2d * random.nextDouble() - 1d;
+      v = 2d * random.nextDouble() - 1d;
+      s = u * u + v * v;
+    } while (s >= 1d || s == 0d);
+    double factor = Math.sqrt(-2d * Math.log(s) / s);
+    spare = v * factor;
+    hasSpare = true;
+    return u * factor;
+  }
+
+}
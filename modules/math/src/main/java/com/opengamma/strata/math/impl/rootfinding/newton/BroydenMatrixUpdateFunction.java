@@ -5,14 +5,11 @@
  */
 package com.opengamma.strata.math.impl.rootfinding.newton;
 
-import static com.opengamma.strata.math.impl.matrix.MatrixAlgebraFactory.OG_ALGEBRA;
-
 import java.util.function.Function;
 
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
-import com.opengamma.strata.collect.array.Matrix;
 
 /**
  *
@@ -29,13 +26,35 @@ public class BroydenMatrixUpdateFunction implements NewtonRootFinderMatrixUpdate
     ArgChecker.notNull(deltaX, "deltaX");
     ArgChecker.notNull(deltaY, "deltaY");
     ArgChecker.notNull(matrix, "matrix");
-    double length2 = OG_ALGEBRA.getInnerProduct(deltaX, deltaX);
+    double[] dx = deltaX.toArrayUnsafe();
+    double[] dy = deltaY.toArrayUnsafe();
+    double length2 = 0d;
+    for (int i = 0; i < dx.length; i++) {
+      length2 += dx[i] * dx[i];
+    }
     if (length2 == 0.0) {
       return matrix;
     }
-    Matrix temp = OG_ALGEBRA.subtract(deltaY, OG_ALGEBRA.multiply(matrix, deltaX));
-    temp = OG_ALGEBRA.scale(temp, 1.0 / length2);
-    return (DoubleMatrix) OG_ALGEBRA.add(matrix, OG_ALGEBRA.getOuterProduct(temp, deltaX));
+    // J + ((dy - J dx) / |dx|^2) dx^T, computed row by row without intermediate matrices
+    double[][] data = matrix.toArrayUnsafe();
+    int rows = matrix.rowCount();
+    ArgChecker.isTrue(matrix.columnCount() == dx.length, "Matrix/vector size mismatch");
+    ArgChecker.isTrue(rows == dy.length, "Matrix/vector size mismatch");
+    double[][] result = new double[rows][];
+    for (int i = 0; i < rows; i++) {
+      double[] row = data[i];
+      double jdx = 0d;
+      for (int k = 0; k < dx.length; k++) {
+        jdx += row[k] * dx[k];
+      }
+      double scaled = (dy[i] - jdx) * (1.0 / length2);
+      double[] updated = new double[dx.length];
+      for (int k = 0; k < dx.length; k++) {
+        updated[k] = row[k] + scaled * dx[k];
+      }
+      result[i] = updated;
+    }
+    return DoubleMatrix.ofUnsafe(result);
   }
 
 }
@@ -43,6 +43,11 @@ public abstract class DiscreteQuantileMethod
     return losses / level;
   }
 
+  @Override
+  protected int sortedCount(double level, int sampleSize) {
+    return (int) checkIndex(index(level * sampleCorrection(sampleSize)), sampleSize, true);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Internal method computing the index for a give quantile multiply by sample size.
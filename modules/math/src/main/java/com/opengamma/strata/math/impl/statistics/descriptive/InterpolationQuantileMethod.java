@@ -61,6 +61,12 @@ public abstract class InterpolationQuantileMethod
     return losses / level;
   }
 
+  @Override
+  protected int sortedCount(double level, int sampleSize) {
+    double adjustedLevel = checkIndex(level * sampleCorrection(sampleSize) + indexCorrection(), sampleSize, true);
+    return (int) Math.ceil(adjustedLevel);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Internal method returning the index correction for the specific implementation.
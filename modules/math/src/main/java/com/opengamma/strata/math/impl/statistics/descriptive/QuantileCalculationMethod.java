@@ -5,11 +5,16 @@
  */
 package com.opengamma.strata.math.impl.statistics.descriptive;
 
+import java.util.Arrays;
+
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 
 /**
  * Abstract method to estimate quantiles and expected shortfalls from sample observations.
+ * <p>
+ * When the sample is unsorted, only the observations required for the level are sorted.
+ * These are selected from the sample first, which avoids a full sort for low levels.
  */
 public abstract class QuantileCalculationMethod {
 
@@ -50,7 +55,7 @@ public abstract class QuantileCalculationMethod {
    * @return The quantile estimation
    */
   public double quantileFromUnsorted(double level, DoubleArray sample) {
-    return quantileFromSorted(level, sample.sorted());
+    return quantileFromSorted(level, partiallySorted(level, sample));
   }
 
   /**
@@ -90,7 +95,7 @@ public abstract class QuantileCalculationMethod {
    * @return The quantile estimation
    */
   public double quantileWithExtrapolationFromUnsorted(double level, DoubleArray sample) {
-    return quantileWithExtrapolationFromSorted(level, sample.sorted());
+    return quantileWithExtrapolationFromSorted(level, partiallySorted(level, sample));
   }
 
   //-------------------------------------------------------------------------
@@ -133,7 +138,7 @@ public abstract class QuantileCalculationMethod {
    * @return The expected shortfall estimation
    */
   public double expectedShortfallFromUnsorted(double level, DoubleArray sample) {
-    return expectedShortfallFromSorted(level, sample.sorted());
+    return expectedShortfallFromSorted(level, partiallySorted(level, sample));
   }
 
   //-------------------------------------------------------------------------
@@ -161,6 +166,79 @@ public abstract class QuantileCalculationMethod {
    */
   protected abstract double expectedShortfall(double level, DoubleArray sortedSample);
 
+  /**
+   * Computes the number of the smallest observations that must be sorted to compute
+   * the quantile or expected shortfall at the specified level.
+   * <p>
+   * This is used when the sample is unsorted. The observations are selected and sorted,
+   * while the remaining observations are left unsorted after them.
+   * <p>
+   * The default implementation returns the sample size, thus the whole sample is sorted.
+   * 
+   * @param level  the quantile level
+   * @param sampleSize  the sample size
+   * @return the number of observations that must be sorted
+   */
+  protected int sortedCount(double level, int sampleSize) {
+    return sampleSize;
+  }
+
+  // sorts the observations required for the level, selecting them first if not the whole sample
+  private DoubleArray partiallySorted(double level, DoubleArray sample) {
+    int count = sortedCount(level, sample.size());
+    if (count >= sample.size()) {
+      return sample.sorted();
+    }
+    double[] values = sample.toArray();
+    if (count > 0) {
+      select(values, count - 1);
+      Arrays.sort(values, 0, count);
+    }
+    return DoubleArray.ofUnsafe(values);
+  }
+
+  // rearranges the values such that the value at the index is the one in sorted order,
+  // with the values before it being less than or equal, using the ordering of Arrays.sort()
+  private static void select(double[] values, int index) {
+    int left = 0;
+    int right = values.length - 1;
+    while (left < right) {
+      double pivot = medianOfThree(values[left], values[(left + right) >>> 1], values[right]);
+      int i = left;
+      int j = right;
+      while (i <= j) {
+        while (Double.compare(values[i], pivot) < 0) {
+          i++;
+        }
+        while (Double.compare(values[j], pivot) > 0) {
+          j--;
+        }
+        if (i <= j) {
+          double tmp = values[i];
+          values[i] = values[j];
+          values[j] = tmp;
+          i++;
+          j--;
+        }
+      }
+      if (index <= j) {
+        right = j;
+      } else if (index >= i) {
+        left = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+  // the median of three values
+  private static double medianOfThree(double a, double b, double c) {
+    if (Double.compare(a, b) > 0) {
+      return Double.compare(b, c) >= 0 ? b : (Double.compare(a, c) > 0 ? c : a);
+    }
+    return Double.compare(a, c) >= 0 ? a : (Double.compare(b, c) > 0 ? c : b);
+  }
+
   /**
    * Check the index is within the sample data range. 
    * 
@@ -22,7 +22,6 @@ import com.opengamma.strata.collect.ArgChecker;
  */
 public class BivariateNormalDistribution implements ProbabilityDistribution<double[]> {
 
-  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
   private static final double TWO_PI = 2 * Math.PI;
   private static final double[] X = new double[] {0.04691008, 0.23076534, 0.5, 0.76923466, 0.95308992};
   private static final double[] Y = new double[] {0.018854042, 0.038088059, 0.0452707394, 0.038088059, 0.018854042};
@@ -61,7 +60,8 @@ public class BivariateNormalDistribution implements ProbabilityDistribution<doub
         absDiff = absDiff / rho2;
         c = 0.5 - ab / 8.;
         d = 3. - 2. * c * h5;
-        mult = 0.13298076 * absDiff * d * (1 - NORMAL.getCDF(absDiff)) - Math.exp(-h5 / rho1) * (d + c * rho1) * 0.053051647;
+        mult = 0.13298076 * absDiff * d * (1 - NormalDistribution.standardCdf(absDiff)) -
+            Math.exp(-h5 / rho1) * (d + c * rho1) * 0.053051647;
         for (int i = 0; i < 5; i++) {
           rho3 = rho2 * X[i];
           rho3Sq = rho3 * rho3;
@@ -75,9 +75,9 @@ public class BivariateNormalDistribution implements ProbabilityDistribution<doub
         }
       }
       double corr = Double.isNaN(mult) ? 0. : mult * rho2 * eab;
-      result = corr + NORMAL.getCDF(Math.min(a, b));
+      result = corr + NormalDistribution.standardCdf(Math.min(a, b));
       if (rho < 0) {
-        result = NORMAL.getCDF(a) - result;
+        result = NormalDistribution.standardCdf(a) - result;
       }
       return result;
     }
@@ -90,7 +90,7 @@ public class BivariateNormalDistribution implements ProbabilityDistribution<doub
       }
     }
     double corr = Double.isNaN(mult) ? 0. : rho * mult;
-    return NORMAL.getCDF(a) * NORMAL.getCDF(b) + corr;
+    return NormalDistribution.standardCdf(a) * NormalDistribution.standardCdf(b) + corr;
   }
 
   /**
@@ -12,7 +12,6 @@ import com.opengamma.strata.collect.ArgChecker;
 import cern.jet.random.Normal;
 import cern.jet.random.engine.MersenneTwister64;
 import cern.jet.random.engine.RandomEngine;
-import cern.jet.stat.Probability;
 
 /**
  * The normal distribution is a continuous probability distribution with probability density function
@@ -26,7 +25,38 @@ import cern.jet.stat.Probability;
  */
 public class NormalDistribution implements ProbabilityDistribution<Double> {
 
-  private static final double ROOT2 = Math.sqrt(2);
+  private static final double ONE_OVER_ROOT_TWO_PI = 1 / Math.sqrt(2 * Math.PI);
+  private static final double CDF_SMALL = 0.67448975;
+  private static final double CDF_MEDIUM = Math.sqrt(32);
+  private static final double CDF_LARGE = 40;
+  private static final double CDF_TINY = 1.11e-16;
+  private static final double[] CDF_EXP_TABLE = new double[(int) (CDF_LARGE * 16) + 1];
+  static {
+    for (int i = 0; i < CDF_EXP_TABLE.length; i++) {
+      double ySplit = i / 16d;
+      CDF_EXP_TABLE[i] = Math.exp(-ySplit * ySplit * 0.5);
+    }
+  }
+  //CSOFF
+  private static final double[] CDF_A = {
+      2.2352520354606839287, 161.02823106855587881, 1067.6894854603709582, 18154.981253343561249,
+      0.065682337918207449113};
+  private static final double[] CDF_B = {
+      47.20258190468824187, 976.09855173777669322, 10260.932208618978205, 45507.789335026729956};
+  private static final double[] CDF_C = {
+      0.39894151208813466764, 8.8831497943883759412, 93.506656132177855979, 597.27027639480026226,
+      2494.5375852903726711, 6848.1904505362823326, 11602.651437647350124, 9842.7148383839780218,
+      1.0765576773720192317e-8};
+  private static final double[] CDF_D = {
+      22.266688044328115691, 235.38790178262499861, 1519.377599407554805, 6485.558298266760755,
+      18615.571640885098091, 34900.952721145977266, 38912.003286093271411, 19685.429676859990727};
+  private static final double[] CDF_P = {
+      0.21589853405795699, 0.1274011611602473639, 0.022235277870649807, 0.001421619193227893466,
+      2.9112874951168792e-5, 0.02307344176494017303};
+  private static final double[] CDF_Q = {
+      1.28426009614491121, 0.468238212480865118, 0.0659881378689285515, 0.00378239633202758244,
+      7.29751555083966205e-5};
+  //CSON
 
   // TODO need a better seed
   private final double _mean;
@@ -54,13 +84,168 @@ public class NormalDistribution implements ProbabilityDistribution<Double> {
     _normal = new Normal(mean, standardDeviation, randomEngine);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the cumulative distribution function of the standard normal distribution.
+   * <p>
+   * This uses the rational Chebyshev approximation of Cody, accurate to close to double precision.
+   * It avoids the boxing of {@link #getCDF(Double)} and is intended for use in pricing formulas.
+   *
+   * @param x  the value
+   * @return the probability that a standard normal variable is less than the value
+   */
+  public static double standardCdf(double x) {
+    double y = Math.abs(x);
+    if (y <= CDF_SMALL) {
+      double xnum = 0;
+      double xden = 0;
+      if (y > CDF_TINY) {
+        double xsq = x * x;
+        xnum = CDF_A[4] * xsq;
+        xden = xsq;
+        for (int i = 0; i < 3; i++) {
+          xnum = (xnum + CDF_A[i]) * xsq;
+          xden = (xden + CDF_B[i]) * xsq;
+        }
+      }
+      return 0.5 + x * (xnum + CDF_A[3]) / (xden + CDF_B[3]);
+    }
+    double tail;
+    if (y <= CDF_MEDIUM) {
+      double xnum = CDF_C[8] * y;
+      double xden = y;
+      for (int i = 0; i < 7; i++) {
+        xnum = (xnum + CDF_C[i]) * y;
+        xden = (xden + CDF_D[i]) * y;
+      }
+      tail = gaussianTail(y, (xnum + CDF_C[7]) / (xden + CDF_D[7]));
+    } else if (y >= CDF_LARGE) {
+      tail = 0;
+    } else {
+      double xsq = 1 / (x * x);
+      double xnum = CDF_P[5] * xsq;
+      double xden = xsq;
+      for (int i = 0; i < 4; i++) {
+        xnum = (xnum + CDF_P[i]) * xsq;
+        xden = (xden + CDF_Q[i]) * xsq;
+      }
+      double ratio = xsq * (xnum + CDF_P[4]) / (xden + CDF_Q[4]);
+      tail = gaussianTail(y, (ONE_OVER_ROOT_TWO_PI - ratio) / y);
+    }
+    return x > 0 ? 1 - tail : tail;
+  }
+
+  // multiplies by exp(-y^2/2), splitting y to avoid the cancellation error in y^2
+  // the exponential of the split part, a multiple of 1/16, is found in a table
+  private static double gaussianTail(double y, double factor) {
+    int index = (int) (y * 16);
+    double ySplit = index / 16d;
+    double delta = (y - ySplit) * (y + ySplit);
+    return CDF_EXP_TABLE[index] * Math.exp(-delta * 0.5) * factor;
+  }
+
+  /**
+   * Computes the cumulative distribution function of the standard normal distribution for an array of values.
+   * <p>
+   * The arrays may be the same array.
+   *
+   * @param x  the values
+   * @param result  the array to fill with the probabilities, of the same length as the values
+   */
+  public static void standardCdf(double[] x, double[] result) {
+    ArgChecker.isTrue(x.length == result.length, "Arrays must have the same length");
+    for (int i = 0; i < x.length; i++) {
+      result[i] = standardCdf(x[i]);
+    }
+  }
+
+  /**
+   * Computes the probability density function of the standard normal distribution.
+   *
+   * @param x  the value
+   * @return the density at the value
+   */
+  public static double standardPdf(double x) {
+    return ONE_OVER_ROOT_TWO_PI * Math.exp(-0.5 * x * x);
+  }
+
+  /**
+   * Computes the inverse of the cumulative distribution function of the standard normal distribution.
+   * <p>
+   * This uses the rational approximation of Wichura, algorithm AS 241, accurate to about 1 part in 10^16.
+   *
+   * @param p  the probability, from zero to one inclusive
+   * @return the value whose cumulative probability is the specified probability
+   */
+  public static double standardInverseCdf(double p) {
+    if (!(p >= 0 && p <= 1)) {
+      throw new IllegalArgumentException("Probability must be >= 0 and <= 1");
+    }
+    double q = p - 0.5;
+    if (Math.abs(q) <= 0.425) {
+      double r = 0.180625 - q * q;
+      return q * (((((((r * 2509.0809287301226727 + 33430.575583588128105) * r + 67265.770927008700853) * r +
+          45921.953931549871457) * r + 13731.693765509461125) * r + 1971.5909503065514427) * r +
+          133.14166789178437745) * r + 3.387132872796366608) /
+          (((((((r * 5226.495278852545925 + 28729.085735721942674) * r + 39307.89580009271061) * r +
+              21213.794301586595867) * r + 5394.1960214247511077) * r + 687.1870074920579083) * r +
+              42.313330701600911252) * r + 1);
+    }
+    if (p == 0) {
+      return Double.NEGATIVE_INFINITY;
+    }
+    if (p == 1) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double r = Math.sqrt(-Math.log(q < 0 ? p : 1 - p));
+    double value;
+    if (r <= 5) {
+      r -= 1.6;
+      value = (((((((r * 7.7454501427834140764e-4 + 0.0227238449892691845833) * r + 0.24178072517745061177) * r +
+          1.27045825245236838258) * r + 3.64784832476320460504) * r + 5.7694972214606914055) * r +
+          4.6303378461565452959) * r + 1.42343711074968357734) /
+          (((((((r * 1.05075007164441684324e-9 + 5.475938084995344946e-4) * r + 0.0151986665636164571966) * r +
+              0.14810397642748007459) * r + 0.68976733498510000455) * r + 1.6763848301838038494) * r +
+              2.05319162663775882187) * r + 1);
+    } else {
+      r -= 5;
+      value = (((((((r * 2.01033439929228813265e-7 + 2.71155556874348757815e-5) * r + 0.0012426609473880784386) * r +
+          0.026532189526576123093) * r + 0.29656057182850489123) * r + 1.7848265399172913358) * r +
+          5.4637849111641143699) * r + 6.6579046435011037772) /
+          (((((((r * 2.04426310338993978564e-15 + 1.4215117583164458887e-7) * r + 1.8463183175100546818e-5) * r +
+              7.868691311456132591e-4) * r + 0.0148753612908506148525) * r + 0.13692988092273580531) * r +
+              0.59983220655588793769) * r + 1);
+    }
+    return q < 0 ? -value : value;
+  }
+
+  /**
+   * Computes the inverse of the cumulative distribution function of the standard normal distribution
+   * for an array of probabilities.
+   * <p>
+   * The arrays may be the same array.
+   *
+   * @param p  the probabilities, from zero to one inclusive
+   * @param result  the array to fill with the values, of the same length as the probabilities
+   */
+  public static void standardInverseCdf(double[] p, double[] result) {
+    ArgChecker.isTrue(p.length == result.length, "Arrays must have the same length");
+    for (int i = 0; i < p.length; i++) {
+      result[i] = standardInverseCdf(p[i]);
+    }
+  }
+
+  //-------------------------------------------------------------------------
   /**
    * {@inheritDoc}
+   * <p>
+   * This is the cumulative distribution function of the standard normal distribution,
+   * whatever the mean and standard deviation.
    */
   @Override
   public double getCDF(Double x) {
     ArgChecker.notNull(x, "x");
-    return DERFC.getErfc(-x / ROOT2) / 2;
+    return standardCdf(x);
   }
 
   /**
@@ -86,8 +271,7 @@ public class NormalDistribution implements ProbabilityDistribution<Double> {
   @Override
   public double getInverseCDF(Double p) {
     ArgChecker.notNull(p, "p");
-    ArgChecker.isTrue(p >= 0 && p <= 1, "Probability must be >= 0 and <= 1");
-    return Probability.normalInverse(p);
+    return standardInverseCdf(p);
   }
 
   /**
@@ -0,0 +1,122 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static org.testng.AssertJUnit.assertEquals;
+
+import org.testng.annotations.Test;
+import org.testng.internal.junit.ArrayAsserts;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
+
+/**
+ * Tests the LU decomposition OpenGamma implementation.
+ */
+@Test
+public class LUDecompositionOpenGammaTest {
+
+  private static final MatrixAlgebra ALGEBRA = new OGMatrixAlgebra();
+  private static final LUDecompositionOpenGamma LU_OG = new LUDecompositionOpenGamma();
+  private static final Decomposition<LUDecompositionResult> LU_COMMONS = new LUDecompositionCommons();
+  private static final DoubleMatrix A3 = DoubleMatrix.copyOf(
+      new double[][] { {1, 2, -1}, {4, 3, 1}, {2, 2, 3}});
+  private static final DoubleMatrix A5 = DoubleMatrix.copyOf(
+      new double[][] {
+          {10.0, 2.0, -1.0, 1.0, 1.0},
+          {2.0, 5.0, -2.0, 0.5, 0.5},
+          {-1.0, -2.0, 15.0, 1.0, 0.5},
+          {1.0, 0.5, 1.0, 10.0, -1.0},
+          {1.0, 0.5, 0.5, -1.0, 25.0}});
+  private static final double EPS = 1e-9;
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNullObjectMatrix() {
+    LU_OG.apply((DoubleMatrix) null);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testNotSquare() {
+    LU_OG.apply(DoubleMatrix.filled(2, 3, 1d));
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testSingular() {
+    LU_OG.apply(DoubleMatrix.copyOf(new double[][] { {1, 2}, {2, 4}}));
+  }
+
+  /**
+   * Tests P A = L U.
+   */
+  public void recoverOrginal() {
+    LUDecompositionResult result = LU_OG.apply(A3);
+    DoubleMatrix lu = (DoubleMatrix) ALGEBRA.multiply(result.getL(), result.getU());
+    checkEquals((DoubleMatrix) ALGEBRA.multiply(result.getP(), A3), lu);
+  }
+
+  /**
+   * Tests the factors and determinant match the Commons implementation.
+   */
+  public void compareCommons() {
+    LUDecompositionResult og = LU_OG.apply(A5);
+    LUDecompositionResult commons = LU_COMMONS.apply(A5);
+    checkEquals(commons.getL(), og.getL());
+    checkEquals(commons.getU(), og.getU());
+    checkEquals(commons.getP(), og.getP());
+    ArrayAsserts.assertArrayEquals(commons.getPivot(), og.getPivot());
+    assertEquals(commons.getDeterminant(), og.getDeterminant(), EPS);
+    assertEquals(LU_COMMONS.apply(A3).getDeterminant(), LU_OG.apply(A3).getDeterminant(), EPS);
+  }
+
+  /**
+   * Tests solve Ax = b from A and b.
+   */
+  public void solveVector() {
+    LUDecompositionResult result = LU_OG.apply(A5);
+    double[] b = new double[] {1.0, 2.0, 3.0, 4.0, -1.0};
+    double[] x = result.solve(b);
+    DoubleArray ax = (DoubleArray) ALGEBRA.multiply(A5, DoubleArray.copyOf(x));
+    ArrayAsserts.assertArrayEquals("LU decomposition OpenGamma - solve", b, ax.toArray(), 1.0E-10);
+    DoubleArray xVec = result.solve(DoubleArray.copyOf(b));
+    ArrayAsserts.assertArrayEquals(x, xVec.toArray(), 1.0E-15);
+  }
+
+  /**
+   * Tests solve AX = B from A and B, reusing the decomposition.
+   */
+  public void solveMatrix() {
+    LUDecompositionResult result = LU_OG.apply(A5);
+    double[][] b = new double[][] { {1.0, 2.0}, {2.0, 3.0}, {3.0, 4.0}, {4.0, -2.0}, {-1.0, -1.0}};
+    DoubleMatrix x = result.solve(DoubleMatrix.copyOf(b));
+    DoubleMatrix ax = (DoubleMatrix) ALGEBRA.multiply(A5, x);
+    checkEquals(DoubleMatrix.copyOf(b), ax);
+    checkEquals(LU_COMMONS.apply(A5).solve(DoubleMatrix.copyOf(b)), x);
+  }
+
+  /**
+   * Tests the inverse.
+   */
+  public void inverse() {
+    DoubleMatrix inverse = ((LUDecompositionOpenGammaResult) LU_OG.apply(A5)).inverse();
+    checkEquals(DoubleMatrix.identity(5), (DoubleMatrix) ALGEBRA.multiply(A5, inverse));
+    checkEquals(DoubleMatrix.identity(3), (DoubleMatrix) ALGEBRA.multiply(A3, ALGEBRA.getInverse(A3)));
+  }
+
+  private void checkEquals(DoubleMatrix x, DoubleMatrix y) {
+    int n = x.rowCount();
+    int m = x.columnCount();
+    assertEquals(n, y.rowCount());
+    assertEquals(m, y.columnCount());
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < m; j++) {
+        assertEquals(x.get(i, j), y.get(i, j), EPS);
+      }
+    }
+  }
+
+}
@@ -54,9 +54,13 @@ public class MatrixAlgebraImplementationTest {
     COMMONS.getCondition(M1);
   }
 
-  @Test(expectedExceptions = UnsupportedOperationException.class)
   public void testOGDeterminant() {
-    OG.getDeterminant(M3);
+    assertEquals(-3.0, OG.getDeterminant(M3), EPS);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testOGDeterminant_vector() {
+    OG.getDeterminant(M1);
   }
 
   @Test(expectedExceptions = IllegalArgumentException.class)
@@ -79,7 +83,7 @@ public class MatrixAlgebraImplementationTest {
     COMMONS.getInverse(M1);
   }
 
-  @Test(expectedExceptions = UnsupportedOperationException.class)
+  @Test(expectedExceptions = IllegalArgumentException.class)
   public void testOGInverse() {
     OG.getInverse(M1);
   }
@@ -246,6 +250,8 @@ public class MatrixAlgebraImplementationTest {
   public void testInverse() {
     assertMatrixEquals(COMMONS.getInverse(M3), DoubleMatrix.copyOf(
         new double[][] { {-0.3333333333333333, 0.6666666666666666}, {0.6666666666666666, -0.3333333333333333}}));
+    assertMatrixEquals(OG.getInverse(M3), COMMONS.getInverse(M3));
+    assertMatrixEquals(OG.getInverse(M4), COMMONS.getInverse(M4));
   }
 
   @Test
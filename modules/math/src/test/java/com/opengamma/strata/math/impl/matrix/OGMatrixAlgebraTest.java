@@ -116,6 +116,22 @@ public class OGMatrixAlgebraTest {
 
   }
 
+  @Test
+  public void testInverseDeterminant() {
+    DoubleMatrix inverse = ALGEBRA.getInverse(A);
+    AssertMatrix.assertEqualsMatrix((DoubleMatrix) ALGEBRA.multiply(A, inverse), DoubleMatrix.identity(3), 1e-14);
+    AssertMatrix.assertEqualsMatrix(inverse, MatrixAlgebraFactory.COMMONS_ALGEBRA.getInverse(A), 1e-14);
+    assertEquals(MatrixAlgebraFactory.COMMONS_ALGEBRA.getDeterminant(A), ALGEBRA.getDeterminant(A), 1e-14);
+  }
+
+  @Test
+  public void testMultiplyVectorMatrix() {
+    DoubleArray res = (DoubleArray) ALGEBRA.multiply(E, A);
+    assertEquals(-9, res.get(0), 1e-15);
+    assertEquals(3, res.get(1), 1e-15);
+    assertEquals(-9, res.get(2), 1e-15);
+  }
+
   @Test
   public void matrixTransposeMultipleMatrixTest() {
     DoubleMatrix a = DoubleMatrix.copyOf(new double[][] { {1.0, 2.0, 3.0}, {-3.0, 1.3, 7.0}});
@@ -0,0 +1,93 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link BrownianBridge}.
+ */
+@Test
+public class BrownianBridgeTest {
+
+  private static final DoubleArray TIMES = DoubleArray.of(0.25, 0.5, 1d, 2d, 3d, 5d, 7d);
+
+  public void test_of() {
+    BrownianBridge test = BrownianBridge.of(TIMES);
+    assertEquals(test.size(), 7);
+    assertEquals(test.getTimes(), TIMES);
+    assertEquals(BrownianBridge.ofUnitSteps(3).getTimes(), DoubleArray.of(1d, 2d, 3d));
+  }
+
+  public void test_terminalValue() {
+    BrownianBridge test = BrownianBridge.of(TIMES);
+    double[] normals = {1.2, 0d, 0d, 0d, 0d, 0d, 0d};
+    double[] path = new double[7];
+    test.path(normals, path);
+    // with all other numbers zero, the path is a straight line to the terminal value
+    double terminal = 1.2 * Math.sqrt(7d);
+    for (int i = 0; i < 7; i++) {
+      assertEquals(path[i], terminal * TIMES.get(i) / 7d, 1e-12);
+    }
+  }
+
+  public void test_covariance() {
+    // the covariance of the path at two times is the minimum of the times
+    BrownianBridge test = BrownianBridge.of(TIMES);
+    int size = TIMES.size();
+    double[][] covariance = new double[size][size];
+    double[] normals = new double[size];
+    double[] path = new double[size];
+    for (int k = 0; k < size; k++) {
+      normals[k] = 1d;
+      test.path(normals, path);
+      normals[k] = 0d;
+      for (int i = 0; i < size; i++) {
+        for (int j = 0; j < size; j++) {
+          covariance[i][j] += path[i] * path[j];
+        }
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < size; j++) {
+        assertEquals(covariance[i][j], Math.min(TIMES.get(i), TIMES.get(j)), 1e-12);
+      }
+    }
+  }
+
+  public void test_standardizedIncrements() {
+    BrownianBridge test = BrownianBridge.of(TIMES);
+    double[] normals = {0.3, -1.1, 0.7, 2.1, -0.4, 0.05, -1.6};
+    double[] path = new double[7];
+    test.path(normals, path);
+    double[] increments = normals.clone();
+    test.standardizedIncrements(increments, increments);
+    double value = 0d;
+    double previousTime = 0d;
+    for (int i = 0; i < 7; i++) {
+      value += increments[i] * Math.sqrt(TIMES.get(i) - previousTime);
+      previousTime = TIMES.get(i);
+      assertEquals(value, path[i], 1e-12);
+    }
+  }
+
+  public void test_invalid() {
+    assertThrowsIllegalArg(() -> BrownianBridge.of(DoubleArray.EMPTY));
+    assertThrowsIllegalArg(() -> BrownianBridge.of(DoubleArray.of(0d, 1d)));
+    assertThrowsIllegalArg(() -> BrownianBridge.of(DoubleArray.of(1d, 1d)));
+    assertThrowsIllegalArg(() -> BrownianBridge.ofUnitSteps(0));
+    BrownianBridge test = BrownianBridge.ofUnitSteps(3);
+    double[] array = new double[3];
+    assertThrowsIllegalArg(() -> test.path(new double[2], array));
+    assertThrowsIllegalArg(() -> test.path(array, array));
+  }
+
+}
@@ -35,6 +35,15 @@ public class NormalRandomNumberGeneratorTest {
     }
   }
 
+  public void test_fill() {
+    double[] result = new double[10];
+    new NormalRandomNumberGenerator(0, 1, new MersenneTwister64(1)).fill(result);
+    double[] expected = new NormalRandomNumberGenerator(0, 1, new MersenneTwister64(1)).getVector(10);
+    for (int i = 0; i < 10; i++) {
+      assertEquals(result[i], expected[i], 0d);
+    }
+  }
+
   public void test_invalid() {
     assertThrowsIllegalArg(() -> new NormalRandomNumberGenerator(0, -1));
     assertThrowsIllegalArg(() -> new NormalRandomNumberGenerator(0, -1, new MersenneTwister64()));
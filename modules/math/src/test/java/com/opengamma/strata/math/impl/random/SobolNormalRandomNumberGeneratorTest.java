@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
+
+/**
+ * Test {@link SobolNormalRandomNumberGenerator}.
+ */
+@Test
+public class SobolNormalRandomNumberGeneratorTest {
+
+  private static final NormalDistribution NORMAL = new NormalDistribution(0, 1);
+
+  public void test_of() {
+    SobolNormalRandomNumberGenerator test = SobolNormalRandomNumberGenerator.of(3);
+    assertEquals(test.getDimension(), 3);
+    assertEquals(test.getNextIndex(), 1);
+    // the first points in each dimension are 1/2, then 3/4 and 1/4
+    assertTrue(DoubleArray.ofUnsafe(test.getVector(3)).equalWithTolerance(DoubleArray.of(0d, 0d, 0d), 1e-12));
+    double[] second = test.getVector(3);
+    assertEquals(second[0], NORMAL.getInverseCDF(0.75), 1e-12);
+    assertEquals(test.getNextIndex(), 3);
+    List<double[]> vectors = test.getVectors(3, 5);
+    assertEquals(vectors.size(), 5);
+    assertEquals(test.getNextIndex(), 8);
+  }
+
+  public void test_startingAt() {
+    SobolNormalRandomNumberGenerator serial = SobolNormalRandomNumberGenerator.of(4);
+    double[] expected = new double[4 * 20];
+    serial.fill(expected);
+    SobolNormalRandomNumberGenerator base = SobolNormalRandomNumberGenerator.of(4);
+    double[] first = new double[4 * 10];
+    double[] second = new double[4 * 10];
+    base.startingAt(11).fill(second);
+    base.startingAt(1).fill(first);
+    assertEquals(base.getNextIndex(), 1);
+    for (int i = 0; i < 40; i++) {
+      assertEquals(first[i], expected[i]);
+      assertEquals(second[i], expected[40 + i]);
+    }
+  }
+
+  public void test_integration() {
+    // the standard error of the pseudo-random mean of exp(x) would be 0.017
+    int count = (1 << 14) - 1;
+    double[] values = new double[count];
+    SobolNormalRandomNumberGenerator.of(1).fill(values);
+    double mean = 0d;
+    for (double value : values) {
+      mean += Math.exp(value);
+    }
+    mean /= count;
+    assertEquals(mean, Math.exp(0.5), 5e-3);
+  }
+
+  public void test_brownianBridge() {
+    BrownianBridge bridge = BrownianBridge.ofUnitSteps(8);
+    SobolNormalRandomNumberGenerator test = SobolNormalRandomNumberGenerator.ofBrownianBridge(bridge);
+    SobolNormalRandomNumberGenerator plain = SobolNormalRandomNumberGenerator.of(8);
+    assertEquals(test.getDimension(), 8);
+    for (int i = 0; i < 10; i++) {
+      double[] normals = plain.getVector(8);
+      double[] increments = test.getVector(8);
+      // the sum of the unit increments is the terminal value, driven by the first dimension only
+      double sum = 0d;
+      for (double increment : increments) {
+        sum += increment;
+      }
+      assertEquals(sum, normals[0] * Math.sqrt(8d), 1e-10);
+    }
+  }
+
+  public void test_invalid() {
+    SobolNormalRandomNumberGenerator test = SobolNormalRandomNumberGenerator.of(2);
+    assertThrowsIllegalArg(() -> SobolNormalRandomNumberGenerator.of(0));
+    assertThrowsIllegalArg(() -> SobolNormalRandomNumberGenerator.of(1001));
+    assertThrowsIllegalArg(() -> SobolNormalRandomNumberGenerator.ofBrownianBridge(null));
+    assertThrowsIllegalArg(() -> test.getVector(3));
+    assertThrowsIllegalArg(() -> test.getVectors(3, 1));
+    assertThrowsIllegalArg(() -> test.fill(new double[3]));
+    assertThrowsIllegalArg(() -> test.startingAt(0));
+  }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.random;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * Test {@link SplittableNormalRandomNumberGenerator}.
+ */
+@Test
+public class SplittableNormalRandomNumberGeneratorTest {
+
+  public void test_vectors() {
+    SplittableNormalRandomNumberGenerator test = SplittableNormalRandomNumberGenerator.of(1L);
+    assertEquals(test.getVector(10).length, 10);
+    List<double[]> vectors = test.getVectors(10, 50);
+    assertEquals(vectors.size(), 50);
+    for (double[] vector : vectors) {
+      assertEquals(vector.length, 10);
+    }
+  }
+
+  public void test_reproducible() {
+    double[] first = new double[101];
+    double[] second = new double[101];
+    SplittableNormalRandomNumberGenerator.of(2L).fill(first);
+    SplittableNormalRandomNumberGenerator.of(2L).fill(second);
+    assertEquals(DoubleArray.ofUnsafe(first), DoubleArray.ofUnsafe(second));
+    double[] vector = SplittableNormalRandomNumberGenerator.of(2L).getVector(101);
+    assertEquals(DoubleArray.ofUnsafe(vector), DoubleArray.ofUnsafe(first));
+  }
+
+  public void test_moments() {
+    double[] values = SplittableNormalRandomNumberGenerator.of(1.5, 2d, 3L).getVector(200_000);
+    double mean = 0d;
+    for (double value : values) {
+      mean += value;
+    }
+    mean /= values.length;
+    double variance = 0d;
+    for (double value : values) {
+      variance += (value - mean) * (value - mean);
+    }
+    variance /= values.length - 1;
+    assertEquals(mean, 1.5, 0.02);
+    assertEquals(variance, 4d, 0.05);
+  }
+
+  public void test_split_parallel() {
+    List<SplittableNormalRandomNumberGenerator> serial = SplittableNormalRandomNumberGenerator.of(4L).split(8);
+    List<SplittableNormalRandomNumberGenerator> parallel = SplittableNormalRandomNumberGenerator.of(4L).split(8);
+    double[][] expected = new double[8][1000];
+    double[][] test = new double[8][1000];
+    for (int i = 0; i < 8; i++) {
+      serial.get(i).fill(expected[i]);
+    }
+    IntStream.range(0, 8).parallel().forEach(i -> parallel.get(i).fill(test[i]));
+    for (int i = 0; i < 8; i++) {
+      assertEquals(DoubleArray.ofUnsafe(test[i]), DoubleArray.ofUnsafe(expected[i]));
+    }
+    assertNotEquals(DoubleArray.ofUnsafe(expected[0]), DoubleArray.ofUnsafe(expected[1]));
+  }
+
+  public void test_invalid() {
+    SplittableNormalRandomNumberGenerator test = SplittableNormalRandomNumberGenerator.of(1L);
+    assertThrowsIllegalArg(() -> SplittableNormalRandomNumberGenerator.of(0, -1, 1L));
+    assertThrowsIllegalArg(() -> test.getVector(-1));
+    assertThrowsIllegalArg(() -> test.getVectors(-1, 4));
+    assertThrowsIllegalArg(() -> test.getVectors(1, -5));
+    assertThrowsIllegalArg(() -> test.split(-1));
+  }
+
+}
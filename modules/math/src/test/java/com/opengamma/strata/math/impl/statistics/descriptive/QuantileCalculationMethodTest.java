@@ -8,10 +8,15 @@ package com.opengamma.strata.math.impl.statistics.descriptive;
 import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static org.testng.Assert.assertEquals;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
 import java.util.function.Function;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.math.impl.integration.RungeKuttaIntegrator1D;
 
@@ -588,6 +593,40 @@ public class QuantileCalculationMethodTest {
     assertThrowsIllegalArg(() -> QUANTILE_SAMPLE1_NEAREST_INDEX.quantileFromSorted(LEVEL5, SORTED_100));
   }
 
+  //-------------------------------------------------------------------------
+  // the unsorted sample is only partially sorted, which must match a full sort
+  public void unsorted_matchesSorted() {
+    List<QuantileCalculationMethod> methods = ImmutableList.of(
+        QUANTILE_INDEX_ABOVE,
+        QUANTILE_NEAREST_INDEX,
+        QUANTILE_SAMPLE1_NEAREST_INDEX,
+        QUANTILE_SAMPLE_INTERPOLATION,
+        QUANTILE_SAMPLE1_INTERPOLATION,
+        QUANTILE_MIDWAY_INTERPOLATION,
+        ExcelInterpolationQuantileMethod.DEFAULT);
+    Random random = new Random(1);
+    List<Double> values = new ArrayList<>();
+    for (int i = 0; i < SAMPLE_SIZE_123; i++) {
+      values.add(SORTED_123.get(i));
+      values.add(SORTED_123.get(i % 10));
+    }
+    Collections.shuffle(values, random);
+    DoubleArray unsorted = DoubleArray.copyOf(values);
+    DoubleArray sorted = unsorted.sorted();
+    double[] levels = {LEVEL1, LEVEL2, LEVEL3, LEVEL4, LEVEL5, 0.01, 0.025, 0.5};
+    for (QuantileCalculationMethod method : methods) {
+      for (double level : levels) {
+        assertEquals(
+            method.quantileWithExtrapolationFromUnsorted(level, unsorted),
+            method.quantileWithExtrapolationFromSorted(level, sorted));
+        assertEquals(
+            method.expectedShortfallFromUnsorted(level, unsorted),
+            method.expectedShortfallFromSorted(level, sorted));
+      }
+      assertEquals(method.quantileFromUnsorted(0.025, unsorted), method.quantileFromSorted(0.025, sorted));
+    }
+  }
+
   public void regression_test3() {
     assertEquals(QUANTILE_MIDWAY_INTERPOLATION.quantileWithExtrapolationFromSorted(LEVEL1, SORTED_100), 0.9275, TOL);
     assertEquals(QUANTILE_MIDWAY_INTERPOLATION.quantileWithExtrapolationFromSorted(LEVEL2, SORTED_100), 0.80501, TOL);
@@ -7,9 +7,12 @@ package com.opengamma.strata.math.impl.statistics.distribution;
 
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertFalse;
+import static org.testng.AssertJUnit.assertTrue;
 
 import org.testng.annotations.Test;
 
+import cern.jet.stat.Probability;
+
 /**
  * Test.
  */
@@ -46,6 +49,61 @@ public class NormalDistributionTest extends ProbabilityDistributionTestCase {
     }
   }
 
+  public void testStandardCdf() {
+    // compares with the Chebyshev approximation of the complementary error function
+    for (int i = 0; i <= 900; i++) {
+      double x = -37.5 + 0.05 * i;
+      double expected = DERFC.getErfc(-x / Math.sqrt(2)) / 2;
+      double test = NormalDistribution.standardCdf(x);
+      assertEquals(expected, test, Math.max(expected * 1e-12, 1e-300));
+      assertEquals(NORMAL.getCDF(x), test, 0d);
+    }
+    assertEquals(0d, NormalDistribution.standardCdf(-40), 0d);
+    assertEquals(1d, NormalDistribution.standardCdf(40), 0d);
+    assertEquals(0d, NormalDistribution.standardCdf(Double.NEGATIVE_INFINITY), 0d);
+    assertEquals(1d, NormalDistribution.standardCdf(Double.POSITIVE_INFINITY), 0d);
+    assertTrue(Double.isNaN(NormalDistribution.standardCdf(Double.NaN)));
+  }
+
+  public void testStandardPdf() {
+    for (int i = 0; i <= 200; i++) {
+      double x = -10 + 0.1 * i;
+      assertEquals(NORMAL.getPDF(x), NormalDistribution.standardPdf(x), 1e-15);
+    }
+  }
+
+  public void testStandardInverseCdf() {
+    for (int i = 1; i < 1000; i++) {
+      double p = i / 1000d;
+      assertEquals(Probability.normalInverse(p), NormalDistribution.standardInverseCdf(p), 1e-13);
+    }
+    for (int i = 1; i <= 300; i++) {
+      double p = Math.pow(10, -i);
+      double x = NormalDistribution.standardInverseCdf(p);
+      assertEquals(p, NormalDistribution.standardCdf(x), p * 1e-12);
+      assertEquals(-x, NormalDistribution.standardInverseCdf(1 - p), i < 15 ? -x * 1e-3 : Double.POSITIVE_INFINITY);
+    }
+    assertEquals(Double.NEGATIVE_INFINITY, NormalDistribution.standardInverseCdf(0), 0d);
+    assertEquals(Double.POSITIVE_INFINITY, NormalDistribution.standardInverseCdf(1), 0d);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testStandardInverseCdfInvalid() {
+    NormalDistribution.standardInverseCdf(1.1);
+  }
+
+  public void testArrays() {
+    double[] values = {-3, -0.5, 0, 0.7, 2.5};
+    double[] probabilities = new double[values.length];
+    NormalDistribution.standardCdf(values, probabilities);
+    double[] roundTrip = probabilities.clone();
+    NormalDistribution.standardInverseCdf(roundTrip, roundTrip);
+    for (int i = 0; i < values.length; i++) {
+      assertEquals(NormalDistribution.standardCdf(values[i]), probabilities[i], 0d);
+      assertEquals(values[i], roundTrip[i], 1e-14);
+    }
+  }
+
   public void testObject() {
     NormalDistribution other = new NormalDistribution(0, 1, ENGINE);
     assertEquals(NORMAL, other);
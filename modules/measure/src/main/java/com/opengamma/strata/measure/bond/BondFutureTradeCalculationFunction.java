@@ -24,6 +24,7 @@ import com.opengamma.strata.data.FieldName;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.calc.SecurityCalculationCache;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.product.bond.BondFuture;
 import com.opengamma.strata.product.bond.BondFutureTrade;
@@ -35,6 +36,8 @@ import com.opengamma.strata.product.bond.ResolvedBondFutureTrade;
  * <p>
  * This uses the standard discounting calculation method.
  * An instance of {@link RatesMarketDataLookup} must be specified.
+ * If a {@link SecurityCalculationCache} is specified, the unit price and calibrated PV01 of each bond future
+ * are calculated once, from the legal entity discounting data, and scaled by the quantity of each trade.
  * The supported built-in measures are:
  * <ul>
  *   <li>{@linkplain Measures#PRESENT_VALUE Present value}
@@ -69,6 +72,16 @@ public class BondFutureTradeCalculationFunction
           .build();
 
   private static final ImmutableSet<Measure> MEASURES = CALCULATORS.keySet();
+  /**
+   * The measures that only depend on the security, shared between trades if a cache is present.
+   */
+  private static final ImmutableSet<Measure> UNIT_MEASURES = ImmutableSet.of(Measures.UNIT_PRICE);
+  /**
+   * The measures that are linear in the quantity, shared between trades if a cache is present.
+   */
+  private static final ImmutableSet<Measure> QUANTITY_MEASURES = ImmutableSet.of(
+      Measures.PV01_CALIBRATED_SUM,
+      Measures.PV01_CALIBRATED_BUCKETED);
 
   /**
    * Creates an instance.
@@ -139,13 +152,40 @@ public class BondFutureTradeCalculationFunction
     LegalEntityDiscountingScenarioMarketData marketData = ledLookup.marketDataView(scenarioMarketData);
 
     // loop around measures, calculating all scenarios for one measure
+    Optional<SecurityCalculationCache> cache = SecurityCalculationCache.find(parameters);
     Map<Measure, Result<?>> results = new HashMap<>();
     for (Measure measure : measures) {
-      results.put(measure, calculate(measure, resolved, marketData));
+      results.put(measure, cache.isPresent() ?
+          calculate(measure, resolved, marketData, cache.get(), parameters, refData) :
+          calculate(measure, resolved, marketData));
     }
     return results;
   }
 
+  // calculate one measure, sharing the security-level results using the cache
+  private Result<?> calculate(
+      Measure measure,
+      ResolvedBondFutureTrade trade,
+      LegalEntityDiscountingScenarioMarketData marketData,
+      SecurityCalculationCache cache,
+      CalculationParameters parameters,
+      ReferenceData refData) {
+
+    SingleMeasureCalculation calculator = CALCULATORS.get(measure);
+    if (calculator == null) {
+      return calculate(measure, trade, marketData);
+    }
+    return Result.of(() -> cache.value(
+        trade.getProduct().getSecurityId(), measure, parameters, marketData.getMarketData(), refData,
+        UNIT_MEASURES, QUANTITY_MEASURES, trade.getQuantity(),
+        quantity -> calculator.calculate(withQuantity(trade, quantity), marketData)));
+  }
+
+  // the trade with the specified quantity
+  private static ResolvedBondFutureTrade withQuantity(ResolvedBondFutureTrade trade, double quantity) {
+    return quantity == trade.getQuantity() ? trade : trade.toBuilder().quantity(quantity).build();
+  }
+
   // calculate one measure
   private Result<?> calculate(
       Measure measure,
@@ -0,0 +1,153 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import java.io.Serializable;
+import java.util.Set;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.opengamma.strata.calc.runner.CalculationParameter;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.market.explain.ExplainDetail;
+import com.opengamma.strata.measure.Measures;
+
+/**
+ * A calculation parameter that controls the level of detail of the explain measures.
+ * <p>
+ * This controls how much of the explanation of a calculation is built, for example
+ * for {@link Measures#EXPLAIN_PRESENT_VALUE}. Lower levels of detail allow the explanation
+ * to be calculated for a large number of trades without retaining the full explanation of each one.
+ * <p>
+ * If this parameter is not specified, the full explanation is built.
+ */
+@BeanDefinition(style = "light")
+public final class ExplainDetailCalculationParameter
+    implements CalculationParameter, ImmutableBean, Serializable {
+
+  /**
+   * The level of detail.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ExplainDetail detail;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the level of detail.
+   *
+   * @param detail  the level of detail
+   * @return the calculation parameter
+   */
+  public static ExplainDetailCalculationParameter of(ExplainDetail detail) {
+    return new ExplainDetailCalculationParameter(detail);
+  }
+
+  /**
+   * Finds the level of detail in the parameters.
+   * <p>
+   * This returns {@link ExplainDetail#FULL} if the parameter is not present.
+   *
+   * @param parameters  the calculation parameters
+   * @return the level of detail
+   */
+  public static ExplainDetail detail(CalculationParameters parameters) {
+    return parameters.findParameter(ExplainDetailCalculationParameter.class)
+        .map(ExplainDetailCalculationParameter::getDetail)
+        .orElse(ExplainDetail.FULL);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code ExplainDetailCalculationParameter}.
+   */
+  private static final MetaBean META_BEAN = LightMetaBean.of(ExplainDetailCalculationParameter.class);
+
+  /**
+   * The meta-bean for {@code ExplainDetailCalculationParameter}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private ExplainDetailCalculationParameter(
+      ExplainDetail detail) {
+    JodaBeanUtils.notNull(detail, "detail");
+    this.detail = detail;
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the level of detail.
+   * @return the value of the property, not null
+   */
+  public ExplainDetail getDetail() {
+    return detail;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ExplainDetailCalculationParameter other = (ExplainDetailCalculationParameter) obj;
+      return JodaBeanUtils.equal(detail, other.detail);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(detail);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(64);
+    buf.append("ExplainDetailCalculationParameter{");
+    buf.append("detail").append('=').append(JodaBeanUtils.toString(detail));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,253 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleFunction;
+import java.util.function.Supplier;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.runner.CalculationParameter;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.product.SecurityId;
+
+/**
+ * A cache of the security-level results of a calculation run.
+ * <p>
+ * Many trades and positions in a portfolio are often in the same security, such as the same bond future.
+ * Some of their measures depend only on the security, such as the unit price, or are linear in the quantity,
+ * such as the PV01. When this cache is passed as an argument to {@link CalculationRules}, the functions
+ * supporting it only calculate these measures once per security, and scale the result by the quantity.
+ * <p>
+ * The results are keyed by security identifier, measure and calculation parameters.
+ * The scenarios are held by the results, which are calculated for all scenarios at once.
+ * Only the results of the latest market data are held, such that the cache is scoped to a single run.
+ * The market data itself is only weakly referenced.
+ * <p>
+ * Each result is calculated once, outside of any lock. A thread that requires a result being calculated
+ * by another thread waits for that calculation, while calculations of other results proceed independently.
+ * <p>
+ * This class is mutable and thread-safe. It is not a bean and is not serializable.
+ */
+public final class SecurityCalculationCache
+    implements CalculationParameter {
+
+  /**
+   * The results of the latest run.
+   */
+  private volatile Run run = new Run(null, null);
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an empty cache.
+   *
+   * @return the cache
+   */
+  public static SecurityCalculationCache create() {
+    return new SecurityCalculationCache();
+  }
+
+  // restricted constructor
+  private SecurityCalculationCache() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Finds the cache in the parameters.
+   *
+   * @param parameters  the calculation parameters
+   * @return the cache, empty if not present
+   */
+  public static Optional<SecurityCalculationCache> find(CalculationParameters parameters) {
+    return parameters.findParameter(SecurityCalculationCache.class);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the result of a measure that does not depend on the quantity.
+   * <p>
+   * The calculation is only invoked if the result is not already held for the security, measure,
+   * parameters and market data. If the result is being calculated by another thread, this waits for it.
+   * If the calculation throws an exception, nothing is cached and the exception is thrown.
+   *
+   * @param <T>  the type of the result
+   * @param securityId  the security identifier
+   * @param measure  the measure
+   * @param parameters  the calculation parameters
+   * @param marketData  the market data
+   * @param refData  the reference data
+   * @param calculation  the calculation of the result for the security
+   * @return the result
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T unitValue(
+      SecurityId securityId,
+      Measure measure,
+      CalculationParameters parameters,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Supplier<T> calculation) {
+
+    List<Object> key = Arrays.asList(securityId, measure, parameters);
+    ConcurrentHashMap<List<Object>, CompletableFuture<Object>> results = run(marketData, refData).results;
+    while (true) {
+      CompletableFuture<Object> future = new CompletableFuture<>();
+      CompletableFuture<Object> existing = results.putIfAbsent(key, future);
+      if (existing == null) {
+        // calculate outside the map, such that other keys are not blocked
+        try {
+          T value = calculation.get();
+          future.complete(value);
+          return value;
+        } catch (RuntimeException | Error ex) {
+          results.remove(key, future);
+          future.completeExceptionally(ex);
+          throw ex;
+        }
+      }
+      try {
+        return (T) existing.join();
+      } catch (CompletionException ex) {
+        // the other calculation failed and was removed, thus calculate in this thread
+      }
+    }
+  }
+
+  /**
+   * Obtains the result of a measure that is linear in the quantity.
+   * <p>
+   * The result is calculated for a quantity of one, cached as per
+   * {@link #unitValue(SecurityId, Measure, CalculationParameters, ScenarioMarketData, ReferenceData, Supplier)},
+   * and then scaled by the quantity. If the type of the result cannot be scaled,
+   * the result is calculated for the quantity directly.
+   *
+   * @param securityId  the security identifier
+   * @param measure  the measure
+   * @param parameters  the calculation parameters
+   * @param marketData  the market data
+   * @param refData  the reference data
+   * @param quantity  the quantity
+   * @param calculation  the calculation of the result for a quantity
+   * @return the result
+   */
+  public Object quantityValue(
+      SecurityId securityId,
+      Measure measure,
+      CalculationParameters parameters,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      double quantity,
+      DoubleFunction<?> calculation) {
+
+    Object unit = unitValue(securityId, measure, parameters, marketData, refData, () -> calculation.apply(1d));
+    if (quantity == 1d) {
+      return unit;
+    }
+    return StandardTargetDeduplication.scaleLinear(unit, quantity)
+        .orElseGet(() -> calculation.apply(quantity));
+  }
+
+  /**
+   * Obtains the result of a measure of a trade in a security, sharing the result between trades where possible.
+   * <p>
+   * This is used by calculation functions to choose how a measure is shared.
+   * The result of a unit measure is obtained using {@code unitValue}, calculating for the quantity of the trade.
+   * The result of a quantity measure is obtained using {@code quantityValue}.
+   * The result of any other measure is calculated for the quantity of the trade without using the cache.
+   *
+   * @param securityId  the security identifier
+   * @param measure  the measure
+   * @param parameters  the calculation parameters
+   * @param marketData  the market data
+   * @param refData  the reference data
+   * @param unitMeasures  the measures that do not depend on the quantity
+   * @param quantityMeasures  the measures that are linear in the quantity
+   * @param quantity  the quantity of the trade
+   * @param calculation  the calculation of the result for a quantity
+   * @return the result
+   */
+  public Object value(
+      SecurityId securityId,
+      Measure measure,
+      CalculationParameters parameters,
+      ScenarioMarketData marketData,
+      ReferenceData refData,
+      Set<Measure> unitMeasures,
+      Set<Measure> quantityMeasures,
+      double quantity,
+      DoubleFunction<?> calculation) {
+
+    if (unitMeasures.contains(measure)) {
+      return unitValue(securityId, measure, parameters, marketData, refData, () -> calculation.apply(quantity));
+    }
+    if (quantityMeasures.contains(measure)) {
+      return quantityValue(securityId, measure, parameters, marketData, refData, quantity, calculation);
+    }
+    return calculation.apply(quantity);
+  }
+
+  /**
+   * Clears the cache.
+   * <p>
+   * The results are otherwise held until a calculation uses different market data.
+   */
+  public void clear() {
+    run = new Run(null, null);
+  }
+
+  // obtains the results of the run, replacing them if the market data or reference data has changed
+  private Run run(ScenarioMarketData marketData, ReferenceData refData) {
+    Run current = run;
+    if (current.matches(marketData, refData)) {
+      return current;
+    }
+    synchronized (this) {
+      current = run;
+      if (!current.matches(marketData, refData)) {
+        current = new Run(marketData, refData);
+        run = current;
+      }
+      return current;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "SecurityCalculationCache";
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The results calculated with one set of market data.
+   */
+  private static final class Run {
+    private final WeakReference<ScenarioMarketData> marketData;
+    private final ReferenceData refData;
+    private final ConcurrentHashMap<List<Object>, CompletableFuture<Object>> results = new ConcurrentHashMap<>();
+
+    private Run(ScenarioMarketData marketData, ReferenceData refData) {
+      this.marketData = new WeakReference<>(marketData);
+      this.refData = refData;
+    }
+
+    // checks if the results were calculated with the same market data and reference data
+    private boolean matches(ScenarioMarketData marketData, ReferenceData refData) {
+      return this.marketData.get() == marketData && this.refData == refData;
+    }
+  }
+
+}
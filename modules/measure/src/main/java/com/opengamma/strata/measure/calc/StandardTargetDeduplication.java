@@ -0,0 +1,327 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.calc.CalculationRules;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.runner.TargetDeduplication;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.product.Position;
+import com.opengamma.strata.product.PositionInfo;
+import com.opengamma.strata.product.SecurityQuantity;
+import com.opengamma.strata.product.Trade;
+import com.opengamma.strata.product.TradeInfo;
+
+/**
+ * The standard deduplication of trades and positions.
+ * <p>
+ * Positions in the same security, and trades in the same security with the same trade and settlement dates,
+ * are considered equivalent regardless of their quantity. Other trades are considered equivalent if they
+ * have the same terms, trade date and settlement date.
+ * The identifier, counterparty and attributes of the trade or position are not taken into account.
+ * As such, this deduplication is only valid if the calculation functions of the targets ignore these,
+ * which is the case for the standard functions. It must not be used with a function that reads them,
+ * for example a function that chooses market data based on the counterparty.
+ * <p>
+ * The results of the linear measures, such as present value and sensitivities, are scaled by the quantity.
+ * The results of the invariant measures, such as par rate, are reused unchanged.
+ * All other measures are calculated for each target.
+ * <p>
+ * The deduplication is enabled by passing an instance as an argument to {@link CalculationRules}.
+ */
+@BeanDefinition(style = "light")
+public final class StandardTargetDeduplication
+    implements TargetDeduplication, ImmutableBean, Serializable {
+
+  /**
+   * The standard instance.
+   */
+  private static final StandardTargetDeduplication STANDARD = new StandardTargetDeduplication(
+      ImmutableSet.of(
+          Measures.PRESENT_VALUE,
+          Measures.PV01_CALIBRATED_SUM,
+          Measures.PV01_CALIBRATED_BUCKETED,
+          Measures.PV01_MARKET_QUOTE_SUM,
+          Measures.PV01_MARKET_QUOTE_BUCKETED,
+          Measures.CURRENCY_EXPOSURE,
+          Measures.CURRENT_CASH,
+          Measures.ACCRUED_INTEREST),
+      ImmutableSet.of(
+          Measures.PAR_RATE,
+          Measures.PAR_SPREAD,
+          Measures.FORWARD_FX_RATE,
+          Measures.UNIT_PRICE));
+  /**
+   * The properties of a security trade or position that hold the quantity.
+   */
+  private static final ImmutableSet<String> QUANTITY_PROPERTIES =
+      ImmutableSet.of("quantity", "longQuantity", "shortQuantity");
+
+  /**
+   * The measures whose results are linear in the quantity.
+   * <p>
+   * The results of these measures are scaled by the ratio of the quantities.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableSet<Measure> linearMeasures;
+  /**
+   * The measures whose results do not depend on the quantity.
+   * <p>
+   * The results of these measures are reused unchanged.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableSet<Measure> invariantMeasures;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains the standard instance.
+   * <p>
+   * The linear measures are present value, PV01, currency exposure, current cash and accrued interest.
+   * The invariant measures are par rate, par spread, forward FX rate and unit price.
+   * <p>
+   * The results of one trade or position are reused for another with a different identifier, counterparty
+   * or attributes. This is only valid if the calculation functions ignore these properties of the
+   * {@link TradeInfo} or {@link PositionInfo}, as the standard functions do.
+   *
+   * @return the standard deduplication
+   */
+  public static StandardTargetDeduplication standard() {
+    return STANDARD;
+  }
+
+  /**
+   * Obtains an instance from the linear and invariant measures.
+   *
+   * @param linearMeasures  the measures whose results are linear in the quantity
+   * @param invariantMeasures  the measures whose results do not depend on the quantity
+   * @return the deduplication
+   */
+  public static StandardTargetDeduplication of(Set<Measure> linearMeasures, Set<Measure> invariantMeasures) {
+    return new StandardTargetDeduplication(linearMeasures, invariantMeasures);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Optional<Object> key(CalculationTarget target) {
+    if (!(target instanceof ImmutableBean) || !(target instanceof Trade || target instanceof Position)) {
+      return Optional.empty();
+    }
+    ImmutableBean bean = (ImmutableBean) target;
+    boolean security = target instanceof SecurityQuantity;
+    List<Object> key = new ArrayList<>();
+    key.add(target.getClass());
+    if (target instanceof Trade) {
+      TradeInfo info = ((Trade) target).getInfo();
+      key.add(info.getTradeDate());
+      key.add(info.getTradeTime());
+      key.add(info.getZone());
+      key.add(info.getSettlementDate());
+    }
+    for (MetaProperty<?> property : bean.metaBean().metaPropertyIterable()) {
+      String name = property.name();
+      if (!name.equals("info") && !(security && QUANTITY_PROPERTIES.contains(name))) {
+        key.add(property.get(bean));
+      }
+    }
+    return Optional.of(key);
+  }
+
+  @Override
+  public double quantity(CalculationTarget target) {
+    return target instanceof SecurityQuantity ? ((SecurityQuantity) target).getQuantity() : 1d;
+  }
+
+  @Override
+  public Optional<Object> scale(Measure measure, Object value, double factor) {
+    if (invariantMeasures.contains(measure) || (linearMeasures.contains(measure) && factor == 1d)) {
+      return Optional.of(value);
+    }
+    if (!linearMeasures.contains(measure)) {
+      return Optional.empty();
+    }
+    return scaleLinear(value, factor);
+  }
+
+  // scales a value linear in the quantity, empty if the type is not supported
+  static Optional<Object> scaleLinear(Object value, double factor) {
+    if (value instanceof CurrencyScenarioArray) {
+      CurrencyScenarioArray array = (CurrencyScenarioArray) value;
+      return Optional.of(
+          CurrencyScenarioArray.of(array.getCurrency(), array.getAmounts().getValues().multipliedBy(factor)));
+    }
+    if (value instanceof MultiCurrencyScenarioArray) {
+      MultiCurrencyScenarioArray array = (MultiCurrencyScenarioArray) value;
+      return Optional.of(
+          MultiCurrencyScenarioArray.of(array.getScenarioCount(), i -> array.get(i).multipliedBy(factor)));
+    }
+    if (value instanceof DoubleScenarioArray) {
+      return Optional.of(DoubleScenarioArray.of(((DoubleScenarioArray) value).getValues().multipliedBy(factor)));
+    }
+    if (value instanceof ScenarioArray) {
+      ScenarioArray<?> array = (ScenarioArray<?>) value;
+      List<Object> scaled = new ArrayList<>(array.getScenarioCount());
+      for (int i = 0; i < array.getScenarioCount(); i++) {
+        Optional<Object> scaledValue = scaleValue(array.get(i), factor);
+        if (!scaledValue.isPresent()) {
+          return Optional.empty();
+        }
+        scaled.add(scaledValue.get());
+      }
+      return Optional.of(ScenarioArray.of(scaled));
+    }
+    return scaleValue(value, factor);
+  }
+
+  // scales a single value, empty if the type is not supported
+  private static Optional<Object> scaleValue(Object value, double factor) {
+    if (value instanceof CurrencyAmount) {
+      return Optional.of(((CurrencyAmount) value).multipliedBy(factor));
+    }
+    if (value instanceof MultiCurrencyAmount) {
+      return Optional.of(((MultiCurrencyAmount) value).multipliedBy(factor));
+    }
+    if (value instanceof CurrencyParameterSensitivities) {
+      return Optional.of(((CurrencyParameterSensitivities) value).multipliedBy(factor));
+    }
+    if (value instanceof CurrencyParameterSensitivity) {
+      return Optional.of(((CurrencyParameterSensitivity) value).multipliedBy(factor));
+    }
+    if (value instanceof Double) {
+      return Optional.of((Double) value * factor);
+    }
+    return Optional.empty();
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code StandardTargetDeduplication}.
+   */
+  private static final MetaBean META_BEAN = LightMetaBean.of(StandardTargetDeduplication.class);
+
+  /**
+   * The meta-bean for {@code StandardTargetDeduplication}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private StandardTargetDeduplication(
+      Set<Measure> linearMeasures,
+      Set<Measure> invariantMeasures) {
+    JodaBeanUtils.notNull(linearMeasures, "linearMeasures");
+    JodaBeanUtils.notNull(invariantMeasures, "invariantMeasures");
+    this.linearMeasures = ImmutableSet.copyOf(linearMeasures);
+    this.invariantMeasures = ImmutableSet.copyOf(invariantMeasures);
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the measures whose results are linear in the quantity.
+   * <p>
+   * The results of these measures are scaled by the ratio of the quantities.
+   * @return the value of the property, not null
+   */
+  public ImmutableSet<Measure> getLinearMeasures() {
+    return linearMeasures;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the measures whose results do not depend on the quantity.
+   * <p>
+   * The results of these measures are reused unchanged.
+   * @return the value of the property, not null
+   */
+  public ImmutableSet<Measure> getInvariantMeasures() {
+    return invariantMeasures;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      StandardTargetDeduplication other = (StandardTargetDeduplication) obj;
+      return JodaBeanUtils.equal(linearMeasures, other.linearMeasures) &&
+          JodaBeanUtils.equal(invariantMeasures, other.invariantMeasures);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(linearMeasures);
+    hash = hash * 31 + JodaBeanUtils.hashCode(invariantMeasures);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("StandardTargetDeduplication{");
+    buf.append("linearMeasures").append('=').append(JodaBeanUtils.toString(linearMeasures)).append(',').append(' ');
+    buf.append("invariantMeasures").append('=').append(JodaBeanUtils.toString(invariantMeasures));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
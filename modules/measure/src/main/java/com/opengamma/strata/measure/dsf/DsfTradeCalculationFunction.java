@@ -26,6 +26,7 @@ import com.opengamma.strata.data.MarketDataId;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.calc.SecurityCalculationCache;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.product.dsf.Dsf;
@@ -37,6 +38,8 @@ import com.opengamma.strata.product.dsf.ResolvedDsfTrade;
  * <p>
  * This uses the standard discounting calculation method.
  * An instance of {@link RatesMarketDataLookup} must be specified.
+ * If a {@link SecurityCalculationCache} is specified, the unit price and PV01 measures of each
+ * deliverable swap future are shared between the trades in that future.
  * The supported built-in measures are:
  * <ul>
  *   <li>{@linkplain Measures#PRESENT_VALUE Present value}
@@ -79,6 +82,18 @@ public class DsfTradeCalculationFunction
           .build();
 
   private static final ImmutableSet<Measure> MEASURES = CALCULATORS.keySet();
+  /**
+   * The measures that only depend on the security, shared between trades if a cache is present.
+   */
+  private static final ImmutableSet<Measure> UNIT_MEASURES = ImmutableSet.of(Measures.UNIT_PRICE);
+  /**
+   * The measures that are linear in the quantity, shared between trades if a cache is present.
+   */
+  private static final ImmutableSet<Measure> QUANTITY_MEASURES = ImmutableSet.of(
+      Measures.PV01_CALIBRATED_SUM,
+      Measures.PV01_CALIBRATED_BUCKETED,
+      Measures.PV01_MARKET_QUOTE_SUM,
+      Measures.PV01_MARKET_QUOTE_BUCKETED);
 
   /**
    * Creates an instance.
@@ -148,13 +163,40 @@ public class DsfTradeCalculationFunction
     RatesScenarioMarketData marketData = ratesLookup.marketDataView(scenarioMarketData);
 
     // loop around measures, calculating all scenarios for one measure
+    Optional<SecurityCalculationCache> cache = SecurityCalculationCache.find(parameters);
     Map<Measure, Result<?>> results = new HashMap<>();
     for (Measure measure : measures) {
-      results.put(measure, calculate(measure, resolved, marketData));
+      results.put(measure, cache.isPresent() ?
+          calculate(measure, resolved, marketData, cache.get(), parameters, refData) :
+          calculate(measure, resolved, marketData));
     }
     return results;
   }
 
+  // calculate one measure, sharing the security-level results using the cache
+  private Result<?> calculate(
+      Measure measure,
+      ResolvedDsfTrade trade,
+      RatesScenarioMarketData marketData,
+      SecurityCalculationCache cache,
+      CalculationParameters parameters,
+      ReferenceData refData) {
+
+    SingleMeasureCalculation calculator = CALCULATORS.get(measure);
+    if (calculator == null) {
+      return calculate(measure, trade, marketData);
+    }
+    return Result.of(() -> cache.value(
+        trade.getProduct().getSecurityId(), measure, parameters, marketData.getMarketData(), refData,
+        UNIT_MEASURES, QUANTITY_MEASURES, trade.getQuantity(),
+        quantity -> calculator.calculate(withQuantity(trade, quantity), marketData)));
+  }
+
+  // the trade with the specified quantity
+  private static ResolvedDsfTrade withQuantity(ResolvedDsfTrade trade, double quantity) {
+    return quantity == trade.getQuantity() ? trade : trade.toBuilder().quantity(quantity).build();
+  }
+
   // calculate one measure
   private Result<?> calculate(
       Measure measure,
@@ -27,6 +27,7 @@ import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.explain.ExplainDetail;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.param.CrossGammaParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
@@ -69,6 +70,10 @@ final class FraMeasureCalculations {
    * Pricer for {@link ResolvedFraTrade}.
    */
   private final DiscountingFraTradePricer tradePricer;
+  /**
+   * The level of detail of the explain measures.
+   */
+  private final ExplainDetail explainDetail;
 
   /**
    * Creates an instance.
@@ -77,7 +82,25 @@ final class FraMeasureCalculations {
    */
   FraMeasureCalculations(
       DiscountingFraTradePricer tradePricer) {
+    this(tradePricer, ExplainDetail.FULL);
+  }
+
+  /**
+   * Creates an instance.
+   * 
+   * @param tradePricer  the pricer for {@link ResolvedFraTrade}
+   * @param explainDetail  the level of detail of the explain measures
+   */
+  FraMeasureCalculations(
+      DiscountingFraTradePricer tradePricer,
+      ExplainDetail explainDetail) {
     this.tradePricer = ArgChecker.notNull(tradePricer, "tradePricer");
+    this.explainDetail = ArgChecker.notNull(explainDetail, "explainDetail");
+  }
+
+  // returns an instance with the specified level of detail of the explain measures
+  FraMeasureCalculations withExplainDetail(ExplainDetail explainDetail) {
+    return this.explainDetail == explainDetail ? this : new FraMeasureCalculations(tradePricer, explainDetail);
   }
 
   //-------------------------------------------------------------------------
@@ -115,7 +138,7 @@ final class FraMeasureCalculations {
       ResolvedFraTrade trade,
       RatesProvider ratesProvider) {
 
-    return tradePricer.explainPresentValue(trade, ratesProvider);
+    return tradePricer.explainPresentValue(trade, ratesProvider, explainDetail);
   }
 
   //-------------------------------------------------------------------------
@@ -25,6 +25,7 @@ import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.measure.AdvancedMeasures;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.calc.ExplainDetailCalculationParameter;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.product.fra.Fra;
@@ -53,6 +54,8 @@ import com.opengamma.strata.product.fra.ResolvedFraTrade;
  *   <li>{@linkplain AdvancedMeasures#PV01_SEMI_PARALLEL_GAMMA_BUCKETED PV01 semi-parallel gamma bucketed}
  *   <li>{@linkplain AdvancedMeasures#PV01_SINGLE_NODE_GAMMA_BUCKETED PV01 single node gamma bucketed}
  * </ul>
+ * <p>
+ * The level of detail of the explain present value can be controlled using {@link ExplainDetailCalculationParameter}.
  */
 public class FraTradeCalculationFunction
     implements CalculationFunction<FraTrade> {
@@ -62,20 +65,20 @@ public class FraTradeCalculationFunction
    */
   private static final ImmutableMap<Measure, SingleMeasureCalculation> CALCULATORS =
       ImmutableMap.<Measure, SingleMeasureCalculation>builder()
-          .put(Measures.PRESENT_VALUE, FraMeasureCalculations.DEFAULT::presentValue)
-          .put(Measures.EXPLAIN_PRESENT_VALUE, FraMeasureCalculations.DEFAULT::explainPresentValue)
-          .put(Measures.PV01_CALIBRATED_SUM, FraMeasureCalculations.DEFAULT::pv01CalibratedSum)
-          .put(Measures.PV01_CALIBRATED_BUCKETED, FraMeasureCalculations.DEFAULT::pv01CalibratedBucketed)
-          .put(Measures.PV01_MARKET_QUOTE_SUM, FraMeasureCalculations.DEFAULT::pv01MarketQuoteSum)
-          .put(Measures.PV01_MARKET_QUOTE_BUCKETED, FraMeasureCalculations.DEFAULT::pv01MarketQuoteBucketed)
-          .put(Measures.PAR_RATE, FraMeasureCalculations.DEFAULT::parRate)
-          .put(Measures.PAR_SPREAD, FraMeasureCalculations.DEFAULT::parSpread)
-          .put(Measures.CASH_FLOWS, FraMeasureCalculations.DEFAULT::cashFlows)
-          .put(Measures.CURRENCY_EXPOSURE, FraMeasureCalculations.DEFAULT::currencyExposure)
-          .put(Measures.CURRENT_CASH, FraMeasureCalculations.DEFAULT::currentCash)
-          .put(Measures.RESOLVED_TARGET, (rt, smd) -> rt)
-          .put(AdvancedMeasures.PV01_SEMI_PARALLEL_GAMMA_BUCKETED, FraMeasureCalculations.DEFAULT::pv01SemiParallelGammaBucketed)
-          .put(AdvancedMeasures.PV01_SINGLE_NODE_GAMMA_BUCKETED, FraMeasureCalculations.DEFAULT::pv01SingleNodeGammaBucketed)
+          .put(Measures.PRESENT_VALUE, FraMeasureCalculations::presentValue)
+          .put(Measures.EXPLAIN_PRESENT_VALUE, FraMeasureCalculations::explainPresentValue)
+          .put(Measures.PV01_CALIBRATED_SUM, FraMeasureCalculations::pv01CalibratedSum)
+          .put(Measures.PV01_CALIBRATED_BUCKETED, FraMeasureCalculations::pv01CalibratedBucketed)
+          .put(Measures.PV01_MARKET_QUOTE_SUM, FraMeasureCalculations::pv01MarketQuoteSum)
+          .put(Measures.PV01_MARKET_QUOTE_BUCKETED, FraMeasureCalculations::pv01MarketQuoteBucketed)
+          .put(Measures.PAR_RATE, FraMeasureCalculations::parRate)
+          .put(Measures.PAR_SPREAD, FraMeasureCalculations::parSpread)
+          .put(Measures.CASH_FLOWS, FraMeasureCalculations::cashFlows)
+          .put(Measures.CURRENCY_EXPOSURE, FraMeasureCalculations::currencyExposure)
+          .put(Measures.CURRENT_CASH, FraMeasureCalculations::currentCash)
+          .put(Measures.RESOLVED_TARGET, (c, rt, smd) -> rt)
+          .put(AdvancedMeasures.PV01_SEMI_PARALLEL_GAMMA_BUCKETED, FraMeasureCalculations::pv01SemiParallelGammaBucketed)
+          .put(AdvancedMeasures.PV01_SINGLE_NODE_GAMMA_BUCKETED, FraMeasureCalculations::pv01SingleNodeGammaBucketed)
           .build();
 
   private static final ImmutableSet<Measure> MEASURES = CALCULATORS.keySet();
@@ -142,11 +145,13 @@ public class FraTradeCalculationFunction
     // use lookup to query market data
     RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
     RatesScenarioMarketData marketData = ratesLookup.marketDataView(scenarioMarketData);
+    FraMeasureCalculations calculations =
+        FraMeasureCalculations.DEFAULT.withExplainDetail(ExplainDetailCalculationParameter.detail(parameters));
 
     // loop around measures, calculating all scenarios for one measure
     Map<Measure, Result<?>> results = new HashMap<>();
     for (Measure measure : measures) {
-      results.put(measure, calculate(measure, resolved, marketData));
+      results.put(measure, calculate(measure, resolved, calculations, marketData));
     }
     return results;
   }
@@ -155,19 +160,21 @@ public class FraTradeCalculationFunction
   private Result<?> calculate(
       Measure measure,
       ResolvedFraTrade trade,
+      FraMeasureCalculations calculations,
       RatesScenarioMarketData marketData) {
 
     SingleMeasureCalculation calculator = CALCULATORS.get(measure);
     if (calculator == null) {
       return Result.failure(FailureReason.UNSUPPORTED, "Unsupported measure for FraTrade: {}", measure);
     }
-    return Result.of(() -> calculator.calculate(trade, marketData));
+    return Result.of(() -> calculator.calculate(calculations, trade, marketData));
   }
 
   //-------------------------------------------------------------------------
   @FunctionalInterface
   interface SingleMeasureCalculation {
     public abstract Object calculate(
+        FraMeasureCalculations calculations,
         ResolvedFraTrade trade,
         RatesScenarioMarketData marketData);
   }
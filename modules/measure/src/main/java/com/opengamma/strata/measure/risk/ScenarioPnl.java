@@ -0,0 +1,333 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.risk;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableValidator;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaBean;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.light.LightMetaBean;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSortedMap;
+import com.google.common.collect.Ordering;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.math.impl.statistics.descriptive.IndexAboveQuantileMethod;
+import com.opengamma.strata.math.impl.statistics.descriptive.QuantileCalculationMethod;
+
+/**
+ * The aggregated scenario P&L of each node of a portfolio hierarchy.
+ * <p>
+ * Each node is identified by its path from the root of the hierarchy, such as {@code [Rates, Book1]}.
+ * The root node, identified by the empty path, contains the P&L of the whole portfolio.
+ * The P&L of a node is the sum of the P&L of the targets below it, one value per scenario,
+ * expressed in a single reporting currency.
+ * <p>
+ * Value at risk and expected shortfall are computed from the P&L of a node.
+ * Losses are positive, thus the value at risk at 99% confidence is the negated 1% quantile of the P&L.
+ * The quantile is computed by selection, without sorting the whole P&L vector.
+ * <p>
+ * Instances are created by {@link ScenarioPnlListener}.
+ */
+@BeanDefinition(style = "light")
+public final class ScenarioPnl
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The default method used to estimate quantiles and expected shortfalls.
+   */
+  private static final QuantileCalculationMethod DEFAULT_METHOD = IndexAboveQuantileMethod.DEFAULT;
+  /**
+   * The order of the nodes, parents before children.
+   */
+  private static final Comparator<Iterable<String>> PATH_ORDER = Ordering.<String>natural().lexicographical();
+
+  /**
+   * The reporting currency of the P&L.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Currency currency;
+  /**
+   * The number of scenarios.
+   */
+  @PropertyDefinition(validate = "ArgChecker.notNegative")
+  private final int scenarioCount;
+  /**
+   * The P&L of each node, one value per scenario, keyed by path.
+   * <p>
+   * The empty path of the root node is present if any target was aggregated.
+   * When created using {@link #of(Currency, int, Map, Map)}, parents are ordered before children.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<ImmutableList<String>, DoubleArray> nodes;
+  /**
+   * The failures of the targets that are not included in the P&L, keyed by row index.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ImmutableMap<Integer, Failure> failures;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the P&L of each node.
+   *
+   * @param currency  the reporting currency
+   * @param scenarioCount  the number of scenarios
+   * @param nodes  the P&L of each node, keyed by path
+   * @param failures  the failures of the targets that are not included, keyed by row index
+   * @return the aggregated P&L
+   */
+  public static ScenarioPnl of(
+      Currency currency,
+      int scenarioCount,
+      Map<? extends List<String>, DoubleArray> nodes,
+      Map<Integer, Failure> failures) {
+
+    ArgChecker.notNull(nodes, "nodes");
+    ImmutableSortedMap.Builder<ImmutableList<String>, DoubleArray> sorted =
+        new ImmutableSortedMap.Builder<>(PATH_ORDER);
+    for (Map.Entry<? extends List<String>, DoubleArray> entry : nodes.entrySet()) {
+      sorted.put(ImmutableList.copyOf(entry.getKey()), entry.getValue());
+    }
+    return new ScenarioPnl(currency, scenarioCount, sorted.build(), failures);
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    for (Map.Entry<ImmutableList<String>, DoubleArray> entry : nodes.entrySet()) {
+      if (entry.getValue().size() != scenarioCount) {
+        throw new IllegalArgumentException(Messages.format(
+            "Node {} has {} scenarios but expected {}", entry.getKey(), entry.getValue().size(), scenarioCount));
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the P&L of a node, one value per scenario.
+   *
+   * @param node  the path of the node, empty for the root node
+   * @return the P&L of the node
+   * @throws IllegalArgumentException if the node is not found
+   */
+  public DoubleArray getPnl(List<String> node) {
+    DoubleArray pnl = nodes.get(node);
+    if (pnl == null) {
+      throw new IllegalArgumentException("Node not found: " + node);
+    }
+    return pnl;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the value at risk of a node at the specified confidence level.
+   * <p>
+   * The value at risk is computed using {@link IndexAboveQuantileMethod}.
+   *
+   * @param node  the path of the node, empty for the root node
+   * @param confidence  the confidence level, such as 0.99
+   * @return the value at risk, positive for a loss
+   * @throws IllegalArgumentException if the node is not found
+   */
+  public double valueAtRisk(List<String> node, double confidence) {
+    return valueAtRisk(node, confidence, DEFAULT_METHOD);
+  }
+
+  /**
+   * Computes the value at risk of a node at the specified confidence level.
+   *
+   * @param node  the path of the node, empty for the root node
+   * @param confidence  the confidence level, such as 0.99
+   * @param method  the method used to estimate the quantile
+   * @return the value at risk, positive for a loss
+   * @throws IllegalArgumentException if the node is not found
+   */
+  public double valueAtRisk(List<String> node, double confidence, QuantileCalculationMethod method) {
+    return -method.quantileWithExtrapolationFromUnsorted(tailLevel(confidence), getPnl(node));
+  }
+
+  /**
+   * Computes the expected shortfall of a node at the specified confidence level.
+   * <p>
+   * The expected shortfall is computed using {@link IndexAboveQuantileMethod}.
+   *
+   * @param node  the path of the node, empty for the root node
+   * @param confidence  the confidence level, such as 0.975
+   * @return the expected shortfall, positive for a loss
+   * @throws IllegalArgumentException if the node is not found
+   */
+  public double expectedShortfall(List<String> node, double confidence) {
+    return expectedShortfall(node, confidence, DEFAULT_METHOD);
+  }
+
+  /**
+   * Computes the expected shortfall of a node at the specified confidence level.
+   *
+   * @param node  the path of the node, empty for the root node
+   * @param confidence  the confidence level, such as 0.975
+   * @param method  the method used to estimate the expected shortfall
+   * @return the expected shortfall, positive for a loss
+   * @throws IllegalArgumentException if the node is not found
+   */
+  public double expectedShortfall(List<String> node, double confidence, QuantileCalculationMethod method) {
+    return -method.expectedShortfallFromUnsorted(tailLevel(confidence), getPnl(node));
+  }
+
+  // the quantile level of the loss tail, subtracted in decimal such that 1 - 0.99 is exactly 0.01
+  private static double tailLevel(double confidence) {
+    ArgChecker.inRangeExclusive(confidence, 0d, 1d, "confidence");
+    return BigDecimal.ONE.subtract(BigDecimal.valueOf(confidence)).doubleValue();
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code ScenarioPnl}.
+   */
+  private static final MetaBean META_BEAN = LightMetaBean.of(ScenarioPnl.class);
+
+  /**
+   * The meta-bean for {@code ScenarioPnl}.
+   * @return the meta-bean, not null
+   */
+  public static MetaBean meta() {
+    return META_BEAN;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(META_BEAN);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private ScenarioPnl(
+      Currency currency,
+      int scenarioCount,
+      Map<ImmutableList<String>, DoubleArray> nodes,
+      Map<Integer, Failure> failures) {
+    JodaBeanUtils.notNull(currency, "currency");
+    ArgChecker.notNegative(scenarioCount, "scenarioCount");
+    JodaBeanUtils.notNull(nodes, "nodes");
+    JodaBeanUtils.notNull(failures, "failures");
+    this.currency = currency;
+    this.scenarioCount = scenarioCount;
+    this.nodes = ImmutableMap.copyOf(nodes);
+    this.failures = ImmutableMap.copyOf(failures);
+    validate();
+  }
+
+  @Override
+  public MetaBean metaBean() {
+    return META_BEAN;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the reporting currency of the P&L.
+   * @return the value of the property, not null
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the number of scenarios.
+   * @return the value of the property
+   */
+  public int getScenarioCount() {
+    return scenarioCount;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the P&L of each node, one value per scenario, keyed by path.
+   * <p>
+   * The empty path of the root node is present if any target was aggregated.
+   * When created using {@link #of(Currency, int, Map, Map)}, parents are ordered before children.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<ImmutableList<String>, DoubleArray> getNodes() {
+    return nodes;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the failures of the targets that are not included in the P&L, keyed by row index.
+   * @return the value of the property, not null
+   */
+  public ImmutableMap<Integer, Failure> getFailures() {
+    return failures;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      ScenarioPnl other = (ScenarioPnl) obj;
+      return JodaBeanUtils.equal(currency, other.currency) &&
+          (scenarioCount == other.scenarioCount) &&
+          JodaBeanUtils.equal(nodes, other.nodes) &&
+          JodaBeanUtils.equal(failures, other.failures);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(currency);
+    hash = hash * 31 + JodaBeanUtils.hashCode(scenarioCount);
+    hash = hash * 31 + JodaBeanUtils.hashCode(nodes);
+    hash = hash * 31 + JodaBeanUtils.hashCode(failures);
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(160);
+    buf.append("ScenarioPnl{");
+    buf.append("currency").append('=').append(JodaBeanUtils.toString(currency)).append(',').append(' ');
+    buf.append("scenarioCount").append('=').append(JodaBeanUtils.toString(scenarioCount)).append(',').append(' ');
+    buf.append("nodes").append('=').append(JodaBeanUtils.toString(nodes)).append(',').append(' ');
+    buf.append("failures").append('=').append(JodaBeanUtils.toString(failures));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
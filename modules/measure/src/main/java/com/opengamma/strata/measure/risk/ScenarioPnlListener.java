@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.risk;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.runner.AggregatingCalculationListener;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxConvertible;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+
+/**
+ * Calculation listener that aggregates the scenario P&L of each node of a portfolio hierarchy.
+ * <p>
+ * The results of one column are converted to the reporting currency and added to the P&L of
+ * each node above the target as they arrive. The results of the individual targets are not retained,
+ * thus the memory used is proportional to the number of nodes, not the number of targets.
+ * <p>
+ * The column must produce P&L, one value per scenario, such as {@code MultiCurrencyScenarioArray}
+ * or {@code CurrencyScenarioArray}. Any value that can be converted to a {@link CurrencyScenarioArray}
+ * is accepted. Failures and other values are recorded as failures and excluded from the P&L.
+ * <p>
+ * The hierarchy function returns the path of the node containing each target, from the top of the hierarchy
+ * down, such as {@code [Rates, Book1]}. The P&L is added to every node on the path, and to the root node.
+ * The aggregate result provides value at risk and expected shortfall for each node.
+ */
+public final class ScenarioPnlListener extends AggregatingCalculationListener<ScenarioPnl> {
+
+  /** The index of the column to aggregate. */
+  private final int columnIndex;
+  /** The reporting currency. */
+  private final Currency reportingCurrency;
+  /** The FX rates used to convert to the reporting currency. */
+  private final ScenarioFxRateProvider fxRateProvider;
+  /** The function providing the path of the node of each target. */
+  private final Function<? super CalculationTarget, ? extends List<String>> hierarchy;
+  /** The accumulated P&L of each node, keyed by path. */
+  private final Map<List<String>, double[]> nodes = new LinkedHashMap<>();
+  /** The accumulators of each node on a path, keyed by path. */
+  private final Map<List<String>, List<double[]>> accumulators = new HashMap<>();
+  /** The failures, keyed by row index. */
+  private final Map<Integer, Failure> failures = new HashMap<>();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param columnIndex  the index of the column to aggregate
+   * @param reportingCurrency  the reporting currency
+   * @param fxRateProvider  the FX rates used to convert to the reporting currency, one set per scenario
+   * @param hierarchy  the function providing the path of the node of each target
+   */
+  public ScenarioPnlListener(
+      int columnIndex,
+      Currency reportingCurrency,
+      ScenarioFxRateProvider fxRateProvider,
+      Function<? super CalculationTarget, ? extends List<String>> hierarchy) {
+
+    this.columnIndex = ArgChecker.notNegative(columnIndex, "columnIndex");
+    this.reportingCurrency = ArgChecker.notNull(reportingCurrency, "reportingCurrency");
+    this.fxRateProvider = ArgChecker.notNull(fxRateProvider, "fxRateProvider");
+    this.hierarchy = ArgChecker.notNull(hierarchy, "hierarchy");
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    ArgChecker.inRange(columnIndex, 0, columns.size(), "columnIndex");
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult calculationResult) {
+    if (calculationResult.getColumnIndex() != columnIndex) {
+      return;
+    }
+    int rowIndex = calculationResult.getRowIndex();
+    Result<?> result = calculationResult.getResult();
+    if (result.isFailure()) {
+      failures.put(rowIndex, result.getFailure());
+      return;
+    }
+    try {
+      DoubleArray pnl = convert(result.getValue());
+      for (double[] accumulator : accumulators(target)) {
+        for (int i = 0; i < accumulator.length; i++) {
+          accumulator[i] += pnl.get(i);
+        }
+      }
+    } catch (RuntimeException ex) {
+      failures.put(rowIndex, Failure.of(FailureReason.INVALID, ex));
+    }
+  }
+
+  @Override
+  protected ScenarioPnl createAggregateResult() {
+    Map<List<String>, DoubleArray> pnl = new LinkedHashMap<>();
+    nodes.forEach((path, values) -> pnl.put(path, DoubleArray.ofUnsafe(values)));
+    return ScenarioPnl.of(reportingCurrency, fxRateProvider.getScenarioCount(), pnl, failures);
+  }
+
+  //-------------------------------------------------------------------------
+  // converts the value to the reporting currency
+  private DoubleArray convert(Object value) {
+    Object converted = value instanceof ScenarioFxConvertible ?
+        ((ScenarioFxConvertible<?>) value).convertedTo(reportingCurrency, fxRateProvider) :
+        value;
+    if (!(converted instanceof CurrencyScenarioArray)) {
+      throw new IllegalArgumentException(
+          "Unable to aggregate value of type '" + value.getClass().getSimpleName() + "' as scenario P&L");
+    }
+    DoubleArray values = ((CurrencyScenarioArray) converted).getAmounts().getValues();
+    ArgChecker.isTrue(
+        values.size() == fxRateProvider.getScenarioCount(),
+        "Expected {} scenarios but found {}",
+        fxRateProvider.getScenarioCount(),
+        values.size());
+    return values;
+  }
+
+  // finds the accumulators of each node on the path of the target, including the root node
+  private List<double[]> accumulators(CalculationTarget target) {
+    List<String> path = ImmutableList.copyOf(hierarchy.apply(target));
+    List<double[]> found = accumulators.get(path);
+    if (found == null) {
+      found = new ArrayList<>(path.size() + 1);
+      for (int i = 0; i <= path.size(); i++) {
+        found.add(nodes.computeIfAbsent(path.subList(0, i), p -> new double[fxRateProvider.getScenarioCount()]));
+      }
+      accumulators.put(path, found);
+    }
+    return found;
+  }
+
+}
@@ -0,0 +1,10 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * Aggregation of multi-scenario results into portfolio risk statistics.
+ */
+package com.opengamma.strata.measure.risk;
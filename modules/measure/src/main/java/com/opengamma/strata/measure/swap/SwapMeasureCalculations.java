@@ -35,6 +35,7 @@ import com.opengamma.strata.market.amount.LegAmounts;
 import com.opengamma.strata.market.amount.SwapLegAmount;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveId;
+import com.opengamma.strata.market.explain.ExplainDetail;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.param.CrossGammaParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
@@ -85,6 +86,10 @@ final class SwapMeasureCalculations {
    * Pricer for {@link ResolvedSwapTrade}.
    */
   private final DiscountingSwapTradePricer tradePricer;
+  /**
+   * The level of detail of the explain measures.
+   */
+  private final ExplainDetail explainDetail;
 
   /**
    * Creates an instance.
@@ -93,7 +98,25 @@ final class SwapMeasureCalculations {
    */
   SwapMeasureCalculations(
       DiscountingSwapTradePricer tradePricer) {
+    this(tradePricer, ExplainDetail.FULL);
+  }
+
+  /**
+   * Creates an instance.
+   * 
+   * @param tradePricer  the pricer for {@link ResolvedSwapTrade}
+   * @param explainDetail  the level of detail of the explain measures
+   */
+  SwapMeasureCalculations(
+      DiscountingSwapTradePricer tradePricer,
+      ExplainDetail explainDetail) {
     this.tradePricer = ArgChecker.notNull(tradePricer, "tradePricer");
+    this.explainDetail = ArgChecker.notNull(explainDetail, "explainDetail");
+  }
+
+  // returns an instance with the specified level of detail of the explain measures
+  SwapMeasureCalculations withExplainDetail(ExplainDetail explainDetail) {
+    return this.explainDetail == explainDetail ? this : new SwapMeasureCalculations(tradePricer, explainDetail);
   }
 
   //-------------------------------------------------------------------------
@@ -131,7 +154,7 @@ final class SwapMeasureCalculations {
       ResolvedSwapTrade trade,
       RatesProvider ratesProvider) {
 
-    return tradePricer.explainPresentValue(trade, ratesProvider);
+    return tradePricer.explainPresentValue(trade, ratesProvider, explainDetail);
   }
 
   //-------------------------------------------------------------------------
@@ -23,6 +23,7 @@ import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.measure.AdvancedMeasures;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.calc.ExplainDetailCalculationParameter;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.measure.rate.RatesScenarioMarketData;
 import com.opengamma.strata.product.swap.ResolvedSwapTrade;
@@ -55,6 +56,8 @@ import com.opengamma.strata.product.swap.SwapTrade;
  *   <li>{@linkplain AdvancedMeasures#PV01_SINGLE_NODE_GAMMA_BUCKETED PV01 single node gamma bucketed}
  * </ul>
  * <p>
+ * The level of detail of the explain present value can be controlled using {@link ExplainDetailCalculationParameter}.
+ * <p>
  * The "natural" currency is the currency of the swaption, which is limited to be single-currency.
  */
 public class SwapTradeCalculationFunction
@@ -65,23 +68,23 @@ public class SwapTradeCalculationFunction
    */
   private static final ImmutableMap<Measure, SingleMeasureCalculation> CALCULATORS =
       ImmutableMap.<Measure, SingleMeasureCalculation>builder()
-          .put(Measures.PRESENT_VALUE, SwapMeasureCalculations.DEFAULT::presentValue)
-          .put(Measures.EXPLAIN_PRESENT_VALUE, SwapMeasureCalculations.DEFAULT::explainPresentValue)
-          .put(Measures.PV01_CALIBRATED_SUM, SwapMeasureCalculations.DEFAULT::pv01CalibratedSum)
-          .put(Measures.PV01_CALIBRATED_BUCKETED, SwapMeasureCalculations.DEFAULT::pv01CalibratedBucketed)
-          .put(Measures.PV01_MARKET_QUOTE_SUM, SwapMeasureCalculations.DEFAULT::pv01MarketQuoteSum)
-          .put(Measures.PV01_MARKET_QUOTE_BUCKETED, SwapMeasureCalculations.DEFAULT::pv01MarketQuoteBucketed)
-          .put(Measures.PAR_RATE, SwapMeasureCalculations.DEFAULT::parRate)
-          .put(Measures.PAR_SPREAD, SwapMeasureCalculations.DEFAULT::parSpread)
-          .put(Measures.CASH_FLOWS, SwapMeasureCalculations.DEFAULT::cashFlows)
-          .put(Measures.ACCRUED_INTEREST, SwapMeasureCalculations.DEFAULT::accruedInterest)
-          .put(Measures.LEG_INITIAL_NOTIONAL, SwapMeasureCalculations.DEFAULT::legInitialNotional)
-          .put(Measures.LEG_PRESENT_VALUE, SwapMeasureCalculations.DEFAULT::legPresentValue)
-          .put(Measures.CURRENCY_EXPOSURE, SwapMeasureCalculations.DEFAULT::currencyExposure)
-          .put(Measures.CURRENT_CASH, SwapMeasureCalculations.DEFAULT::currentCash)
-          .put(Measures.RESOLVED_TARGET, (rt, smd) -> rt)
-          .put(AdvancedMeasures.PV01_SEMI_PARALLEL_GAMMA_BUCKETED, SwapMeasureCalculations.DEFAULT::pv01SemiParallelGammaBucketed)
-          .put(AdvancedMeasures.PV01_SINGLE_NODE_GAMMA_BUCKETED, SwapMeasureCalculations.DEFAULT::pv01SingleNodeGammaBucketed)
+          .put(Measures.PRESENT_VALUE, SwapMeasureCalculations::presentValue)
+          .put(Measures.EXPLAIN_PRESENT_VALUE, SwapMeasureCalculations::explainPresentValue)
+          .put(Measures.PV01_CALIBRATED_SUM, SwapMeasureCalculations::pv01CalibratedSum)
+          .put(Measures.PV01_CALIBRATED_BUCKETED, SwapMeasureCalculations::pv01CalibratedBucketed)
+          .put(Measures.PV01_MARKET_QUOTE_SUM, SwapMeasureCalculations::pv01MarketQuoteSum)
+          .put(Measures.PV01_MARKET_QUOTE_BUCKETED, SwapMeasureCalculations::pv01MarketQuoteBucketed)
+          .put(Measures.PAR_RATE, SwapMeasureCalculations::parRate)
+          .put(Measures.PAR_SPREAD, SwapMeasureCalculations::parSpread)
+          .put(Measures.CASH_FLOWS, SwapMeasureCalculations::cashFlows)
+          .put(Measures.ACCRUED_INTEREST, SwapMeasureCalculations::accruedInterest)
+          .put(Measures.LEG_INITIAL_NOTIONAL, SwapMeasureCalculations::legInitialNotional)
+          .put(Measures.LEG_PRESENT_VALUE, SwapMeasureCalculations::legPresentValue)
+          .put(Measures.CURRENCY_EXPOSURE, SwapMeasureCalculations::currencyExposure)
+          .put(Measures.CURRENT_CASH, SwapMeasureCalculations::currentCash)
+          .put(Measures.RESOLVED_TARGET, (c, rt, smd) -> rt)
+          .put(AdvancedMeasures.PV01_SEMI_PARALLEL_GAMMA_BUCKETED, SwapMeasureCalculations::pv01SemiParallelGammaBucketed)
+          .put(AdvancedMeasures.PV01_SINGLE_NODE_GAMMA_BUCKETED, SwapMeasureCalculations::pv01SingleNodeGammaBucketed)
           .build();
 
   private static final ImmutableSet<Measure> MEASURES = CALCULATORS.keySet();
@@ -145,11 +148,13 @@ public class SwapTradeCalculationFunction
     // use lookup to query market data
     RatesMarketDataLookup ratesLookup = parameters.getParameter(RatesMarketDataLookup.class);
     RatesScenarioMarketData marketData = ratesLookup.marketDataView(scenarioMarketData);
+    SwapMeasureCalculations calculations =
+        SwapMeasureCalculations.DEFAULT.withExplainDetail(ExplainDetailCalculationParameter.detail(parameters));
 
     // loop around measures, calculating all scenarios for one measure
     Map<Measure, Result<?>> results = new HashMap<>();
     for (Measure measure : measures) {
-      results.put(measure, calculate(measure, resolved, marketData));
+      results.put(measure, calculate(measure, resolved, calculations, marketData));
     }
     return results;
   }
@@ -158,19 +163,21 @@ public class SwapTradeCalculationFunction
   private Result<?> calculate(
       Measure measure,
       ResolvedSwapTrade trade,
+      SwapMeasureCalculations calculations,
       RatesScenarioMarketData marketData) {
 
     SingleMeasureCalculation calculator = CALCULATORS.get(measure);
     if (calculator == null) {
       return Result.failure(FailureReason.UNSUPPORTED, "Unsupported measure for SwapTrade: {}", measure);
     }
-    return Result.of(() -> calculator.calculate(trade, marketData));
+    return Result.of(() -> calculator.calculate(calculations, trade, marketData));
   }
 
   //-------------------------------------------------------------------------
   @FunctionalInterface
   interface SingleMeasureCalculation {
     public abstract Object calculate(
+        SwapMeasureCalculations calculations,
         ResolvedSwapTrade trade,
         RatesScenarioMarketData marketData);
   }
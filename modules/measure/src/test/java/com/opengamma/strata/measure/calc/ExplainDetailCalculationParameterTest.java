@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.testng.Assert.assertEquals;
+
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.calc.TestingMeasures;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.calc.runner.TestParameter;
+import com.opengamma.strata.market.explain.ExplainDetail;
+
+/**
+ * Test {@link ExplainDetailCalculationParameter}.
+ */
+@Test
+public class ExplainDetailCalculationParameterTest {
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    ExplainDetailCalculationParameter test = ExplainDetailCalculationParameter.of(ExplainDetail.LEG);
+    assertEquals(test.getDetail(), ExplainDetail.LEG);
+    assertEquals(test.queryType(), ExplainDetailCalculationParameter.class);
+    assertEquals(test.filter(new CalculationTarget() {}, TestingMeasures.PRESENT_VALUE), Optional.of(test));
+    assertThrowsIllegalArg(() -> ExplainDetailCalculationParameter.of(null));
+  }
+
+  public void test_detail() {
+    assertEquals(ExplainDetailCalculationParameter.detail(CalculationParameters.empty()), ExplainDetail.FULL);
+    assertEquals(
+        ExplainDetailCalculationParameter.detail(CalculationParameters.of(new TestParameter())), ExplainDetail.FULL);
+    assertEquals(
+        ExplainDetailCalculationParameter.detail(
+            CalculationParameters.of(ExplainDetailCalculationParameter.of(ExplainDetail.TRADE))),
+        ExplainDetail.TRADE);
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    ExplainDetailCalculationParameter test = ExplainDetailCalculationParameter.of(ExplainDetail.TRADE);
+    coverImmutableBean(test);
+    ExplainDetailCalculationParameter test2 = ExplainDetailCalculationParameter.of(ExplainDetail.FULL);
+    coverBeanEquals(test, test2);
+  }
+
+  public void test_serialization() {
+    assertSerialization(ExplainDetailCalculationParameter.of(ExplainDetail.LEG));
+  }
+
+}
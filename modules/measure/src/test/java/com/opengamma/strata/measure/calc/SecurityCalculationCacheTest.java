@@ -0,0 +1,195 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.fail;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.runner.CalculationParameters;
+import com.opengamma.strata.calc.runner.TestParameter;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioMarketData;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.product.SecurityId;
+
+/**
+ * Test {@link SecurityCalculationCache}.
+ */
+@Test
+public class SecurityCalculationCacheTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final SecurityId SECURITY_ID = SecurityId.of("OG-Test", "Future");
+  private static final SecurityId SECURITY_ID2 = SecurityId.of("OG-Test", "Future2");
+  private static final CalculationParameters PARAMS = CalculationParameters.of(new TestParameter());
+  private static final ScenarioMarketData MARKET_DATA =
+      ScenarioMarketData.of(1, MarketData.of(date(2017, 6, 1), ImmutableMap.of()));
+  private static final ScenarioMarketData MARKET_DATA2 =
+      ScenarioMarketData.of(1, MarketData.of(date(2017, 6, 1), ImmutableMap.of()));
+
+  //-------------------------------------------------------------------------
+  public void test_find() {
+    SecurityCalculationCache cache = SecurityCalculationCache.create();
+    assertEquals(SecurityCalculationCache.find(CalculationParameters.of(cache)), Optional.of(cache));
+    assertEquals(SecurityCalculationCache.find(PARAMS), Optional.empty());
+    assertEquals(cache.toString(), "SecurityCalculationCache");
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_unitValue() {
+    SecurityCalculationCache cache = SecurityCalculationCache.create();
+    AtomicInteger count = new AtomicInteger();
+    Object value1 = cache.unitValue(
+        SECURITY_ID, Measures.UNIT_PRICE, PARAMS, MARKET_DATA, REF_DATA, () -> count.incrementAndGet());
+    Object value2 = cache.unitValue(
+        SECURITY_ID, Measures.UNIT_PRICE, PARAMS, MARKET_DATA, REF_DATA, () -> count.incrementAndGet());
+    assertEquals(value1, 1);
+    assertEquals(value2, 1);
+    // different security, measure or parameters
+    cache.unitValue(SECURITY_ID2, Measures.UNIT_PRICE, PARAMS, MARKET_DATA, REF_DATA, () -> count.incrementAndGet());
+    cache.unitValue(SECURITY_ID, Measures.PAR_SPREAD, PARAMS, MARKET_DATA, REF_DATA, () -> count.incrementAndGet());
+    cache.unitValue(
+        SECURITY_ID, Measures.UNIT_PRICE, CalculationParameters.empty(), MARKET_DATA, REF_DATA,
+        () -> count.incrementAndGet());
+    assertEquals(count.get(), 4);
+  }
+
+  public void test_unitValue_newRun() {
+    SecurityCalculationCache cache = SecurityCalculationCache.create();
+    AtomicInteger count = new AtomicInteger();
+    cache.unitValue(SECURITY_ID, Measures.UNIT_PRICE, PARAMS, MARKET_DATA, REF_DATA, () -> count.incrementAndGet());
+    Object value = cache.unitValue(
+        SECURITY_ID, Measures.UNIT_PRICE, PARAMS, MARKET_DATA2, REF_DATA, () -> count.incrementAndGet());
+    assertEquals(value, 2);
+    value = cache.unitValue(
+        SECURITY_ID, Measures.UNIT_PRICE, PARAMS, MARKET_DATA2, ReferenceData.empty(), () -> count.incrementAndGet());
+    assertEquals(value, 3);
+    cache.clear();
+    value = cache.unitValue(
+        SECURITY_ID, Measures.UNIT_PRICE, PARAMS, MARKET_DATA2, ReferenceData.empty(), () -> count.incrementAndGet());
+    assertEquals(value, 4);
+  }
+
+  public void test_unitValue_failure() {
+    SecurityCalculationCache cache = SecurityCalculationCache.create();
+    try {
+      cache.unitValue(SECURITY_ID, Measures.UNIT_PRICE, PARAMS, MARKET_DATA, REF_DATA, () -> {
+        throw new IllegalStateException();
+      });
+      fail();
+    } catch (IllegalStateException ex) {
+      // expected
+    }
+    Object value = cache.unitValue(SECURITY_ID, Measures.UNIT_PRICE, PARAMS, MARKET_DATA, REF_DATA, () -> 2d);
+    assertEquals(value, 2d);
+  }
+
+  // a calculation in progress does not block other keys, and other threads wait for its result
+  public void test_unitValue_concurrent() throws Exception {
+    SecurityCalculationCache cache = SecurityCalculationCache.create();
+    CountDownLatch started = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger count = new AtomicInteger();
+    CompletableFuture<Object> slow = CompletableFuture.supplyAsync(() -> cache.unitValue(
+        SECURITY_ID, Measures.UNIT_PRICE, PARAMS, MARKET_DATA, REF_DATA, () -> {
+          started.countDown();
+          await(release);
+          return count.incrementAndGet();
+        }));
+    await(started);
+    Object other = cache.unitValue(SECURITY_ID2, Measures.UNIT_PRICE, PARAMS, MARKET_DATA, REF_DATA, () -> "other");
+    assertEquals(other, "other");
+    CompletableFuture<Object> waiting = CompletableFuture.supplyAsync(() -> cache.unitValue(
+        SECURITY_ID, Measures.UNIT_PRICE, PARAMS, MARKET_DATA, REF_DATA, () -> count.incrementAndGet()));
+    release.countDown();
+    assertEquals(slow.get(10, TimeUnit.SECONDS), 1);
+    assertEquals(waiting.get(10, TimeUnit.SECONDS), 1);
+    assertEquals(count.get(), 1);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_quantityValue() {
+    SecurityCalculationCache cache = SecurityCalculationCache.create();
+    AtomicInteger count = new AtomicInteger();
+    Object value1 = cache.quantityValue(
+        SECURITY_ID, Measures.PRESENT_VALUE, PARAMS, MARKET_DATA, REF_DATA, 3,
+        quantity -> {
+          count.incrementAndGet();
+          return CurrencyScenarioArray.of(GBP, DoubleArray.of(2 * quantity));
+        });
+    Object value2 = cache.quantityValue(
+        SECURITY_ID, Measures.PRESENT_VALUE, PARAMS, MARKET_DATA, REF_DATA, 1,
+        quantity -> {
+          count.incrementAndGet();
+          return CurrencyScenarioArray.of(GBP, DoubleArray.of(2 * quantity));
+        });
+    assertEquals(value1, CurrencyScenarioArray.of(GBP, DoubleArray.of(6)));
+    assertEquals(value2, CurrencyScenarioArray.of(GBP, DoubleArray.of(2)));
+    assertEquals(count.get(), 1);
+  }
+
+  public void test_quantityValue_notScalable() {
+    SecurityCalculationCache cache = SecurityCalculationCache.create();
+    String unit = cache.quantityValue(
+        SECURITY_ID, Measures.PRESENT_VALUE, PARAMS, MARKET_DATA, REF_DATA, 1, quantity -> "Q" + quantity).toString();
+    Object value = cache.quantityValue(
+        SECURITY_ID, Measures.PRESENT_VALUE, PARAMS, MARKET_DATA, REF_DATA, 2, quantity -> "Q" + quantity);
+    assertEquals(unit, "Q1.0");
+    assertEquals(value, "Q2.0");
+    assertSame(
+        cache.quantityValue(SECURITY_ID, Measures.PRESENT_VALUE, PARAMS, MARKET_DATA, REF_DATA, 1, q -> "X"), unit);
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_value() {
+    SecurityCalculationCache cache = SecurityCalculationCache.create();
+    AtomicInteger count = new AtomicInteger();
+    ImmutableSet<Measure> unit = ImmutableSet.of(Measures.UNIT_PRICE);
+    ImmutableSet<Measure> linear = ImmutableSet.of(Measures.PRESENT_VALUE);
+    for (int i = 1; i <= 2; i++) {
+      assertEquals(
+          cache.value(SECURITY_ID, Measures.UNIT_PRICE, PARAMS, MARKET_DATA, REF_DATA, unit, linear, i,
+              quantity -> count.incrementAndGet()),
+          1);
+      assertEquals(
+          cache.value(SECURITY_ID, Measures.PRESENT_VALUE, PARAMS, MARKET_DATA, REF_DATA, unit, linear, i,
+              quantity -> CurrencyScenarioArray.of(GBP, DoubleArray.of(2 * quantity))),
+          CurrencyScenarioArray.of(GBP, DoubleArray.of(2 * i)));
+      assertEquals(
+          cache.value(SECURITY_ID, Measures.PAR_SPREAD, PARAMS, MARKET_DATA, REF_DATA, unit, linear, i,
+              quantity -> quantity),
+          (double) i);
+    }
+    assertEquals(count.get(), 1);
+  }
+
+  //-------------------------------------------------------------------------
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
@@ -0,0 +1,186 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.calc;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.Optional;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.calc.runner.TargetDeduplication;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
+import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.product.PositionInfo;
+import com.opengamma.strata.product.SecurityId;
+import com.opengamma.strata.product.SecurityPosition;
+import com.opengamma.strata.product.SecurityTrade;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.fx.FxSingle;
+import com.opengamma.strata.product.fx.FxSingleTrade;
+
+/**
+ * Test {@link StandardTargetDeduplication}.
+ */
+@Test
+public class StandardTargetDeduplicationTest {
+
+  private static final StandardTargetDeduplication STANDARD = StandardTargetDeduplication.standard();
+  private static final SecurityId SECURITY_ID = SecurityId.of("OG-Test", "Bond");
+  private static final SecurityId SECURITY_ID2 = SecurityId.of("OG-Test", "Bond2");
+  private static final TradeInfo INFO1 = TradeInfo.builder()
+      .id(StandardId.of("OG-Trade", "1"))
+      .counterparty(StandardId.of("OG-Party", "A"))
+      .tradeDate(date(2017, 6, 1))
+      .settlementDate(date(2017, 6, 5))
+      .build();
+  private static final TradeInfo INFO2 = TradeInfo.builder()
+      .id(StandardId.of("OG-Trade", "2"))
+      .counterparty(StandardId.of("OG-Party", "B"))
+      .tradeDate(date(2017, 6, 1))
+      .settlementDate(date(2017, 6, 5))
+      .build();
+  private static final TradeInfo INFO3 = TradeInfo.builder()
+      .id(StandardId.of("OG-Trade", "3"))
+      .tradeDate(date(2017, 6, 2))
+      .settlementDate(date(2017, 6, 6))
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    StandardTargetDeduplication test = StandardTargetDeduplication.of(
+        ImmutableSet.of(Measures.PRESENT_VALUE), ImmutableSet.of(Measures.PAR_RATE));
+    assertEquals(test.getLinearMeasures(), ImmutableSet.of(Measures.PRESENT_VALUE));
+    assertEquals(test.getInvariantMeasures(), ImmutableSet.of(Measures.PAR_RATE));
+    assertEquals(test.queryType(), TargetDeduplication.class);
+    assertThrowsIllegalArg(() -> StandardTargetDeduplication.of(null, ImmutableSet.of()));
+  }
+
+  public void test_standard() {
+    assertTrue(STANDARD.getLinearMeasures().contains(Measures.PRESENT_VALUE));
+    assertTrue(STANDARD.getLinearMeasures().contains(Measures.PV01_CALIBRATED_BUCKETED));
+    assertTrue(STANDARD.getInvariantMeasures().contains(Measures.PAR_RATE));
+    assertTrue(STANDARD.getInvariantMeasures().contains(Measures.UNIT_PRICE));
+    assertFalse(STANDARD.getLinearMeasures().contains(Measures.CASH_FLOWS));
+    assertFalse(STANDARD.getInvariantMeasures().contains(Measures.EXPLAIN_PRESENT_VALUE));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_key_position() {
+    SecurityPosition position1 = SecurityPosition.ofNet(PositionInfo.of(StandardId.of("OG", "1")), SECURITY_ID, 10);
+    SecurityPosition position2 = SecurityPosition.ofLongShort(SECURITY_ID, 30, 5);
+    SecurityPosition position3 = SecurityPosition.ofNet(SECURITY_ID2, 10);
+    assertTrue(STANDARD.key(position1).isPresent());
+    assertEquals(STANDARD.key(position1), STANDARD.key(position2));
+    assertNotEquals(STANDARD.key(position1), STANDARD.key(position3));
+    assertEquals(STANDARD.quantity(position1), 10d);
+    assertEquals(STANDARD.quantity(position2), 25d);
+  }
+
+  public void test_key_securityTrade() {
+    SecurityTrade trade1 = SecurityTrade.of(INFO1, SECURITY_ID, 10, 99.5);
+    SecurityTrade trade2 = SecurityTrade.of(INFO2, SECURITY_ID, 20, 99.5);
+    SecurityTrade trade3 = SecurityTrade.of(INFO3, SECURITY_ID, 10, 99.5);
+    SecurityTrade trade4 = SecurityTrade.of(INFO1, SECURITY_ID, 10, 99.6);
+    assertEquals(STANDARD.key(trade1), STANDARD.key(trade2));
+    assertNotEquals(STANDARD.key(trade1), STANDARD.key(trade3));
+    assertNotEquals(STANDARD.key(trade1), STANDARD.key(trade4));
+    assertEquals(STANDARD.quantity(trade2), 20d);
+  }
+
+  public void test_key_trade() {
+    FxSingle fx = FxSingle.of(CurrencyAmount.of(GBP, 1000), CurrencyAmount.of(USD, -1500), date(2017, 9, 1));
+    FxSingle fx2 = FxSingle.of(CurrencyAmount.of(GBP, 2000), CurrencyAmount.of(USD, -3000), date(2017, 9, 1));
+    FxSingleTrade trade1 = FxSingleTrade.of(INFO1, fx);
+    FxSingleTrade trade2 = FxSingleTrade.of(INFO2, fx);
+    FxSingleTrade trade3 = FxSingleTrade.of(INFO3, fx);
+    FxSingleTrade trade4 = FxSingleTrade.of(INFO1, fx2);
+    assertEquals(STANDARD.key(trade1), STANDARD.key(trade2));
+    assertNotEquals(STANDARD.key(trade1), STANDARD.key(trade3));
+    assertNotEquals(STANDARD.key(trade1), STANDARD.key(trade4));
+    assertEquals(STANDARD.quantity(trade1), 1d);
+  }
+
+  public void test_key_other() {
+    assertEquals(STANDARD.key(new CalculationTarget() {}), Optional.empty());
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_scale() {
+    CurrencyScenarioArray ccyArray = CurrencyScenarioArray.of(GBP, DoubleArray.of(1, 2));
+    assertEquals(
+        STANDARD.scale(Measures.PRESENT_VALUE, ccyArray, 2),
+        Optional.of(CurrencyScenarioArray.of(GBP, DoubleArray.of(2, 4))));
+    assertEquals(STANDARD.scale(Measures.PRESENT_VALUE, ccyArray, 1), Optional.of(ccyArray));
+    assertEquals(STANDARD.scale(Measures.CASH_FLOWS, ccyArray, 1), Optional.empty());
+
+    MultiCurrencyScenarioArray multiArray = MultiCurrencyScenarioArray.of(
+        MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 1), CurrencyAmount.of(USD, 3)));
+    assertEquals(
+        STANDARD.scale(Measures.CURRENCY_EXPOSURE, multiArray, 2),
+        Optional.of(MultiCurrencyScenarioArray.of(
+            MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 2), CurrencyAmount.of(USD, 6)))));
+
+    assertEquals(
+        STANDARD.scale(Measures.PV01_CALIBRATED_SUM, DoubleScenarioArray.of(DoubleArray.of(1, 2)), -1),
+        Optional.of(DoubleScenarioArray.of(DoubleArray.of(-1, -2))));
+
+    CurrencyParameterSensitivity sensitivity =
+        CurrencyParameterSensitivity.of(CurveName.of("Test"), GBP, DoubleArray.of(1, 2));
+    ScenarioArray<CurrencyParameterSensitivities> sensArray =
+        ScenarioArray.of(CurrencyParameterSensitivities.of(sensitivity));
+    assertEquals(
+        STANDARD.scale(Measures.PV01_CALIBRATED_BUCKETED, sensArray, 3),
+        Optional.of(ScenarioArray.of(CurrencyParameterSensitivities.of(sensitivity.multipliedBy(3)))));
+    assertEquals(
+        STANDARD.scale(Measures.PRESENT_VALUE, ScenarioArray.of(CurrencyAmount.of(GBP, 2)), 3),
+        Optional.of(ScenarioArray.of(CurrencyAmount.of(GBP, 6))));
+    assertEquals(STANDARD.scale(Measures.PRESENT_VALUE, ScenarioArray.of("A"), 3), Optional.empty());
+    assertEquals(STANDARD.scale(Measures.PRESENT_VALUE, "A", 3), Optional.empty());
+  }
+
+  public void test_scale_invariant() {
+    DoubleScenarioArray array = DoubleScenarioArray.of(DoubleArray.of(0.01, 0.02));
+    assertEquals(STANDARD.scale(Measures.PAR_RATE, array, 2), Optional.of(array));
+    assertEquals(STANDARD.scale(Measures.UNIT_PRICE, ImmutableList.of("A"), 2), Optional.of(ImmutableList.of("A")));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverImmutableBean(STANDARD);
+    StandardTargetDeduplication test2 = StandardTargetDeduplication.of(
+        ImmutableSet.of(Measures.PRESENT_VALUE), ImmutableSet.of());
+    coverBeanEquals(STANDARD, test2);
+  }
+
+  public void test_serialization() {
+    assertSerialization(STANDARD);
+  }
+
+}
@@ -7,9 +7,11 @@ package com.opengamma.strata.measure.index;
 
 import static com.opengamma.strata.basics.date.DayCounts.ACT_360;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.Map;
 import java.util.Set;
 
 import org.testng.annotations.Test;
@@ -29,6 +31,8 @@ import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.data.FieldName;
 import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
 import com.opengamma.strata.data.scenario.DoubleScenarioArray;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioArray;
 import com.opengamma.strata.data.scenario.ScenarioMarketData;
 import com.opengamma.strata.market.curve.ConstantCurve;
 import com.opengamma.strata.market.curve.Curve;
@@ -36,7 +40,9 @@ import com.opengamma.strata.market.curve.CurveId;
 import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.calc.SecurityCalculationCache;
 import com.opengamma.strata.measure.curve.TestMarketDataMap;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.pricer.index.DiscountingIborFutureTradePricer;
@@ -69,6 +75,7 @@ public class IborFutureTradeCalculationFunctionTest {
   private static final CalculationParameters PARAMS = CalculationParameters.of(RATES_LOOKUP);
   private static final LocalDate VAL_DATE = TRADE.getProduct().getLastTradeDate().minusDays(7);
   private static final QuoteId QUOTE_KEY = QuoteId.of(SEC_ID, FieldName.SETTLEMENT_PRICE);
+  private static final double TOL = 1e-10;
 
   //-------------------------------------------------------------------------
   public void test_requirementsAndCurrency() {
@@ -106,6 +113,42 @@ public class IborFutureTradeCalculationFunctionTest {
             Measures.RESOLVED_TARGET, Result.success(RTRADE));
   }
 
+  public void test_cachedMeasures() {
+    IborFutureTradeCalculationFunction function = new IborFutureTradeCalculationFunction();
+    ScenarioMarketData md = marketData();
+    CalculationParameters params = CalculationParameters.of(RATES_LOOKUP, SecurityCalculationCache.create());
+    IborFutureTrade trade2 = TRADE.toBuilder().quantity(7).build();
+    Set<Measure> measures = ImmutableSet.of(
+        Measures.UNIT_PRICE,
+        Measures.PRESENT_VALUE,
+        Measures.PV01_CALIBRATED_SUM,
+        Measures.PV01_CALIBRATED_BUCKETED);
+
+    Map<Measure, Result<?>> expected1 = function.calculate(TRADE, measures, PARAMS, md, REF_DATA);
+    Map<Measure, Result<?>> expected2 = function.calculate(trade2, measures, PARAMS, md, REF_DATA);
+    Map<Measure, Result<?>> computed1 = function.calculate(TRADE, measures, params, md, REF_DATA);
+    Map<Measure, Result<?>> computed2 = function.calculate(trade2, measures, params, md, REF_DATA);
+    assertThat(computed1.get(Measures.UNIT_PRICE)).isEqualTo(expected1.get(Measures.UNIT_PRICE));
+    assertThat(computed2.get(Measures.UNIT_PRICE).getValue()).isSameAs(computed1.get(Measures.UNIT_PRICE).getValue());
+    assertThat(computed1.get(Measures.PRESENT_VALUE)).isEqualTo(expected1.get(Measures.PRESENT_VALUE));
+    assertThat(computed2.get(Measures.PRESENT_VALUE)).isEqualTo(expected2.get(Measures.PRESENT_VALUE));
+    assertPv01(computed1, expected1);
+    assertPv01(computed2, expected2);
+  }
+
+  // checks the cached PV01 against the directly calculated PV01
+  private void assertPv01(Map<Measure, Result<?>> computed, Map<Measure, Result<?>> expected) {
+    MultiCurrencyScenarioArray computedSum =
+        (MultiCurrencyScenarioArray) computed.get(Measures.PV01_CALIBRATED_SUM).getValue();
+    MultiCurrencyScenarioArray expectedSum =
+        (MultiCurrencyScenarioArray) expected.get(Measures.PV01_CALIBRATED_SUM).getValue();
+    assertThat(computedSum.getValues(CURRENCY).get(0)).isCloseTo(expectedSum.getValues(CURRENCY).get(0), offset(TOL));
+    ScenarioArray<?> computedBucketed = (ScenarioArray<?>) computed.get(Measures.PV01_CALIBRATED_BUCKETED).getValue();
+    ScenarioArray<?> expectedBucketed = (ScenarioArray<?>) expected.get(Measures.PV01_CALIBRATED_BUCKETED).getValue();
+    assertThat(((CurrencyParameterSensitivities) computedBucketed.get(0))
+        .equalWithTolerance((CurrencyParameterSensitivities) expectedBucketed.get(0), TOL)).isTrue();
+  }
+
   //-------------------------------------------------------------------------
   static ScenarioMarketData marketData() {
     Curve curve = ConstantCurve.of(Curves.discountFactors("Test", ACT_360), 0.99);
@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.risk;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.FxRate;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.data.FxRateId;
+import com.opengamma.strata.data.scenario.CurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ImmutableScenarioMarketData;
+import com.opengamma.strata.data.scenario.MultiCurrencyScenarioArray;
+import com.opengamma.strata.data.scenario.ScenarioFxRateProvider;
+
+/**
+ * Test {@link ScenarioPnlListener}.
+ */
+@Test
+public class ScenarioPnlListenerTest {
+
+  private static final ScenarioFxRateProvider FX_RATES = ScenarioFxRateProvider.of(
+      ImmutableScenarioMarketData.builder(date(2017, 6, 30))
+          .addScenarioValue(
+              FxRateId.of(GBP, USD),
+              ImmutableList.of(FxRate.of(GBP, USD, 1.2), FxRate.of(GBP, USD, 1.3), FxRate.of(GBP, USD, 1.4)))
+          .build());
+  private static final List<Column> COLUMNS =
+      ImmutableList.of(Column.of(Measure.of("PresentValue")), Column.of(Measure.of("ParRate")));
+  private static final Target RATES1 = new Target("Rates", "Book1");
+  private static final Target RATES2 = new Target("Rates", "Book2");
+  private static final Target CREDIT = new Target("Credit");
+  private static final List<CalculationTarget> TARGETS = ImmutableList.of(RATES1, RATES2, CREDIT, RATES1, RATES2);
+
+  //-------------------------------------------------------------------------
+  public void test_aggregate() {
+    ScenarioPnlListener test = new ScenarioPnlListener(1, USD, FX_RATES, target -> ((Target) target).path);
+    test.calculationsStarted(TARGETS, COLUMNS);
+    test.resultReceived(RATES1, CalculationResult.of(0, 1, Result.success(
+        CurrencyScenarioArray.of(USD, DoubleArray.of(1, 2, 3)))));
+    test.resultReceived(RATES2, CalculationResult.of(1, 1, Result.success(MultiCurrencyScenarioArray.of(
+        MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 10), CurrencyAmount.of(USD, 1)),
+        MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 10), CurrencyAmount.of(USD, 1)),
+        MultiCurrencyAmount.of(CurrencyAmount.of(GBP, 10), CurrencyAmount.of(USD, 1))))));
+    test.resultReceived(CREDIT, CalculationResult.of(2, 1, Result.success(
+        CurrencyScenarioArray.of(GBP, DoubleArray.of(-10, -10, -10)))));
+    test.resultReceived(RATES1, CalculationResult.of(3, 1, Result.failure(FailureReason.ERROR, "Failed")));
+    test.resultReceived(RATES2, CalculationResult.of(4, 1, Result.success("Not P&L")));
+    // other columns are ignored
+    test.resultReceived(RATES1, CalculationResult.of(0, 0, Result.success("PV")));
+    test.calculationsComplete();
+
+    ScenarioPnl pnl = test.result();
+    assertThat(pnl.getCurrency()).isEqualTo(USD);
+    assertThat(pnl.getScenarioCount()).isEqualTo(3);
+    assertThat(pnl.getNodes().keySet()).containsExactly(
+        ImmutableList.of(),
+        ImmutableList.of("Credit"),
+        ImmutableList.of("Rates"),
+        ImmutableList.of("Rates", "Book1"),
+        ImmutableList.of("Rates", "Book2"));
+    assertThat(pnl.getPnl(ImmutableList.of("Rates", "Book1"))).isEqualTo(DoubleArray.of(1, 2, 3));
+    assertThat(pnl.getPnl(ImmutableList.of("Rates", "Book2"))).isEqualTo(DoubleArray.of(13, 14, 15));
+    assertThat(pnl.getPnl(ImmutableList.of("Rates"))).isEqualTo(DoubleArray.of(14, 16, 18));
+    assertThat(pnl.getPnl(ImmutableList.of("Credit"))).isEqualTo(DoubleArray.of(-12, -13, -14));
+    assertThat(pnl.getPnl(ImmutableList.of())).isEqualTo(DoubleArray.of(2, 3, 4));
+    assertThat(pnl.getFailures()).containsOnlyKeys(3, 4);
+    assertThat(pnl.getFailures().get(4).getReason()).isEqualTo(FailureReason.INVALID);
+  }
+
+  public void test_wrongScenarioCount() {
+    ScenarioPnlListener test = new ScenarioPnlListener(0, USD, FX_RATES, target -> ((Target) target).path);
+    test.calculationsStarted(TARGETS, COLUMNS);
+    test.resultReceived(RATES1, CalculationResult.of(0, 0, Result.success(
+        CurrencyScenarioArray.of(USD, DoubleArray.of(1, 2)))));
+    test.calculationsComplete();
+    assertThat(test.result().getFailures()).containsOnlyKeys(0);
+    assertThat(test.result().getNodes()).isEmpty();
+  }
+
+  public void test_invalidColumn() {
+    ScenarioPnlListener test = new ScenarioPnlListener(2, USD, FX_RATES, target -> ((Target) target).path);
+    assertThrowsIllegalArg(() -> test.calculationsStarted(TARGETS, COLUMNS));
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class Target implements CalculationTarget {
+    private final List<String> path;
+
+    private Target(String... path) {
+      this.path = ImmutableList.copyOf(path);
+    }
+  }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.measure.risk;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
+import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.collect.result.Failure;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.math.impl.statistics.descriptive.SampleInterpolationQuantileMethod;
+
+/**
+ * Test {@link ScenarioPnl}.
+ */
+@Test
+public class ScenarioPnlTest {
+
+  private static final ImmutableList<String> ROOT = ImmutableList.of();
+  private static final ImmutableList<String> BOOK = ImmutableList.of("Rates", "Book1");
+  // the values -50 to 49, in an unsorted order
+  private static final DoubleArray PNL = DoubleArray.of(100, i -> ((i * 37) % 100) - 50);
+  private static final ScenarioPnl TEST = ScenarioPnl.of(
+      USD,
+      100,
+      ImmutableMap.of(BOOK, PNL, ImmutableList.of("Rates"), PNL, ROOT, PNL),
+      ImmutableMap.of(3, Failure.of(FailureReason.ERROR, "Failed")));
+
+  //-------------------------------------------------------------------------
+  public void test_of() {
+    assertThat(TEST.getCurrency()).isEqualTo(USD);
+    assertThat(TEST.getScenarioCount()).isEqualTo(100);
+    assertThat(TEST.getNodes().keySet()).containsExactly(ROOT, ImmutableList.of("Rates"), BOOK);
+    assertThat(TEST.getPnl(BOOK)).isEqualTo(PNL);
+    assertThat(TEST.getFailures()).containsOnlyKeys(3);
+  }
+
+  public void test_of_wrongScenarioCount() {
+    assertThrowsIllegalArg(() -> ScenarioPnl.of(USD, 2, ImmutableMap.of(ROOT, PNL), ImmutableMap.of()));
+    assertThrowsIllegalArg(() -> ScenarioPnl.of(USD, -1, ImmutableMap.of(), ImmutableMap.of()));
+  }
+
+  public void test_getPnl_notFound() {
+    assertThrowsIllegalArg(() -> TEST.getPnl(ImmutableList.of("Credit")));
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_valueAtRisk() {
+    // the 5th smallest of 100 values
+    assertThat(TEST.valueAtRisk(ROOT, 0.95)).isCloseTo(46d, offset(1e-12));
+    assertThat(TEST.valueAtRisk(ROOT, 0.99)).isCloseTo(50d, offset(1e-12));
+    assertThat(TEST.valueAtRisk(ROOT, 0.95, SampleInterpolationQuantileMethod.DEFAULT))
+        .isCloseTo(-SampleInterpolationQuantileMethod.DEFAULT.quantileWithExtrapolationFromSorted(0.05, PNL.sorted()),
+            offset(1e-12));
+    assertThrowsIllegalArg(() -> TEST.valueAtRisk(ROOT, 1d));
+  }
+
+  public void test_expectedShortfall() {
+    // the average of the 5 smallest of 100 values
+    assertThat(TEST.expectedShortfall(ROOT, 0.95)).isCloseTo(48d, offset(1e-12));
+    assertThat(TEST.expectedShortfall(ROOT, 0.95, SampleInterpolationQuantileMethod.DEFAULT))
+        .isCloseTo(-SampleInterpolationQuantileMethod.DEFAULT.expectedShortfallFromSorted(0.05, PNL.sorted()),
+            offset(1e-12));
+    assertThrowsIllegalArg(() -> TEST.expectedShortfall(ROOT, 0d));
+  }
+
+  //-------------------------------------------------------------------------
+  public void coverage() {
+    coverImmutableBean(TEST);
+    ScenarioPnl test2 = ScenarioPnl.of(GBP, 1, ImmutableMap.of(ROOT, DoubleArray.of(1d)), ImmutableMap.of());
+    coverBeanEquals(TEST, test2);
+  }
+
+  public void test_serialization() {
+    assertSerialization(TEST);
+  }
+
+}
@@ -35,11 +35,13 @@ import com.opengamma.strata.market.curve.ConstantCurve;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveId;
 import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.explain.ExplainDetail;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.measure.Measures;
+import com.opengamma.strata.measure.calc.ExplainDetailCalculationParameter;
 import com.opengamma.strata.measure.curve.TestMarketDataMap;
 import com.opengamma.strata.measure.rate.RatesMarketDataLookup;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -123,6 +125,20 @@ public class SwapTradeCalculationFunctionTest {
             Measures.RESOLVED_TARGET, Result.success(RTRADE));
   }
 
+  public void test_explainPresentValue_detail() {
+    SwapTradeCalculationFunction function = new SwapTradeCalculationFunction();
+    ScenarioMarketData md = marketData();
+    RatesProvider provider = RATES_LOOKUP.ratesProvider(md.scenario(0));
+    DiscountingSwapTradePricer pricer = DiscountingSwapTradePricer.DEFAULT;
+    ExplainMap expectedExplainPv = pricer.explainPresentValue(RTRADE, provider, ExplainDetail.TRADE);
+
+    Set<Measure> measures = ImmutableSet.of(Measures.EXPLAIN_PRESENT_VALUE);
+    CalculationParameters params = PARAMS.with(ExplainDetailCalculationParameter.of(ExplainDetail.TRADE));
+    assertThat(function.calculate(TRADE, measures, params, md, REF_DATA))
+        .containsEntry(
+            Measures.EXPLAIN_PRESENT_VALUE, Result.success(ScenarioArray.of(ImmutableList.of(expectedExplainPv))));
+  }
+
   public void test_pv01() {
     SwapTradeCalculationFunction function = new SwapTradeCalculationFunction();
     ScenarioMarketData md = marketData();
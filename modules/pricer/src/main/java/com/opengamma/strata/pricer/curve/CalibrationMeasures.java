@@ -6,6 +6,7 @@
 package com.opengamma.strata.pricer.curve;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+import static com.opengamma.strata.collect.Guavate.toImmutableSet;
 
 import java.util.List;
 
@@ -15,6 +16,7 @@ import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivity;
@@ -178,6 +180,15 @@ public final class CalibrationMeasures {
     return result;
   }
 
+  // determines the names of the curves that the trade depends on
+  // a curve is included if a point sensitivity of the trade maps to it, even if the sensitivity is zero
+  ImmutableSet<MarketDataName<?>> sensitivityNames(ResolvedTrade trade, RatesProvider provider) {
+    CalibrationMeasure<ResolvedTrade> measure = getMeasure(trade);
+    return measure.sensitivities(trade, provider).getSensitivities().stream()
+        .map(CurrencyParameterSensitivity::getMarketDataName)
+        .collect(toImmutableSet());
+  }
+
   // determine the curve parameter sensitivities, removing the curency
   private UnitParameterSensitivities extractSensitivities(ResolvedTrade trade, RatesProvider provider) {
     CalibrationMeasure<ResolvedTrade> measure = getMeasure(trade);
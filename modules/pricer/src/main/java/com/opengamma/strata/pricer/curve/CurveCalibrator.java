@@ -7,7 +7,12 @@ package com.opengamma.strata.pricer.curve;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.collect.Guavate.toImmutableMap;
+import static java.util.stream.Collectors.joining;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
@@ -20,14 +25,18 @@ import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.metrics.Instrumentation;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.data.MarketData;
 import com.opengamma.strata.data.MarketDataFxRateProvider;
+import com.opengamma.strata.data.MarketDataName;
 import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveGroupEntry;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.CurveNode;
 import com.opengamma.strata.market.curve.CurveParameterSize;
 import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.market.curve.NodalCurveDefinition;
 import com.opengamma.strata.market.observable.IndexQuoteId;
 import com.opengamma.strata.math.impl.linearalgebra.DecompositionFactory;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
@@ -44,6 +53,11 @@ import com.opengamma.strata.product.ResolvedTrade;
  * Curves are calibrated in groups or one or more curves.
  * In addition, more than one group may be calibrated together.
  * <p>
+ * A calibrator obtained using {@link #parallel()} splits the curves within a group into blocks
+ * that do not depend on one another, such as the curves of two unrelated currencies.
+ * Each block is calibrated separately, in parallel, with the Jacobian matrices then computed
+ * for the group as a whole.
+ * <p>
  * Each curve is defined using two or more {@linkplain CurveNode nodes}.
  * Each node primarily defines enough information to produce a reference trade.
  * Calibration involves pricing, and re-pricing, these trades to find the best fit
@@ -78,6 +92,10 @@ public final class CurveCalibrator {
    * This is used to compute the present value sensitivity to market quotes stored in the metadata.
    */
   private final CalibrationMeasures pvMeasures;
+  /**
+   * Whether independent blocks of curves within a group are calibrated in parallel.
+   */
+  private final boolean parallel;
 
   //-------------------------------------------------------------------------
   /**
@@ -158,13 +176,46 @@ public final class CurveCalibrator {
       CalibrationMeasures measures,
       CalibrationMeasures pvMeasures) {
 
-    this.rootFinder = new BroydenVectorRootFinder(
-        toleranceAbs,
-        toleranceRel,
-        stepMaximum,
-        DecompositionFactory.getDecomposition(DecompositionFactory.SV_COMMONS_NAME));
+    this(
+        new BroydenVectorRootFinder(
+            toleranceAbs,
+            toleranceRel,
+            stepMaximum,
+            DecompositionFactory.getDecomposition(DecompositionFactory.SV_COMMONS_NAME)),
+        measures,
+        pvMeasures,
+        false);
+  }
+
+  // creates an instance
+  private CurveCalibrator(
+      BroydenVectorRootFinder rootFinder,
+      CalibrationMeasures measures,
+      CalibrationMeasures pvMeasures,
+      boolean parallel) {
+
+    this.rootFinder = rootFinder;
     this.measures = measures;
     this.pvMeasures = pvMeasures;
+    this.parallel = parallel;
+  }
+
+  /**
+   * Returns a calibrator that calibrates independent blocks of curves within a group in parallel.
+   * <p>
+   * Two curves of a group are in the same block if the trade of a node of one curve depends on the other.
+   * The dependencies are found from the curves that the point sensitivities of each trade are mapped to,
+   * which requires a sensitivity calculation for each trade of the group.
+   * Each block is calibrated separately using a parallel stream, thus in the fork-join pool
+   * of the calling thread, typically the common pool.
+   * <p>
+   * The calibrated curves match those of this calibrator within the tolerance of the root finder,
+   * but are not in general identical, as each block is solved as a separate system.
+   *
+   * @return the parallel calibrator
+   */
+  public CurveCalibrator parallel() {
+    return new CurveCalibrator(rootFinder, measures, pvMeasures, true);
   }
 
   //-------------------------------------------------------------------------
@@ -229,6 +280,8 @@ public final class CurveCalibrator {
       ReferenceData refData) {
     // this method effectively takes one CurveGroupDefinition
     // the list is a split of the definition, not multiple independent definitions
+    // as such, the groups are calibrated in turn
+    // if requested, independent curves within a group are calibrated in parallel
 
     if (!knownData.getValuationDate().equals(marketData.getValuationDate())) {
       throw new IllegalArgumentException(Messages.format(
@@ -251,7 +304,10 @@ public final class CurveCalibrator {
 
       // calibrate
       RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(providerCombined, groupDefnBound, refData);
-      DoubleArray calibratedGroupParams = calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+      DoubleArray calibratedGroupParams = parallel ?
+          calibrateGroupInBlocks(
+              providerCombined, groupDefnBound, refData, providerGenerator, trades, initialGuesses, orderGroup) :
+          calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
       ImmutableRatesProvider calibratedProvider = providerGenerator.generate(calibratedGroupParams);
 
       // use calibration to build Jacobian matrices
@@ -279,6 +335,129 @@ public final class CurveCalibrator {
   }
 
   //-------------------------------------------------------------------------
+  // calibrates a single group, splitting it into blocks of curves that can be calibrated independently
+  // the blocks are calibrated in parallel, with the parameters combined in the order of the group
+  private DoubleArray calibrateGroupInBlocks(
+      ImmutableRatesProvider knownProvider,
+      CurveGroupDefinition groupDefn,
+      ReferenceData refData,
+      RatesProviderGenerator providerGenerator,
+      ImmutableList<ResolvedTrade> trades,
+      ImmutableList<Double> initialGuesses,
+      ImmutableList<CurveParameterSize> orderGroup) {
+
+    List<List<Integer>> blocks = independentBlocks(groupDefn, providerGenerator, trades, initialGuesses, orderGroup);
+    if (blocks.size() <= 1) {
+      return calibrateGroup(providerGenerator, trades, initialGuesses, orderGroup);
+    }
+    int[] curveStart = new int[orderGroup.size()];
+    for (int i = 1; i < orderGroup.size(); i++) {
+      curveStart[i] = curveStart[i - 1] + orderGroup.get(i - 1).getParameterCount();
+    }
+    List<NodalCurveDefinition> curveDefns = groupDefn.getCurveDefinitions();
+    double[] params = new double[initialGuesses.size()];
+    blocks.parallelStream().forEach(block -> {
+      List<CurveGroupEntry> blockEntries = new ArrayList<>();
+      List<NodalCurveDefinition> blockDefns = new ArrayList<>();
+      ImmutableList.Builder<ResolvedTrade> blockTrades = ImmutableList.builder();
+      ImmutableList.Builder<Double> blockGuesses = ImmutableList.builder();
+      ImmutableList.Builder<CurveParameterSize> blockOrder = ImmutableList.builder();
+      for (int curve : block) {
+        NodalCurveDefinition curveDefn = curveDefns.get(curve);
+        int start = curveStart[curve];
+        int end = start + orderGroup.get(curve).getParameterCount();
+        blockEntries.add(groupDefn.findEntry(curveDefn.getName()).get());
+        blockDefns.add(curveDefn);
+        blockTrades.addAll(trades.subList(start, end));
+        blockGuesses.addAll(initialGuesses.subList(start, end));
+        blockOrder.add(orderGroup.get(curve));
+      }
+      CurveGroupDefinition blockDefn = CurveGroupDefinition.of(groupDefn.getName(), blockEntries, blockDefns);
+      RatesProviderGenerator blockGenerator = ImmutableRatesProviderGenerator.of(knownProvider, blockDefn, refData);
+      DoubleArray blockParams =
+          calibrateGroup(blockGenerator, blockTrades.build(), blockGuesses.build(), blockOrder.build());
+      // each block writes to a distinct range of the array
+      int blockIndex = 0;
+      for (int curve : block) {
+        int paramCount = orderGroup.get(curve).getParameterCount();
+        System.arraycopy(blockParams.toArrayUnsafe(), blockIndex, params, curveStart[curve], paramCount);
+        blockIndex += paramCount;
+      }
+    });
+    return DoubleArray.ofUnsafe(params);
+  }
+
+  // finds the blocks of curves in the group that do not depend on one another
+  // two curves are in the same block if a point sensitivity of the trade of a node of one curve maps to the other
+  // this depends on the structure of the trades and the group, not the value of the sensitivities
+  // each block is in the order of the group
+  private List<List<Integer>> independentBlocks(
+      CurveGroupDefinition groupDefn,
+      RatesProviderGenerator providerGenerator,
+      ImmutableList<ResolvedTrade> trades,
+      ImmutableList<Double> initialGuesses,
+      ImmutableList<CurveParameterSize> orderGroup) {
+
+    int curveCount = orderGroup.size();
+    if (curveCount <= 1) {
+      return ImmutableList.of();
+    }
+    // the blocks can only be formed if each node defines one parameter
+    int[] curveOfParam = new int[initialGuesses.size()];
+    Map<MarketDataName<?>, Integer> curveIndices = new HashMap<>();
+    int paramIndex = 0;
+    for (int i = 0; i < curveCount; i++) {
+      int paramCount = orderGroup.get(i).getParameterCount();
+      if (groupDefn.getCurveDefinitions().get(i).getNodes().size() != paramCount) {
+        return ImmutableList.of();
+      }
+      Arrays.fill(curveOfParam, paramIndex, paramIndex + paramCount, i);
+      curveIndices.put(orderGroup.get(i).getName(), i);
+      paramIndex += paramCount;
+    }
+    if (trades.size() != paramIndex) {
+      return ImmutableList.of();
+    }
+    // union-find over the curves, stopping as soon as all curves are in one block
+    int[] parent = new int[curveCount];
+    for (int i = 0; i < curveCount; i++) {
+      parent[i] = i;
+    }
+    int blockCount = curveCount;
+    ImmutableRatesProvider provider = providerGenerator.generate(DoubleArray.copyOf(initialGuesses));
+    for (int i = 0; i < trades.size() && blockCount > 1; i++) {
+      int tradeRoot = root(parent, curveOfParam[i]);
+      for (MarketDataName<?> name : measures.sensitivityNames(trades.get(i), provider)) {
+        // curves of earlier groups are fixed, thus do not join blocks
+        Integer curve = curveIndices.get(name);
+        if (curve != null) {
+          int curveRoot = root(parent, curve);
+          if (curveRoot != tradeRoot) {
+            parent[curveRoot] = tradeRoot;
+            blockCount--;
+          }
+        }
+      }
+    }
+    if (blockCount == 1) {
+      return ImmutableList.of();
+    }
+    Map<Integer, List<Integer>> blocks = new LinkedHashMap<>();
+    for (int i = 0; i < curveCount; i++) {
+      blocks.computeIfAbsent(root(parent, i), k -> new ArrayList<>()).add(i);
+    }
+    return ImmutableList.copyOf(blocks.values());
+  }
+
+  // finds the root of the union-find tree
+  private static int root(int[] parent, int index) {
+    int root = index;
+    while (parent[root] != root) {
+      root = parent[root];
+    }
+    return root;
+  }
+
   // calibrates a single group
   private DoubleArray calibrateGroup(
       RatesProviderGenerator providerGenerator,
@@ -293,7 +472,36 @@ public final class CurveCalibrator {
 
     // calibrate
     DoubleArray initGuessMatrix = DoubleArray.copyOf(initialGuesses);
-    return rootFinder.getRoot(valueCalculator, derivativeCalculator, initGuessMatrix);
+    Instrumentation instrumentation = Instrumentation.global();
+    if (!instrumentation.isEnabled()) {
+      return rootFinder.getRoot(valueCalculator, derivativeCalculator, initGuessMatrix);
+    }
+    return calibrateGroupInstrumented(instrumentation, valueCalculator, derivativeCalculator, initGuessMatrix, curveOrder);
+  }
+
+  // calibrates a single group, recording the time taken, the number of evaluations and the residual
+  private DoubleArray calibrateGroupInstrumented(
+      Instrumentation instrumentation,
+      Function<DoubleArray, DoubleArray> valueCalculator,
+      Function<DoubleArray, DoubleMatrix> derivativeCalculator,
+      DoubleArray initGuessMatrix,
+      ImmutableList<CurveParameterSize> curveOrder) {
+
+    int[] evaluations = new int[1];
+    double[] residual = new double[1];
+    Function<DoubleArray, DoubleArray> countingCalculator = params -> {
+      DoubleArray values = valueCalculator.apply(params);
+      evaluations[0]++;
+      residual[0] = values.map(Math::abs).max();
+      return values;
+    };
+    String key = curveOrder.stream().map(size -> size.getName().getName()).collect(joining(","));
+    long start = System.nanoTime();
+    DoubleArray result = rootFinder.getRoot(countingCalculator, derivativeCalculator, initGuessMatrix);
+    instrumentation.recordDuration(Instrumentation.CALIBRATION_DURATION, key, System.nanoTime() - start);
+    instrumentation.recordValue(Instrumentation.CALIBRATION_EVALUATIONS, key, evaluations[0]);
+    instrumentation.recordValue(Instrumentation.CALIBRATION_RESIDUAL, key, residual[0]);
+    return result;
   }
 
   //-------------------------------------------------------------------------
@@ -446,7 +654,7 @@ public final class CurveCalibrator {
   //-------------------------------------------------------------------------
   @Override
   public String toString() {
-    return Messages.format("CurveCalibrator[{}]", measures);
+    return Messages.format("CurveCalibrator[{}{}]", measures, parallel ? ", parallel" : "");
   }
 
 }
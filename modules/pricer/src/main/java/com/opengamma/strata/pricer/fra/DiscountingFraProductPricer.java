@@ -14,6 +14,7 @@ import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.amount.CashFlow;
 import com.opengamma.strata.market.amount.CashFlows;
+import com.opengamma.strata.market.explain.ExplainDetail;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
@@ -214,7 +215,23 @@ public class DiscountingFraProductPricer {
    * @return the explanatory information
    */
   public ExplainMap explainPresentValue(ResolvedFra fra, RatesProvider provider) {
-    ExplainMapBuilder builder = ExplainMap.builder();
+    return explainPresentValue(fra, provider, ExplainDetail.FULL);
+  }
+
+  /**
+   * Explains the present value of the FRA product with the specified level of detail.
+   * <p>
+   * This returns explanatory information about the calculation.
+   * Only the lists of entries included at the level of detail are calculated,
+   * such as the observations of the floating rate.
+   * 
+   * @param fra  the FRA product for which present value should be computed
+   * @param provider  the rates provider
+   * @param detail  the level of detail
+   * @return the explanatory information
+   */
+  public ExplainMap explainPresentValue(ResolvedFra fra, RatesProvider provider, ExplainDetail detail) {
+    ExplainMapBuilder builder = ExplainMap.builder(detail);
     Currency currency = fra.getCurrency();
     builder.put(ExplainKey.ENTRY_TYPE, "FRA");
     builder.put(ExplainKey.PAYMENT_DATE, fra.getPaymentDate());
@@ -9,6 +9,7 @@ import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.amount.CashFlows;
+import com.opengamma.strata.market.explain.ExplainDetail;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -82,6 +83,21 @@ public class DiscountingFraTradePricer {
     return productPricer.explainPresentValue(trade.getProduct(), provider);
   }
 
+  /**
+   * Explains the present value of the FRA trade with the specified level of detail.
+   * <p>
+   * This returns explanatory information about the calculation.
+   * Only the lists of entries included at the level of detail are calculated.
+   * 
+   * @param trade  the trade
+   * @param provider  the rates provider
+   * @param detail  the level of detail
+   * @return the explanatory information
+   */
+  public ExplainMap explainPresentValue(ResolvedFraTrade trade, RatesProvider provider, ExplainDetail detail) {
+    return productPricer.explainPresentValue(trade.getProduct(), provider, detail);
+  }
+
   /**
    * Calculates the present value sensitivity of the FRA trade.
    * <p>
@@ -30,11 +30,14 @@ import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import org.joda.beans.impl.direct.DirectPrivateBeanBuilder;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.collect.tuple.DoublesPair;
 import com.opengamma.strata.market.curve.interpolator.BoundCurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveExtrapolator;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
@@ -56,11 +59,21 @@ import com.opengamma.strata.market.param.ParameterizedDataCombiner;
  * <p>
  * The default for the time direction is time squire interpolation with flat extrapolation.
  * The default for the strike direction is linear interpolation with flat extrapolation.
+ * <p>
+ * The smile at an expiry, and the strike interpolator bound to it for a forward, are cached.
+ * A book of options typically has many options with the same expiry, thus the smile is only
+ * interpolated and converted to strikes once for each expiry.
+ * The caches are bounded and thread-safe.
  */
 @BeanDefinition(builderScope = "private")
 public final class InterpolatedStrikeSmileDeltaTermStructure
     implements SmileDeltaTermStructure, ParameterizedData, ImmutableBean, Serializable {
 
+  /**
+   * The maximum number of expiries, or expiry-forward pairs, held in each cache.
+   */
+  private static final int CACHE_SIZE = 256;
+
   /**
    * The smile description at the different time to expiry. All item should have the same deltas.
    */
@@ -112,6 +125,18 @@ public final class InterpolatedStrikeSmileDeltaTermStructure
    * The parameter combiner.
    */
   private final transient ParameterizedDataCombiner paramCombiner;  // not a property
+  /**
+   * The bound time interpolators, one for each delta, empty if there is only one smile.
+   */
+  private final transient ImmutableList<BoundCurveInterpolator> timeBound;  // derived
+  /**
+   * The cache of smiles, keyed by expiry.
+   */
+  private final transient Cache<Double, SmileDeltaParameters> smileCache;  // not a property
+  /**
+   * The cache of bound strike interpolators, keyed by expiry and forward.
+   */
+  private final transient Cache<DoublesPair, BoundCurveInterpolator> strikeCache;  // not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -542,6 +567,35 @@ public final class InterpolatedStrikeSmileDeltaTermStructure
     this.strikeExtrapolatorRight = strikeExtrapolatorRight;
     this.expiries = expiries;
     this.paramCombiner = ParameterizedDataCombiner.of(volatilityTerm);
+    this.timeBound = bindTime(
+        this.volatilityTerm, expiries, timeInterpolator, timeExtrapolatorLeft, timeExtrapolatorRight);
+    this.smileCache = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+    this.strikeCache = CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
+  }
+
+  // binds the time interpolator for each delta
+  private static ImmutableList<BoundCurveInterpolator> bindTime(
+      List<SmileDeltaParameters> volatilityTerm,
+      DoubleArray expiries,
+      CurveInterpolator timeInterpolator,
+      CurveExtrapolator timeExtrapolatorLeft,
+      CurveExtrapolator timeExtrapolatorRight) {
+
+    int nbTime = volatilityTerm.size();
+    if (nbTime <= 1) {
+      return ImmutableList.of();
+    }
+    int nbVol = volatilityTerm.get(0).getVolatility().size();
+    ImmutableList.Builder<BoundCurveInterpolator> builder = ImmutableList.builder();
+    for (int loopvol = 0; loopvol < nbVol; loopvol++) {
+      double[] volDelta = new double[nbTime];
+      for (int looptime = 0; looptime < nbTime; looptime++) {
+        volDelta[looptime] = volatilityTerm.get(looptime).getVolatility().get(loopvol);
+      }
+      builder.add(timeInterpolator.bind(
+          expiries, DoubleArray.ofUnsafe(volDelta), timeExtrapolatorLeft, timeExtrapolatorRight));
+    }
+    return builder.build();
   }
 
   private Object readResolve() {
@@ -610,41 +664,70 @@ public final class InterpolatedStrikeSmileDeltaTermStructure
   @Override
   public double volatility(double time, double strike, double forward) {
     ArgChecker.isTrue(time >= 0, "Positive time");
-    SmileDeltaParameters smile = smileForExpiry(time);
-    DoubleArray strikes = smile.strike(forward);
-    BoundCurveInterpolator bound = strikeInterpolator.bind(
-        strikes, smile.getVolatility(), strikeExtrapolatorLeft, strikeExtrapolatorRight);
-    return bound.interpolate(strike);
+    return strikeSmile(time, forward).interpolate(strike);
+  }
+
+  @Override
+  public DoubleArray volatility(DoubleArray times, DoubleArray strikes, DoubleArray forwards) {
+    int size = times.size();
+    ArgChecker.isTrue(strikes.size() == size && forwards.size() == size, "Arrays must be of the same size");
+    double[] result = new double[size];
+    BoundCurveInterpolator bound = null;
+    for (int i = 0; i < size; i++) {
+      double time = times.get(i);
+      double forward = forwards.get(i);
+      ArgChecker.isTrue(time >= 0, "Positive time");
+      // the smile is reused directly while the expiry and forward are unchanged
+      if (bound == null || time != times.get(i - 1) || forward != forwards.get(i - 1)) {
+        bound = strikeSmile(time, forward);
+      }
+      result[i] = bound.interpolate(strikes.get(i));
+    }
+    return DoubleArray.ofUnsafe(result);
   }
 
   @Override
   public VolatilityAndBucketedSensitivities volatilityAndSensitivities(double time, double strike, double forward) {
     ArgChecker.isTrue(time >= 0, "Positive time");
-    SmileDeltaParameters smile = smileForExpiry(time);
-    DoubleArray strikes = smile.strike(forward);
-    BoundCurveInterpolator bound = strikeInterpolator.bind(
-        strikes, smile.getVolatility(), strikeExtrapolatorLeft, strikeExtrapolatorRight);
+    BoundCurveInterpolator bound = strikeSmile(time, forward);
     double volatility = bound.interpolate(strike);
     DoubleArray smileVolatilityBar = bound.parameterSensitivity(strike);
     SmileAndBucketedSensitivities smileAndSensitivities = smileAndSensitivitiesForExpiry(time, smileVolatilityBar);
     return VolatilityAndBucketedSensitivities.of(volatility, smileAndSensitivities.getSensitivities());
   }
 
+  // obtains the strike interpolator bound to the smile at the expiry, using the cache
+  private BoundCurveInterpolator strikeSmile(double time, double forward) {
+    DoublesPair key = DoublesPair.of(time, forward);
+    BoundCurveInterpolator bound = strikeCache.getIfPresent(key);
+    if (bound == null) {
+      SmileDeltaParameters smile = smileForExpiry(time);
+      DoubleArray strikes = smile.strike(forward);
+      bound = strikeInterpolator.bind(strikes, smile.getVolatility(), strikeExtrapolatorLeft, strikeExtrapolatorRight);
+      strikeCache.put(key, bound);
+    }
+    return bound;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public SmileDeltaParameters smileForExpiry(double expiry) {
+    SmileDeltaParameters smile = smileCache.getIfPresent(expiry);
+    if (smile == null) {
+      smile = interpolateSmile(expiry);
+      smileCache.put(expiry, smile);
+    }
+    return smile;
+  }
+
+  // interpolates the smile at the expiry
+  private SmileDeltaParameters interpolateSmile(double expiry) {
     int nbVol = getStrikeCount();
     int nbTime = getSmileCount();
     ArgChecker.isTrue(nbTime > 1, "Need more than one time value to perform interpolation");
     double[] volatilityT = new double[nbVol];
     for (int loopvol = 0; loopvol < nbVol; loopvol++) {
-      double[] volDelta = new double[nbTime];
-      for (int looptime = 0; looptime < nbTime; looptime++) {
-        volDelta[looptime] = volatilityTerm.get(looptime).getVolatility().get(loopvol);
-      }
-      BoundCurveInterpolator bound = timeInterpolator.bind(
-          getExpiries(), DoubleArray.ofUnsafe(volDelta), timeExtrapolatorLeft, timeExtrapolatorRight);
-      volatilityT[loopvol] = bound.interpolate(expiry);
+      volatilityT[loopvol] = timeBound.get(loopvol).interpolate(expiry);
     }
     return SmileDeltaParameters.of(expiry, getDelta(), DoubleArray.ofUnsafe(volatilityT));
   }
@@ -662,12 +745,7 @@ public final class InterpolatedStrikeSmileDeltaTermStructure
     double[] volatilityT = new double[nbVol];
     double[][] volatilitySensitivity = new double[nbTime][nbVol];
     for (int loopvol = 0; loopvol < nbVol; loopvol++) {
-      double[] volDelta = new double[nbTime];
-      for (int looptime = 0; looptime < nbTime; looptime++) {
-        volDelta[looptime] = volatilityTerm.get(looptime).getVolatility().get(loopvol);
-      }
-      BoundCurveInterpolator bound = timeInterpolator.bind(
-          getExpiries(), DoubleArray.ofUnsafe(volDelta), timeExtrapolatorLeft, timeExtrapolatorRight);
+      BoundCurveInterpolator bound = timeBound.get(loopvol);
       DoubleArray volatilitySensitivityVol = bound.parameterSensitivity(expiry);
       for (int looptime = 0; looptime < nbTime; looptime++) {
         volatilitySensitivity[looptime][loopvol] =
@@ -7,6 +7,7 @@ package com.opengamma.strata.pricer.fxopt;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.date.DayCount;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.market.param.ParameterPerturbation;
 import com.opengamma.strata.market.param.ParameterizedData;
@@ -100,6 +101,23 @@ public interface SmileDeltaTermStructure
    */
   public abstract double volatility(double expiry, double strike, double forward);
 
+  /**
+   * Calculates the volatilities at a set of times/strikes/forwards from the term structure.
+   * <p>
+   * The three arrays must be of the same size, the result containing the volatility for each index.
+   * Implementations may reuse the smile when consecutive entries share the same expiry and forward.
+   * 
+   * @param expiries  the times to expiry
+   * @param strikes  the strikes
+   * @param forwards  the forwards
+   * @return the volatilities
+   */
+  public default DoubleArray volatility(DoubleArray expiries, DoubleArray strikes, DoubleArray forwards) {
+    int size = expiries.size();
+    ArgChecker.isTrue(strikes.size() == size && forwards.size() == size, "Arrays must be of the same size");
+    return DoubleArray.of(size, i -> volatility(expiries.get(i), strikes.get(i), forwards.get(i)));
+  }
+
   /**
    * Calculates the volatility and the volatility sensitivity with respect to the volatility data points.
    * 
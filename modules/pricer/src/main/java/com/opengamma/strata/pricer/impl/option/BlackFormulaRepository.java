@@ -16,7 +16,6 @@ import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
 import com.opengamma.strata.math.impl.statistics.distribution.NormalDistribution;
-import com.opengamma.strata.math.impl.statistics.distribution.ProbabilityDistribution;
 
 /**
  * The primary repository for Black formulas, including the price, common greeks and implied volatility.
@@ -30,7 +29,6 @@ public final class BlackFormulaRepository {
 
   private static final Logger log = LoggerFactory.getLogger(BlackFormulaRepository.class);
 
-  private static final ProbabilityDistribution<Double> NORMAL = new NormalDistribution(0, 1);
   private static final double LARGE = 1e13;
   private static final double SMALL = 1e-13;
   /** The comparison value used to determine near-zero. */
@@ -94,8 +92,8 @@ public final class BlackFormulaRepository {
       d2 = d1 - sigmaRootT;
     }
 
-    double nF = NORMAL.getCDF(sign * d1);
-    double nS = NORMAL.getCDF(sign * d2);
+    double nF = NormalDistribution.standardCdf(sign * d1);
+    double nS = NormalDistribution.standardCdf(sign * d2);
     double first = nF == 0d ? 0d : forward * nF;
     double second = nS == 0d ? 0d : strike * nS;
 
@@ -164,8 +162,8 @@ public final class BlackFormulaRepository {
       d1 = d2 + sigmaRootT;
     }
 
-    double nF = NORMAL.getCDF(sign * d1);
-    double nS = NORMAL.getCDF(sign * d2);
+    double nF = NormalDistribution.standardCdf(sign * d1);
+    double nS = NormalDistribution.standardCdf(sign * d2);
     double first = nF == 0d ? 0d : forward * nF;
     double second = nS == 0d ? 0d : strike * nS;
     double res = sign * (first - second);
@@ -178,7 +176,7 @@ public final class BlackFormulaRepository {
     double forwardBar = nF * firstBar;
     double strikeBar = nS * secondBar;
     double nFBar = forward * firstBar;
-    double d1Bar = sign * NORMAL.getPDF(sign * d1) * nFBar;
+    double d1Bar = sign * NormalDistribution.standardPdf(sign * d1) * nFBar;
     // Implementation Note: d2Bar = 0; no need to implement it.
     // Methodology Note: d2Bar is optimal exercise boundary. The derivative at the optimal point is 0.
     double sigmaRootTBar = d1Bar;
@@ -235,8 +233,8 @@ public final class BlackFormulaRepository {
     } else {
       volPeriod = lognormalVol * sqrttheta;
       kappa = Math.log(forward / strike) / volPeriod - 0.5 * volPeriod;
-      d1 = NORMAL.getCDF(omega * (kappa + volPeriod));
-      d2 = NORMAL.getCDF(omega * kappa);
+      d1 = NormalDistribution.standardCdf(omega * (kappa + volPeriod));
+      d2 = NormalDistribution.standardCdf(omega * kappa);
       p = discountFactor * omega * (forward * d1 - strike * d2);
     }
     // Implementation Note: Backward sweep.
@@ -250,7 +248,7 @@ public final class BlackFormulaRepository {
       strikeBar = (x > 0 ? -discountFactor * omega : 0.0);
     } else {
       d1Bar = discountFactor * omega * forward * pBar;
-      density1 = NORMAL.getPDF(omega * (kappa + volPeriod));
+      density1 = NormalDistribution.standardPdf(omega * (kappa + volPeriod));
       // Implementation Note: kappa_bar = 0; no need to implement it.
       // Methodology Note: kappa_bar is optimal exercise boundary. The
       // derivative at the optimal point is 0.
@@ -267,7 +265,7 @@ public final class BlackFormulaRepository {
     }
     // Backward sweep: second derivative
     double d2Bar = -discountFactor * omega * strike;
-    double density2 = NORMAL.getPDF(omega * kappa);
+    double density2 = NormalDistribution.standardPdf(omega * kappa);
     double d1Kappa = omega * density1;
     double d1KappaKappa = -(kappa + volPeriod) * d1Kappa;
     double d2Kappa = omega * density2;
@@ -356,7 +354,7 @@ public final class BlackFormulaRepository {
       d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
     }
 
-    return sign * NORMAL.getCDF(sign * d1);
+    return sign * NormalDistribution.standardCdf(sign * d1);
   }
 
   //-------------------------------------------------------------------------
@@ -384,7 +382,7 @@ public final class BlackFormulaRepository {
     ArgChecker.isTrue(lognormalVol >= 0d, "negative/NaN lognormalVol; have {}", lognormalVol);
 
     int sign = isCall ? 1 : -1;
-    double d1 = sign * NORMAL.getInverseCDF(sign * forwardDelta);
+    double d1 = sign * NormalDistribution.standardInverseCdf(sign * forwardDelta);
 
     double sigmaSqT = lognormalVol * lognormalVol * timeToExpiry;
     if (Double.isNaN(sigmaSqT)) {
@@ -448,7 +446,7 @@ public final class BlackFormulaRepository {
       d2 = Math.log(forward / strike) / sigmaRootT - 0.5 * sigmaRootT;
     }
 
-    return -sign * NORMAL.getCDF(sign * d2);
+    return -sign * NormalDistribution.standardCdf(sign * d2);
   }
 
   //-------------------------------------------------------------------------
@@ -505,7 +503,7 @@ public final class BlackFormulaRepository {
       d = Math.log(forward / strike) / sigmaRootT;
     }
 
-    return sign * NORMAL.getCDF(sign * d);
+    return sign * NormalDistribution.standardCdf(sign * d);
   }
 
   //-------------------------------------------------------------------------
@@ -546,7 +544,7 @@ public final class BlackFormulaRepository {
         return 0d;
       }
       log.info("(log 1d)/0d ambiguous");
-      return bFwd ? NORMAL.getPDF(0d) : NORMAL.getPDF(0d) / forward / sigmaRootT;
+      return bFwd ? NormalDistribution.standardPdf(0d) : NormalDistribution.standardPdf(0d) / forward / sigmaRootT;
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
       d1 = 0.5 * sigmaRootT;
@@ -554,7 +552,7 @@ public final class BlackFormulaRepository {
       d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d1);
+    double nVal = NormalDistribution.standardPdf(d1);
     return nVal == 0d ? 0d : nVal / forward / sigmaRootT;
   }
 
@@ -592,7 +590,7 @@ public final class BlackFormulaRepository {
         return 0d;
       }
       log.info("(log 1d)/0d ambiguous");
-      return bStr ? NORMAL.getPDF(0d) : NORMAL.getPDF(0d) / strike / sigmaRootT;
+      return bStr ? NormalDistribution.standardPdf(0d) : NormalDistribution.standardPdf(0d) / strike / sigmaRootT;
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
       d2 = -0.5 * sigmaRootT;
@@ -600,7 +598,7 @@ public final class BlackFormulaRepository {
       d2 = Math.log(forward / strike) / sigmaRootT - 0.5 * sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d2);
+    double nVal = NormalDistribution.standardPdf(d2);
     return nVal == 0d ? 0d : nVal / strike / sigmaRootT;
   }
 
@@ -642,7 +640,7 @@ public final class BlackFormulaRepository {
         return 0d;
       }
       log.info("(log 1d)/0d ambiguous");
-      return bFwd ? -NORMAL.getPDF(0d) : -NORMAL.getPDF(0d) / forward / sigmaRootT;
+      return bFwd ? -NormalDistribution.standardPdf(0d) : -NormalDistribution.standardPdf(0d) / forward / sigmaRootT;
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
       d2 = -0.5 * sigmaRootT;
@@ -650,7 +648,7 @@ public final class BlackFormulaRepository {
       d2 = Math.log(forward / strike) / sigmaRootT - 0.5 * sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d2);
+    double nVal = NormalDistribution.standardPdf(d2);
     return nVal == 0d ? 0d : -nVal / forward / sigmaRootT;
   }
 
@@ -729,8 +727,8 @@ public final class BlackFormulaRepository {
           d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
           d2 = d1 - sigmaRootT;
         }
-        double nF = NORMAL.getCDF(sign * d1);
-        double nS = NORMAL.getCDF(sign * d2);
+        double nF = NormalDistribution.standardCdf(sign * d1);
+        double nS = NormalDistribution.standardCdf(sign * d2);
         double first = nF == 0d ? 0d : forward * nF;
         double second = ((nS == 0d) | (Math.exp(-interestRate * timeToExpiry) == 0d)) ? 0d : strike *
             Math.exp(-interestRate * timeToExpiry) * nS;
@@ -814,7 +812,7 @@ public final class BlackFormulaRepository {
         } else {
           d2 = Math.log(forward / strike) / sigmaRootT - 0.5 * sigmaRootT;
         }
-        double nS = NORMAL.getCDF(sign * d2);
+        double nS = NormalDistribution.standardCdf(sign * d2);
         priceLike = (nS == 0d) ? 0d : -sign * strike * nS;
       }
     }
@@ -860,11 +858,13 @@ public final class BlackFormulaRepository {
       }
       log.info("log(1)/0 ambiguous");
       if (rootT < SMALL) {
-        return forward < SMALL ? -NORMAL.getPDF(0d) * lognormalVol / 2. : (lognormalVol < SMALL ? -forward *
-            NORMAL.getPDF(0d) / 2. : -forward * NORMAL.getPDF(0d) * lognormalVol / 2. / rootT);
+        return forward < SMALL ? -NormalDistribution.standardPdf(0d) * lognormalVol / 2. : (lognormalVol < SMALL ?
+            -forward * NormalDistribution.standardPdf(0d) / 2. :
+            -forward * NormalDistribution.standardPdf(0d) * lognormalVol / 2. / rootT);
       }
       if (lognormalVol < SMALL) {
-        return bFwd ? -NORMAL.getPDF(0d) / 2. / rootT : -forward * NORMAL.getPDF(0d) * lognormalVol / 2. / rootT;
+        return bFwd ? -NormalDistribution.standardPdf(0d) / 2. / rootT :
+            -forward * NormalDistribution.standardPdf(0d) * lognormalVol / 2. / rootT;
       }
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
@@ -873,7 +873,7 @@ public final class BlackFormulaRepository {
       d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d1);
+    double nVal = NormalDistribution.standardPdf(d1);
     return nVal == 0d ? 0d : -forward * nVal * lognormalVol / 2. / rootT;
   }
 
@@ -915,7 +915,9 @@ public final class BlackFormulaRepository {
         return 0d;
       }
       log.info("log(1)/0 ambiguous");
-      return (rootT < SMALL && forward > LARGE) ? NORMAL.getPDF(0d) : forward * rootT * NORMAL.getPDF(0d);
+      return (rootT < SMALL && forward > LARGE) ?
+          NormalDistribution.standardPdf(0d) :
+          forward * rootT * NormalDistribution.standardPdf(0d);
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
       d1 = 0.5 * sigmaRootT;
@@ -923,7 +925,7 @@ public final class BlackFormulaRepository {
       d1 = Math.log(forward / strike) / sigmaRootT + 0.5 * sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d1);
+    double nVal = NormalDistribution.standardPdf(d1);
     return nVal == 0d ? 0d : forward * rootT * nVal;
   }
 
@@ -969,7 +971,7 @@ public final class BlackFormulaRepository {
         return 0d;
       }
       log.info("log(1)/0 ambiguous");
-      return lognormalVol < SMALL ? -NORMAL.getPDF(0d) / lognormalVol : NORMAL.getPDF(0d) * rootT;
+      return lognormalVol < SMALL ? -NormalDistribution.standardPdf(0d) / lognormalVol : NormalDistribution.standardPdf(0d) * rootT;
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
       d1 = 0.5 * sigmaRootT;
@@ -979,7 +981,7 @@ public final class BlackFormulaRepository {
       d2 = d1 - sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d1);
+    double nVal = NormalDistribution.standardPdf(d1);
     return nVal == 0d ? 0d : -nVal * d2 / lognormalVol;
   }
 
@@ -1023,7 +1025,7 @@ public final class BlackFormulaRepository {
         return 0d;
       }
       log.info("log(1)/0 ambiguous");
-      return lognormalVol < SMALL ? -NORMAL.getPDF(0d) / lognormalVol : -NORMAL.getPDF(0d) * rootT;
+      return lognormalVol < SMALL ? -NormalDistribution.standardPdf(0d) / lognormalVol : -NormalDistribution.standardPdf(0d) * rootT;
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
       d1 = 0.5 * sigmaRootT;
@@ -1033,7 +1035,7 @@ public final class BlackFormulaRepository {
       d2 = d1 - sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d2);
+    double nVal = NormalDistribution.standardPdf(d2);
     return nVal == 0d ? 0d : nVal * d1 / lognormalVol;
   }
 
@@ -1078,10 +1080,13 @@ public final class BlackFormulaRepository {
       }
       log.info("log(1)/0 ambiguous");
       if (bFwd) {
-        return rootT < SMALL ? NORMAL.getPDF(0d) / lognormalVol : forward * NORMAL.getPDF(0d) * rootT / lognormalVol;
+        return rootT < SMALL ?
+            NormalDistribution.standardPdf(0d) / lognormalVol :
+            forward * NormalDistribution.standardPdf(0d) * rootT / lognormalVol;
       }
-      return lognormalVol < SMALL ? forward * NORMAL.getPDF(0d) * rootT / lognormalVol : -forward * NORMAL.getPDF(0d) *
-          timeToExpiry * lognormalVol / 4.;
+      return lognormalVol < SMALL ?
+          forward * NormalDistribution.standardPdf(0d) * rootT / lognormalVol :
+          -forward * NormalDistribution.standardPdf(0d) * timeToExpiry * lognormalVol / 4.;
     }
     if (Math.abs(forward - strike) < SMALL | (bFwd && bStr)) {
       d1 = 0.5 * sigmaRootT;
@@ -1091,7 +1096,7 @@ public final class BlackFormulaRepository {
       d2 = d1 - sigmaRootT;
     }
 
-    double nVal = NORMAL.getPDF(d1);
+    double nVal = NormalDistribution.standardPdf(d1);
     double res = nVal == 0d ? 0d : forward * nVal * rootT * d1 * d2 / lognormalVol;
     return res;
   }
@@ -1225,7 +1230,7 @@ public final class BlackFormulaRepository {
         Math.min(forward, strike));
 
     if (forward == strike) {
-      return NORMAL.getInverseCDF(0.5 * (otmPrice / forward + 1)) * 2 / Math.sqrt(timeToExpiry);
+      return NormalDistribution.standardInverseCdf(0.5 * (otmPrice / forward + 1)) * 2 / Math.sqrt(timeToExpiry);
     }
 
     boolean isCall = strike >= forward;
@@ -1293,7 +1298,7 @@ public final class BlackFormulaRepository {
     ArgChecker.isTrue(forward > 0, "Forward negative");
     double omega = (isCall ? 1d : -1d);
     double strike = forward *
-        Math.exp(-volatility * Math.sqrt(time) * omega * NORMAL.getInverseCDF(omega * delta) + volatility * volatility *
+        Math.exp(-volatility * Math.sqrt(time) * omega * NormalDistribution.standardInverseCdf(omega * delta) + volatility * volatility *
             time / 2);
     return strike;
   }
@@ -1324,14 +1329,14 @@ public final class BlackFormulaRepository {
     ArgChecker.isTrue(forward > 0, "Forward negative");
     double omega = (isCall ? 1d : -1d);
     double sqrtt = Math.sqrt(time);
-    double n = NORMAL.getInverseCDF(omega * delta);
+    double n = NormalDistribution.standardInverseCdf(omega * delta);
     double part1 = Math.exp(-volatility * sqrtt * omega * n + volatility * volatility * time / 2);
     double strike = forward * part1;
     // Backward sweep
     double strikeBar = 1d;
     double part1Bar = forward * strikeBar;
     double nBar = part1 * -volatility * Math.sqrt(time) * omega * part1Bar;
-    derivatives[0] = omega / NORMAL.getPDF(n) * nBar;
+    derivatives[0] = omega / NormalDistribution.standardPdf(n) * nBar;
     derivatives[1] = part1 * strikeBar;
     derivatives[2] = part1 * (-volatility * omega * n * 0.5 / sqrtt + volatility * volatility / 2) * part1Bar;
     derivatives[3] = part1 * (-sqrtt * omega * n + volatility * time) * part1Bar;
@@ -42,6 +42,8 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * By default the gamma is computed using a one basis-point shift and a forward finite difference.
  * The results themselves are not scaled (they represent the second order derivative).
  * <p>
+ * The cross gamma may be computed in parallel using {@link #parallel()}.
+ * <p>
  * Reference: Interest Rate Cross-gamma for Single and Multiple Curves. OpenGamma quantitative research 15, July 14
  */
 public final class CurveGammaCalculator {
@@ -51,6 +53,18 @@ public final class CurveGammaCalculator {
    */
   public static final CurveGammaCalculator DEFAULT = new CurveGammaCalculator(FiniteDifferenceType.FORWARD, 1e-4);
 
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
+  /**
+   * The shift to be applied to the curves.
+   */
+  private final double shift;
+  /**
+   * Whether the bumped sensitivities are computed in parallel.
+   */
+  private final boolean parallel;
   /**
    * The first order finite difference calculator.
    */
@@ -95,9 +109,31 @@ public final class CurveGammaCalculator {
    * @param shift  the shift to be applied to the curves
    */
   private CurveGammaCalculator(FiniteDifferenceType fdType, double shift) {
+    this(fdType, shift, false);
+  }
+
+  // creates an instance
+  private CurveGammaCalculator(FiniteDifferenceType fdType, double shift, boolean parallel) {
+    this.fdType = fdType;
+    this.shift = shift;
+    this.parallel = parallel;
     this.fd = new VectorFieldFirstOrderDifferentiator(fdType, shift);
   }
 
+  /**
+   * Returns a calculator that computes the bumped sensitivities in parallel.
+   * <p>
+   * The cross gamma of a curve requires a sensitivity computation for each bumped node of the curve.
+   * The returned calculator performs these computations in parallel using a parallel stream,
+   * thus they run in the fork-join pool of the calling thread, typically the common pool.
+   * The sensitivity function must be thread-safe.
+   * 
+   * @return the parallel calculator
+   */
+  public CurveGammaCalculator parallel() {
+    return new CurveGammaCalculator(fdType, shift, true);
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Computes intra-curve cross gamma by applying finite difference method to curve delta.
@@ -231,7 +267,7 @@ public final class CurveGammaCalculator {
         return sensiMulti.getSensitivity(newCurve.getName(), sensitivityCurrency).getSensitivity();
       }
     };
-    DoubleMatrix sensi = fd.differentiate(function).apply(nodalCurve.getYValues());
+    DoubleMatrix sensi = differentiate(function, nodalCurve.getYValues());
     List<ParameterMetadata> metadata = IntStream.range(0, nodalCurve.getParameterCount())
         .mapToObj(i -> nodalCurve.getParameterMetadata(i))
         .collect(toImmutableList());
@@ -254,7 +290,7 @@ public final class CurveGammaCalculator {
         return sensiMulti.getSensitivity(baseDeltaSingle.getMarketDataName(), baseDeltaSingle.getCurrency()).getSensitivity();
       }
     };
-    DoubleMatrix sensi = fd.differentiate(function).apply(nodalCurve.getYValues());
+    DoubleMatrix sensi = differentiate(function, nodalCurve.getYValues());
     List<ParameterMetadata> metadata = IntStream.range(0, nodalCurve.getParameterCount())
         .mapToObj(i -> nodalCurve.getParameterMetadata(i))
         .collect(toImmutableList());
@@ -267,6 +303,26 @@ public final class CurveGammaCalculator {
         sensi);
   }
 
+  // differentiates the function, bumping each node in parallel if requested
+  private DoubleMatrix differentiate(Function<DoubleArray, DoubleArray> function, DoubleArray x) {
+    if (!parallel) {
+      return fd.differentiate(function).apply(x);
+    }
+    // the unbumped value is only needed by the one-sided differences
+    DoubleArray y = fdType == FiniteDifferenceType.CENTRAL ? null : function.apply(x);
+    double width = fdType == FiniteDifferenceType.CENTRAL ? 2 * shift : shift;
+    int n = x.size();
+    DoubleArray[] columns = new DoubleArray[n];
+    IntStream.range(0, n).parallel().forEach(j -> {
+      double xj = x.get(j);
+      DoubleArray up = fdType == FiniteDifferenceType.BACKWARD ? y : function.apply(x.with(j, xj + shift));
+      DoubleArray down = fdType == FiniteDifferenceType.FORWARD ? y : function.apply(x.with(j, xj - shift));
+      columns[j] = up.minus(down).dividedBy(width);
+    });
+    int m = n == 0 ? 0 : columns[0].size();
+    return DoubleMatrix.of(m, n, (i, j) -> columns[j].get(i));
+  }
+
   private CrossGammaParameterSensitivity combineSensitivities(
       CurrencyParameterSensitivity baseDeltaSingle,
       CrossGammaParameterSensitivities blockCrossGamma) {
@@ -5,17 +5,21 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import org.joda.beans.MetaProperty;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.collect.array.DoubleArray;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.Curve;
@@ -39,6 +43,10 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
  * <p>
  * This is based on an {@link ImmutableRatesProvider}, {@link LegalEntityDiscountingProvider} or {@link CreditRatesProvider}.
  * The sensitivities are calculated by finite difference.
+ * <p>
+ * Each bump of a curve parameter requires a revaluation, which may be performed in parallel
+ * using {@link #parallel()}. The sensitivities of many values, such as all the trades of a portfolio,
+ * may be computed together using {@link #sensitivities(RatesProvider, Function)}.
  */
 public class RatesFiniteDifferenceSensitivityCalculator {
 
@@ -52,6 +60,10 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * The shift used for finite difference.
    */
   private final double shift;
+  /**
+   * Whether the bumped values are computed in parallel.
+   */
+  private final boolean parallel;
 
   /**
    * Create an instance of the finite difference calculator.
@@ -59,7 +71,27 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * @param shift  the shift used in the finite difference computation
    */
   public RatesFiniteDifferenceSensitivityCalculator(double shift) {
+    this(shift, false);
+  }
+
+  // creates an instance
+  private RatesFiniteDifferenceSensitivityCalculator(double shift, boolean parallel) {
     this.shift = shift;
+    this.parallel = parallel;
+  }
+
+  /**
+   * Returns a calculator that computes the bumped values in parallel.
+   * <p>
+   * Each bump of a curve parameter results in an independent revaluation.
+   * The returned calculator performs these revaluations in parallel using a parallel stream,
+   * thus they run in the fork-join pool of the calling thread, typically the common pool.
+   * The value function must be thread-safe.
+   * 
+   * @return the parallel calculator
+   */
+  public RatesFiniteDifferenceSensitivityCalculator parallel() {
+    return new RatesFiniteDifferenceSensitivityCalculator(shift, true);
   }
 
   //-------------------------------------------------------------------------
@@ -77,44 +109,79 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       RatesProvider provider,
       Function<ImmutableRatesProvider, CurrencyAmount> valueFn) {
 
+    return sensitivities(provider, p -> ImmutableList.of(valueFn.apply(p))).get(0);
+  }
+
+  /**
+   * Computes the first order sensitivities of a list of functions of a RatesProvider by finite difference.
+   * <p>
+   * This is used to compute the sensitivities of many values, such as the trades of a portfolio, together.
+   * Each bumped rates provider is created once, and all the values are computed from it.
+   * <p>
+   * The finite difference is computed by forward type.
+   * The function should return a list of the same size for any rate provider,
+   * with each element in the same currency for any rate provider.
+   * 
+   * @param provider  the rates provider
+   * @param valuesFn  the function from a rate provider to the currency amounts for which the sensitivity
+   *  should be computed
+   * @return the curve sensitivity of each value, in the order of the values
+   */
+  public List<CurrencyParameterSensitivities> sensitivities(
+      RatesProvider provider,
+      Function<ImmutableRatesProvider, List<CurrencyAmount>> valuesFn) {
+
     ImmutableRatesProvider immProv = provider.toImmutableRatesProvider();
-    CurrencyAmount valueInit = valueFn.apply(immProv);
-    CurrencyParameterSensitivities discounting = sensitivity(
-        immProv,
-        immProv.getDiscountCurves(),
-        (base, bumped) -> base.toBuilder().discountCurves(bumped).build(),
-        valueFn,
-        valueInit);
-    CurrencyParameterSensitivities forward = sensitivity(
-        immProv,
-        immProv.getIndexCurves(),
-        (base, bumped) -> base.toBuilder().indexCurves(bumped).build(),
-        valueFn,
-        valueInit);
-    return discounting.combinedWith(forward);
+    List<CurrencyAmount> valuesInit = valuesFn.apply(immProv);
+    CurrencyParameterSensitivities[] result = new CurrencyParameterSensitivities[valuesInit.size()];
+    Arrays.fill(result, CurrencyParameterSensitivities.empty());
+    for (Entry<Currency, Curve> entry : immProv.getDiscountCurves().entrySet()) {
+      sensitivities(
+          entry.getValue(),
+          bumped -> immProv.toBuilder().discountCurve(entry.getKey(), bumped).build(),
+          valuesFn,
+          valuesInit,
+          result);
+    }
+    for (Entry<Index, Curve> entry : immProv.getIndexCurves().entrySet()) {
+      sensitivities(
+          entry.getValue(),
+          bumped -> immProv.toBuilder().indexCurve(entry.getKey(), bumped).build(),
+          valuesFn,
+          valuesInit,
+          result);
+    }
+    return ImmutableList.copyOf(result);
   }
 
-  // computes the sensitivity with respect to the curves
-  private <T> CurrencyParameterSensitivities sensitivity(
-      ImmutableRatesProvider provider,
-      Map<T, Curve> baseCurves,
-      BiFunction<ImmutableRatesProvider, Map<T, Curve>, ImmutableRatesProvider> storeBumpedFn,
-      Function<ImmutableRatesProvider, CurrencyAmount> valueFn,
-      CurrencyAmount valueInit) {
+  // computes the sensitivity of each value with respect to the curve
+  // each bumped provider is a full copy of the curve maps, which is small relative to a revaluation
+  private void sensitivities(
+      Curve curve,
+      Function<Curve, ImmutableRatesProvider> storeBumpedFn,
+      Function<ImmutableRatesProvider, List<CurrencyAmount>> valuesFn,
+      List<CurrencyAmount> valuesInit,
+      CurrencyParameterSensitivities[] result) {
 
-    CurrencyParameterSensitivities result = CurrencyParameterSensitivities.empty();
-    for (Entry<T, Curve> entry : baseCurves.entrySet()) {
-      Curve curve = entry.getValue();
-      DoubleArray sensitivity = DoubleArray.of(curve.getParameterCount(), i -> {
-        Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
-        Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(entry.getKey(), dscBumped);
-        ImmutableRatesProvider providerDscBumped = storeBumpedFn.apply(provider, mapBumped);
-        return (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      });
-      result = result.combinedWith(curve.createParameterSensitivity(valueInit.getCurrency(), sensitivity));
+    int paramCount = curve.getParameterCount();
+    double[][] sensitivities = new double[valuesInit.size()][paramCount];
+    bumps(paramCount).forEach(i -> {
+      Curve bumpedCurve = curve.withParameter(i, curve.getParameter(i) + shift);
+      List<CurrencyAmount> valuesBumped = valuesFn.apply(storeBumpedFn.apply(bumpedCurve));
+      for (int v = 0; v < valuesInit.size(); v++) {
+        sensitivities[v][i] = (valuesBumped.get(v).getAmount() - valuesInit.get(v).getAmount()) / shift;
+      }
+    });
+    for (int v = 0; v < valuesInit.size(); v++) {
+      result[v] = result[v].combinedWith(
+          curve.createParameterSensitivity(valuesInit.get(v).getCurrency(), DoubleArray.ofUnsafe(sensitivities[v])));
     }
-    return result;
+  }
+
+  // the indices of the parameters to bump, in parallel if requested
+  private IntStream bumps(int paramCount) {
+    IntStream bumps = IntStream.range(0, paramCount);
+    return parallel ? bumps.parallel() : bumps;
   }
 
   //-------------------------------------------------------------------------
@@ -154,13 +221,13 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       Curve curve = checkDiscountFactors(discountFactors);
       int paramCount = curve.getParameterCount();
       double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
+      bumps(paramCount).forEach(i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<Pair<T, Currency>, DiscountFactors> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, createDiscountFactors(discountFactors, dscBumped));
         ImmutableLegalEntityDiscountingProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
         sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
+      });
       result = result.combinedWith(
           curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
     }
@@ -205,13 +272,13 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       Curve curve = checkDiscountFactors(discountFactors);
       int paramCount = curve.getParameterCount();
       double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
+      bumps(paramCount).forEach(i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<T, CreditDiscountFactors> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, createCreditDiscountFactors(creditDiscountFactors, dscBumped));
         ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
         sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
+      });
       result = result.combinedWith(
           curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
     }
@@ -233,14 +300,14 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       Curve curve = checkDiscountFactors(discountFactors);
       int paramCount = curve.getParameterCount();
       double[] sensitivity = new double[paramCount];
-      for (int i = 0; i < paramCount; i++) {
+      bumps(paramCount).forEach(i -> {
         Curve dscBumped = curve.withParameter(i, curve.getParameter(i) + shift);
         Map<T, LegalEntitySurvivalProbabilities> mapBumped = new HashMap<>(baseCurves);
         mapBumped.put(key, LegalEntitySurvivalProbabilities.of(
             credit.getLegalEntityId(), createCreditDiscountFactors(creditDiscountFactors, dscBumped)));
         ImmutableCreditRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
         sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
+      });
       result = result.combinedWith(
           curve.createParameterSensitivity(valueInit.getCurrency(), DoubleArray.copyOf(sensitivity)));
     }
@@ -18,6 +18,7 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.tuple.Triple;
 import com.opengamma.strata.market.amount.CashFlows;
+import com.opengamma.strata.market.explain.ExplainDetail;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
@@ -452,11 +453,31 @@ public class DiscountingSwapProductPricer {
    * @return the explanatory information
    */
   public ExplainMap explainPresentValue(ResolvedSwap swap, RatesProvider provider) {
-    ExplainMapBuilder builder = ExplainMap.builder();
+    return explainPresentValue(swap, provider, ExplainDetail.FULL);
+  }
+
+  /**
+   * Explains the present value of the swap product with the specified level of detail.
+   * <p>
+   * This returns explanatory information about the calculation.
+   * Only the lists of entries included at the level of detail are calculated.
+   * If the legs are not included, the present value of the swap is added instead.
+   * 
+   * @param swap  the product
+   * @param provider  the rates provider
+   * @param detail  the level of detail
+   * @return the explanatory information
+   */
+  public ExplainMap explainPresentValue(ResolvedSwap swap, RatesProvider provider, ExplainDetail detail) {
+    ExplainMapBuilder builder = ExplainMap.builder(detail);
     builder.put(ExplainKey.ENTRY_TYPE, "Swap");
-    for (ResolvedSwapLeg leg : swap.getLegs()) {
-      builder.addListEntryWithIndex(
-          ExplainKey.LEGS, child -> legPricer.explainPresentValueInternal(leg, provider, child));
+    if (builder.isIncluded(ExplainKey.LEGS)) {
+      for (ResolvedSwapLeg leg : swap.getLegs()) {
+        builder.addListEntryWithIndex(
+            ExplainKey.LEGS, child -> legPricer.explainPresentValueInternal(leg, provider, child));
+      }
+    } else {
+      builder.put(ExplainKey.MULTI_CURRENCY_PRESENT_VALUE, presentValue(swap, provider));
     }
     return builder.build();
   }
@@ -10,6 +10,7 @@ import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.amount.CashFlows;
+import com.opengamma.strata.market.explain.ExplainDetail;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -99,6 +100,21 @@ public class DiscountingSwapTradePricer {
     return productPricer.explainPresentValue(trade.getProduct(), provider);
   }
 
+  /**
+   * Explains the present value of the swap trade with the specified level of detail.
+   * <p>
+   * This returns explanatory information about the calculation.
+   * Only the lists of entries included at the level of detail are calculated.
+   * 
+   * @param trade  the trade
+   * @param provider  the rates provider
+   * @param detail  the level of detail
+   * @return the explanatory information
+   */
+  public ExplainMap explainPresentValue(ResolvedSwapTrade trade, RatesProvider provider, ExplainDetail detail) {
+    return productPricer.explainPresentValue(trade.getProduct(), provider, detail);
+  }
+
   /**
    * Calculates the present value sensitivity of the swap trade.
    * <p>
@@ -0,0 +1,164 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+
+/**
+ * The simulated exposure profile of a book of trades.
+ * <p>
+ * The profile holds statistics of the value of the book on each exposure date.
+ * Each statistic is measured under the forward measure of its date, thus is not discounted.
+ * The discounted expected exposure is the expected exposure multiplied by the discount factor of the date.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class ExposureProfile {
+
+  /**
+   * The currency of the values.
+   */
+  private final Currency currency;
+  /**
+   * The exposure dates.
+   */
+  private final ImmutableList<LocalDate> dates;
+  /**
+   * The expected value on each date.
+   */
+  private final DoubleArray expectedValue;
+  /**
+   * The expected positive exposure on each date.
+   */
+  private final DoubleArray expectedExposure;
+  /**
+   * The potential future exposure on each date.
+   */
+  private final DoubleArray potentialFutureExposure;
+  /**
+   * The number of paths.
+   */
+  private final int pathCount;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance.
+   *
+   * @param currency  the currency of the values
+   * @param dates  the exposure dates
+   * @param expectedValue  the expected value on each date
+   * @param expectedExposure  the expected positive exposure on each date
+   * @param potentialFutureExposure  the potential future exposure on each date
+   * @param pathCount  the number of paths
+   * @return the profile
+   */
+  public static ExposureProfile of(
+      Currency currency,
+      List<LocalDate> dates,
+      DoubleArray expectedValue,
+      DoubleArray expectedExposure,
+      DoubleArray potentialFutureExposure,
+      int pathCount) {
+
+    return new ExposureProfile(currency, dates, expectedValue, expectedExposure, potentialFutureExposure, pathCount);
+  }
+
+  // restricted constructor
+  private ExposureProfile(
+      Currency currency,
+      List<LocalDate> dates,
+      DoubleArray expectedValue,
+      DoubleArray expectedExposure,
+      DoubleArray potentialFutureExposure,
+      int pathCount) {
+
+    this.currency = ArgChecker.notNull(currency, "currency");
+    this.dates = ImmutableList.copyOf(ArgChecker.notNull(dates, "dates"));
+    this.expectedValue = ArgChecker.notNull(expectedValue, "expectedValue");
+    this.expectedExposure = ArgChecker.notNull(expectedExposure, "expectedExposure");
+    this.potentialFutureExposure = ArgChecker.notNull(potentialFutureExposure, "potentialFutureExposure");
+    this.pathCount = ArgChecker.notNegativeOrZero(pathCount, "pathCount");
+    ArgChecker.isTrue(expectedValue.size() == dates.size(), "Expected value must have one value per date");
+    ArgChecker.isTrue(expectedExposure.size() == dates.size(), "Expected exposure must have one value per date");
+    ArgChecker.isTrue(
+        potentialFutureExposure.size() == dates.size(), "Potential future exposure must have one value per date");
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the currency of the values.
+   *
+   * @return the currency
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  /**
+   * Gets the exposure dates, in order.
+   *
+   * @return the dates
+   */
+  public ImmutableList<LocalDate> getDates() {
+    return dates;
+  }
+
+  /**
+   * Gets the expected value of the book on each date.
+   * <p>
+   * This is the expectation of the value, which may be negative.
+   *
+   * @return the expected value, one value per date
+   */
+  public DoubleArray getExpectedValue() {
+    return expectedValue;
+  }
+
+  /**
+   * Gets the expected positive exposure on each date, known as EE.
+   * <p>
+   * This is the expectation of the value floored at zero.
+   *
+   * @return the expected exposure, one value per date
+   */
+  public DoubleArray getExpectedExposure() {
+    return expectedExposure;
+  }
+
+  /**
+   * Gets the potential future exposure on each date, known as PFE.
+   * <p>
+   * This is the quantile of the value floored at zero, at the level used in the simulation.
+   *
+   * @return the potential future exposure, one value per date
+   */
+  public DoubleArray getPotentialFutureExposure() {
+    return potentialFutureExposure;
+  }
+
+  /**
+   * Gets the number of simulated paths.
+   *
+   * @return the number of paths
+   */
+  public int getPathCount() {
+    return pathCount;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format("ExposureProfile[currency={}, dates={}, paths={}]", currency, dates.size(), pathCount);
+  }
+
+}
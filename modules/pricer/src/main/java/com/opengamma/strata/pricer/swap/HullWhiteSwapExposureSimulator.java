@@ -0,0 +1,539 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.DoubleArrayMath;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.array.DoubleArray;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParameters;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+
+/**
+ * Simulates the exposure profile of a book of swaps in the Hull-White one factor model.
+ * <p>
+ * The model is simulated under the forward measure of the last simulation date, using the numeraire
+ * of the zero-coupon bond paying on that date. In this measure, the model has a single Gaussian state
+ * variable with independent increments, whose variances are derived from the model alpha.
+ * The increments are sampled exactly, thus there is no discretization error.
+ * On each date, the zero-coupon bond prices are analytic functions of the state, calibrated to
+ * the discount curve of the rates provider.
+ * <p>
+ * The swaps are priced on each date using their {@linkplain SwapCashFlowTable cash flow table}.
+ * The forward Ibor rates keep the deterministic multiplicative spread to the discount curve
+ * found in the rates provider, which is the approach of the Hull-White swaption pricers.
+ * An Ibor rate is fixed on its fixing date, which is added to the simulation dates.
+ * The value of the book is the sum of the values of the swaps, as a single netting set.
+ * <p>
+ * The paths are simulated in batches, each with its own random number generator split from
+ * a generator seeded by the configured seed. The results are thus reproducible, and independent of
+ * whether the batches are simulated in parallel.
+ * <p>
+ * The memory used does not grow with the product of the number of paths and exposure dates.
+ * A batch holds the state of its paths, and their values on each exposure date until the batch is complete.
+ * The expected value and exposure are then accumulated for the batch, and only the largest exposures
+ * of the batch are kept for the potential future exposure. A number of exposures somewhat larger than
+ * the tail beyond the level is kept for each date. In the unlikely case that the weights of the kept
+ * exposures are too small to locate the quantile, the paths are simulated again, keeping more exposures.
+ * <p>
+ * The swaps must be in a single currency, and only contain fixed and Ibor rate periods and known payments.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class HullWhiteSwapExposureSimulator {
+
+  /**
+   * The default number of paths in each batch.
+   */
+  private static final int DEFAULT_BATCH_SIZE = 1000;
+  /**
+   * The default level of the potential future exposure.
+   */
+  private static final double DEFAULT_PFE_LEVEL = 0.95;
+  /**
+   * The minimum number of exposures kept for the potential future exposure of each date.
+   */
+  private static final int MIN_TAIL_SIZE = 100;
+
+  /**
+   * The number of paths.
+   */
+  private final int pathCount;
+  /**
+   * The seed of the random number generator.
+   */
+  private final long seed;
+  /**
+   * The number of paths in each batch.
+   */
+  private final int batchSize;
+  /**
+   * The level of the potential future exposure.
+   */
+  private final double pfeLevel;
+  /**
+   * Whether the batches are simulated in parallel.
+   */
+  private final boolean parallel;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that simulates the specified number of paths.
+   * <p>
+   * The potential future exposure is the 95% quantile.
+   *
+   * @param pathCount  the number of paths
+   * @param seed  the seed of the random number generator
+   * @return the simulator
+   */
+  public static HullWhiteSwapExposureSimulator of(int pathCount, long seed) {
+    return of(pathCount, seed, DEFAULT_BATCH_SIZE, DEFAULT_PFE_LEVEL);
+  }
+
+  /**
+   * Obtains an instance that simulates the specified number of paths.
+   *
+   * @param pathCount  the number of paths
+   * @param seed  the seed of the random number generator
+   * @param batchSize  the number of paths in each batch
+   * @param pfeLevel  the level of the potential future exposure, such as 0.95
+   * @return the simulator
+   */
+  public static HullWhiteSwapExposureSimulator of(int pathCount, long seed, int batchSize, double pfeLevel) {
+    return new HullWhiteSwapExposureSimulator(pathCount, seed, batchSize, pfeLevel, false);
+  }
+
+  // restricted constructor
+  private HullWhiteSwapExposureSimulator(int pathCount, long seed, int batchSize, double pfeLevel, boolean parallel) {
+    this.pathCount = ArgChecker.notNegativeOrZero(pathCount, "pathCount");
+    this.seed = seed;
+    this.batchSize = ArgChecker.notNegativeOrZero(batchSize, "batchSize");
+    this.pfeLevel = ArgChecker.inRangeExclusive(pfeLevel, 0d, 1d, "pfeLevel");
+    this.parallel = parallel;
+  }
+
+  /**
+   * Returns a simulator that simulates the batches of paths in parallel.
+   * <p>
+   * The results are the same as those of this simulator.
+   *
+   * @return the parallel simulator
+   */
+  public HullWhiteSwapExposureSimulator parallel() {
+    return new HullWhiteSwapExposureSimulator(pathCount, seed, batchSize, pfeLevel, true);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Simulates the exposure profile of a book of swaps.
+   * <p>
+   * The exposure dates must not be before the valuation date.
+   *
+   * @param swaps  the swaps of the book
+   * @param exposureDates  the exposure dates
+   * @param ratesProvider  the rates provider
+   * @param hwProvider  the Hull-White model parameter provider
+   * @return the exposure profile
+   * @throws IllegalArgumentException if the swaps cannot be simulated
+   */
+  public ExposureProfile exposure(
+      List<ResolvedSwap> swaps,
+      List<LocalDate> exposureDates,
+      RatesProvider ratesProvider,
+      HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+    ArgChecker.notEmpty(swaps, "swaps");
+    ArgChecker.notEmpty(exposureDates, "exposureDates");
+    LocalDate valuationDate = ratesProvider.getValuationDate();
+    ArgChecker.isTrue(
+        hwProvider.getValuationDateTime().toLocalDate().equals(valuationDate),
+        "Hull-White and rates providers must have the same valuation date");
+    Simulation simulation = new Simulation(swaps, exposureDates, ratesProvider, hwProvider);
+    int dateCount = simulation.exposureDates.size();
+    int batchCount = (pathCount + batchSize - 1) / batchSize;
+    // the sums of each batch, combined in order such that the result does not depend on parallelism
+    double[][] batchValueSums = new double[batchCount][];
+    double[][] batchExposureSums = new double[batchCount][];
+    double[][] batchWeightSums = new double[batchCount][];
+    int tailSize = (int) Math.min(pathCount, 2 * Math.ceil((1d - pfeLevel) * pathCount) + MIN_TAIL_SIZE);
+    while (true) {
+      ExposureTail[] tails = new ExposureTail[dateCount];
+      for (int e = 0; e < dateCount; e++) {
+        tails[e] = new ExposureTail(tailSize);
+      }
+      SplittableRandom root = new SplittableRandom(seed);
+      SplittableRandom[] generators = new SplittableRandom[batchCount];
+      for (int b = 0; b < batchCount; b++) {
+        generators[b] = root.split();
+      }
+      IntStream batches = IntStream.range(0, batchCount);
+      (parallel ? batches.parallel() : batches).forEach(b -> {
+        int size = Math.min((b + 1) * batchSize, pathCount) - b * batchSize;
+        double[][] values = new double[dateCount][size];
+        double[][] weights = new double[dateCount][size];
+        simulation.simulate(size, generators[b], values, weights);
+        batchValueSums[b] = new double[dateCount];
+        batchExposureSums[b] = new double[dateCount];
+        batchWeightSums[b] = new double[dateCount];
+        for (int e = 0; e < dateCount; e++) {
+          for (int m = 0; m < size; m++) {
+            batchValueSums[b][e] += weights[e][m] * values[e][m];
+            batchExposureSums[b][e] += weights[e][m] * Math.max(values[e][m], 0d);
+            batchWeightSums[b][e] += weights[e][m];
+          }
+          tails[e].add(values[e], weights[e]);
+        }
+      });
+
+      double[] expectedValue = new double[dateCount];
+      double[] expectedExposure = new double[dateCount];
+      double[] totalWeight = new double[dateCount];
+      for (int b = 0; b < batchCount; b++) {
+        for (int e = 0; e < dateCount; e++) {
+          expectedValue[e] += batchValueSums[b][e];
+          expectedExposure[e] += batchExposureSums[b][e];
+          totalWeight[e] += batchWeightSums[b][e];
+        }
+      }
+      double[] potentialFutureExposure = new double[dateCount];
+      boolean complete = true;
+      for (int e = 0; e < dateCount; e++) {
+        expectedValue[e] /= pathCount;
+        expectedExposure[e] /= pathCount;
+        potentialFutureExposure[e] = tails[e].quantile(pfeLevel, totalWeight[e]);
+        complete &= !Double.isNaN(potentialFutureExposure[e]);
+      }
+      if (complete) {
+        return ExposureProfile.of(
+            simulation.currency,
+            simulation.exposureDates,
+            DoubleArray.ofUnsafe(expectedValue),
+            DoubleArray.ofUnsafe(expectedExposure),
+            DoubleArray.ofUnsafe(potentialFutureExposure),
+            pathCount);
+      }
+      // the weights of the kept exposures were too small, thus simulate again keeping more
+      tailSize = Math.min(pathCount, 2 * tailSize);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return Messages.format(
+        "HullWhiteSwapExposureSimulator[paths={}, batchSize={}, pfeLevel={}, parallel={}]",
+        pathCount,
+        batchSize,
+        pfeLevel,
+        parallel);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The precomputed dates, model quantities and cash flows of a simulation.
+   * <p>
+   * The state variable is the integral of {@code sigma(s) exp(a s) dW(s)}, whose variance is {@code q}.
+   * The zero-coupon bond price on date {@code t} paying on date {@code v} is
+   * {@code P(0,v) / P(0,t) exp(-(h(v) - h(t)) x - (h(v)^2 - h(t)^2) q(t) / 2)},
+   * where {@code h(v) = (exp(-a T) - exp(-a v)) / a} and {@code T} is the last simulation date.
+   * The weight converting an expectation to the forward measure of date {@code t}
+   * is {@code exp(-h(t) x - h(t)^2 q(t) / 2)}.
+   */
+  private static final class Simulation {
+    private final Currency currency;
+    private final List<LocalDate> exposureDates;
+    // the simulation steps
+    private final long[] stepDay;
+    private final double[] stepStdDev;
+    private final double[] stepVariance;
+    private final double[] stepH;
+    private final double[] stepDiscountFactor;
+    private final int[] stepExposure;
+    // the Ibor observations
+    private final int[] obsFixingStep;
+    private final double[] obsFixedRate;
+    private final double[] obsGrowth;
+    private final double[] obsYearFraction;
+    private final double[] obsStartH;
+    private final double[] obsEndH;
+    // the cash flows
+    private final long[] cfPaymentDay;
+    private final double[] cfDiscountFactor;
+    private final double[] cfH;
+    private final double[] cfFixedAmount;
+    private final double[] cfRateFactor;
+    private final int[] cfObservation;
+
+    private Simulation(
+        List<ResolvedSwap> swaps,
+        List<LocalDate> dates,
+        RatesProvider ratesProvider,
+        HullWhiteOneFactorPiecewiseConstantParametersProvider hwProvider) {
+
+      LocalDate valuationDate = ratesProvider.getValuationDate();
+      TreeSet<LocalDate> sortedDates = new TreeSet<>(dates);
+      ArgChecker.isFalse(
+          sortedDates.first().isBefore(valuationDate), "Exposure dates must not be before valuation date");
+      this.exposureDates = ImmutableList.copyOf(sortedDates);
+      LocalDate lastDate = sortedDates.last();
+
+      // extract the cash flows, finding the distinct observations
+      List<Currency> currencies = new ArrayList<>();
+      List<LocalDate> cfDates = new ArrayList<>();
+      List<double[]> cfAmounts = new ArrayList<>();
+      List<IborIndexObservation> cfObs = new ArrayList<>();
+      Map<IborIndexObservation, Integer> observations = new LinkedHashMap<>();
+      for (ResolvedSwap swap : swaps) {
+        SwapCashFlowTable table = SwapCashFlowTable.of(swap);
+        ArgChecker.isTrue(
+            table.isComplete(), "Swap must only contain fixed and Ibor rate periods and known payments");
+        table.forEachCashFlow((ccy, paymentDate, observation, fixedAmount, rateFactor) -> {
+          if (!currencies.contains(ccy)) {
+            currencies.add(ccy);
+          }
+          cfDates.add(paymentDate);
+          cfAmounts.add(new double[] {fixedAmount, rateFactor});
+          cfObs.add(observation);
+          if (observation != null) {
+            observations.putIfAbsent(observation, observations.size());
+          }
+        });
+      }
+      ArgChecker.isTrue(currencies.size() == 1, "Swaps must have a single currency, but found {}", currencies);
+      this.currency = currencies.get(0);
+      DiscountFactors discountFactors = ratesProvider.discountFactors(currency);
+
+      // the simulation dates are the exposure dates and the fixing dates before the last exposure date
+      TreeSet<LocalDate> stepDates = new TreeSet<>(sortedDates);
+      for (IborIndexObservation observation : observations.keySet()) {
+        LocalDate fixingDate = observation.getFixingDate();
+        if (fixingDate.isAfter(valuationDate) && !fixingDate.isAfter(lastDate)) {
+          stepDates.add(fixingDate);
+        }
+      }
+      List<LocalDate> steps = ImmutableList.copyOf(stepDates);
+      int stepCount = steps.size();
+      HullWhiteOneFactorPiecewiseConstantParameters parameters = hwProvider.getParameters();
+      double meanReversion = parameters.getMeanReversion();
+      double lastTime = hwProvider.relativeTime(lastDate);
+      // the model alpha is proportional to the standard deviation of the state variable increment
+      double unitFactor = (1d - Math.exp(-meanReversion)) / meanReversion;
+      this.stepDay = new long[stepCount];
+      this.stepStdDev = new double[stepCount];
+      this.stepVariance = new double[stepCount];
+      this.stepH = new double[stepCount];
+      this.stepDiscountFactor = new double[stepCount];
+      this.stepExposure = new int[stepCount];
+      double previousTime = 0d;
+      double variance = 0d;
+      for (int k = 0; k < stepCount; k++) {
+        LocalDate date = steps.get(k);
+        double time = hwProvider.relativeTime(date);
+        double stdDev = time > previousTime ?
+            hwProvider.getModel().alpha(parameters, previousTime, time, 0d, 1d) / unitFactor :
+            0d;
+        variance += stdDev * stdDev;
+        stepDay[k] = date.toEpochDay();
+        stepStdDev[k] = stdDev;
+        stepVariance[k] = variance;
+        stepH[k] = h(time, lastTime, meanReversion);
+        stepDiscountFactor[k] = discountFactors.discountFactor(date);
+        stepExposure[k] = exposureDates.indexOf(date);
+        previousTime = Math.max(previousTime, time);
+      }
+
+      // the observations, fixed when the fixing date is reached
+      int obsCount = observations.size();
+      this.obsFixingStep = new int[obsCount];
+      this.obsFixedRate = new double[obsCount];
+      this.obsGrowth = new double[obsCount];
+      this.obsYearFraction = new double[obsCount];
+      this.obsStartH = new double[obsCount];
+      this.obsEndH = new double[obsCount];
+      for (Map.Entry<IborIndexObservation, Integer> entry : observations.entrySet()) {
+        IborIndexObservation observation = entry.getKey();
+        int o = entry.getValue();
+        double rate = ratesProvider.iborIndexRates(observation.getIndex()).rate(observation);
+        LocalDate fixingDate = observation.getFixingDate();
+        // fixed before the valuation date, on a simulation step, or after the last step
+        obsFixingStep[o] = !fixingDate.isAfter(valuationDate) ? -1 :
+            (fixingDate.isAfter(lastDate) ? Integer.MAX_VALUE : steps.indexOf(fixingDate));
+        obsFixedRate[o] = rate;
+        obsYearFraction[o] = observation.getYearFraction();
+        obsGrowth[o] = 1d + observation.getYearFraction() * rate;
+        obsStartH[o] = h(hwProvider.relativeTime(observation.getEffectiveDate()), lastTime, meanReversion);
+        obsEndH[o] = h(hwProvider.relativeTime(observation.getMaturityDate()), lastTime, meanReversion);
+      }
+
+      // the cash flows
+      int cfCount = cfDates.size();
+      this.cfPaymentDay = new long[cfCount];
+      this.cfDiscountFactor = new double[cfCount];
+      this.cfH = new double[cfCount];
+      this.cfFixedAmount = new double[cfCount];
+      this.cfRateFactor = new double[cfCount];
+      this.cfObservation = new int[cfCount];
+      for (int i = 0; i < cfCount; i++) {
+        LocalDate paymentDate = cfDates.get(i);
+        cfPaymentDay[i] = paymentDate.toEpochDay();
+        cfDiscountFactor[i] = paymentDate.isBefore(valuationDate) ? 0d : discountFactors.discountFactor(paymentDate);
+        cfH[i] = h(hwProvider.relativeTime(paymentDate), lastTime, meanReversion);
+        cfFixedAmount[i] = cfAmounts.get(i)[0];
+        cfRateFactor[i] = cfAmounts.get(i)[1];
+        cfObservation[i] = cfObs.get(i) != null ? observations.get(cfObs.get(i)) : -1;
+      }
+    }
+
+    // the bond factor, relative to the last simulation date
+    private static double h(double time, double lastTime, double meanReversion) {
+      return (Math.exp(-meanReversion * lastTime) - Math.exp(-meanReversion * time)) / meanReversion;
+    }
+
+    // simulates a batch of paths, storing the value and weight of each path on each exposure date
+    private void simulate(int size, SplittableRandom generator, double[][] values, double[][] weights) {
+      double[] state = new double[size];
+      double[] normals = new double[size];
+      double[][] fixings = new double[obsFixingStep.length][size];
+      double[] rates = new double[obsFixingStep.length];
+      for (int k = 0; k < stepDay.length; k++) {
+        fillNormals(generator, normals);
+        for (int m = 0; m < size; m++) {
+          state[m] += stepStdDev[k] * normals[m];
+        }
+        for (int o = 0; o < obsFixingStep.length; o++) {
+          if (obsFixingStep[o] == k) {
+            for (int m = 0; m < size; m++) {
+              fixings[o][m] = forwardRate(o, state[m], stepVariance[k]);
+            }
+          }
+        }
+        int e = stepExposure[k];
+        if (e < 0) {
+          continue;
+        }
+        double hk = stepH[k];
+        double variance = stepVariance[k];
+        for (int m = 0; m < size; m++) {
+          double x = state[m];
+          for (int o = 0; o < rates.length; o++) {
+            int fixingStep = obsFixingStep[o];
+            if (fixingStep < 0) {
+              rates[o] = obsFixedRate[o];
+            } else {
+              rates[o] = fixingStep <= k ? fixings[o][m] : forwardRate(o, x, variance);
+            }
+          }
+          double value = 0d;
+          for (int i = 0; i < cfPaymentDay.length; i++) {
+            if (cfPaymentDay[i] >= stepDay[k]) {
+              int o = cfObservation[i];
+              double amount = cfFixedAmount[i] + (o >= 0 ? cfRateFactor[i] * rates[o] : 0d);
+              double dh = cfH[i] - hk;
+              value += amount * cfDiscountFactor[i] / stepDiscountFactor[k] *
+                  Math.exp(-dh * x - 0.5 * dh * (cfH[i] + hk) * variance);
+            }
+          }
+          values[e][m] = value;
+          weights[e][m] = Math.exp(-hk * x - 0.5 * hk * hk * variance);
+        }
+      }
+    }
+
+    // the forward rate of an observation given the state
+    private double forwardRate(int o, double x, double variance) {
+      double dh = obsStartH[o] - obsEndH[o];
+      double ratio = Math.exp(-dh * x - 0.5 * dh * (obsStartH[o] + obsEndH[o]) * variance);
+      return (obsGrowth[o] * ratio - 1d) / obsYearFraction[o];
+    }
+
+    // fills the array with independent standard normal numbers using the Box-Muller transform
+    private static void fillNormals(SplittableRandom generator, double[] normals) {
+      for (int i = 0; i < normals.length; i += 2) {
+        double radius = Math.sqrt(-2d * Math.log(1d - generator.nextDouble()));
+        double angle = 2d * Math.PI * generator.nextDouble();
+        normals[i] = radius * Math.cos(angle);
+        if (i + 1 < normals.length) {
+          normals[i + 1] = radius * Math.sin(angle);
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * The largest positive exposures of an exposure date and their weights.
+   * <p>
+   * The exposures of each batch are added in turn, keeping at most the configured number.
+   * The weighted quantile can be located from the kept exposures if their total weight exceeds
+   * the weight of the tail beyond the level, or if no positive exposure has been dropped.
+   */
+  private static final class ExposureTail {
+    private final int maxSize;
+    private double[] exposures = new double[0];
+    private double[] weights = new double[0];
+    // whether a positive exposure has been dropped
+    private boolean truncated;
+
+    private ExposureTail(int maxSize) {
+      this.maxSize = maxSize;
+    }
+
+    // adds the positive exposures of a batch, keeping the largest
+    private synchronized void add(double[] values, double[] valueWeights) {
+      int size = exposures.length;
+      double[] combinedExposures = Arrays.copyOf(exposures, size + values.length);
+      double[] combinedWeights = Arrays.copyOf(weights, size + values.length);
+      for (int m = 0; m < values.length; m++) {
+        if (values[m] > 0d) {
+          combinedExposures[size] = values[m];
+          combinedWeights[size] = valueWeights[m];
+          size++;
+        }
+      }
+      combinedExposures = Arrays.copyOf(combinedExposures, size);
+      combinedWeights = Arrays.copyOf(combinedWeights, size);
+      // sorted in ascending order of exposure, keeping the end
+      DoubleArrayMath.sortPairs(combinedExposures, combinedWeights);
+      int start = Math.max(size - maxSize, 0);
+      truncated |= start > 0;
+      exposures = Arrays.copyOfRange(combinedExposures, start, size);
+      weights = Arrays.copyOfRange(combinedWeights, start, size);
+    }
+
+    // the weighted quantile of the exposures, NaN if it cannot be located from the kept exposures
+    // this is the smallest exposure such that the weight of the exposures up to and including it
+    // is at least the level of the total weight, found by summing the weights from the largest exposure
+    private double quantile(double level, double totalWeight) {
+      double tailWeight = (1d - level) * totalWeight;
+      double weightAbove = 0d;
+      for (int i = exposures.length - 1; i >= 0; i--) {
+        if (weightAbove + weights[i] > tailWeight) {
+          return exposures[i];
+        }
+        weightAbove += weights[i];
+      }
+      // the quantile is below the kept exposures, which is zero unless a positive exposure was dropped
+      return truncated ? Double.NaN : 0d;
+    }
+  }
+
+}
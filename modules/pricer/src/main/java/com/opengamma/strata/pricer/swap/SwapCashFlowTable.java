@@ -0,0 +1,520 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.currency.Payment;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.IborIndexObservation;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
+import com.opengamma.strata.pricer.DiscountFactors;
+import com.opengamma.strata.pricer.rate.IborIndexRates;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.rate.FixedRateComputation;
+import com.opengamma.strata.product.rate.IborRateComputation;
+import com.opengamma.strata.product.rate.RateComputation;
+import com.opengamma.strata.product.swap.KnownAmountSwapPaymentPeriod;
+import com.opengamma.strata.product.swap.NegativeRateMethod;
+import com.opengamma.strata.product.swap.NotionalExchange;
+import com.opengamma.strata.product.swap.RateAccrualPeriod;
+import com.opengamma.strata.product.swap.RatePaymentPeriod;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.ResolvedSwapLeg;
+import com.opengamma.strata.product.swap.SwapPaymentEvent;
+import com.opengamma.strata.product.swap.SwapPaymentPeriod;
+
+/**
+ * A precomputed table of the cash flows of a swap, used for fast repricing.
+ * <p>
+ * Pricing a {@link ResolvedSwap} using {@link DiscountingSwapProductPricer} examines each payment period,
+ * accrual period and rate computation on every call. When the same swap is priced against many
+ * rates providers, such as in scenario revaluation, this metadata does not change.
+ * This table extracts it once, holding each cash flow as a fixed amount plus a multiple of an Ibor rate.
+ * The payment dates and Ibor observations are shared between cash flows, and the table holds each
+ * distinct payment and observation once, grouped by currency and index.
+ * <p>
+ * Pricing then requires one discount factor per distinct payment date and one forward rate per
+ * distinct observation, without examining the swap. The point sensitivities are also aggregated
+ * by payment date and observation, rather than by cash flow.
+ * <p>
+ * The following are held in the table:
+ * <ul>
+ * <li>{@link RatePaymentPeriod} with a single accrual period, no FX reset, negative rates allowed,
+ *  and either a fixed or an Ibor rate
+ * <li>{@link KnownAmountSwapPaymentPeriod}
+ * <li>{@link NotionalExchange}
+ * </ul>
+ * Any other periods and events, such as overnight or inflation periods, are priced using the standard
+ * period and event pricers. The results are the same as those of {@link DiscountingSwapProductPricer#DEFAULT}.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class SwapCashFlowTable {
+
+  /**
+   * The pricer for periods not held in the table.
+   */
+  private static final SwapPaymentPeriodPricer<SwapPaymentPeriod> PERIOD_PRICER = SwapPaymentPeriodPricer.standard();
+  /**
+   * The pricer for events not held in the table.
+   */
+  private static final SwapPaymentEventPricer<SwapPaymentEvent> EVENT_PRICER = SwapPaymentEventPricer.standard();
+
+  /**
+   * The distinct currencies of the payments.
+   */
+  private final Currency[] currencies;
+  /**
+   * The index of the first payment of each currency, with an additional final element.
+   */
+  private final int[] currencyStart;
+  /**
+   * The distinct payment dates, grouped by currency.
+   */
+  private final LocalDate[] paymentDates;
+  /**
+   * The distinct Ibor indices of the observations.
+   */
+  private final IborIndex[] indices;
+  /**
+   * The index of the first observation of each Ibor index, with an additional final element.
+   */
+  private final int[] indexStart;
+  /**
+   * The distinct Ibor observations, grouped by index.
+   */
+  private final IborIndexObservation[] observations;
+  /**
+   * The payment of each cash flow.
+   */
+  private final int[] cashFlowPayment;
+  /**
+   * The observation of each cash flow, -1 if the cash flow is fixed.
+   */
+  private final int[] cashFlowObservation;
+  /**
+   * The amount of each cash flow that does not depend on the rate.
+   */
+  private final double[] cashFlowFixedAmount;
+  /**
+   * The multiplier applied to the observed rate of each cash flow.
+   */
+  private final double[] cashFlowRateFactor;
+  /**
+   * The periods that are priced using the standard pricer.
+   */
+  private final ImmutableList<SwapPaymentPeriod> otherPeriods;
+  /**
+   * The events that are priced using the standard pricer.
+   */
+  private final ImmutableList<SwapPaymentEvent> otherEvents;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates the cash flow table for a swap.
+   *
+   * @param swap  the swap
+   * @return the cash flow table
+   */
+  public static SwapCashFlowTable of(ResolvedSwap swap) {
+    ArgChecker.notNull(swap, "swap");
+    Builder builder = new Builder();
+    for (ResolvedSwapLeg leg : swap.getLegs()) {
+      leg.getPaymentPeriods().forEach(builder::add);
+      leg.getPaymentEvents().forEach(builder::add);
+    }
+    return builder.build();
+  }
+
+  // restricted constructor
+  private SwapCashFlowTable(
+      Currency[] currencies,
+      int[] currencyStart,
+      LocalDate[] paymentDates,
+      IborIndex[] indices,
+      int[] indexStart,
+      IborIndexObservation[] observations,
+      int[] cashFlowPayment,
+      int[] cashFlowObservation,
+      double[] cashFlowFixedAmount,
+      double[] cashFlowRateFactor,
+      ImmutableList<SwapPaymentPeriod> otherPeriods,
+      ImmutableList<SwapPaymentEvent> otherEvents) {
+
+    this.currencies = currencies;
+    this.currencyStart = currencyStart;
+    this.paymentDates = paymentDates;
+    this.indices = indices;
+    this.indexStart = indexStart;
+    this.observations = observations;
+    this.cashFlowPayment = cashFlowPayment;
+    this.cashFlowObservation = cashFlowObservation;
+    this.cashFlowFixedAmount = cashFlowFixedAmount;
+    this.cashFlowRateFactor = cashFlowRateFactor;
+    this.otherPeriods = otherPeriods;
+    this.otherEvents = otherEvents;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of cash flows held in the table.
+   * <p>
+   * This excludes the periods and events that are priced using the standard pricers.
+   *
+   * @return the number of cash flows
+   */
+  public int getCashFlowCount() {
+    return cashFlowPayment.length;
+  }
+
+  /**
+   * Gets the number of distinct payments held in the table.
+   * <p>
+   * A payment is a combination of currency and payment date.
+   *
+   * @return the number of payments
+   */
+  public int getPaymentCount() {
+    return paymentDates.length;
+  }
+
+  /**
+   * Gets the number of distinct Ibor observations held in the table.
+   *
+   * @return the number of observations
+   */
+  public int getObservationCount() {
+    return observations.length;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the present value of the swap.
+   * <p>
+   * The present value of the swap is the value on the valuation date.
+   * The result is expressed using the payment currency of each leg.
+   *
+   * @param provider  the rates provider
+   * @return the present value of the swap
+   */
+  public MultiCurrencyAmount presentValue(RatesProvider provider) {
+    double[] amounts = paymentAmounts(provider, rates(provider));
+    double[] pvs = new double[currencies.length];
+    for (int c = 0; c < currencies.length; c++) {
+      DiscountFactors discountFactors = provider.discountFactors(currencies[c]);
+      for (int p = currencyStart[c]; p < currencyStart[c + 1]; p++) {
+        if (amounts[p] != 0d) {
+          pvs[c] += amounts[p] * discountFactors.discountFactor(paymentDates[p]);
+        }
+      }
+    }
+    MultiCurrencyAmount result = MultiCurrencyAmount.empty();
+    for (int c = 0; c < currencies.length; c++) {
+      result = result.plus(currencies[c], pvs[c]);
+    }
+    for (SwapPaymentPeriod period : otherPeriods) {
+      if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
+        result = result.plus(period.getCurrency(), PERIOD_PRICER.presentValue(period, provider));
+      }
+    }
+    for (SwapPaymentEvent event : otherEvents) {
+      if (!event.getPaymentDate().isBefore(provider.getValuationDate())) {
+        result = result.plus(event.getCurrency(), EVENT_PRICER.presentValue(event, provider));
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Calculates the present value sensitivity of the swap.
+   * <p>
+   * The present value sensitivity of the swap is the sensitivity of the present value to
+   * the underlying curves.
+   *
+   * @param provider  the rates provider
+   * @return the present value curve sensitivity of the swap
+   */
+  public PointSensitivityBuilder presentValueSensitivity(RatesProvider provider) {
+    double[] amounts = paymentAmounts(provider, rates(provider));
+    double[] discountFactors = new double[paymentDates.length];
+    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    for (int c = 0; c < currencies.length; c++) {
+      DiscountFactors currencyDiscountFactors = provider.discountFactors(currencies[c]);
+      for (int p = currencyStart[c]; p < currencyStart[c + 1]; p++) {
+        if (!paymentDates[p].isBefore(provider.getValuationDate())) {
+          discountFactors[p] = currencyDiscountFactors.discountFactor(paymentDates[p]);
+          if (amounts[p] != 0d) {
+            builder = builder.combinedWith(
+                currencyDiscountFactors.zeroRatePointSensitivity(paymentDates[p]).multipliedBy(amounts[p]));
+          }
+        }
+      }
+    }
+    // the sensitivity to each observation is weighted by the discounted rate factors
+    double[] weights = new double[observations.length];
+    for (int i = 0; i < cashFlowPayment.length; i++) {
+      int o = cashFlowObservation[i];
+      if (o >= 0) {
+        weights[o] += cashFlowRateFactor[i] * discountFactors[cashFlowPayment[i]];
+      }
+    }
+    for (int x = 0; x < indices.length; x++) {
+      IborIndexRates rates = provider.iborIndexRates(indices[x]);
+      for (int o = indexStart[x]; o < indexStart[x + 1]; o++) {
+        if (weights[o] != 0d) {
+          builder = builder.combinedWith(rates.ratePointSensitivity(observations[o]).multipliedBy(weights[o]));
+        }
+      }
+    }
+    for (SwapPaymentPeriod period : otherPeriods) {
+      if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
+        builder = builder.combinedWith(PERIOD_PRICER.presentValueSensitivity(period, provider));
+      }
+    }
+    for (SwapPaymentEvent event : otherEvents) {
+      if (!event.getPaymentDate().isBefore(provider.getValuationDate())) {
+        builder = builder.combinedWith(EVENT_PRICER.presentValueSensitivity(event, provider));
+      }
+    }
+    return builder;
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the rate of each observation
+  private double[] rates(RatesProvider provider) {
+    double[] rates = new double[observations.length];
+    for (int x = 0; x < indices.length; x++) {
+      IborIndexRates indexRates = provider.iborIndexRates(indices[x]);
+      for (int o = indexStart[x]; o < indexStart[x + 1]; o++) {
+        rates[o] = indexRates.rate(observations[o]);
+      }
+    }
+    return rates;
+  }
+
+  // sums the cash flows of each payment, excluding payments before the valuation date
+  private double[] paymentAmounts(RatesProvider provider, double[] rates) {
+    LocalDate valuationDate = provider.getValuationDate();
+    double[] amounts = new double[paymentDates.length];
+    for (int i = 0; i < cashFlowPayment.length; i++) {
+      int p = cashFlowPayment[i];
+      if (!paymentDates[p].isBefore(valuationDate)) {
+        int o = cashFlowObservation[i];
+        amounts[p] += cashFlowFixedAmount[i] + (o >= 0 ? cashFlowRateFactor[i] * rates[o] : 0d);
+      }
+    }
+    return amounts;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Checks if every period and event of the swap is held in the table.
+   *
+   * @return true if there are no periods or events priced using the standard pricers
+   */
+  boolean isComplete() {
+    return otherPeriods.isEmpty() && otherEvents.isEmpty();
+  }
+
+  /**
+   * Passes each cash flow held in the table to the consumer.
+   * <p>
+   * The observation is null if the cash flow is fixed.
+   *
+   * @param consumer  the consumer of the cash flows
+   */
+  void forEachCashFlow(CashFlowConsumer consumer) {
+    for (int c = 0; c < currencies.length; c++) {
+      for (int i = 0; i < cashFlowPayment.length; i++) {
+        int p = cashFlowPayment[i];
+        if (p >= currencyStart[c] && p < currencyStart[c + 1]) {
+          int o = cashFlowObservation[i];
+          consumer.accept(
+              currencies[c],
+              paymentDates[p],
+              o >= 0 ? observations[o] : null,
+              cashFlowFixedAmount[i],
+              cashFlowRateFactor[i]);
+        }
+      }
+    }
+  }
+
+  /**
+   * Consumer of the cash flows held in the table.
+   */
+  interface CashFlowConsumer {
+
+    /**
+     * Accepts a cash flow.
+     *
+     * @param currency  the currency of the payment
+     * @param paymentDate  the payment date
+     * @param observation  the Ibor observation, null if the cash flow is fixed
+     * @param fixedAmount  the amount that does not depend on the rate
+     * @param rateFactor  the multiplier applied to the observed rate
+     */
+    void accept(
+        Currency currency,
+        LocalDate paymentDate,
+        IborIndexObservation observation,
+        double fixedAmount,
+        double rateFactor);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public String toString() {
+    return "SwapCashFlowTable[cashFlows=" + cashFlowPayment.length + ", payments=" + paymentDates.length +
+        ", observations=" + observations.length + ", otherPeriods=" + otherPeriods.size() +
+        ", otherEvents=" + otherEvents.size() + "]";
+  }
+
+  //-------------------------------------------------------------------------
+  // builds the table, grouping the payments by currency and the observations by index
+  private static final class Builder {
+    private final Map<Currency, Map<LocalDate, Integer>> payments = new LinkedHashMap<>();
+    private final Map<IborIndex, Map<IborIndexObservation, Integer>> observations = new LinkedHashMap<>();
+    private final List<Pair<Currency, LocalDate>> cashFlowPayment = new ArrayList<>();
+    private final List<IborIndexObservation> cashFlowObservation = new ArrayList<>();
+    private final List<Double> cashFlowFixedAmount = new ArrayList<>();
+    private final List<Double> cashFlowRateFactor = new ArrayList<>();
+    private final ImmutableList.Builder<SwapPaymentPeriod> otherPeriods = ImmutableList.builder();
+    private final ImmutableList.Builder<SwapPaymentEvent> otherEvents = ImmutableList.builder();
+
+    // adds a period, either to the table or as another period
+    private void add(SwapPaymentPeriod period) {
+      if (period instanceof KnownAmountSwapPaymentPeriod) {
+        add(((KnownAmountSwapPaymentPeriod) period).getPayment());
+      } else if (period instanceof RatePaymentPeriod && isTabulated((RatePaymentPeriod) period)) {
+        RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+        RateAccrualPeriod accrualPeriod = ratePeriod.getAccrualPeriods().get(0);
+        RateComputation computation = accrualPeriod.getRateComputation();
+        double notionalFactor = ratePeriod.getNotional() * accrualPeriod.getYearFraction();
+        double gearedFactor = notionalFactor * accrualPeriod.getGearing();
+        double spreadAmount = notionalFactor * accrualPeriod.getSpread();
+        if (computation instanceof FixedRateComputation) {
+          double rate = ((FixedRateComputation) computation).getRate();
+          add(ratePeriod.getCurrency(), ratePeriod.getPaymentDate(), null, gearedFactor * rate + spreadAmount, 0d);
+        } else {
+          IborIndexObservation observation = ((IborRateComputation) computation).getObservation();
+          add(ratePeriod.getCurrency(), ratePeriod.getPaymentDate(), observation, spreadAmount, gearedFactor);
+        }
+      } else {
+        otherPeriods.add(period);
+      }
+    }
+
+    // adds an event, either to the table or as another event
+    private void add(SwapPaymentEvent event) {
+      if (event instanceof NotionalExchange) {
+        add(((NotionalExchange) event).getPayment());
+      } else {
+        otherEvents.add(event);
+      }
+    }
+
+    // checks if the period can be held in the table
+    private static boolean isTabulated(RatePaymentPeriod period) {
+      if (period.getFxReset().isPresent() || period.getAccrualPeriods().size() != 1) {
+        return false;
+      }
+      RateAccrualPeriod accrualPeriod = period.getAccrualPeriods().get(0);
+      RateComputation computation = accrualPeriod.getRateComputation();
+      return accrualPeriod.getNegativeRateMethod() == NegativeRateMethod.ALLOW_NEGATIVE &&
+          (computation instanceof FixedRateComputation || computation instanceof IborRateComputation);
+    }
+
+    // adds a known payment
+    private void add(Payment payment) {
+      CurrencyAmount value = payment.getValue();
+      add(value.getCurrency(), payment.getDate(), null, value.getAmount(), 0d);
+    }
+
+    // adds a cash flow
+    private void add(
+        Currency currency,
+        LocalDate paymentDate,
+        IborIndexObservation observation,
+        double fixedAmount,
+        double rateFactor) {
+
+      payments.computeIfAbsent(currency, c -> new LinkedHashMap<>()).putIfAbsent(paymentDate, 0);
+      if (observation != null) {
+        observations.computeIfAbsent(observation.getIndex(), x -> new LinkedHashMap<>()).putIfAbsent(observation, 0);
+      }
+      cashFlowPayment.add(Pair.of(currency, paymentDate));
+      cashFlowObservation.add(observation);
+      cashFlowFixedAmount.add(fixedAmount);
+      cashFlowRateFactor.add(rateFactor);
+    }
+
+    // builds the table, assigning the positions of the payments and observations
+    private SwapCashFlowTable build() {
+      Currency[] currencies = payments.keySet().toArray(new Currency[payments.size()]);
+      int[] currencyStart = new int[currencies.length + 1];
+      List<LocalDate> paymentDates = new ArrayList<>();
+      for (int c = 0; c < currencies.length; c++) {
+        currencyStart[c] = paymentDates.size();
+        for (Map.Entry<LocalDate, Integer> entry : payments.get(currencies[c]).entrySet()) {
+          entry.setValue(paymentDates.size());
+          paymentDates.add(entry.getKey());
+        }
+      }
+      currencyStart[currencies.length] = paymentDates.size();
+      IborIndex[] indices = observations.keySet().toArray(new IborIndex[observations.size()]);
+      int[] indexStart = new int[indices.length + 1];
+      List<IborIndexObservation> observationList = new ArrayList<>();
+      for (int x = 0; x < indices.length; x++) {
+        indexStart[x] = observationList.size();
+        for (Map.Entry<IborIndexObservation, Integer> entry : observations.get(indices[x]).entrySet()) {
+          entry.setValue(observationList.size());
+          observationList.add(entry.getKey());
+        }
+      }
+      indexStart[indices.length] = observationList.size();
+
+      int size = cashFlowPayment.size();
+      int[] payment = new int[size];
+      int[] observation = new int[size];
+      double[] fixedAmount = new double[size];
+      double[] rateFactor = new double[size];
+      for (int i = 0; i < size; i++) {
+        Pair<Currency, LocalDate> pair = cashFlowPayment.get(i);
+        payment[i] = payments.get(pair.getFirst()).get(pair.getSecond());
+        IborIndexObservation obs = cashFlowObservation.get(i);
+        observation[i] = obs != null ? observations.get(obs.getIndex()).get(obs) : -1;
+        fixedAmount[i] = cashFlowFixedAmount.get(i);
+        rateFactor[i] = cashFlowRateFactor.get(i);
+      }
+      return new SwapCashFlowTable(
+          currencies,
+          currencyStart,
+          paymentDates.toArray(new LocalDate[paymentDates.size()]),
+          indices,
+          indexStart,
+          observationList.toArray(new IborIndexObservation[observationList.size()]),
+          payment,
+          observation,
+          fixedAmount,
+          rateFactor,
+          otherPeriods.build(),
+          otherEvents.build());
+    }
+  }
+
+}
@@ -10,6 +10,7 @@ import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
 import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
 import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -30,6 +31,10 @@ import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.io.BinarySnapshot;
+import com.opengamma.strata.collect.io.BinarySnapshotWriter;
+import com.opengamma.strata.collect.metrics.Instrumentation;
+import com.opengamma.strata.collect.metrics.RecordingInstrumentation;
 import com.opengamma.strata.data.ImmutableMarketData;
 import com.opengamma.strata.data.ImmutableMarketDataBuilder;
 import com.opengamma.strata.data.MarketData;
@@ -51,6 +56,7 @@ import com.opengamma.strata.market.curve.node.IborFixingDepositCurveNode;
 import com.opengamma.strata.market.observable.QuoteId;
 import com.opengamma.strata.pricer.deposit.DiscountingIborFixingDepositProductPricer;
 import com.opengamma.strata.pricer.fra.DiscountingFraTradePricer;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 import com.opengamma.strata.pricer.swap.DiscountingSwapProductPricer;
 import com.opengamma.strata.product.ResolvedTrade;
@@ -209,6 +215,40 @@ public class CalibrationDiscountingSimple1Test {
     }
   }
 
+  public void calibration_instrumented() {
+    RecordingInstrumentation instrumentation = new RecordingInstrumentation();
+    Instrumentation.setGlobal(instrumentation);
+    try {
+      CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+    } finally {
+      Instrumentation.setGlobal(Instrumentation.none());
+    }
+    assertEquals(instrumentation.summary(Instrumentation.CALIBRATION_DURATION, ALL_NAME).get().getCount(), 1);
+    assertTrue(instrumentation.summary(Instrumentation.CALIBRATION_EVALUATIONS, ALL_NAME).get().getLast() >= 1);
+    assertTrue(instrumentation.summary(Instrumentation.CALIBRATION_RESIDUAL, ALL_NAME).get().getLast() < 1e-9);
+  }
+
+  public void calibration_binarySnapshot() {
+    ImmutableRatesProvider provider = CALIBRATOR.calibrate(CURVE_GROUP_DEFN, ALL_QUOTES, REF_DATA);
+    CurveNode[] fwd3Nodes = CURVES_NODES.get(0).get(0);
+    List<ResolvedTrade> fwd3Trades = new ArrayList<>();
+    for (int i = 0; i < fwd3Nodes.length; i++) {
+      fwd3Trades.add(fwd3Nodes[i].resolvedTrade(1d, ALL_QUOTES, REF_DATA));
+    }
+    byte[] bytes = BinarySnapshotWriter.create()
+        .bean("provider", provider)
+        .beans("trades", fwd3Trades)
+        .toByteArray();
+    BinarySnapshot snapshot = BinarySnapshot.of(bytes);
+    ImmutableRatesProvider loadedProvider = snapshot.bean("provider", ImmutableRatesProvider.class);
+    List<ResolvedTrade> loadedTrades = snapshot.beans("trades", ResolvedTrade.class);
+    assertEquals(loadedProvider, provider);
+    assertEquals(loadedTrades, fwd3Trades);
+    CurrencyAmount pv = FRA_PRICER.presentValue((ResolvedFraTrade) fwd3Trades.get(1), provider);
+    CurrencyAmount loadedPv = FRA_PRICER.presentValue((ResolvedFraTrade) loadedTrades.get(1), loadedProvider);
+    assertEquals(loadedPv, pv);
+  }
+
   //-------------------------------------------------------------------------
   @Test(enabled = false)
   void performance() {
@@ -318,6 +318,13 @@ public class CalibrationZeroRateAndDiscountFactorUsd2OisIrsTest {
     assertResult(result, ALL_QUOTES_BD);
   }
 
+  // the trades of the forward curve depend on the discount curve, thus the group is calibrated as one block
+  public void calibration_present_value_oneGroup_parallel() {
+    ImmutableRatesProvider result = CALIBRATOR.parallel().calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES_BD, REF_DATA);
+    assertResult(result, ALL_QUOTES_BD);
+    assertEquals(result, CALIBRATOR.calibrate(CURVE_GROUP_CONFIG, ALL_QUOTES_BD, REF_DATA));
+  }
+
   private void assertResult(RatesProvider result, ImmutableMarketData allQuotes) {
     // Test PV Dsc
     CurveNode[] dscNodes = CURVES_NODES.get(0).get(0);
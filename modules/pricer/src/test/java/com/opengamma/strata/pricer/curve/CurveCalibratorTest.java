@@ -5,18 +5,139 @@
  */
 package com.opengamma.strata.pricer.curve;
 
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.OvernightIndices.GBP_SONIA;
+import static com.opengamma.strata.basics.index.OvernightIndices.USD_FED_FUND;
+import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.GBP_FIXED_1Y_SONIA_OIS;
+import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+import java.time.LocalDate;
+import java.time.Period;
 
 import org.testng.annotations.Test;
 
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.array.DoubleMatrix;
+import com.opengamma.strata.data.ImmutableMarketData;
+import com.opengamma.strata.data.ImmutableMarketDataBuilder;
+import com.opengamma.strata.data.MarketData;
+import com.opengamma.strata.market.ValueType;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveInfoType;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.curve.JacobianCalibrationMatrix;
+import com.opengamma.strata.market.curve.interpolator.CurveExtrapolators;
+import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.curve.node.FixedOvernightSwapCurveNode;
+import com.opengamma.strata.market.observable.QuoteId;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.product.swap.type.FixedOvernightSwapConvention;
+import com.opengamma.strata.product.swap.type.FixedOvernightSwapTemplate;
+
 /**
  * Tests {@link CurveCalibrator}.
  */
 @Test
 public class CurveCalibratorTest {
 
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = LocalDate.of(2015, 7, 21);
+  private static final String SCHEME = "CALIBRATION";
+  private static final int[] TENORS = {1, 2, 5, 10};
+  private static final double[] USD_QUOTES = {0.0010, 0.0050, 0.0150, 0.0220};
+  private static final double[] GBP_QUOTES = {0.0050, 0.0080, 0.0140, 0.0190};
+  private static final CurveName USD_NAME = CurveName.of("USD-DSCON");
+  private static final CurveName GBP_NAME = CurveName.of("GBP-DSCON");
+  private static final InterpolatedNodalCurveDefinition USD_DEFN = curveDefn(USD_NAME, USD_FIXED_1Y_FED_FUND_OIS);
+  private static final InterpolatedNodalCurveDefinition GBP_DEFN = curveDefn(GBP_NAME, GBP_FIXED_1Y_SONIA_OIS);
+  private static final MarketData MARKET_DATA;
+  static {
+    ImmutableMarketDataBuilder builder = ImmutableMarketData.builder(VAL_DATE);
+    for (int i = 0; i < TENORS.length; i++) {
+      builder.addValue(quoteId(USD_NAME, i), USD_QUOTES[i]);
+      builder.addValue(quoteId(GBP_NAME, i), GBP_QUOTES[i]);
+    }
+    MARKET_DATA = builder.build();
+  }
+  private static final CurveCalibrator CALIBRATOR = CurveCalibrator.of(1e-9, 1e-9, 100);
+
+  private static InterpolatedNodalCurveDefinition curveDefn(CurveName name, FixedOvernightSwapConvention convention) {
+    FixedOvernightSwapCurveNode[] nodes = new FixedOvernightSwapCurveNode[TENORS.length];
+    for (int i = 0; i < TENORS.length; i++) {
+      nodes[i] = FixedOvernightSwapCurveNode.of(
+          FixedOvernightSwapTemplate.of(Period.ZERO, Tenor.ofYears(TENORS[i]), convention), quoteId(name, i));
+    }
+    return InterpolatedNodalCurveDefinition.builder()
+        .name(name)
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .dayCount(ACT_365F)
+        .interpolator(CurveInterpolators.LINEAR)
+        .extrapolatorLeft(CurveExtrapolators.FLAT)
+        .extrapolatorRight(CurveExtrapolators.FLAT)
+        .nodes(nodes)
+        .build();
+  }
+
+  private static QuoteId quoteId(CurveName name, int index) {
+    return QuoteId.of(StandardId.of(SCHEME, name.getName() + "-" + TENORS[index] + "Y"));
+  }
+
+  //-------------------------------------------------------------------------
+  // the two curves are independent, thus calibrated separately, but the Jacobian covers the whole group
+  public void test_calibrate_parallel_independentCurves() {
+    CurveGroupDefinition groupDefn = CurveGroupDefinition.builder()
+        .name(CurveGroupName.of("BOTH"))
+        .addCurve(USD_DEFN, USD, USD_FED_FUND)
+        .addCurve(GBP_DEFN, GBP, GBP_SONIA)
+        .build();
+    ImmutableRatesProvider test = CALIBRATOR.parallel().calibrate(groupDefn, MARKET_DATA, REF_DATA);
+    ImmutableRatesProvider usd = CALIBRATOR.calibrate(singleCurveGroup(USD_DEFN, USD), MARKET_DATA, REF_DATA);
+    ImmutableRatesProvider gbp = CALIBRATOR.calibrate(singleCurveGroup(GBP_DEFN, GBP), MARKET_DATA, REF_DATA);
+    assertParameters(test.getDiscountCurves().get(USD), usd.getDiscountCurves().get(USD));
+    assertParameters(test.getDiscountCurves().get(GBP), gbp.getDiscountCurves().get(GBP));
+
+    JacobianCalibrationMatrix jacobian =
+        test.getDiscountCurves().get(USD).getMetadata().getInfo(CurveInfoType.JACOBIAN);
+    assertThat(jacobian.getOrder().size()).isEqualTo(2);
+    DoubleMatrix matrix = jacobian.getJacobianMatrix();
+    assertThat(matrix.columnCount()).isEqualTo(2 * TENORS.length);
+    for (int i = 0; i < TENORS.length; i++) {
+      for (int j = TENORS.length; j < 2 * TENORS.length; j++) {
+        assertThat(matrix.get(i, j)).isEqualTo(0d);
+      }
+    }
+  }
+
+  private static CurveGroupDefinition singleCurveGroup(InterpolatedNodalCurveDefinition curveDefn, Currency currency) {
+    return CurveGroupDefinition.builder()
+        .name(CurveGroupName.of(currency.getCode()))
+        .addCurve(curveDefn, currency, currency.equals(USD) ? USD_FED_FUND : GBP_SONIA)
+        .build();
+  }
+
+  private static void assertParameters(Curve test, Curve expected) {
+    assertThat(test.getParameterCount()).isEqualTo(expected.getParameterCount());
+    for (int i = 0; i < test.getParameterCount(); i++) {
+      assertThat(test.getParameterMetadata(i)).isEqualTo(expected.getParameterMetadata(i));
+      assertThat(test.getParameter(i)).isCloseTo(expected.getParameter(i), offset(1e-12));
+    }
+  }
+
+  //-------------------------------------------------------------------------
   public void test_toString() {
     assertThat(CurveCalibrator.standard().toString()).isEqualTo("CurveCalibrator[ParSpread]");
+    assertThat(CurveCalibrator.standard().parallel().toString()).isEqualTo("CurveCalibrator[ParSpread, parallel]");
   }
 
 }
@@ -36,6 +36,7 @@ import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.explain.ExplainDetail;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
@@ -638,6 +639,23 @@ public class DiscountingFraProductPricerTest {
     assertEquals(testTrade.explainPresentValue(RFRA_TRADE, prov), test.explainPresentValue(RFRA, prov));
   }
 
+  public void test_explainPresentValue_detail() {
+    SimpleRatesProvider prov = createProvider(RFRA);
+    DiscountingFraProductPricer test = DiscountingFraProductPricer.DEFAULT;
+    ExplainMap full = test.explainPresentValue(RFRA, prov);
+    assertEquals(test.explainPresentValue(RFRA, prov, ExplainDetail.FULL), full);
+
+    ExplainMap explain = test.explainPresentValue(RFRA, prov, ExplainDetail.TRADE);
+    assertEquals(explain.get(ExplainKey.OBSERVATIONS).isPresent(), false);
+    assertEquals(explain.getMap().size(), full.getMap().size() - 1);
+    assertEquals(explain.get(ExplainKey.COMBINED_RATE), full.get(ExplainKey.COMBINED_RATE));
+    assertEquals(explain.get(ExplainKey.PRESENT_VALUE), full.get(ExplainKey.PRESENT_VALUE));
+
+    // test via FraTrade
+    DiscountingFraTradePricer testTrade = new DiscountingFraTradePricer(test);
+    assertEquals(testTrade.explainPresentValue(RFRA_TRADE, prov, ExplainDetail.TRADE), explain);
+  }
+
   //-------------------------------------------------------------------------
   // creates a simple provider
   private SimpleRatesProvider createProvider(ResolvedFra fraExp) {
@@ -11,6 +11,7 @@ import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.testng.AssertJUnit.assertEquals;
+import static org.testng.AssertJUnit.assertSame;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -268,6 +269,29 @@ public class InterpolatedStrikeSmileDeltaTermStructureTest {
     }
   }
 
+  /**
+   * Tests the batch volatility and the reuse of the smile for an expiry.
+   */
+  public void volatilityBatch() {
+    DoubleArray times = DoubleArray.of(0.50, 0.50, 0.50, 1.25, 1.25, 0.50);
+    DoubleArray strikes = DoubleArray.of(1.30, 1.40, 1.50, 1.30, 1.50, 1.45);
+    DoubleArray forwards = DoubleArray.of(1.40, 1.40, 1.40, 1.40, 1.42, 1.40);
+    DoubleArray computed = SMILE_TERM.volatility(times, strikes, forwards);
+    assertEquals(computed.size(), times.size());
+    for (int i = 0; i < times.size(); i++) {
+      // expected from a new instance, using the smile interpolation that does not use the caches
+      InterpolatedStrikeSmileDeltaTermStructure uncached = InterpolatedStrikeSmileDeltaTermStructure.of(
+          VOLATILITY_TERM, ACT_360, INTERPOLATOR_STRIKE, FLAT, FLAT);
+      DoubleArray unitSensitivity = DoubleArray.filled(uncached.getStrikeCount(), 1d);
+      SmileDeltaParameters smile = uncached.smileAndSensitivitiesForExpiry(times.get(i), unitSensitivity).getSmile();
+      BoundCurveInterpolator strikeBound = INTERPOLATOR_STRIKE.bind(
+          smile.strike(forwards.get(i)), smile.getVolatility(), FLAT, FLAT);
+      assertEquals(computed.get(i), strikeBound.interpolate(strikes.get(i)), TOLERANCE_VOL);
+    }
+    assertSame(SMILE_TERM.smileForExpiry(0.50), SMILE_TERM.smileForExpiry(0.50));
+    assertThrowsIllegalArg(() -> SMILE_TERM.volatility(times, strikes, DoubleArray.of(1.40)));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     coverImmutableBean(SMILE_TERM);
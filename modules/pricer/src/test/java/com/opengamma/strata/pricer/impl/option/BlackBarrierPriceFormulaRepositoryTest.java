@@ -206,9 +206,9 @@ public class BlackBarrierPriceFormulaRepositoryTest {
       {-0.10797845731130963, 0.21426029198992397, -14.08442230033797, -47.32420873845068, 39.147069642753685 } };
     double[][] derivativesDOExp = new double[][] {
       {0.925317598744783, -0.2806575880039709, -55.697543854725964, 194.462195344832, 3.192368381065041 },
-      {-0.03864414399539151, 0.009587256919136517, -1.270237829323396, -5.21052475720073, 4.102580893825152 },
+      {-0.03864414399539151, 0.009587256919136517, -1.2702378293234384, -5.21052475720073, 4.102580893825152 },
       {0.6324628371075294, -0.22479677856150546, -37.79085149394349, 148.7848961295844, 31.79584488974962 },
-      {-0.004011720421074989, 0.06544806636160204, -3.7204441809560977, -5.9454611683655045, -5.032778721927358 },
+      {-0.004011720421074989, 0.06544806636160204, -3.7204441809561475, -5.9454611683655045, -5.032778721927358 },
       {1.1693201681318741, -0.29024484492310754, -70.84983552060324, 228.28109929421754, -24.681781274058867 },
       {-0.04025696351697804, 0.0, -1.1548554608892951, -5.098392910877228, 4.53255833202904 } };
     double[][] derivativesUIExp = new double[][] {
@@ -217,14 +217,14 @@ public class BlackBarrierPriceFormulaRepositoryTest {
       {0.4769152573039112, -0.33257578584116665, -47.46250751883076, 185.24241099218733, 72.3408333224538 },
       {0.28724757364329634, 0.43217422038994247, -44.716710223480845, -110.92464376467034, 67.97645289437169 },
       {0.7893004079366213, -0.6080809040345517, -105.21921711692173, 290.19622455207696, 44.461552265540746 },
-      {0.06323542648613031, 0.15666910219655739, -8.608213577315155, -34.903930997004814, 34.230011428672505 } };
+      {0.06323542648613031, 0.15666910219655739, -8.60821357731525, -34.903930997004814, 34.230011428672505 } };
     double[][] derivativesUOExp = new double[][] {
-      {0.03976906121488867, -0.0026071361576082536, -0.590128468837802, 1.9384002530437727, 0.40226173936432547 },
+      {0.03976906121488867, -0.0026071361576082536, -0.5901284688377304, 1.9384002530436684, 0.40226173936432547 },
       {-0.3963166170033215, 0.07181244232071722, -7.979056436920486, -28.639602912129345, 8.119305258181384 },
       {0.041517833213300284, 0.0, -0.5600615351073366, 1.946054176962064, 0.5274768371195269 },
       {-0.7010805865991248, 0.07441957847832553, -13.168554459478084, -45.16514944091054, 4.891857265201665 },
-      {0.013105078757830808, -0.016828388684959006, -1.0482826316507563, 1.5563229354864467, -1.3483884822973111 },
-      {-0.19309604326471816, 0.05759118979336658, -4.522536882517435, -16.621779890162028, 8.88315235457093 } };
+      {0.013105078757830808, -0.016828388684959006, -1.048282631650686, 1.556322935486328, -1.3483884822972958 },
+      {-0.19309604326471816, 0.05759118979336658, -4.5225368825173815, -16.621779890162028, 8.88315235457093 } };
 
     EuropeanVanillaOption[] options = new EuropeanVanillaOption[] {
       EuropeanVanillaOption.of(STRIKE_MID, EXPIRY_TIME, PutCall.CALL),
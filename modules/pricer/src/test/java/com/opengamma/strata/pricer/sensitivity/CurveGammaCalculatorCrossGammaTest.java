@@ -274,6 +274,22 @@ public class CurveGammaCalculatorCrossGammaTest {
     assertTrue(computed.equalWithTolerance(computedFromCross, TOL));
   }
 
+  // the bumped sensitivities computed in parallel match the sequential ones
+  public void sensitivity_parallel() {
+    for (CurveGammaCalculator calculator : new CurveGammaCalculator[] {FORWARD, CENTRAL, BACKWARD}) {
+      CrossGammaParameterSensitivities intra =
+          calculator.calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      CrossGammaParameterSensitivities intraParallel =
+          calculator.parallel().calculateCrossGammaIntraCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      assertTrue(intraParallel.equalWithTolerance(intra, TOL));
+      CrossGammaParameterSensitivities cross =
+          calculator.calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      CrossGammaParameterSensitivities crossParallel =
+          calculator.parallel().calculateCrossGammaCrossCurve(RatesProviderDataSets.MULTI_CPI_USD, this::sensiFn);
+      assertTrue(crossParallel.equalWithTolerance(cross, TOL));
+    }
+  }
+
   //-------------------------------------------------------------------------
   private CurrencyParameterSensitivities sensiFn(ImmutableRatesProvider provider) {
     CurrencyParameterSensitivities sensi = CurrencyParameterSensitivities.empty();
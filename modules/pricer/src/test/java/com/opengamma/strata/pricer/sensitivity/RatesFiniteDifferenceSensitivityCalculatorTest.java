@@ -5,19 +5,24 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import static com.opengamma.strata.basics.currency.Currency.EUR;
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.function.Function;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.StandardId;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.FxMatrix;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -31,6 +36,7 @@ import com.opengamma.strata.pricer.SimpleDiscountFactors;
 import com.opengamma.strata.pricer.ZeroRateDiscountFactors;
 import com.opengamma.strata.pricer.bond.RepoGroup;
 import com.opengamma.strata.pricer.bond.ImmutableLegalEntityDiscountingProvider;
+import com.opengamma.strata.pricer.bond.LegalEntityDiscountingProvider;
 import com.opengamma.strata.pricer.bond.LegalEntityGroup;
 import com.opengamma.strata.pricer.credit.CreditDiscountFactors;
 import com.opengamma.strata.pricer.credit.CreditRatesProvider;
@@ -94,6 +100,35 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_parallel() {
+    CurrencyParameterSensitivities sensiExpected =
+        FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    CurrencyParameterSensitivities sensiComputed =
+        FD_CALCULATOR.parallel().sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    assertEquals(sensiComputed, sensiExpected);
+    LegalEntityDiscountingProvider legalEntityProvider = LegalEntityDiscountingProviderDataSets.ISSUER_REPO_ZERO;
+    assertEquals(
+        FD_CALCULATOR.parallel().sensitivity(legalEntityProvider, this::fn),
+        FD_CALCULATOR.sensitivity(legalEntityProvider, this::fn));
+  }
+
+  @Test
+  public void sensitivities() {
+    Function<ImmutableRatesProvider, List<CurrencyAmount>> valuesFn =
+        p -> ImmutableList.of(fn(p), fn(p).multipliedBy(2d).convertedTo(EUR, 1d), CurrencyAmount.of(USD, 1d));
+    List<CurrencyParameterSensitivities> sensiComputed =
+        FD_CALCULATOR.sensitivities(RatesProviderDataSets.MULTI_CPI_USD, valuesFn);
+    assertEquals(sensiComputed.size(), 3);
+    CurrencyParameterSensitivities sensiExpected = FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_CPI_USD, this::fn);
+    assertEquals(sensiComputed.get(0), sensiExpected);
+    assertEquals(sensiComputed.get(1).getSensitivities().get(0).getCurrency(), EUR);
+    assertTrue(sensiComputed.get(1).equalWithTolerance(
+        sensiExpected.multipliedBy(2d).convertedTo(EUR, FxMatrix.of(USD, EUR, 1d)), TOLERANCE_DELTA));
+    assertTrue(sensiComputed.get(2).equalWithTolerance(sensiExpected.multipliedBy(0d), TOLERANCE_DELTA));
+    assertEquals(FD_CALCULATOR.parallel().sensitivities(RatesProviderDataSets.MULTI_CPI_USD, valuesFn), sensiComputed);
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount fn(ImmutableRatesProvider provider) {
     double result = 0.0;
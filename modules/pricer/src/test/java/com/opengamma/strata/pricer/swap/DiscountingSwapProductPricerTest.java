@@ -73,6 +73,7 @@ import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolator;
 import com.opengamma.strata.market.curve.interpolator.CurveInterpolators;
+import com.opengamma.strata.market.explain.ExplainDetail;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.market.param.CurrencyParameterSensitivities;
@@ -713,6 +714,36 @@ public class DiscountingSwapProductPricerTest {
         pricerTrade.explainPresentValue(SWAP_TRADE, MOCK_PROV),
         pricerSwap.explainPresentValue(SWAP, MOCK_PROV));
   }
+
+  public void test_explainPresentValue_detail() {
+    DiscountingSwapProductPricer pricerSwap = DiscountingSwapProductPricer.DEFAULT;
+    ResolvedSwap swap = SWAP_USD_FIXED_6M_LIBOR_3M_5Y.getProduct().resolve(REF_DATA);
+    ExplainMap full = pricerSwap.explainPresentValue(swap, MULTI_USD);
+    assertEquals(pricerSwap.explainPresentValue(swap, MULTI_USD, ExplainDetail.FULL), full);
+
+    ExplainMap leg = pricerSwap.explainPresentValue(swap, MULTI_USD, ExplainDetail.LEG);
+    assertEquals(leg.get(ExplainKey.ENTRY_TYPE).get(), "Swap");
+    assertEquals(leg.get(ExplainKey.MULTI_CURRENCY_PRESENT_VALUE).isPresent(), false);
+    assertEquals(leg.get(ExplainKey.LEGS).get().size(), 2);
+    for (int i = 0; i < 2; i++) {
+      ExplainMap legExplain = leg.get(ExplainKey.LEGS).get().get(i);
+      ExplainMap fullLegExplain = full.get(ExplainKey.LEGS).get().get(i);
+      assertEquals(legExplain.get(ExplainKey.PAYMENT_PERIODS).isPresent(), false);
+      assertEquals(legExplain.get(ExplainKey.PAYMENT_EVENTS).isPresent(), false);
+      assertEquals(legExplain.get(ExplainKey.PRESENT_VALUE), fullLegExplain.get(ExplainKey.PRESENT_VALUE));
+      assertEquals(legExplain.get(ExplainKey.FORECAST_VALUE), fullLegExplain.get(ExplainKey.FORECAST_VALUE));
+    }
+
+    ExplainMap trade = pricerSwap.explainPresentValue(swap, MULTI_USD, ExplainDetail.TRADE);
+    assertEquals(trade.getMap().size(), 2);
+    assertEquals(trade.get(ExplainKey.ENTRY_TYPE).get(), "Swap");
+    assertEquals(trade.get(ExplainKey.MULTI_CURRENCY_PRESENT_VALUE).get(), pricerSwap.presentValue(swap, MULTI_USD));
+
+    // test via SwapTrade
+    DiscountingSwapTradePricer pricerTrade = DiscountingSwapTradePricer.DEFAULT;
+    ResolvedSwapTrade swapTrade = SWAP_USD_FIXED_6M_LIBOR_3M_5Y.resolve(REF_DATA);
+    assertEquals(pricerTrade.explainPresentValue(swapTrade, MULTI_USD, ExplainDetail.TRADE), trade);
+  }
   
   //-------------------------------------------------------------------------
   public void test_parSpread_fixedIbor() {
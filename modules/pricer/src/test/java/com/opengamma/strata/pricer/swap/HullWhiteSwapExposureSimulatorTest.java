@@ -0,0 +1,179 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_10Y;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_5Y;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.common.BuySell.SELL;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_6M;
+import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.EUR_FIXED_1Y_EONIA_OIS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.pricer.index.HullWhiteIborFutureDataSet;
+import com.opengamma.strata.pricer.model.HullWhiteOneFactorPiecewiseConstantParametersProvider;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.swaption.HullWhiteSwaptionPhysicalProductPricer;
+import com.opengamma.strata.product.common.LongShort;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.Swap;
+import com.opengamma.strata.product.swap.type.FixedIborSwapTemplate;
+import com.opengamma.strata.product.swap.type.FixedOvernightSwapTemplate;
+import com.opengamma.strata.product.swaption.PhysicalSwaptionSettlement;
+import com.opengamma.strata.product.swaption.ResolvedSwaption;
+import com.opengamma.strata.product.swaption.Swaption;
+
+/**
+ * Test {@link HullWhiteSwapExposureSimulator}.
+ */
+@Test
+public class HullWhiteSwapExposureSimulatorTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = date(2011, 7, 7);
+  private static final ImmutableRatesProvider RATES_PROVIDER = HullWhiteIborFutureDataSet.createRatesProvider(VAL_DATE);
+  private static final HullWhiteOneFactorPiecewiseConstantParametersProvider HW_PROVIDER =
+      HullWhiteIborFutureDataSet.createHullWhiteProvider(VAL_DATE);
+  private static final double NOTIONAL = 100_000_000;
+  private static final DiscountingSwapProductPricer SWAP_PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  private static final LocalDate EXPIRY = date(2016, 7, 7);
+  private static final Swap FORWARD_SWAP_REC =
+      FixedIborSwapTemplate.of(Period.ofYears(5), TENOR_5Y, EUR_FIXED_1Y_EURIBOR_6M)
+      .createTrade(VAL_DATE, SELL, NOTIONAL, 0.0175, REF_DATA)
+      .getProduct();
+  private static final ResolvedSwap SPOT_SWAP_PAY =
+      FixedIborSwapTemplate.of(Period.ZERO, TENOR_10Y, EUR_FIXED_1Y_EURIBOR_6M)
+      .createTrade(VAL_DATE, BUY, NOTIONAL, 0.02, REF_DATA)
+      .getProduct()
+      .resolve(REF_DATA);
+  private static final List<LocalDate> DATES = semiAnnualDates(11);
+
+  //-------------------------------------------------------------------------
+  public void test_expectedExposure_swaption() {
+    ResolvedSwaption swaption = Swaption.builder()
+        .expiryDate(AdjustableDate.of(EXPIRY))
+        .expiryTime(HW_PROVIDER.getValuationDateTime().toLocalTime())
+        .expiryZone(HW_PROVIDER.getValuationDateTime().getZone())
+        .swaptionSettlement(PhysicalSwaptionSettlement.DEFAULT)
+        .longShort(LongShort.LONG)
+        .underlying(FORWARD_SWAP_REC)
+        .build()
+        .resolve(REF_DATA);
+    double swaptionPv = HullWhiteSwaptionPhysicalProductPricer.DEFAULT
+        .presentValue(swaption, RATES_PROVIDER, HW_PROVIDER).getAmount();
+    double swapPv = SWAP_PRICER.presentValue(swaption.getUnderlying(), RATES_PROVIDER).getAmount(EUR).getAmount();
+
+    ExposureProfile test = HullWhiteSwapExposureSimulator.of(100_000, 1L).exposure(
+        ImmutableList.of(swaption.getUnderlying()), ImmutableList.of(EXPIRY), RATES_PROVIDER, HW_PROVIDER);
+    double discountFactor = RATES_PROVIDER.discountFactor(EUR, EXPIRY);
+    assertEquals(test.getCurrency(), EUR);
+    assertEquals(test.getDates(), ImmutableList.of(EXPIRY));
+    assertEquals(test.getPathCount(), 100_000);
+    assertEquals(test.getExpectedExposure().get(0) * discountFactor, swaptionPv, swaptionPv * 0.02);
+    assertEquals(test.getExpectedValue().get(0) * discountFactor, swapPv, NOTIONAL * 1e-3);
+    assertTrue(test.getPotentialFutureExposure().get(0) > test.getExpectedExposure().get(0));
+  }
+
+  public void test_profile() {
+    ExposureProfile test = HullWhiteSwapExposureSimulator.of(5_000, 1L)
+        .exposure(ImmutableList.of(SPOT_SWAP_PAY), DATES, RATES_PROVIDER, HW_PROVIDER);
+    double pv = SWAP_PRICER.presentValue(SPOT_SWAP_PAY, RATES_PROVIDER).getAmount(EUR).getAmount();
+    assertEquals(test.getDates(), DATES);
+    // no uncertainty on the valuation date
+    assertEquals(test.getExpectedValue().get(0), pv, NOTIONAL * 1e-10);
+    assertEquals(test.getExpectedExposure().get(0), Math.max(pv, 0d), NOTIONAL * 1e-10);
+    assertEquals(test.getPotentialFutureExposure().get(0), Math.max(pv, 0d), NOTIONAL * 1e-10);
+    for (int i = 0; i < DATES.size(); i++) {
+      assertTrue(test.getExpectedExposure().get(i) >= Math.max(test.getExpectedValue().get(i), 0d));
+      assertTrue(test.getPotentialFutureExposure().get(i) >= 0d);
+    }
+    // the exposure builds up, then amortizes to zero
+    assertTrue(test.getExpectedExposure().get(10) > test.getExpectedExposure().get(2));
+    assertTrue(test.getExpectedExposure().get(20) < test.getExpectedExposure().get(10));
+  }
+
+  public void test_book() {
+    HullWhiteSwapExposureSimulator simulator = HullWhiteSwapExposureSimulator.of(2_000, 1L);
+    ResolvedSwap offsetting = FixedIborSwapTemplate.of(Period.ZERO, TENOR_10Y, EUR_FIXED_1Y_EURIBOR_6M)
+        .createTrade(VAL_DATE, SELL, NOTIONAL, 0.02, REF_DATA)
+        .getProduct()
+        .resolve(REF_DATA);
+    ExposureProfile test = simulator.exposure(
+        ImmutableList.of(SPOT_SWAP_PAY, offsetting), DATES, RATES_PROVIDER, HW_PROVIDER);
+    for (int i = 0; i < DATES.size(); i++) {
+      assertEquals(test.getExpectedExposure().get(i), 0d, 1e-6);
+      assertEquals(test.getPotentialFutureExposure().get(i), 0d, 1e-6);
+    }
+  }
+
+  public void test_parallel() {
+    HullWhiteSwapExposureSimulator simulator = HullWhiteSwapExposureSimulator.of(2_500, 3L, 100, 0.99);
+    ExposureProfile serial = simulator.exposure(ImmutableList.of(SPOT_SWAP_PAY), DATES, RATES_PROVIDER, HW_PROVIDER);
+    ExposureProfile parallel =
+        simulator.parallel().exposure(ImmutableList.of(SPOT_SWAP_PAY), DATES, RATES_PROVIDER, HW_PROVIDER);
+    assertEquals(parallel.getExpectedValue(), serial.getExpectedValue());
+    assertEquals(parallel.getExpectedExposure(), serial.getExpectedExposure());
+    assertEquals(parallel.getPotentialFutureExposure(), serial.getPotentialFutureExposure());
+  }
+
+  // the same paths are simulated, thus a higher level gives a higher quantile until the swap has matured
+  public void test_pfeLevel() {
+    ExposureProfile test95 = HullWhiteSwapExposureSimulator.of(2_000, 1L, 100, 0.95)
+        .exposure(ImmutableList.of(SPOT_SWAP_PAY), DATES, RATES_PROVIDER, HW_PROVIDER);
+    ExposureProfile test99 = HullWhiteSwapExposureSimulator.of(2_000, 1L, 100, 0.99)
+        .exposure(ImmutableList.of(SPOT_SWAP_PAY), DATES, RATES_PROVIDER, HW_PROVIDER);
+    assertEquals(test99.getExpectedExposure(), test95.getExpectedExposure());
+    for (int i = 1; i < DATES.size() - 2; i++) {
+      assertTrue(test99.getPotentialFutureExposure().get(i) > test95.getPotentialFutureExposure().get(i));
+      assertTrue(test95.getPotentialFutureExposure().get(i) > test95.getExpectedExposure().get(i));
+    }
+  }
+
+  public void test_dates_sorted() {
+    HullWhiteSwapExposureSimulator simulator = HullWhiteSwapExposureSimulator.of(100, 1L);
+    List<LocalDate> dates = ImmutableList.of(DATES.get(4), DATES.get(2), DATES.get(4));
+    ExposureProfile test = simulator.exposure(ImmutableList.of(SPOT_SWAP_PAY), dates, RATES_PROVIDER, HW_PROVIDER);
+    assertEquals(test.getDates(), ImmutableList.of(DATES.get(2), DATES.get(4)));
+  }
+
+  public void test_unsupported() {
+    HullWhiteSwapExposureSimulator simulator = HullWhiteSwapExposureSimulator.of(100, 1L);
+    ResolvedSwap ois = FixedOvernightSwapTemplate.of(Period.ZERO, TENOR_5Y, EUR_FIXED_1Y_EONIA_OIS)
+        .createTrade(VAL_DATE, BUY, NOTIONAL, 0.01, REF_DATA)
+        .getProduct()
+        .resolve(REF_DATA);
+    assertThrowsIllegalArg(() -> simulator.exposure(ImmutableList.of(ois), DATES, RATES_PROVIDER, HW_PROVIDER));
+    assertThrowsIllegalArg(() -> simulator.exposure(
+        ImmutableList.of(SPOT_SWAP_PAY), ImmutableList.of(VAL_DATE.minusDays(1)), RATES_PROVIDER, HW_PROVIDER));
+    assertThrowsIllegalArg(() -> HullWhiteSwapExposureSimulator.of(0, 1L));
+    assertThrowsIllegalArg(() -> HullWhiteSwapExposureSimulator.of(100, 1L, 10, 1d));
+  }
+
+  //-------------------------------------------------------------------------
+  private static List<LocalDate> semiAnnualDates(int years) {
+    List<LocalDate> dates = new ArrayList<>();
+    for (int i = 0; i <= years * 2; i++) {
+      dates.add(VAL_DATE.plusMonths(6 * i));
+    }
+    return ImmutableList.copyOf(dates);
+  }
+
+}
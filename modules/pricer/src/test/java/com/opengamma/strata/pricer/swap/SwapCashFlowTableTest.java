@@ -0,0 +1,118 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.swap;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.date.Tenor.TENOR_5Y;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.pricer.datasets.RatesProviderDataSets.MULTI_USD;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static com.opengamma.strata.product.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+import static com.opengamma.strata.product.swap.type.FixedOvernightSwapConventions.USD_FIXED_1Y_FED_FUND_OIS;
+import static com.opengamma.strata.product.swap.type.IborIborSwapConventions.USD_LIBOR_3M_LIBOR_6M;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeriesBuilder;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.RatesProvider;
+import com.opengamma.strata.product.swap.ResolvedSwap;
+import com.opengamma.strata.product.swap.type.FixedIborSwapTemplate;
+import com.opengamma.strata.product.swap.type.FixedOvernightSwapTemplate;
+import com.opengamma.strata.product.swap.type.IborIborSwapTemplate;
+
+/**
+ * Test {@link SwapCashFlowTable}.
+ */
+@Test
+public class SwapCashFlowTableTest {
+
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final LocalDate VAL_DATE = MULTI_USD.getValuationDate();
+  private static final double NOTIONAL = 100_000_000;
+  private static final double TOLERANCE_PV = 1e-6;
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  private static final ResolvedSwap FIXED_IBOR = FixedIborSwapTemplate.of(Period.ZERO, TENOR_5Y, USD_FIXED_6M_LIBOR_3M)
+      .createTrade(VAL_DATE, BUY, NOTIONAL, 0.01, REF_DATA)
+      .getProduct()
+      .resolve(REF_DATA);
+  private static final ResolvedSwap IBOR_IBOR = IborIborSwapTemplate.of(Period.ZERO, TENOR_5Y, USD_LIBOR_3M_LIBOR_6M)
+      .createTrade(VAL_DATE, BUY, NOTIONAL, 0.0015, REF_DATA)
+      .getProduct()
+      .resolve(REF_DATA);
+  private static final ResolvedSwap OIS = FixedOvernightSwapTemplate.of(Period.ZERO, TENOR_5Y, USD_FIXED_1Y_FED_FUND_OIS)
+      .createTrade(VAL_DATE, BUY, NOTIONAL, 0.01, REF_DATA)
+      .getProduct()
+      .resolve(REF_DATA);
+
+  //-------------------------------------------------------------------------
+  public void test_fixedIbor() {
+    SwapCashFlowTable test = SwapCashFlowTable.of(FIXED_IBOR);
+    assertEquals(test.getCashFlowCount(), 30);
+    assertEquals(test.getObservationCount(), 20);
+    assertEquals(test.getPaymentCount(), 20);
+    assertMatchesPricer(test, FIXED_IBOR, MULTI_USD);
+  }
+
+  // the compounded periods of the 3M leg are priced by the standard pricer
+  public void test_iborIbor() {
+    SwapCashFlowTable test = SwapCashFlowTable.of(IBOR_IBOR);
+    assertEquals(test.getCashFlowCount(), 10);
+    assertEquals(test.getObservationCount(), 10);
+    assertTrue(test.toString().contains("otherPeriods=10"));
+    assertMatchesPricer(test, IBOR_IBOR, MULTI_USD);
+  }
+
+  // the periods of the overnight leg are priced by the standard pricer
+  public void test_overnight() {
+    SwapCashFlowTable test = SwapCashFlowTable.of(OIS);
+    assertEquals(test.getCashFlowCount(), 5);
+    assertEquals(test.getObservationCount(), 0);
+    assertTrue(test.toString().contains("otherPeriods=5"));
+    assertMatchesPricer(test, OIS, MULTI_USD);
+  }
+
+  // some payments are before the valuation date and a fixing is known
+  public void test_seasoned() {
+    LocalDate valDate = date(2016, 1, 22);
+    LocalDateDoubleTimeSeriesBuilder fixings = LocalDateDoubleTimeSeries.builder();
+    for (LocalDate date = VAL_DATE.minusDays(7); !date.isAfter(valDate); date = date.plusDays(1)) {
+      fixings.put(date, 0.002);
+    }
+    ImmutableRatesProvider provider = RatesProviderDataSets.multiUsd(valDate).toBuilder()
+        .timeSeries(USD_LIBOR_3M, fixings.build())
+        .build();
+    assertMatchesPricer(SwapCashFlowTable.of(FIXED_IBOR), FIXED_IBOR, provider);
+  }
+
+  public void test_of_null() {
+    assertThrowsIllegalArg(() -> SwapCashFlowTable.of(null));
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertMatchesPricer(SwapCashFlowTable test, ResolvedSwap swap, RatesProvider provider) {
+    MultiCurrencyAmount pv = test.presentValue(provider);
+    MultiCurrencyAmount expectedPv = PRICER.presentValue(swap, provider);
+    assertEquals(pv.getAmount(USD).getAmount(), expectedPv.getAmount(USD).getAmount(), TOLERANCE_PV);
+    PointSensitivities sensitivity = test.presentValueSensitivity(provider).build().normalized();
+    PointSensitivities expectedSensitivity = PRICER.presentValueSensitivity(swap, provider).build().normalized();
+    assertTrue(sensitivity.equalWithTolerance(expectedSensitivity, NOTIONAL * 1e-12));
+  }
+
+}
@@ -36,6 +36,7 @@ import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.DaysAdjustment;
 import com.opengamma.strata.basics.schedule.PeriodicSchedule;
 import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.ScheduleCache;
 import com.opengamma.strata.basics.schedule.SchedulePeriod;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -179,7 +180,7 @@ public final class CapitalIndexedBond
   //-------------------------------------------------------------------------
   @Override
   public ResolvedCapitalIndexedBond resolve(ReferenceData refData) {
-    Schedule adjustedSchedule = accrualSchedule.createSchedule(refData);
+    Schedule adjustedSchedule = ScheduleCache.global().schedule(accrualSchedule, refData);
     DateAdjuster exCouponPeriodAdjuster = exCouponPeriod.resolve(refData);
     DoubleArray resolvedGearings =
         rateCalculation.getGearing().orElse(ALWAYS_1).resolveValues(adjustedSchedule);
@@ -38,6 +38,7 @@ import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.basics.index.IborIndexObservation;
 import com.opengamma.strata.basics.schedule.PeriodicSchedule;
 import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.ScheduleCache;
 import com.opengamma.strata.basics.schedule.SchedulePeriod;
 import com.opengamma.strata.basics.schedule.StubConvention;
 import com.opengamma.strata.basics.value.ValueSchedule;
@@ -204,7 +205,7 @@ public final class IborCapFloorLeg
   //-------------------------------------------------------------------------
   @Override
   public ResolvedIborCapFloorLeg resolve(ReferenceData refData) {
-    Schedule adjustedSchedule = paymentSchedule.createSchedule(refData);
+    Schedule adjustedSchedule = ScheduleCache.global().schedule(paymentSchedule, refData);
     DoubleArray cap = getCapSchedule().isPresent() ? capSchedule.resolveValues(adjustedSchedule) : null;
     DoubleArray floor = getFloorSchedule().isPresent() ? floorSchedule.resolveValues(adjustedSchedule) : null;
     DoubleArray notionals = notional.resolveValues(adjustedSchedule);
@@ -38,6 +38,7 @@ import com.opengamma.strata.basics.date.DaysAdjustment;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.basics.schedule.PeriodicSchedule;
 import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.ScheduleCache;
 import com.opengamma.strata.basics.schedule.SchedulePeriod;
 import com.opengamma.strata.basics.schedule.StubConvention;
 import com.opengamma.strata.basics.value.ValueSchedule;
@@ -263,7 +264,7 @@ public final class CmsLeg
   //-------------------------------------------------------------------------
   @Override
   public ResolvedCmsLeg resolve(ReferenceData refData) {
-    Schedule adjustedSchedule = paymentSchedule.createSchedule(refData);
+    Schedule adjustedSchedule = ScheduleCache.global().schedule(paymentSchedule, refData);
     DoubleArray cap = getCapSchedule().isPresent() ? capSchedule.resolveValues(adjustedSchedule) : null;
     DoubleArray floor = getFloorSchedule().isPresent() ? floorSchedule.resolveValues(adjustedSchedule) : null;
     DoubleArray notionals = notional.resolveValues(adjustedSchedule);
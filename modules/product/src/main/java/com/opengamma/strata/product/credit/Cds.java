@@ -40,6 +40,7 @@ import com.opengamma.strata.basics.schedule.Frequency;
 import com.opengamma.strata.basics.schedule.PeriodicSchedule;
 import com.opengamma.strata.basics.schedule.RollConventions;
 import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.ScheduleCache;
 import com.opengamma.strata.basics.schedule.SchedulePeriod;
 import com.opengamma.strata.basics.schedule.StubConvention;
 import com.opengamma.strata.collect.ArgChecker;
@@ -219,7 +220,7 @@ public final class Cds
   //-------------------------------------------------------------------------
   @Override
   public ResolvedCds resolve(ReferenceData refData) {
-    Schedule adjustedSchedule = paymentSchedule.createSchedule(refData);
+    Schedule adjustedSchedule = ScheduleCache.global().schedule(paymentSchedule, refData);
     ImmutableList.Builder<CreditCouponPaymentPeriod> accrualPeriods = ImmutableList.builder();
     int nPeriods = adjustedSchedule.size();
     for (int i = 0; i < nPeriods - 1; i++) {
@@ -37,6 +37,7 @@ import com.opengamma.strata.basics.date.DateAdjuster;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.schedule.PeriodicSchedule;
 import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.ScheduleCache;
 import com.opengamma.strata.basics.schedule.SchedulePeriod;
 import com.opengamma.strata.basics.value.ValueSchedule;
 import com.opengamma.strata.collect.array.DoubleArray;
@@ -151,8 +152,11 @@ public final class KnownAmountSwapLeg
    */
   @Override
   public ResolvedSwapLeg resolve(ReferenceData refData) {
-    Schedule resolvedAccruals = accrualSchedule.createSchedule(refData);
-    Schedule resolvedPayments = paymentSchedule.createSchedule(resolvedAccruals, refData);
+    Schedule resolvedAccruals = ScheduleCache.global().schedule(accrualSchedule, refData);
+    Schedule resolvedPayments = ScheduleCache.global().get(
+        ImmutableList.of(paymentSchedule, resolvedAccruals),
+        refData,
+        () -> paymentSchedule.createSchedule(resolvedAccruals, refData));
     List<SwapPaymentPeriod> payPeriods = createPaymentPeriods(resolvedPayments, refData);
     return new ResolvedSwapLeg(getType(), payReceive, payPeriods, ImmutableList.of(), currency);
   }
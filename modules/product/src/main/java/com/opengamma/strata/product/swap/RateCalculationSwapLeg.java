@@ -35,6 +35,7 @@ import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.schedule.PeriodicSchedule;
 import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.ScheduleCache;
 import com.opengamma.strata.product.common.PayReceive;
 
 /**
@@ -146,9 +147,17 @@ public final class RateCalculationSwapLeg
   @Override
   public ResolvedSwapLeg resolve(ReferenceData refData) {
     DayCount dayCount = calculation.getDayCount();
-    Schedule resolvedAccruals = accrualSchedule.createSchedule(refData);
-    Schedule resolvedPayments = paymentSchedule.createSchedule(resolvedAccruals, refData);
-    List<RateAccrualPeriod> accrualPeriods = calculation.createAccrualPeriods(resolvedAccruals, resolvedPayments, refData);
+    // schedules and accrual periods are shared between legs with the same definition
+    ScheduleCache cache = ScheduleCache.global();
+    Schedule resolvedAccruals = cache.schedule(accrualSchedule, refData);
+    Schedule resolvedPayments = cache.get(
+        ImmutableList.of(paymentSchedule, resolvedAccruals),
+        refData,
+        () -> paymentSchedule.createSchedule(resolvedAccruals, refData));
+    List<RateAccrualPeriod> accrualPeriods = cache.get(
+        ImmutableList.of(calculation, resolvedAccruals, resolvedPayments),
+        refData,
+        () -> calculation.createAccrualPeriods(resolvedAccruals, resolvedPayments, refData));
     List<NotionalPaymentPeriod> payPeriods = paymentSchedule.createPaymentPeriods(
         resolvedAccruals, resolvedPayments, accrualPeriods, dayCount, notionalSchedule, payReceive, refData);
     LocalDate startDate = accrualPeriods.get(0).getStartDate();
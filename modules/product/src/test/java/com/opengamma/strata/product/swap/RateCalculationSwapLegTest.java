@@ -32,6 +32,7 @@ import static com.opengamma.strata.product.swap.PriceIndexCalculationMethod.MONT
 import static com.opengamma.strata.product.swap.SwapLegType.FIXED;
 import static com.opengamma.strata.product.swap.SwapLegType.IBOR;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.time.Period;
@@ -51,6 +52,7 @@ import com.opengamma.strata.basics.index.FxIndexObservation;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.schedule.Frequency;
 import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.ScheduleCache;
 import com.opengamma.strata.basics.schedule.StubConvention;
 import com.opengamma.strata.basics.value.ValueAdjustment;
 import com.opengamma.strata.basics.value.ValueSchedule;
@@ -256,6 +258,41 @@ public class RateCalculationSwapLegTest {
         .build());
   }
 
+  public void test_resolve_sharesAccrualPeriods() {
+    RateCalculationSwapLeg base = RateCalculationSwapLeg.builder()
+        .payReceive(PAY)
+        .accrualSchedule(PeriodicSchedule.builder()
+            .startDate(DATE_01_05)
+            .endDate(DATE_04_05)
+            .frequency(P1M)
+            .businessDayAdjustment(BusinessDayAdjustment.of(FOLLOWING, GBLO))
+            .build())
+        .paymentSchedule(PaymentSchedule.builder()
+            .paymentFrequency(P1M)
+            .paymentDateOffset(PLUS_TWO_DAYS)
+            .build())
+        .notionalSchedule(NotionalSchedule.of(GBP, 1000d))
+        .calculation(FixedRateCalculation.builder()
+            .dayCount(ACT_365F)
+            .rate(ValueSchedule.of(0.025d))
+            .build())
+        .build();
+    RateCalculationSwapLeg other = base.toBuilder()
+        .payReceive(RECEIVE)
+        .notionalSchedule(NotionalSchedule.of(GBP, 2000d))
+        .build();
+    ScheduleCache original = ScheduleCache.global();
+    try {
+      ScheduleCache.setGlobal(ScheduleCache.of(ScheduleCache.DEFAULT_MAXIMUM_SIZE));
+      RatePaymentPeriod basePeriod = (RatePaymentPeriod) base.resolve(REF_DATA).getPaymentPeriods().get(0);
+      RatePaymentPeriod otherPeriod = (RatePaymentPeriod) other.resolve(REF_DATA).getPaymentPeriods().get(0);
+      assertEquals(otherPeriod.getNotional(), 2000d);
+      assertSame(otherPeriod.getAccrualPeriods().get(0), basePeriod.getAccrualPeriods().get(0));
+    } finally {
+      ScheduleCache.setGlobal(original);
+    }
+  }
+
   public void test_resolve_knownAmountStub() {
     // test case
     CurrencyAmount knownAmount = CurrencyAmount.of(GBP, 150d);
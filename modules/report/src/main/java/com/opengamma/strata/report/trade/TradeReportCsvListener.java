@@ -0,0 +1,214 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.Flushable;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.ColumnHeader;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.AggregatingCalculationListener;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.io.CsvOutput;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.report.ReportCalculationResults;
+import com.opengamma.strata.report.ReportRequirements;
+import com.opengamma.strata.report.framework.format.ReportOutputFormat;
+
+/**
+ * Calculation listener that writes a trade report in CSV format as the results arrive.
+ * <p>
+ * This is an alternative to {@link TradeReportRunner} and {@link TradeReportFormatter} for large reports.
+ * Instead of waiting for all the results and creating a {@link TradeReport}, the columns of the
+ * {@linkplain TradeReportTemplate template} are evaluated for each row as soon as all the calculations
+ * for that row have completed. The formatted row is then written and the results are discarded.
+ * <p>
+ * Rows are written in the order of the targets. A row that completes before an earlier row is held,
+ * in formatted form, until the earlier row has been written. The underlying output is flushed
+ * after each batch of rows is written if it implements {@link Flushable}.
+ * <p>
+ * If a cell cannot be evaluated or formatted, the cell is written as a failure, in the same way as
+ * a failed result, and the rest of the row is written as normal.
+ * <p>
+ * The columns passed to the calculation runner must include those of the {@linkplain ReportRequirements
+ * requirements} of the template, see {@link TradeReportRunner#requirements(TradeReportTemplate)}.
+ * The aggregate result is the number of rows written.
+ * <p>
+ * As with all listeners, an instance must only be used for a single set of calculations.
+ */
+public final class TradeReportCsvListener
+    extends AggregatingCalculationListener<Integer> {
+
+  /**
+   * The report template.
+   */
+  private final TradeReportTemplate template;
+  /**
+   * The underlying output.
+   */
+  private final Appendable underlying;
+  /**
+   * The CSV output.
+   */
+  private final CsvOutput csvOutput;
+  /**
+   * The valuation date of the calculations.
+   */
+  private final LocalDate valuationDate;
+  /**
+   * The calculation functions used in the calculations.
+   */
+  private final CalculationFunctions calculationFunctions;
+  /**
+   * The reference data used in the calculations.
+   */
+  private final ReferenceData refData;
+
+  /** The targets of the calculations. */
+  private List<CalculationTarget> targets;
+  /** The columns of the calculations. */
+  private List<Column> columns;
+  /** The column headers of the calculations. */
+  private List<ColumnHeader> headers;
+  /** The number of results yet to be received, by row. */
+  private int[] remaining;
+  /** The results of the rows that are not yet complete, keyed by row index. */
+  private final Map<Integer, Result<?>[]> incompleteRows = new HashMap<>();
+  /** The formatted rows that are complete but not yet written, keyed by row index. */
+  private final Map<Integer, List<String>> unwrittenRows = new HashMap<>();
+  /** The index of the next row to be written. */
+  private int nextRow;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance that writes to the specified output.
+   *
+   * @param template  the report template
+   * @param output  the output to write to
+   * @param valuationDate  the valuation date of the calculations
+   * @param calculationFunctions  the calculation functions used in the calculations
+   * @param refData  the reference data used in the calculations
+   * @return the listener
+   */
+  public static TradeReportCsvListener of(
+      TradeReportTemplate template,
+      Appendable output,
+      LocalDate valuationDate,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData) {
+
+    return new TradeReportCsvListener(template, output, valuationDate, calculationFunctions, refData);
+  }
+
+  // restricted constructor
+  private TradeReportCsvListener(
+      TradeReportTemplate template,
+      Appendable output,
+      LocalDate valuationDate,
+      CalculationFunctions calculationFunctions,
+      ReferenceData refData) {
+
+    this.template = ArgChecker.notNull(template, "template");
+    this.underlying = ArgChecker.notNull(output, "output");
+    this.csvOutput = new CsvOutput(output);
+    this.valuationDate = ArgChecker.notNull(valuationDate, "valuationDate");
+    this.calculationFunctions = ArgChecker.notNull(calculationFunctions, "calculationFunctions");
+    this.refData = ArgChecker.notNull(refData, "refData");
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public void calculationsStarted(List<CalculationTarget> targets, List<Column> columns) {
+    this.targets = targets;
+    this.columns = columns;
+    this.headers = columns.stream().map(Column::toHeader).collect(toImmutableList());
+    this.remaining = new int[targets.size()];
+    Arrays.fill(remaining, columns.size());
+    csvOutput.writeLine(template.getColumns().stream().map(TradeReportColumn::getHeader).collect(toImmutableList()));
+    flush();
+  }
+
+  @Override
+  public void resultReceived(CalculationTarget target, CalculationResult result) {
+    int rowIndex = result.getRowIndex();
+    Result<?>[] row = incompleteRows.computeIfAbsent(rowIndex, i -> new Result<?>[columns.size()]);
+    row[result.getColumnIndex()] = result.getResult();
+    if (--remaining[rowIndex] == 0) {
+      incompleteRows.remove(rowIndex);
+      unwrittenRows.put(rowIndex, formatRow(rowIndex, row));
+      writeRows();
+    }
+  }
+
+  @Override
+  protected Integer createAggregateResult() {
+    flush();
+    return nextRow;
+  }
+
+  //-------------------------------------------------------------------------
+  // evaluates and formats the columns of the template for a single complete row
+  private List<String> formatRow(int rowIndex, Result<?>[] row) {
+    ReportCalculationResults rowResults = ReportCalculationResults.of(
+        valuationDate,
+        ImmutableList.of(targets.get(rowIndex)),
+        columns,
+        Results.of(headers, Arrays.asList(row)),
+        calculationFunctions,
+        refData);
+    return template.getColumns().stream()
+        .map(column -> formatCell(column, rowResults))
+        .collect(toImmutableList());
+  }
+
+  // evaluates and formats a single cell, such that a failure to format does not lose the row
+  private String formatCell(TradeReportColumn column, ReportCalculationResults rowResults) {
+    try {
+      return TradeReportFormatter.INSTANCE.formatResult(
+          column,
+          TradeReportRunner.evaluateColumn(column, rowResults).get(0),
+          ReportOutputFormat.CSV);
+    } catch (RuntimeException ex) {
+      return column.isIgnoreFailures() ? "" : Messages.format("FAIL: {}", ex.getMessage());
+    }
+  }
+
+  // writes the rows that can be written in order
+  private void writeRows() {
+    List<String> line = unwrittenRows.remove(nextRow);
+    if (line == null) {
+      return;
+    }
+    while (line != null) {
+      csvOutput.writeLine(line);
+      nextRow++;
+      line = unwrittenRows.remove(nextRow);
+    }
+    flush();
+  }
+
+  // flushes the underlying output if possible
+  private void flush() {
+    if (underlying instanceof Flushable) {
+      Unchecked.wrap(((Flushable) underlying)::flush);
+    }
+  }
+
+}
@@ -60,15 +60,7 @@ public final class TradeReportRunner
 
     for (int reportColumnIdx = 0; reportColumnIdx < reportTemplate.getColumns().size(); reportColumnIdx++) {
       TradeReportColumn reportColumn = reportTemplate.getColumns().get(reportColumnIdx);
-      List<Result<?>> columnResults;
-
-      if (reportColumn.getValue().isPresent()) {
-        columnResults = ValuePathEvaluator.evaluate(reportColumn.getValue().get(), results);
-      } else {
-        columnResults = IntStream.range(0, results.getTargets().size())
-            .mapToObj(i -> Result.failure(FailureReason.INVALID, "No value specified in report template"))
-            .collect(toImmutableList());
-      }
+      List<Result<?>> columnResults = evaluateColumn(reportColumn, results);
       int rowCount = results.getCalculationResults().getRowCount();
 
       for (int rowIdx = 0; rowIdx < rowCount; rowIdx++) {
@@ -84,4 +76,14 @@ public final class TradeReportRunner
         .build();
   }
 
+  // evaluates the value of a report column for each row of the results
+  static List<Result<?>> evaluateColumn(TradeReportColumn reportColumn, ReportCalculationResults results) {
+    if (reportColumn.getValue().isPresent()) {
+      return ValuePathEvaluator.evaluate(reportColumn.getValue().get(), results);
+    }
+    return IntStream.range(0, results.getTargets().size())
+        .mapToObj(i -> Result.failure(FailureReason.INVALID, "No value specified in report template"))
+        .collect(toImmutableList());
+  }
+
 }
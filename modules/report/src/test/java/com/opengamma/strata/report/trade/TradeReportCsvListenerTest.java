@@ -0,0 +1,176 @@
+/**
+ * Copyright (C) 2017 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.report.trade;
+
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.product.common.BuySell.BUY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.ReferenceData;
+import com.opengamma.strata.basics.StandardId;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.date.AdjustableDate;
+import com.opengamma.strata.calc.Column;
+import com.opengamma.strata.calc.Measure;
+import com.opengamma.strata.calc.Results;
+import com.opengamma.strata.calc.runner.CalculationFunctions;
+import com.opengamma.strata.calc.runner.CalculationResult;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.measure.StandardComponents;
+import com.opengamma.strata.product.TradeInfo;
+import com.opengamma.strata.product.fra.Fra;
+import com.opengamma.strata.product.fra.FraTrade;
+import com.opengamma.strata.report.ReportCalculationResults;
+
+/**
+ * Test {@link TradeReportCsvListener}.
+ */
+@Test
+public class TradeReportCsvListenerTest {
+
+  private static final LocalDate VAL_DATE = date(2015, 7, 1);
+  private static final ReferenceData REF_DATA = ReferenceData.standard();
+  private static final CalculationFunctions FUNCTIONS = StandardComponents.calculationFunctions();
+  private static final Column PV = Column.of(Measure.of("PresentValue"));
+  private static final Column PAR_RATE = Column.of(Measure.of("ParRate"));
+  private static final List<Column> COLUMNS = ImmutableList.of(PV, PAR_RATE);
+  private static final List<CalculationTarget> TRADES = ImmutableList.of(
+      trade("cpty1", 1_000_000),
+      trade("cpty2", 10_000_000),
+      trade("cpty3", 100_000_000));
+  private static final TradeReportTemplate TEMPLATE = TradeReportTemplate.builder()
+      .columns(
+          TradeReportColumn.builder().header("Counterparty").value("Trade.Counterparty.Value").build(),
+          TradeReportColumn.builder().header("PV").value("Measures.PresentValue").build(),
+          TradeReportColumn.builder().header("Par Rate").value("Measures.ParRate").ignoreFailures(true).build(),
+          TradeReportColumn.builder().header("Empty").build())
+      .build();
+
+  //-------------------------------------------------------------------------
+  public void test_matchesReport() {
+    List<CalculationResult> results = ImmutableList.of(
+        CalculationResult.of(0, 0, Result.success(CurrencyAmount.of(Currency.GBP, 2.5d))),
+        CalculationResult.of(0, 1, Result.success(0.0125d)),
+        CalculationResult.of(1, 0, Result.failure(FailureReason.CALCULATION_FAILED, "Failed PV")),
+        CalculationResult.of(1, 1, Result.failure(FailureReason.CALCULATION_FAILED, "Failed rate")),
+        CalculationResult.of(2, 0, Result.success(CurrencyAmount.of(Currency.GBP, 4d))),
+        CalculationResult.of(2, 1, Result.success(0.015d)));
+
+    StringBuilder buf = new StringBuilder();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, buf, VAL_DATE, FUNCTIONS, REF_DATA);
+    test.calculationsStarted(TRADES, COLUMNS);
+    for (CalculationResult result : results) {
+      test.resultReceived(TRADES.get(result.getRowIndex()), result);
+    }
+    test.calculationsComplete();
+    assertThat(test.result()).isEqualTo(3);
+
+    Results allResults = Results.of(
+        ImmutableList.of(PV.toHeader(), PAR_RATE.toHeader()),
+        results.stream().map(CalculationResult::getResult).collect(toImmutableList()));
+    ReportCalculationResults reportResults =
+        ReportCalculationResults.of(VAL_DATE, TRADES, COLUMNS, allResults, FUNCTIONS, REF_DATA);
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    TradeReport.of(reportResults, TEMPLATE).writeCsv(expected);
+    assertThat(buf.toString()).isEqualTo(new String(expected.toByteArray(), UTF_8));
+    assertThat(buf.toString()).contains("cpty2,FAIL: Failed PV,,FAIL: No value specified in report template");
+  }
+
+  public void test_rowsWrittenInOrder() {
+    StringBuilder buf = new StringBuilder();
+    TradeReportCsvListener test = TradeReportCsvListener.of(TEMPLATE, buf, VAL_DATE, FUNCTIONS, REF_DATA);
+    test.calculationsStarted(TRADES, COLUMNS);
+    String header = buf.toString();
+    assertThat(header).startsWith("Counterparty,PV,Par Rate,Empty");
+
+    // rows 1 and 2 complete before row 0, thus nothing more can be written
+    receive(test, 2, 0, Result.success(CurrencyAmount.of(Currency.GBP, 4d)));
+    receive(test, 1, 1, Result.success(0.0125d));
+    receive(test, 2, 1, Result.success(0.015d));
+    receive(test, 1, 0, Result.success(CurrencyAmount.of(Currency.GBP, 3d)));
+    receive(test, 0, 0, Result.success(CurrencyAmount.of(Currency.GBP, 2d)));
+    assertThat(buf.toString()).isEqualTo(header);
+
+    // completing row 0 writes all three rows
+    receive(test, 0, 1, Result.success(0.01d));
+    String[] lines = buf.toString().split("\\R");
+    assertThat(lines).hasSize(4);
+    assertThat(lines[1]).startsWith("cpty1,");
+    assertThat(lines[2]).startsWith("cpty2,");
+    assertThat(lines[3]).startsWith("cpty3,");
+    test.calculationsComplete();
+    assertThat(test.result()).isEqualTo(3);
+  }
+
+  // a cell that cannot be evaluated or formatted is written as a failure, rather than losing the row
+  public void test_formatFails() {
+    TradeReportTemplate template = TradeReportTemplate.builder()
+        .columns(
+            TradeReportColumn.builder().header("Counterparty").value("Trade.Counterparty.Value").build(),
+            TradeReportColumn.builder().header("PV").value("Measures.PresentValue.0").build(),
+            TradeReportColumn.builder().header("Par Rate").value("Measures.ParRate.0").ignoreFailures(true).build())
+        .build();
+    Iterable<Object> unformattable = () -> {
+      throw new IllegalStateException("Unable to format");
+    };
+    StringBuilder buf = new StringBuilder();
+    TradeReportCsvListener test = TradeReportCsvListener.of(template, buf, VAL_DATE, FUNCTIONS, REF_DATA);
+    test.calculationsStarted(TRADES, COLUMNS);
+    receive(test, 0, 0, Result.success(unformattable));
+    receive(test, 0, 1, Result.success(unformattable));
+    receive(test, 1, 0, Result.success(ImmutableList.of(CurrencyAmount.of(Currency.GBP, 3d))));
+    receive(test, 1, 1, Result.success(ImmutableList.of(0.0125d)));
+    String[] lines = buf.toString().split("\\R");
+    assertThat(lines).hasSize(3);
+    assertThat(lines[1]).isEqualTo("cpty1,FAIL: Unable to format,");
+    assertThat(lines[2]).isEqualTo("cpty2,3,0.0125");
+  }
+
+  public void test_of_null() {
+    StringBuilder buf = new StringBuilder();
+    assertThrowsIllegalArg(() -> TradeReportCsvListener.of(null, buf, VAL_DATE, FUNCTIONS, REF_DATA));
+    assertThrowsIllegalArg(() -> TradeReportCsvListener.of(TEMPLATE, null, VAL_DATE, FUNCTIONS, REF_DATA));
+  }
+
+  //-------------------------------------------------------------------------
+  private static void receive(TradeReportCsvListener listener, int row, int column, Result<?> result) {
+    listener.resultReceived(TRADES.get(row), CalculationResult.of(row, column, result));
+  }
+
+  private static FraTrade trade(String counterparty, double notional) {
+    TradeInfo tradeInfo = TradeInfo.builder()
+        .counterparty(StandardId.of("cpty", counterparty))
+        .build();
+    Fra fra = Fra.builder()
+        .buySell(BUY)
+        .notional(notional)
+        .startDate(date(2015, 8, 5))
+        .endDate(date(2015, 11, 5))
+        .paymentDate(AdjustableDate.of(date(2015, 8, 7)))
+        .fixedRate(0.25d)
+        .index(GBP_LIBOR_3M)
+        .build();
+    return FraTrade.builder()
+        .info(tradeInfo)
+        .product(fra)
+        .build();
+  }
+
+}